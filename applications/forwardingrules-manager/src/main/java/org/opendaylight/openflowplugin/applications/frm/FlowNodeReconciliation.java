@@ -8,6 +8,7 @@
 
 package org.opendaylight.openflowplugin.applications.frm;
 
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.binding.api.ClusteredDataTreeChangeListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -55,5 +56,14 @@ public interface FlowNodeReconciliation extends ClusteredDataTreeChangeListener<
      * @param disconnectedNode - {@link org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier} to removed Node
      */
     void flowNodeDisconnected(InstanceIdentifier<FlowCapableNode> disconnectedNode);
+
+    /**
+     * Progress of last reconciliation of connected node
+     *
+     * @param node - {@link org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier} to connected Node
+     * @return progress and throughput of reconciliation, null if node was not reconciled since it connected
+     */
+    @Nullable
+    ReconciliationProgress getReconciliationProgress(InstanceIdentifier<FlowCapableNode> node);
 }
 
@@ -10,6 +10,7 @@ package org.opendaylight.openflowplugin.applications.frm;
 
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.openflowplugin.applications.frm.impl.FlowNodeConnectorInventoryTranslatorImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.meters.Meter;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
@@ -118,6 +119,14 @@ public interface ForwardingRulesManager extends AutoCloseable {
      */
     public SalTableService getSalTableService();
 
+    /**
+     * Direct statistics RPC service, used to dump device state for delta reconciliation. Calls fail when
+     * no implementation is registered - delta reconciliation then pushes all configured items.
+     *
+     * @return service proxy, never null
+     */
+    public OpendaylightDirectStatisticsService getDirectStatisticsService();
+
     /**
      * Content definition method and prevent code duplicity in Reconcil
      * @return ForwardingRulesCommiter&lt;Flow&gt;
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.applications.frm;
+
+/**
+ * Snapshot of reconciliation progress of single node.
+ */
+public final class ReconciliationProgress {
+
+    /**
+     * Phases of node reconciliation.
+     */
+    public enum Phase {
+        /** configuration of node is being read */
+        READING,
+        /** flows, groups and meters of device are being dumped (delta reconciliation only) */
+        DUMPING_DEVICE,
+        /** waiting for free reconciliation thread */
+        QUEUED,
+        /** table features, groups and meters are being pushed */
+        PUSHING_GROUPS_AND_METERS,
+        /** flows are being pushed in chunks */
+        PUSHING_FLOWS,
+        /** all configured items were pushed */
+        FINISHED,
+        /** node disconnected or configuration could not be read */
+        INTERRUPTED
+    }
+
+    private final String nodeId;
+    private final Phase phase;
+    private final long flowsTotal;
+    private final long flowsPushed;
+    private final long flowsFailed;
+    private final long flowsUpToDate;
+    private final long elapsedMillis;
+
+    public ReconciliationProgress(final String nodeId, final Phase phase, final long flowsTotal,
+                                  final long flowsPushed, final long flowsFailed, final long flowsUpToDate,
+                                  final long elapsedMillis) {
+        this.nodeId = nodeId;
+        this.phase = phase;
+        this.flowsTotal = flowsTotal;
+        this.flowsPushed = flowsPushed;
+        this.flowsFailed = flowsFailed;
+        this.flowsUpToDate = flowsUpToDate;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return amount of configured flows of node which have to be pushed
+     */
+    public long getFlowsTotal() {
+        return flowsTotal;
+    }
+
+    /**
+     * @return amount of flows the add-flow RPC completed for (successfully or not)
+     */
+    public long getFlowsPushed() {
+        return flowsPushed;
+    }
+
+    /**
+     * @return amount of flows the add-flow RPC failed for
+     */
+    public long getFlowsFailed() {
+        return flowsFailed;
+    }
+
+    /**
+     * @return amount of configured flows the device already had, these are not pushed (delta reconciliation only)
+     */
+    public long getFlowsUpToDate() {
+        return flowsUpToDate;
+    }
+
+    /**
+     * @return time since node connected (or until reconciliation ended)
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return pushed flows per second
+     */
+    public double getFlowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : flowsPushed * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliationProgress{nodeId=" + nodeId + ", phase=" + phase + ", flows=" + flowsPushed + "/"
+                + flowsTotal + ", failed=" + flowsFailed + ", upToDate=" + flowsUpToDate + ", elapsedMillis="
+                + elapsedMillis + "}";
+    }
+}
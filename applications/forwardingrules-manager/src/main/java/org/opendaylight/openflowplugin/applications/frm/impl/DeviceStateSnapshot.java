@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.applications.frm.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.opendaylight.openflowplugin.api.openflow.md.util.MatchNormalizationUtil;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetGroupStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetMeterStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Instructions;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.WriteActionsCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.WriteActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.apply.actions._case.ApplyActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.write.actions._case.WriteActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.Instruction;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.statistics.reply.GroupStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.types.rev130918.meter.statistics.reply.MeterStats;
+
+/**
+ * Flows, groups and meters present on device, as dumped by direct statistics RPCs. Used by delta reconciliation
+ * to skip configured items the device already has and to find device items which are not configured.
+ * <p>
+ * Device does not report configured flow ids - flows are paired with configuration by table, priority and
+ * normalized match, instructions are compared regardless of their order and keys. Device flow which is not paired
+ * but shares table and priority with some configured flow might be the same flow reported in a form normalization
+ * does not cover, so it is not considered stale - it gets overwritten by the configured flow if it really is.
+ * <p>
+ * Group and meter statistics carry no buckets or bands, so groups and meters are paired by id only.
+ * <p>
+ * Not thread safe, pairing is expected to run on single reconciliation thread.
+ */
+final class DeviceStateSnapshot {
+
+    /**
+     * Priority device reports for flows configured without one.
+     */
+    private static final Integer DEFAULT_PRIORITY = 0x8000;
+    private static final Match EMPTY_MATCH = new MatchBuilder().build();
+    private static final String STALE_FLOW_ID_PREFIX = "#delta-stale#";
+
+    private final Map<FlowPairingKey, FlowAndStatisticsMapList> unpairedFlows = new HashMap<>();
+    private final Set<FlowPairingKey> configuredFlowSlots = new HashSet<>();
+    private final Set<Long> unpairedGroups = new HashSet<>();
+    private final Set<Long> unpairedMeters = new HashSet<>();
+    private final Set<Long> deviceGroups = new HashSet<>();
+    private final Set<Long> deviceMeters = new HashSet<>();
+
+    DeviceStateSnapshot(final GetFlowStatisticsOutput flowDump, final GetGroupStatisticsOutput groupDump,
+                        final GetMeterStatisticsOutput meterDump) {
+        for (FlowAndStatisticsMapList deviceFlow : nullToEmpty(flowDump.getFlowAndStatisticsMapList())) {
+            unpairedFlows.put(new FlowPairingKey(deviceFlow.getTableId(), deviceFlow.getPriority(),
+                    deviceFlow.getMatch()), deviceFlow);
+        }
+        for (GroupStats groupStats : nullToEmpty(groupDump.getGroupStats())) {
+            deviceGroups.add(groupStats.getGroupId().getValue());
+        }
+        for (MeterStats meterStats : nullToEmpty(meterDump.getMeterStats())) {
+            deviceMeters.add(meterStats.getMeterId().getValue());
+        }
+        unpairedGroups.addAll(deviceGroups);
+        unpairedMeters.addAll(deviceMeters);
+    }
+
+    /**
+     * Pairs configured flow with device flow of the same table, priority and match.
+     *
+     * @param configured configured flow
+     * @return true if device has the flow with the same instructions (and cookie, if configured) - flow
+     * does not need to be pushed
+     */
+    boolean pairFlow(final Flow configured) {
+        configuredFlowSlots.add(new FlowPairingKey(configured.getTableId(), configured.getPriority(), EMPTY_MATCH));
+        final FlowAndStatisticsMapList deviceFlow = unpairedFlows.remove(
+                new FlowPairingKey(configured.getTableId(), configured.getPriority(), configured.getMatch()));
+        if (deviceFlow == null) {
+            return false;
+        }
+        if (configured.getCookie() != null && !configured.getCookie().equals(deviceFlow.getCookie())) {
+            return false;
+        }
+        return instructionsOf(configured.getInstructions()).equals(instructionsOf(deviceFlow.getInstructions()));
+    }
+
+    /**
+     * Pairs configured group with device group of the same id.
+     *
+     * @param groupId id of configured group
+     * @return true if device has group of given id
+     */
+    boolean pairGroup(final long groupId) {
+        unpairedGroups.remove(groupId);
+        return deviceGroups.contains(groupId);
+    }
+
+    /**
+     * Pairs configured meter with device meter of the same id.
+     *
+     * @param meterId id of configured meter
+     * @return true if device has meter of given id
+     */
+    boolean pairMeter(final long meterId) {
+        unpairedMeters.remove(meterId);
+        return deviceMeters.contains(meterId);
+    }
+
+    /**
+     * @return device flows not paired with any configured flow and not sharing table and priority with any
+     * configured flow, with generated flow ids
+     */
+    List<Flow> getStaleFlows() {
+        final List<Flow> flows = new ArrayList<>(unpairedFlows.size());
+        int index = 0;
+        for (FlowAndStatisticsMapList deviceFlow : unpairedFlows.values()) {
+            if (configuredFlowSlots.contains(
+                    new FlowPairingKey(deviceFlow.getTableId(), deviceFlow.getPriority(), EMPTY_MATCH))) {
+                continue;
+            }
+            flows.add(new FlowBuilder(deviceFlow)
+                    .setId(new FlowId(STALE_FLOW_ID_PREFIX + deviceFlow.getTableId() + "-" + index++))
+                    .build());
+        }
+        return flows;
+    }
+
+    /**
+     * @return ids of device groups not paired with any configured group
+     */
+    Set<Long> getUnpairedGroups() {
+        return Collections.unmodifiableSet(unpairedGroups);
+    }
+
+    /**
+     * @return ids of device meters not paired with any configured meter
+     */
+    Set<Long> getUnpairedMeters() {
+        return Collections.unmodifiableSet(unpairedMeters);
+    }
+
+    /**
+     * Instructions in comparable form - device may report instructions in different order and with different keys,
+     * flow carries at most one instruction of each type, so only instruction choices are kept. Actions are sorted
+     * by their order and renumbered from zero.
+     */
+    private static Set<org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.Instruction>
+            instructionsOf(final Instructions instructions) {
+        if (instructions == null || instructions.getInstruction() == null) {
+            return Collections.emptySet();
+        }
+        final Set<org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.Instruction> choices =
+                new HashSet<>();
+        for (Instruction instruction : instructions.getInstruction()) {
+            choices.add(normalizeInstruction(instruction.getInstruction()));
+        }
+        return choices;
+    }
+
+    private static org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.Instruction
+            normalizeInstruction(
+                    final org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.Instruction
+                            choice) {
+        if (choice instanceof ApplyActionsCase) {
+            final ApplyActionsCase applyActions = (ApplyActionsCase) choice;
+            return new ApplyActionsCaseBuilder()
+                    .setApplyActions(new ApplyActionsBuilder()
+                            .setAction(normalizeActions(applyActions.getApplyActions() == null
+                                    ? null : applyActions.getApplyActions().getAction()))
+                            .build())
+                    .build();
+        }
+        if (choice instanceof WriteActionsCase) {
+            final WriteActionsCase writeActions = (WriteActionsCase) choice;
+            return new WriteActionsCaseBuilder()
+                    .setWriteActions(new WriteActionsBuilder()
+                            .setAction(normalizeActions(writeActions.getWriteActions() == null
+                                    ? null : writeActions.getWriteActions().getAction()))
+                            .build())
+                    .build();
+        }
+        return choice;
+    }
+
+    private static List<Action> normalizeActions(final List<Action> actions) {
+        final List<Action> sorted = new ArrayList<>(nullToEmpty(actions));
+        sorted.sort(Comparator.comparing(Action::getOrder, Comparator.nullsFirst(Comparator.<Integer>naturalOrder())));
+        final List<Action> normalized = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            normalized.add(new ActionBuilder(sorted.get(i)).setOrder(i).setKey(new ActionKey(i)).build());
+        }
+        return normalized;
+    }
+
+    private static <T> Collection<T> nullToEmpty(final List<T> items) {
+        return items == null ? Collections.<T>emptyList() : items;
+    }
+
+    private static final class FlowPairingKey {
+        private final Short tableId;
+        private final Integer priority;
+        private final Match match;
+
+        private FlowPairingKey(final Short tableId, final Integer priority, final Match match) {
+            this.tableId = tableId;
+            this.priority = priority != null ? priority : DEFAULT_PRIORITY;
+            this.match = match != null ? MatchNormalizationUtil.normalizeMatch(match) : EMPTY_MATCH;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final FlowPairingKey that = (FlowPairingKey) o;
+            return Objects.equals(tableId, that.tableId)
+                    && priority.equals(that.priority)
+                    && match.equals(that.match);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableId, priority, match);
+        }
+    }
+}
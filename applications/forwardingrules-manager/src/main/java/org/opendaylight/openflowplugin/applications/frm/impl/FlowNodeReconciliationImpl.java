@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.math.BigInteger;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -29,11 +30,15 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.HashMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -46,10 +51,18 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.openflowplugin.applications.frm.FlowNodeReconciliation;
 import org.opendaylight.openflowplugin.applications.frm.ForwardingRulesManager;
+import org.opendaylight.openflowplugin.applications.frm.ReconciliationProgress;
 import org.opendaylight.openflowplugin.common.wait.SimpleTaskRetryLooper;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.GroupActionCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.OutputActionCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetGroupStatisticsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetGroupStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetMeterStatisticsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetMeterStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.meters.Meter;
@@ -65,6 +78,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.ta
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.StaleFlow;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.StaleFlowKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.GroupId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.GroupTypes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.Buckets;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.buckets.Bucket;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.groups.Group;
@@ -72,6 +86,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.groups.GroupKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.groups.StaleGroup;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.groups.StaleGroupKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
@@ -81,6 +96,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.table.types.rev131026.table
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -120,7 +136,17 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
     private ListenerRegistration<FlowNodeReconciliationImpl> listenerRegistration;
 
     private static final int THREAD_POOL_SIZE = 4;
-    ExecutorService executor = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+    /**
+     * Used when the configuration does not define flow chunk size.
+     */
+    private static final int DEFAULT_FLOW_CHUNK_SIZE = 100;
+
+    // tasks are ordered by priority (see ReconciliationTask#compareTo) - queue must stay unbounded
+    ExecutorService executor = new ThreadPoolExecutor(THREAD_POOL_SIZE, THREAD_POOL_SIZE,
+            0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>());
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final ConcurrentMap<InstanceIdentifier<FlowCapableNode>, ReconciliationTask> reconciliations =
+            new ConcurrentHashMap<>();
 
     private static final InstanceIdentifier<FlowCapableNode> II_TO_FLOW_CAPABLE_NODE
             = InstanceIdentifier.builder(Nodes.class)
@@ -230,6 +256,13 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
     @Override
     public void flowNodeDisconnected(InstanceIdentifier<FlowCapableNode> disconnectedNode) {
         provider.unregistrateNode(disconnectedNode);
+        reconciliations.remove(disconnectedNode);
+    }
+
+    @Override
+    public ReconciliationProgress getReconciliationProgress(InstanceIdentifier<FlowCapableNode> node) {
+        final ReconciliationTask reconciliationTask = reconciliations.get(node);
+        return reconciliationTask == null ? null : reconciliationTask.getProgress();
     }
 
     @Override
@@ -249,36 +282,166 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
                 reconciliationPreProcess(connectedNode);
             }
             ReconciliationTask reconciliationTask = new ReconciliationTask(connectedNode);
-            executor.execute(reconciliationTask);
+            reconciliations.put(connectedNode, reconciliationTask);
+            reconciliationTask.start();
         }
     }
 
-    private class ReconciliationTask implements Runnable {
+    /**
+     * Reconciliation of single node. Configuration is read asynchronously, then the node waits for free thread
+     * to push table features, groups and meters. Nodes with less configured items go first, so that small nodes
+     * are not stuck behind big ones after mass reconnect. Flows are pushed in chunks of bounded size without
+     * blocking the thread - next chunk is sent when previous one completes.
+     * <p>
+     * With delta reconciliation enabled, device is dumped by direct statistics before the node is queued. Flows
+     * the device already has are not pushed, groups and meters the device has are modified instead of added and
+     * device items missing in configuration are removed. If the dump fails, all configured items are pushed.
+     */
+    private class ReconciliationTask implements Runnable, Comparable<ReconciliationTask> {
 
         InstanceIdentifier<FlowCapableNode> nodeIdentity;
+        private final long sequence = taskSequence.getAndIncrement();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong flowsPushed = new AtomicLong();
+        private final AtomicLong flowsFailed = new AtomicLong();
+        private volatile ReconciliationProgress.Phase phase = ReconciliationProgress.Phase.READING;
+        private volatile long endNanos;
+        private volatile long flowsTotal;
+        private volatile long itemCount;
+        private volatile long flowsUpToDate;
+        private volatile FlowCapableNode configuredNode;
+        private volatile DeviceStateSnapshot deviceState;
+        private List<Entry<KeyedInstanceIdentifier<Flow, FlowKey>, Flow>> flowsToPush;
+        private int flowChunkSize;
+        private volatile int nextFlow;
 
         public ReconciliationTask(final InstanceIdentifier<FlowCapableNode> nodeIdent) {
            nodeIdentity = nodeIdent;
         }
 
+        /**
+         * Read configuration of node and schedule push of configured items.
+         */
+        void start() {
+            final ReadOnlyTransaction trans = provider.getReadTranaction();
+            final ListenableFuture<Optional<FlowCapableNode>> readFuture =
+                    trans.read(LogicalDatastoreType.CONFIGURATION, nodeIdentity);
+
+            Futures.addCallback(readFuture, new FutureCallback<Optional<FlowCapableNode>>() {
+                @Override
+                public void onSuccess(final Optional<FlowCapableNode> flowNode) {
+                    /* clean transaction */
+                    trans.close();
+                    if (!flowNode.isPresent()) {
+                        finish(ReconciliationProgress.Phase.FINISHED);
+                        return;
+                    }
+
+                    configuredNode = flowNode.get();
+                    itemCount = countItems(configuredNode);
+                    if (Boolean.TRUE.equals(provider.getConfiguration().isReconciliationDeltaEnabled())) {
+                        dumpDevice(provider.getDirectStatisticsService());
+                    } else {
+                        enqueue();
+                    }
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    trans.close();
+                    LOG.error("Fail with read Config/DS for Node {} !", nodeIdentity, t);
+                    finish(ReconciliationProgress.Phase.INTERRUPTED);
+                }
+            });
+        }
+
+        /**
+         * Dump flows, groups and meters of device, then queue the node.
+         */
+        private void dumpDevice(final OpendaylightDirectStatisticsService statisticsService) {
+            phase = ReconciliationProgress.Phase.DUMPING_DEVICE;
+            final NodeRef nodeRef = new NodeRef(nodeIdentity.firstIdentifierOf(Node.class));
+            // generated RPC interfaces declare plain futures - the adapter passes listenable ones through
+            final ListenableFuture<RpcResult<GetFlowStatisticsOutput>> flowDump =
+                    JdkFutureAdapters.listenInPoolThread(statisticsService.getFlowStatistics(
+                            new GetFlowStatisticsInputBuilder().setNode(nodeRef).setStoreStats(false).build()));
+            final ListenableFuture<RpcResult<GetGroupStatisticsOutput>> groupDump =
+                    JdkFutureAdapters.listenInPoolThread(statisticsService.getGroupStatistics(
+                            new GetGroupStatisticsInputBuilder().setNode(nodeRef).setStoreStats(false).build()));
+            final ListenableFuture<RpcResult<GetMeterStatisticsOutput>> meterDump =
+                    JdkFutureAdapters.listenInPoolThread(statisticsService.getMeterStatistics(
+                            new GetMeterStatisticsInputBuilder().setNode(nodeRef).setStoreStats(false).build()));
+
+            Futures.addCallback(Futures.<RpcResult<?>>allAsList(flowDump, groupDump, meterDump),
+                    new FutureCallback<List<RpcResult<?>>>() {
+                @Override
+                public void onSuccess(final List<RpcResult<?>> results) {
+                    final RpcResult<GetFlowStatisticsOutput> flows = Futures.getUnchecked(flowDump);
+                    final RpcResult<GetGroupStatisticsOutput> groups = Futures.getUnchecked(groupDump);
+                    final RpcResult<GetMeterStatisticsOutput> meters = Futures.getUnchecked(meterDump);
+                    if (isDumped(flows) && isDumped(groups) && isDumped(meters)) {
+                        deviceState = new DeviceStateSnapshot(flows.getResult(), groups.getResult(),
+                                meters.getResult());
+                    } else {
+                        LOG.warn("Dump of node {} failed, all configured items will be pushed",
+                                nodeIdentity.firstKeyOf(Node.class).getId().getValue());
+                    }
+                    enqueue();
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    LOG.warn("Dump of node {} failed, all configured items will be pushed",
+                            nodeIdentity.firstKeyOf(Node.class).getId().getValue(), t);
+                    enqueue();
+                }
+            });
+        }
+
+        private void enqueue() {
+            phase = ReconciliationProgress.Phase.QUEUED;
+            executor.execute(this);
+        }
+
+        @Override
+        public int compareTo(final ReconciliationTask other) {
+            final int result = Long.compare(itemCount, other.itemCount);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+
+        ReconciliationProgress getProgress() {
+            final long end = phase == ReconciliationProgress.Phase.FINISHED
+                    || phase == ReconciliationProgress.Phase.INTERRUPTED ? endNanos : System.nanoTime();
+            return new ReconciliationProgress(nodeIdentity.firstKeyOf(Node.class, NodeKey.class).getId().getValue(),
+                    phase, flowsTotal, flowsPushed.get(), flowsFailed.get(), flowsUpToDate,
+                    TimeUnit.NANOSECONDS.toMillis(end - startNanos));
+        }
+
         @Override
         public void run() {
+            if (phase == ReconciliationProgress.Phase.PUSHING_FLOWS) {
+                // re-queued after previous chunk completed
+                pushFlows(nextFlow);
+                return;
+            }
 
             String sNode = nodeIdentity.firstKeyOf(Node.class, NodeKey.class).getId().getValue();
             BigInteger nDpId = getDpnIdFromNodeName(sNode);
 
-            ReadOnlyTransaction trans = provider.getReadTranaction();
-            Optional<FlowCapableNode> flowNode = Optional.absent();
+            final Optional<FlowCapableNode> flowNode = Optional.fromNullable(configuredNode);
+            configuredNode = null;
+            phase = ReconciliationProgress.Phase.PUSHING_GROUPS_AND_METERS;
 
             //initialize the counter
             int counter = 0;
-            try {
-                flowNode = trans.read(LogicalDatastoreType.CONFIGURATION, nodeIdentity).get();
-            } catch (Exception e) {
-                LOG.error("Fail with read Config/DS for Node {} !", nodeIdentity, e);
-            }
 
             if (flowNode.isPresent()) {
+            /* Flows - paired with device before anything is pushed, so that stale device flows are known */
+                collectFlowsToPush(flowNode.get());
+                if (deviceState != null) {
+                    removeStaleFlows();
+                }
+
             /* Tables - have to be pushed before groups */
                 // CHECK if while pusing the update, updateTableInput can be null to emulate a table add
                 List<TableFeatures> tableList = flowNode.get().getTableFeatures() != null
@@ -395,7 +558,11 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
                 for (Meter meter : meters) {
                     final KeyedInstanceIdentifier<Meter, MeterKey> meterIdent =
                             nodeIdentity.child(Meter.class, meter.getKey());
-                    provider.getMeterCommiter().add(meterIdent, meter, nodeIdentity);
+                    if (deviceState != null && deviceState.pairMeter(meter.getMeterId().getValue())) {
+                        provider.getMeterCommiter().update(meterIdent, meter, meter, nodeIdentity);
+                    } else {
+                        provider.getMeterCommiter().add(meterIdent, meter, nodeIdentity);
+                    }
                 }
 
                 // Need to wait for all groups to be installed before adding
@@ -403,26 +570,159 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
                 awaitGroups(sNode, groupFutures.values());
 
             /* Flows */
-                List<Table> tables = flowNode.get().getTable() != null
-                        ? flowNode.get().getTable() : Collections.<Table>emptyList();
-                for (Table table : tables) {
-                    final KeyedInstanceIdentifier<Table, TableKey> tableIdent =
-                            nodeIdentity.child(Table.class, table.getKey());
-                    List<Flow> flows = table.getFlow() != null ? table.getFlow() : Collections.<Flow>emptyList();
-                    for (Flow flow : flows) {
-                        final KeyedInstanceIdentifier<Flow, FlowKey> flowIdent =
-                                tableIdent.child(Flow.class, flow.getKey());
-                        provider.getFlowCommiter().add(flowIdent, flow, nodeIdentity);
+                final Integer configuredChunkSize = provider.getConfiguration().getReconciliationFlowChunkSize();
+                flowChunkSize = configuredChunkSize != null ? configuredChunkSize : DEFAULT_FLOW_CHUNK_SIZE;
+                flowsTotal = flowsToPush.size();
+                phase = ReconciliationProgress.Phase.PUSHING_FLOWS;
+                pushFlows(0);
+            } else {
+                finish(ReconciliationProgress.Phase.FINISHED);
+            }
+        }
+
+        /**
+         * Push flows chunk by chunk, starting at given position. Once a chunk does not complete immediately, the
+         * task is queued again on its completion, so that next chunk is sent from reconciliation pool rather than
+         * from RPC completion thread.
+         *
+         * @param from position of first flow to push
+         */
+        private void pushFlows(final int from) {
+            int next = from;
+            while (next < flowsToPush.size()) {
+                if (!provider.isNodeActive(nodeIdentity)) {
+                    LOG.info("Node {} disconnected, reconciliation stopped after {} of {} flows",
+                            nodeIdentity.firstKeyOf(Node.class).getId().getValue(), next, flowsToPush.size());
+                    finish(ReconciliationProgress.Phase.INTERRUPTED);
+                    return;
+                }
+
+                final int chunkEnd = Math.min(next + flowChunkSize, flowsToPush.size());
+                final List<ListenableFuture<? extends RpcResult>> chunk = new ArrayList<>(chunkEnd - next);
+                for (Entry<KeyedInstanceIdentifier<Flow, FlowKey>, Flow> flow : flowsToPush.subList(next, chunkEnd)) {
+                    chunk.add(JdkFutureAdapters.listenInPoolThread(
+                            provider.getFlowCommiter().add(flow.getKey(), flow.getValue(), nodeIdentity)));
+                }
+                next = chunkEnd;
+
+                final ListenableFuture<List<RpcResult>> chunkResult = Futures.<RpcResult>successfulAsList(chunk);
+                if (!chunkResult.isDone()) {
+                    final int resumeAt = next;
+                    Futures.addCallback(chunkResult, new FutureCallback<List<RpcResult>>() {
+                        @Override
+                        public void onSuccess(final List<RpcResult> results) {
+                            countPushedFlows(results);
+                            nextFlow = resumeAt;
+                            // pool queue accepts only reconciliation tasks, so the task itself is queued
+                            executor.execute(ReconciliationTask.this);
+                        }
+
+                        @Override
+                        public void onFailure(final Throwable t) {
+                            LOG.error("Unhandled exception while waiting for flow installation on node {}",
+                                    nodeIdentity.firstKeyOf(Node.class).getId().getValue(), t);
+                            finish(ReconciliationProgress.Phase.INTERRUPTED);
+                        }
+                    });
+                    return;
+                }
+                countPushedFlows(Futures.getUnchecked(chunkResult));
+            }
+            if (deviceState != null) {
+                removeStaleGroupsAndMeters();
+            }
+            finish(ReconciliationProgress.Phase.FINISHED);
+        }
+
+        /**
+         * Collect configured flows, skipping those the device already has.
+         */
+        private void collectFlowsToPush(final FlowCapableNode flowNode) {
+            List<Table> tables = flowNode.getTable() != null
+                    ? flowNode.getTable() : Collections.<Table>emptyList();
+            flowsToPush = new ArrayList<>();
+            long upToDate = 0;
+            for (Table table : tables) {
+                final KeyedInstanceIdentifier<Table, TableKey> tableIdent =
+                        nodeIdentity.child(Table.class, table.getKey());
+                List<Flow> flows = table.getFlow() != null ? table.getFlow() : Collections.<Flow>emptyList();
+                for (Flow flow : flows) {
+                    if (deviceState != null && deviceState.pairFlow(flow)) {
+                        upToDate++;
+                        continue;
                     }
+                    final KeyedInstanceIdentifier<Flow, FlowKey> flowIdent =
+                            tableIdent.child(Flow.class, flow.getKey());
+                    flowsToPush.add(new AbstractMap.SimpleImmutableEntry<>(flowIdent, flow));
                 }
             }
-        /* clean transaction */
-            trans.close();
+            flowsUpToDate = upToDate;
+        }
+
+        /**
+         * Remove device flows missing in configuration. Device flows sharing table and priority with a configured
+         * flow are kept, they might be the configured flow in form the device reports differently and are
+         * overwritten by pushing it.
+         */
+        private void removeStaleFlows() {
+            final List<Flow> staleFlows = deviceState.getStaleFlows();
+            if (!staleFlows.isEmpty()) {
+                LOG.debug("Removing {} flows of node {} missing in configuration", staleFlows.size(),
+                        nodeIdentity.firstKeyOf(Node.class).getId().getValue());
+            }
+            for (Flow staleFlow : staleFlows) {
+                final KeyedInstanceIdentifier<Flow, FlowKey> flowIdent = nodeIdentity
+                        .child(Table.class, new TableKey(staleFlow.getTableId()))
+                        .child(Flow.class, staleFlow.getKey());
+                provider.getFlowCommiter().remove(flowIdent, staleFlow, nodeIdentity);
+            }
+        }
+
+        /**
+         * Remove device groups and meters missing in configuration. Sent after configured flows, which no
+         * longer refer to them.
+         */
+        private void removeStaleGroupsAndMeters() {
+            for (Long groupId : deviceState.getUnpairedGroups()) {
+                // type is mandatory in group-mod even though device ignores it on delete
+                final Group staleGroup = new GroupBuilder().setGroupId(new GroupId(groupId))
+                        .setGroupType(GroupTypes.GroupAll).build();
+                provider.getGroupCommiter().remove(nodeIdentity.child(Group.class, staleGroup.getKey()),
+                        staleGroup, nodeIdentity);
+            }
+            for (Long meterId : deviceState.getUnpairedMeters()) {
+                final Meter staleMeter = new MeterBuilder().setMeterId(new MeterId(meterId)).build();
+                provider.getMeterCommiter().remove(nodeIdentity.child(Meter.class, staleMeter.getKey()),
+                        staleMeter, nodeIdentity);
+            }
+        }
+
+        private void countPushedFlows(final List<RpcResult> results) {
+            // failed RPC future yields null result
+            for (RpcResult result : results) {
+                if (result == null || !result.isSuccessful()) {
+                    flowsFailed.incrementAndGet();
+                }
+            }
+            flowsPushed.addAndGet(results.size());
+        }
+
+        private void finish(final ReconciliationProgress.Phase finalPhase) {
+            flowsToPush = null;
+            deviceState = null;
+            endNanos = System.nanoTime();
+            phase = finalPhase;
+            final ReconciliationProgress progress = getProgress();
+            LOG.debug("Reconciliation of node {} ended in {} ms: {} of {} flows pushed ({} failed, {} flows/s),"
+                    + " {} flows up to date", progress.getNodeId(), progress.getElapsedMillis(),
+                    progress.getFlowsPushed(), progress.getFlowsTotal(), progress.getFlowsFailed(),
+                    (long) progress.getFlowsPerSecond(), progress.getFlowsUpToDate());
         }
 
         /**
          * Invoke add-group RPC, and put listenable future associated with the
-         * RPC into the given map.
+         * RPC into the given map. Group the device already has is modified
+         * instead (delta reconciliation).
          *
          * @param map        The map to store listenable futures associated with
          *                   add-group RPC.
@@ -432,6 +732,11 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
             KeyedInstanceIdentifier<Group, GroupKey> groupIdent =
                 nodeIdentity.child(Group.class, group.getKey());
             final Long groupId = group.getGroupId().getValue();
+            if (deviceState != null && deviceState.pairGroup(groupId)) {
+                provider.getGroupCommiter().update(groupIdent, group, group, nodeIdentity);
+                map.put(groupId, Futures.immediateFuture(null));
+                return;
+            }
             ListenableFuture<?> future = JdkFutureAdapters.listenInPoolThread(
                 provider.getGroupCommiter().add(
                     groupIdent, group, nodeIdentity));
@@ -496,6 +801,21 @@ public class FlowNodeReconciliationImpl implements FlowNodeReconciliation {
         }
     }
 
+    private static boolean isDumped(final RpcResult<?> dump) {
+        return dump != null && dump.isSuccessful() && dump.getResult() != null;
+    }
+
+    private static long countItems(final FlowCapableNode flowNode) {
+        long count = (flowNode.getGroup() != null ? flowNode.getGroup().size() : 0)
+                + (flowNode.getMeter() != null ? flowNode.getMeter().size() : 0);
+        if (flowNode.getTable() != null) {
+            for (Table table : flowNode.getTable()) {
+                count += table.getFlow() != null ? table.getFlow().size() : 0;
+            }
+        }
+        return count;
+    }
+
     private BigInteger getDpnIdFromNodeName(String nodeName) {
 
         String dpId = nodeName.substring(nodeName.lastIndexOf(SEPARATOR) + 1);
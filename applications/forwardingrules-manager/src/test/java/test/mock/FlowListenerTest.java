@@ -9,6 +9,7 @@ package test.mock;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.After;
@@ -22,10 +23,12 @@ import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvider;
+import org.opendaylight.openflowplugin.applications.frm.ReconciliationProgress;
 import org.opendaylight.openflowplugin.applications.frm.impl.DeviceMastershipManager;
 import org.opendaylight.openflowplugin.applications.frm.impl.ForwardingRulesManagerImpl;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Dscp;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.Table;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.TableBuilder;
@@ -39,18 +42,30 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.ta
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.RemoveFlowInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.UpdateFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.InstructionsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.GoToTableCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.go.to.table._case.GoToTableBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.InstructionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.GroupId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.statistics.reply.GroupStatsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatch;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflowplugin.app.forwardingrules.manager.config.rev160511.ForwardingRulesManagerConfigBuilder;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import test.mock.util.FRMTest;
+import test.mock.util.OpendaylightDirectStatisticsServiceMock;
 import test.mock.util.RpcProviderRegistryMock;
 import test.mock.util.SalFlowServiceMock;
+import test.mock.util.SalGroupServiceMock;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FlowListenerTest extends FRMTest {
@@ -242,6 +257,127 @@ public class FlowListenerTest extends FRMTest {
         assertCommit(writeTx.submit());
     }
 
+    @Test
+    public void reconcileFlowsTest() throws Exception {
+        final InstanceIdentifier<FlowCapableNode> nodeII = InstanceIdentifier.create(Nodes.class)
+                .child(Node.class, s1Key).augmentation(FlowCapableNode.class);
+        final List<Flow> flows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            flows.add(new FlowBuilder().setKey(new FlowKey(new FlowId("test_Flow" + i))).setTableId((short) 2).build());
+        }
+
+        WriteTransaction writeTx = getDataBroker().newWriteOnlyTransaction();
+        writeTx.put(LogicalDatastoreType.CONFIGURATION, nodeII.child(Table.class, tableKey),
+                new TableBuilder().setKey(tableKey).setFlow(flows).build(), true);
+        assertCommit(writeTx.submit());
+
+        writeTx = getDataBroker().newWriteOnlyTransaction();
+        writeTx.put(LogicalDatastoreType.OPERATIONAL, nodeII.firstIdentifierOf(Node.class),
+                new NodeBuilder().setKey(s1Key)
+                        .addAugmentation(FlowCapableNode.class, new FlowCapableNodeBuilder().build()).build(), true);
+        assertCommit(writeTx.submit());
+
+        ReconciliationProgress progress = null;
+        for (int i = 0; i < 100; i++) {
+            progress = forwardingRulesManager.getFlowNodeReconciliation().getReconciliationProgress(nodeII);
+            if (progress != null && progress.getPhase() == ReconciliationProgress.Phase.FINISHED) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertEquals(ReconciliationProgress.Phase.FINISHED, progress.getPhase());
+        assertEquals(3, progress.getFlowsTotal());
+        assertEquals(3, progress.getFlowsPushed());
+        assertEquals(0, progress.getFlowsFailed());
+        final SalFlowServiceMock salFlowService = (SalFlowServiceMock) forwardingRulesManager.getSalFlowService();
+        assertEquals(3, salFlowService.getAddFlowCalls().size());
+    }
+
+    @Test
+    public void reconcileFlowsDeltaTest() throws Exception {
+        forwardingRulesManager.close();
+        forwardingRulesManager = new ForwardingRulesManagerImpl(
+                getDataBroker(),
+                rpcProviderRegistryMock,
+                new ForwardingRulesManagerConfigBuilder(getConfig()).setReconciliationDeltaEnabled(true).build(),
+                clusterSingletonService);
+        forwardingRulesManager.start();
+        forwardingRulesManager.setDeviceMastershipManager(deviceMastershipManager);
+
+        final InstanceIdentifier<FlowCapableNode> nodeII = InstanceIdentifier.create(Nodes.class)
+                .child(Node.class, s1Key).augmentation(FlowCapableNode.class);
+        final List<Flow> flows = new ArrayList<>();
+        flows.add(new FlowBuilder().setKey(new FlowKey(new FlowId("test_Flow0"))).setTableId((short) 2).build());
+        flows.add(new FlowBuilder().setKey(new FlowKey(new FlowId("test_Flow1"))).setTableId((short) 2)
+                .setPriority(5).build());
+        flows.add(new FlowBuilder().setKey(new FlowKey(new FlowId("test_Flow2"))).setTableId((short) 2)
+                .setPriority(6).build());
+
+        final OpendaylightDirectStatisticsServiceMock directStatisticsService =
+                (OpendaylightDirectStatisticsServiceMock) forwardingRulesManager.getDirectStatisticsService();
+        // device reports default priority and empty match for flow configured without them
+        directStatisticsService.getDeviceFlows().add(createDeviceFlow("d0", 0x8000, new MatchBuilder().build()));
+        directStatisticsService.getDeviceFlows().add(createDeviceFlow("d1", 5, null));
+        // changed instructions
+        directStatisticsService.getDeviceFlows().add(new FlowAndStatisticsMapListBuilder(
+                createDeviceFlow("d2", 6, null))
+                .setInstructions(new InstructionsBuilder()
+                        .setInstruction(Collections.singletonList(new InstructionBuilder()
+                                .setOrder(0)
+                                .setInstruction(new GoToTableCaseBuilder()
+                                        .setGoToTable(new GoToTableBuilder().setTableId((short) 3).build())
+                                        .build())
+                                .build()))
+                        .build())
+                .build());
+        // not configured
+        directStatisticsService.getDeviceFlows().add(createDeviceFlow("d3", 7, null));
+        directStatisticsService.getDeviceGroups().add(new GroupStatsBuilder().setGroupId(new GroupId(9L)).build());
+
+        WriteTransaction writeTx = getDataBroker().newWriteOnlyTransaction();
+        writeTx.put(LogicalDatastoreType.CONFIGURATION, nodeII.child(Table.class, tableKey),
+                new TableBuilder().setKey(tableKey).setFlow(flows).build(), true);
+        assertCommit(writeTx.submit());
+
+        writeTx = getDataBroker().newWriteOnlyTransaction();
+        writeTx.put(LogicalDatastoreType.OPERATIONAL, nodeII.firstIdentifierOf(Node.class),
+                new NodeBuilder().setKey(s1Key)
+                        .addAugmentation(FlowCapableNode.class, new FlowCapableNodeBuilder().build()).build(), true);
+        assertCommit(writeTx.submit());
+
+        ReconciliationProgress progress = null;
+        for (int i = 0; i < 100; i++) {
+            progress = forwardingRulesManager.getFlowNodeReconciliation().getReconciliationProgress(nodeII);
+            if (progress != null && progress.getPhase() == ReconciliationProgress.Phase.FINISHED) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertEquals(ReconciliationProgress.Phase.FINISHED, progress.getPhase());
+        assertEquals(2, progress.getFlowsUpToDate());
+        assertEquals(1, progress.getFlowsTotal());
+        final SalFlowServiceMock salFlowService = (SalFlowServiceMock) forwardingRulesManager.getSalFlowService();
+        assertEquals(1, salFlowService.getAddFlowCalls().size());
+        assertEquals(Integer.valueOf(6), salFlowService.getAddFlowCalls().get(0).getPriority());
+        assertEquals(1, salFlowService.getRemoveFlowCalls().size());
+        assertEquals(Integer.valueOf(7), salFlowService.getRemoveFlowCalls().get(0).getPriority());
+        final SalGroupServiceMock salGroupService = (SalGroupServiceMock) forwardingRulesManager.getSalGroupService();
+        assertEquals(1, salGroupService.getRemoveGroupCalls().size());
+        assertEquals(Long.valueOf(9L), salGroupService.getRemoveGroupCalls().get(0).getGroupId().getValue());
+    }
+
+    private static FlowAndStatisticsMapList createDeviceFlow(final String flowId, final int priority,
+                                                             final Match match) {
+        return new FlowAndStatisticsMapListBuilder()
+                .setFlowId(new org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowId(flowId))
+                .setTableId((short) 2)
+                .setPriority(priority)
+                .setMatch(match)
+                .build();
+    }
+
     @After
     public void tearDown() throws Exception {
         forwardingRulesManager.close();
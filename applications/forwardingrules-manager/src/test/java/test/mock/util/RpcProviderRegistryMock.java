@@ -13,6 +13,7 @@ import org.opendaylight.controller.md.sal.common.api.routing.RouteChangeListener
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker;
 import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.controller.sal.binding.api.rpc.RpcContextIdentifier;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.SalFlowService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.service.rev130918.SalGroupService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.service.rev130918.SalMeterService;
@@ -46,6 +47,8 @@ public class RpcProviderRegistryMock implements RpcProviderRegistry {
             return (T) new SalMeterServiceMock();
         } else if (serviceInterface.equals(SalTableService.class)) {
             return (T) new SalTableServiceMock();
+        } else if (serviceInterface.equals(OpendaylightDirectStatisticsService.class)) {
+            return (T) new OpendaylightDirectStatisticsServiceMock();
         } else {
             return null;
         }
@@ -9,29 +9,113 @@
 package org.opendaylight.openflowplugin.applications.frsync.dao;
 
 import com.google.common.base.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import com.google.common.base.Preconditions;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.Table;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Adding cache to data access object of {@link FlowCapableNode}.
+ * <p>
+ * Cache is bounded by amount of cached items (flows, groups and meters of all cached nodes) - least recently used
+ * snapshots are evicted when budget is exceeded. Evicted node is loaded from datastore on demand
+ * (see {@link FlowCapableNodeCachedDao}).
  */
 public class FlowCapableNodeSnapshotDao implements FlowCapableNodeDao {
 
-    private final ConcurrentHashMap<String, FlowCapableNode> cache = new ConcurrentHashMap<>();
+    private static final Logger LOG = LoggerFactory.getLogger(FlowCapableNodeSnapshotDao.class);
+
+    private final long maxCachedItems;
+    /** snapshots in access order, guarded by this */
+    private final LinkedHashMap<String, CachedSnapshot> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedItems;
+
+    public FlowCapableNodeSnapshotDao() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxCachedItems budget of cached flows, groups and meters (summary of all nodes)
+     */
+    public FlowCapableNodeSnapshotDao(final long maxCachedItems) {
+        Preconditions.checkArgument(maxCachedItems > 0, "snapshot cache budget must be positive");
+        this.maxCachedItems = maxCachedItems;
+    }
 
     public void updateCache(@Nonnull NodeId nodeId, Optional<FlowCapableNode> dataAfter) {
-        if (dataAfter.isPresent()) {
-            cache.put(nodeId.getValue(), dataAfter.get());
-        } else {
-            cache.remove(nodeId.getValue());
+        final String key = nodeId.getValue();
+        if (!dataAfter.isPresent()) {
+            synchronized (this) {
+                removeSnapshot(key);
+            }
+            return;
+        }
+
+        final FlowCapableNode node = dataAfter.get();
+        final long weight = weigh(node);
+        synchronized (this) {
+            removeSnapshot(key);
+            if (weight > maxCachedItems) {
+                LOG.debug("Snapshot of {} ({} items) exceeds cache budget, not cached", key, weight);
+                return;
+            }
+
+            cache.put(key, new CachedSnapshot(node, weight));
+            cachedItems += weight;
+
+            final Iterator<Map.Entry<String, CachedSnapshot>> eldest = cache.entrySet().iterator();
+            while (cachedItems > maxCachedItems) {
+                final Map.Entry<String, CachedSnapshot> evicted = eldest.next();
+                LOG.trace("Evicting snapshot of {} ({} items)", evicted.getKey(), evicted.getValue().weight);
+                cachedItems -= evicted.getValue().weight;
+                eldest.remove();
+            }
         }
     }
 
     public Optional<FlowCapableNode> loadByNodeId(@Nonnull NodeId nodeId) {
-        final FlowCapableNode node = cache.get(nodeId.getValue());
-        return Optional.fromNullable(node);
+        final CachedSnapshot snapshot;
+        synchronized (this) {
+            snapshot = cache.get(nodeId.getValue());
+        }
+        return snapshot == null ? Optional.<FlowCapableNode>absent() : Optional.of(snapshot.node);
     }
 
+    private void removeSnapshot(final String key) {
+        final CachedSnapshot removed = cache.remove(key);
+        if (removed != null) {
+            cachedItems -= removed.weight;
+        }
+    }
+
+    private static long weigh(final FlowCapableNode node) {
+        long weight = 1 + size(node.getGroup()) + size(node.getMeter());
+        if (node.getTable() != null) {
+            for (Table table : node.getTable()) {
+                weight += 1 + size(table.getFlow());
+            }
+        }
+        return weight;
+    }
+
+    private static int size(final List<?> items) {
+        return items == null ? 0 : items.size();
+    }
+
+    private static final class CachedSnapshot {
+        private final FlowCapableNode node;
+        private final long weight;
+
+        private CachedSnapshot(final FlowCapableNode node, final long weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+    }
 }
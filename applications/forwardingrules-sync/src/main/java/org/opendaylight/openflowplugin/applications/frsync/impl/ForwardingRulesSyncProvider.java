@@ -51,11 +51,14 @@ public class ForwardingRulesSyncProvider implements AutoCloseable, BindingAwareP
 
     private static final Logger LOG = LoggerFactory.getLogger(ForwardingRulesSyncProvider.class);
     private static final String FRS_EXECUTOR_PREFIX = "FRS-executor-";
+    /** Default budget of flows, groups and meters kept in each of config and operational snapshot caches. */
+    public static final long DEFAULT_SNAPSHOT_CACHE_BUDGET = 1000000;
 
     private final DataBroker dataService;
     private final ClusterSingletonServiceProvider clusterSingletonService;
     private final SalTableService salTableService;
     private final SalFlatBatchService flatBatchService;
+    private final long snapshotCacheBudget;
 
     /** Wildcard path to flow-capable-node augmentation of inventory node. */
     private static final InstanceIdentifier<FlowCapableNode> FLOW_CAPABLE_NODE_WC_PATH =
@@ -76,6 +79,16 @@ public class ForwardingRulesSyncProvider implements AutoCloseable, BindingAwareP
                                        final DataBroker dataBroker,
                                        final RpcConsumerRegistry rpcRegistry,
                                        final ClusterSingletonServiceProvider clusterSingletonService) {
+        this(broker, dataBroker, rpcRegistry, clusterSingletonService, DEFAULT_SNAPSHOT_CACHE_BUDGET);
+    }
+
+    public ForwardingRulesSyncProvider(final BindingAwareBroker broker,
+                                       final DataBroker dataBroker,
+                                       final RpcConsumerRegistry rpcRegistry,
+                                       final ClusterSingletonServiceProvider clusterSingletonService,
+                                       final long snapshotCacheBudget) {
+        Preconditions.checkArgument(snapshotCacheBudget > 0, "snapshot cache budget must be positive");
+        this.snapshotCacheBudget = snapshotCacheBudget;
         Preconditions.checkNotNull(rpcRegistry, "RpcConsumerRegistry can not be null!");
         this.dataService = Preconditions.checkNotNull(dataBroker, "DataBroker can not be null!");
         this.clusterSingletonService = Preconditions.checkNotNull(clusterSingletonService,
@@ -116,8 +129,8 @@ public class ForwardingRulesSyncProvider implements AutoCloseable, BindingAwareP
 
         final SyncReactor reactor = new SyncReactorClusterDecorator(syncReactorFutureZip, deviceMastershipManager);
 
-        final FlowCapableNodeSnapshotDao configSnapshot = new FlowCapableNodeSnapshotDao();
-        final FlowCapableNodeSnapshotDao operationalSnapshot = new FlowCapableNodeSnapshotDao();
+        final FlowCapableNodeSnapshotDao configSnapshot = new FlowCapableNodeSnapshotDao(snapshotCacheBudget);
+        final FlowCapableNodeSnapshotDao operationalSnapshot = new FlowCapableNodeSnapshotDao(snapshotCacheBudget);
         final FlowCapableNodeDao configDao = new FlowCapableNodeCachedDao(configSnapshot,
                 new FlowCapableNodeOdlDao(dataService, LogicalDatastoreType.CONFIGURATION));
         final FlowCapableNodeDao operationalDao = new FlowCapableNodeCachedDao(operationalSnapshot,
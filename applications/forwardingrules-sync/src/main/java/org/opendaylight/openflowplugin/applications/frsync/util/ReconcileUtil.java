@@ -11,18 +11,22 @@ package org.opendaylight.openflowplugin.applications.frsync.util;
 import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.JdkFutureAdapters;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.GroupActionCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
@@ -52,6 +56,8 @@ import org.slf4j.LoggerFactory;
 public final class ReconcileUtil {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReconcileUtil.class);
+    /** amount of flows in all tables worth of resolving tables in parallel */
+    private static final int PARALLEL_FLOW_DIFF_THRESHOLD = 10000;
 
     private ReconcileUtil() {
         throw new IllegalStateException("This class should not be instantiated.");
@@ -138,6 +144,9 @@ public final class ReconcileUtil {
     }
 
     /**
+     * Groups are sorted topologically in one pass (Kahn) - each step contains groups whose referenced groups are
+     * already present on device or pushed by previous steps. Order of groups inside step follows pending groups.
+     *
      * @param nodeId             target node
      * @param installedGroupsArg groups resent on device
      * @param pendingGroups      groups configured for device
@@ -148,54 +157,95 @@ public final class ReconcileUtil {
                                                                       final Map<Long, Group> installedGroupsArg,
                                                                       final Collection<Group> pendingGroups,
                                                                       final boolean gatherUpdates) {
-        final Map<Long, Group> installedGroups = new HashMap<>(installedGroupsArg);
-        final List<ItemSyncBox<Group>> plan = new ArrayList<>();
-
-        while (!Iterables.isEmpty(pendingGroups)) {
-            final ItemSyncBox<Group> stepPlan = new ItemSyncBox<>();
-            final Iterator<Group> iterator = pendingGroups.iterator();
-            final Map<Long, Group> installIncrement = new HashMap<>();
-
-            while (iterator.hasNext()) {
-                final Group group = iterator.next();
-
-                final Group existingGroup = installedGroups.get(group.getGroupId().getValue());
-                if (existingGroup != null) {
-                    if (!gatherUpdates) {
-                        iterator.remove();
-                    } else {
-                        // check buckets and eventually update
-                        if (group.equals(existingGroup)) {
-                            iterator.remove();
-                        } else {
-                            if (checkGroupPrecondition(installedGroups.keySet(), group)) {
-                                iterator.remove();
-                                LOG.trace("Group {} on device {} differs - planned for update", group.getGroupId(), nodeId);
-                                stepPlan.getItemsToUpdate().add(new ItemSyncBox.ItemUpdateTuple<>(existingGroup, group));
-                            }
-                        }
+        final List<PlannedGroup> plannedGroups = new ArrayList<>();
+        final Map<Long, List<PlannedGroup>> waitingForGroup = new HashMap<>();
+        final Deque<PlannedGroup> resolved = new ArrayDeque<>();
+
+        for (final Group group : pendingGroups) {
+            final Group existingGroup = installedGroupsArg.get(group.getGroupId().getValue());
+            if (existingGroup != null && (!gatherUpdates || group.equals(existingGroup))) {
+                continue;
+            }
+
+            final PlannedGroup plannedGroup = new PlannedGroup(group, existingGroup);
+            for (Long referencedGroupId : collectReferencedGroupIds(group)) {
+                if (!installedGroupsArg.containsKey(referencedGroupId)) {
+                    plannedGroup.unresolvedCount++;
+                    waitingForGroup.computeIfAbsent(referencedGroupId, key -> new ArrayList<>()).add(plannedGroup);
+                }
+            }
+            plannedGroups.add(plannedGroup);
+            if (plannedGroup.unresolvedCount == 0) {
+                resolved.add(plannedGroup);
+            }
+        }
+
+        int resolvedCount = 0;
+        int maxLevel = -1;
+        while (!resolved.isEmpty()) {
+            final PlannedGroup plannedGroup = resolved.poll();
+            resolvedCount++;
+            maxLevel = Math.max(maxLevel, plannedGroup.level);
+            if (plannedGroup.existingGroup != null) {
+                // updated group is present on device already - nobody waits for it
+                continue;
+            }
+
+            final List<PlannedGroup> dependents = waitingForGroup.remove(plannedGroup.group.getGroupId().getValue());
+            if (dependents != null) {
+                for (PlannedGroup dependent : dependents) {
+                    dependent.level = Math.max(dependent.level, plannedGroup.level + 1);
+                    if (--dependent.unresolvedCount == 0) {
+                        resolved.add(dependent);
                     }
-                } else if (checkGroupPrecondition(installedGroups.keySet(), group)) {
-                    iterator.remove();
-                    installIncrement.put(group.getGroupId().getValue(), group);
-                    stepPlan.getItemsToPush().add(group);
                 }
             }
+        }
+
+        if (resolvedCount < plannedGroups.size()) {
+            LOG.warn("Failed to resolve and divide groups into preconditions-match based ordered plan: {}, " +
+                    "{} of {} groups stuck on missing or cyclic dependencies", nodeId.getValue(),
+                    plannedGroups.size() - resolvedCount, plannedGroups.size());
+            throw new IllegalStateException("Failed to resolve and divide groups when matching preconditions");
+        }
 
-            if (!stepPlan.isEmpty()) {
-                // atomic update of installed flows in order to keep plan portions clean of local group dependencies
-                installedGroups.putAll(installIncrement);
-                plan.add(stepPlan);
-            } else if (!pendingGroups.isEmpty()) {
-                LOG.warn("Failed to resolve and divide groups into preconditions-match based ordered plan: {}, " +
-                        "resolving stuck at level {}", nodeId.getValue(), plan.size());
-                throw new IllegalStateException("Failed to resolve and divide groups when matching preconditions");
+        final List<ItemSyncBox<Group>> plan = new ArrayList<>(maxLevel + 1);
+        for (int i = 0; i <= maxLevel; i++) {
+            plan.add(new ItemSyncBox<>());
+        }
+        for (PlannedGroup plannedGroup : plannedGroups) {
+            final ItemSyncBox<Group> stepPlan = plan.get(plannedGroup.level);
+            if (plannedGroup.existingGroup == null) {
+                stepPlan.getItemsToPush().add(plannedGroup.group);
+            } else {
+                LOG.trace("Group {} on device {} differs - planned for update", plannedGroup.group.getGroupId(), nodeId);
+                stepPlan.getItemsToUpdate().add(
+                        new ItemSyncBox.ItemUpdateTuple<>(plannedGroup.existingGroup, plannedGroup.group));
             }
         }
 
         return plan;
     }
 
+    private static Set<Long> collectReferencedGroupIds(final Group group) {
+        if (group.getBuckets() == null || group.getBuckets().getBucket() == null) {
+            return Collections.emptySet();
+        }
+
+        final Set<Long> referencedGroupIds = new HashSet<>();
+        for (Bucket bucket : group.getBuckets().getBucket()) {
+            if (bucket.getAction() == null) {
+                continue;
+            }
+            for (Action action : bucket.getAction()) {
+                if (GroupActionCase.class.equals(action.getAction().getImplementedInterface())) {
+                    referencedGroupIds.add(((GroupActionCase) (action.getAction())).getGroupAction().getGroupId());
+                }
+            }
+        }
+        return referencedGroupIds;
+    }
+
     public static boolean checkGroupPrecondition(final Set<Long> installedGroupIds, final Group pendingGroup) {
         boolean okToInstall = true;
         // check each bucket in the pending group
@@ -289,6 +339,9 @@ public final class ReconcileUtil {
     }
 
     /**
+     * Tables are independent of each other - when there are many flows, tables get resolved in parallel
+     * (common fork-join pool).
+     *
      * @param nodeId              target node
      * @param tableOperationalMap flow-tables resent on device
      * @param tablesConfigured    flow-tables configured for device
@@ -300,29 +353,38 @@ public final class ReconcileUtil {
                                                                                final List<Table> tablesConfigured,
                                                                                final boolean gatherUpdates) {
         LOG.trace("resolving flows in tables for {}", nodeId.getValue());
-        final Map<TableKey, ItemSyncBox<Flow>> tableFlowSyncBoxes = new HashMap<>();
-        for (final Table tableConfigured : tablesConfigured) {
-            final List<Flow> flowsConfigured = tableConfigured.getFlow();
-            if (flowsConfigured == null || flowsConfigured.isEmpty()) {
-                continue;
-            }
+        final Stream<Table> tables = countFlows(tablesConfigured) >= PARALLEL_FLOW_DIFF_THRESHOLD
+                ? tablesConfigured.parallelStream()
+                : tablesConfigured.stream();
 
-            // lookup table (on device)
-            final Table tableOperational = tableOperationalMap.get(tableConfigured.getId());
-            // wrap existing (on device) flows in current table into map
-            final Map<FlowDescriptor, Flow> flowOperationalMap = FlowCapableNodeLookups.wrapFlowsToMap(
-                    tableOperational != null
-                            ? tableOperational.getFlow()
-                            : null);
+        return tables
+                .filter(tableConfigured -> tableConfigured.getFlow() != null && !tableConfigured.getFlow().isEmpty())
+                .map(tableConfigured -> {
+                    // lookup table (on device)
+                    final Table tableOperational = tableOperationalMap.get(tableConfigured.getId());
+                    // wrap existing (on device) flows in current table into map
+                    final Map<FlowDescriptor, Flow> flowOperationalMap = FlowCapableNodeLookups.wrapFlowsToMap(
+                            tableOperational != null
+                                    ? tableOperational.getFlow()
+                                    : null);
 
+                    final ItemSyncBox<Flow> flowsSyncBox = resolveFlowDiffsInTable(
+                            tableConfigured.getFlow(), flowOperationalMap, gatherUpdates);
+                    return new AbstractMap.SimpleImmutableEntry<>(tableConfigured.getKey(), flowsSyncBox);
+                })
+                .filter(tableSyncBox -> !tableSyncBox.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (previous, next) -> next, HashMap::new));
+    }
 
-            final ItemSyncBox<Flow> flowsSyncBox = resolveFlowDiffsInTable(
-                    flowsConfigured, flowOperationalMap, gatherUpdates);
-            if (!flowsSyncBox.isEmpty()) {
-                tableFlowSyncBoxes.put(tableConfigured.getKey(), flowsSyncBox);
+    private static int countFlows(final List<Table> tables) {
+        int count = 0;
+        for (Table table : tables) {
+            if (table.getFlow() != null) {
+                count += table.getFlow().size();
             }
         }
-        return tableFlowSyncBoxes;
+        return count;
     }
 
     public static List<Group> safeGroups(FlowCapableNode node) {
@@ -348,4 +410,19 @@ public final class ReconcileUtil {
 
         return MoreObjects.firstNonNull(node.getMeter(), ImmutableList.<Meter>of());
     }
+
+    /**
+     * Pending group with its position in group plan.
+     */
+    private static final class PlannedGroup {
+        private final Group group;
+        private final Group existingGroup;
+        private int unresolvedCount;
+        private int level;
+
+        private PlannedGroup(final Group group, final Group existingGroup) {
+            this.group = group;
+            this.existingGroup = existingGroup;
+        }
+    }
 }
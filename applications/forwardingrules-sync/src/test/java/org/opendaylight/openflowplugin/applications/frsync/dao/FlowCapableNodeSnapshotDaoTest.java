@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2016 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.applications.frsync.dao;
+
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.TableBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+
+/**
+ * Test for {@link FlowCapableNodeSnapshotDao}.
+ */
+public class FlowCapableNodeSnapshotDaoTest {
+
+    private static final NodeId NODE_1 = new NodeId("testNode1");
+    private static final NodeId NODE_2 = new NodeId("testNode2");
+    private static final NodeId NODE_3 = new NodeId("testNode3");
+
+    @Test
+    public void testUpdateAndLoad() throws Exception {
+        final FlowCapableNodeSnapshotDao snapshotDao = new FlowCapableNodeSnapshotDao();
+        final FlowCapableNode node = createNode(2);
+
+        snapshotDao.updateCache(NODE_1, Optional.of(node));
+        Assert.assertSame(node, snapshotDao.loadByNodeId(NODE_1).get());
+        Assert.assertFalse(snapshotDao.loadByNodeId(NODE_2).isPresent());
+
+        snapshotDao.updateCache(NODE_1, Optional.<FlowCapableNode>absent());
+        Assert.assertFalse(snapshotDao.loadByNodeId(NODE_1).isPresent());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        // each node weighs 4 items: node, table and 2 flows
+        final FlowCapableNodeSnapshotDao snapshotDao = new FlowCapableNodeSnapshotDao(8);
+        snapshotDao.updateCache(NODE_1, Optional.of(createNode(2)));
+        snapshotDao.updateCache(NODE_2, Optional.of(createNode(2)));
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_1).isPresent());
+
+        snapshotDao.updateCache(NODE_3, Optional.of(createNode(2)));
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_1).isPresent());
+        Assert.assertFalse(snapshotDao.loadByNodeId(NODE_2).isPresent());
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_3).isPresent());
+
+        // replaced snapshot releases budget of previous one
+        snapshotDao.updateCache(NODE_3, Optional.of(createNode(0)));
+        snapshotDao.updateCache(NODE_2, Optional.of(createNode(0)));
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_1).isPresent());
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_2).isPresent());
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_3).isPresent());
+    }
+
+    @Test
+    public void testSnapshotOverBudget() throws Exception {
+        final FlowCapableNodeSnapshotDao snapshotDao = new FlowCapableNodeSnapshotDao(8);
+        snapshotDao.updateCache(NODE_1, Optional.of(createNode(2)));
+        snapshotDao.updateCache(NODE_2, Optional.of(createNode(10)));
+
+        Assert.assertTrue(snapshotDao.loadByNodeId(NODE_1).isPresent());
+        Assert.assertFalse(snapshotDao.loadByNodeId(NODE_2).isPresent());
+    }
+
+    private static FlowCapableNode createNode(final int flowCount) {
+        final List<Flow> flows = new ArrayList<>();
+        for (int i = 0; i < flowCount; i++) {
+            flows.add(new FlowBuilder().setId(new FlowId("flow" + i)).setTableId((short) 0).build());
+        }
+        return new FlowCapableNodeBuilder()
+                .setTable(Collections.singletonList(new TableBuilder().setId((short) 0).setFlow(flows).build()))
+                .build();
+    }
+}
@@ -255,6 +255,63 @@ public class ReconcileUtilTest {
                 NODE_ID, installedGroups, pendingGroups);
     }
 
+    /**
+     * groups depending on each other can not be planned
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testResolveAndDivideGroupDiffs_negative3() throws Exception {
+        final Map<Long, Group> installedGroups = new HashMap<>();
+        installedGroups.put(1L, createGroup(1L));
+
+        final List<Group> pendingGroups = new ArrayList<>();
+        pendingGroups.add(createGroupWithPreconditions(2L, 1L));
+        pendingGroups.add(createGroupWithPreconditions(3L, 4L));
+        pendingGroups.add(createGroupWithPreconditions(4L, 3L));
+
+        thrown.expect(IllegalStateException.class);
+        ReconcileUtil.resolveAndDivideGroupDiffs(NODE_ID, installedGroups, pendingGroups);
+    }
+
+    /**
+     * add diamond of groups and update group depending on it - steps keep order of pending groups
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testResolveAndDivideGroupDiffs6() throws Exception {
+        final Map<Long, Group> installedGroups = new HashMap<>();
+        installedGroups.put(1L, createGroup(1L));
+
+        final List<Group> pendingGroups = new ArrayList<>();
+        pendingGroups.add(createGroupWithPreconditions(1L, 5L));
+        pendingGroups.add(createGroupWithPreconditions(5L, 3L, 4L));
+        pendingGroups.add(createGroupWithPreconditions(4L, 2L));
+        pendingGroups.add(createGroupWithPreconditions(3L, 2L));
+        pendingGroups.add(createGroup(2L));
+
+        final List<ItemSyncBox<Group>> plan = ReconcileUtil.resolveAndDivideGroupDiffs(
+                NODE_ID, installedGroups, pendingGroups);
+
+        Assert.assertEquals(4, plan.size());
+        Assert.assertEquals(Collections.singletonList(2L), extractPushedGroupIds(plan.get(0)));
+        Assert.assertEquals(Arrays.asList(4L, 3L), extractPushedGroupIds(plan.get(1)));
+        Assert.assertEquals(Collections.singletonList(5L), extractPushedGroupIds(plan.get(2)));
+        Assert.assertEquals(0, plan.get(3).getItemsToPush().size());
+        Assert.assertEquals(1, plan.get(3).getItemsToUpdate().size());
+        Assert.assertEquals(1L, plan.get(3).getItemsToUpdate().iterator().next()
+                .getUpdated().getGroupId().getValue().longValue());
+    }
+
+    private static List<Long> extractPushedGroupIds(final ItemSyncBox<Group> stepPlan) {
+        final List<Long> groupIds = new ArrayList<>();
+        for (Group group : stepPlan.getItemsToPush()) {
+            groupIds.add(group.getGroupId().getValue());
+        }
+        return groupIds;
+    }
+
     @Test
     public void testCheckGroupPrecondition() throws Exception {
         final Set<Long> installedGroups = new HashSet<>(Arrays.asList(new Long[]{1L, 2L}));
@@ -8,14 +8,22 @@
 
 package org.opendaylight.openflowplugin.applications.lldpspeaker;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowplugin.applications.topology.lldp.utils.LLDPDiscoveryUtils;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeConnector;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.FlowTopologyDiscoveryListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkDiscovered;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkOverutilized;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkRemoved;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkUtilizationNormal;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorRef;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
@@ -33,21 +41,47 @@ import org.slf4j.LoggerFactory;
 /**
  * Objects of this class send LLDP frames over all flow-capable ports that can
  * be discovered through inventory.
+ * <p>
+ * Every port gets one LLDP frame per flood period, but frames are not sent in one burst. The period is divided
+ * into {@link #TICKS_PER_PERIOD} ticks and each device sends its share of ports per tick (token bucket
+ * refilled by port count of the device each period). Ports of a device due in the same tick are sent together.
+ * Devices start at different phase of the period, so small devices are spread over the period as well.
+ * <p>
+ * A port is skipped if its outgoing link was discovered after the last frame sent through it, less than a quarter
+ * of link expiration ago. Port is never skipped twice in a row and a lost frame (no discovery after it) is never
+ * followed by a skip, so with expiration of three flood periods a link survives loss of any single frame.
  */
-public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver, Runnable {
+public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver, Runnable,
+        FlowTopologyDiscoveryListener {
     private static final Logger LOG = LoggerFactory.getLogger(LLDPSpeaker.class);
     private static final long LLDP_FLOOD_PERIOD = 5;
+    /**
+     * Number of {@link #run()} invocations per flood period.
+     */
+    static final int TICKS_PER_PERIOD = 50;
+    /**
+     * Link expiration of topology-lldp-discovery, in milliseconds.
+     */
+    private static final long DEFAULT_LINK_EXPIRATION_TIME = 15000;
 
     private final PacketProcessingService packetProcessingService;
     private final ScheduledExecutorService scheduledExecutorService;
-    private final Map<InstanceIdentifier<NodeConnector>, TransmitPacketInput> nodeConnectorMap =
+    private final ConcurrentMap<InstanceIdentifier<NodeConnector>, PortTransmission> nodeConnectorMap =
             new ConcurrentHashMap<>();
+    private final ConcurrentMap<InstanceIdentifier<Node>, DeviceTransmitter> deviceMap = new ConcurrentHashMap<>();
     private final ScheduledFuture<?> scheduledSpeakerTask;
     private final MacAddress addressDestionation;
+    private final long linkRefreshWindowNanos;
     private volatile OperStatus operationalStatus = OperStatus.RUN;
 
     public LLDPSpeaker(final PacketProcessingService packetProcessingService, final MacAddress addressDestionation) {
-        this(packetProcessingService, Executors.newSingleThreadScheduledExecutor(), addressDestionation);
+        this(packetProcessingService, addressDestionation, DEFAULT_LINK_EXPIRATION_TIME);
+    }
+
+    public LLDPSpeaker(final PacketProcessingService packetProcessingService, final MacAddress addressDestionation,
+                       final long linkExpirationTime) {
+        this(packetProcessingService, Executors.newSingleThreadScheduledExecutor(), addressDestionation,
+                linkExpirationTime);
     }
 
     public void setOperationalStatus(final OperStatus operationalStatus) {
@@ -55,6 +89,7 @@ public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver,
         this.operationalStatus = operationalStatus;
         if (operationalStatus.equals(OperStatus.STANDBY)) {
             nodeConnectorMap.clear();
+            deviceMap.clear();
         }
     }
 
@@ -65,10 +100,21 @@ public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver,
     public LLDPSpeaker(final PacketProcessingService packetProcessingService,
                        final ScheduledExecutorService scheduledExecutorService,
                        final MacAddress addressDestionation) {
+        this(packetProcessingService, scheduledExecutorService, addressDestionation, DEFAULT_LINK_EXPIRATION_TIME);
+    }
+
+    /**
+     * @param linkExpirationTime time in milliseconds after which topology-lldp-discovery ages out links
+     */
+    public LLDPSpeaker(final PacketProcessingService packetProcessingService,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final MacAddress addressDestionation, final long linkExpirationTime) {
         this.addressDestionation = addressDestionation;
+        this.linkRefreshWindowNanos = TimeUnit.MILLISECONDS.toNanos(linkExpirationTime) / 4;
         this.scheduledExecutorService = scheduledExecutorService;
+        final long tickMillis = TimeUnit.SECONDS.toMillis(LLDP_FLOOD_PERIOD) / TICKS_PER_PERIOD;
         scheduledSpeakerTask = this.scheduledExecutorService
-                .scheduleAtFixedRate(this, LLDP_FLOOD_PERIOD,LLDP_FLOOD_PERIOD, TimeUnit.SECONDS);
+                .scheduleAtFixedRate(this, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
         this.packetProcessingService = packetProcessingService;
         LOG.info("LLDPSpeaker started, it will send LLDP frames each {} seconds", LLDP_FLOOD_PERIOD);
     }
@@ -79,22 +125,26 @@ public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver,
     @Override
     public void close() {
         nodeConnectorMap.clear();
+        deviceMap.clear();
         scheduledExecutorService.shutdown();
         scheduledSpeakerTask.cancel(true);
         LOG.trace("LLDPSpeaker stopped sending LLDP frames.");
     }
 
     /**
-     * Send LLDPDU frames to all known openflow switch ports.
+     * Send LLDPDU frames to ports which are due in this tick, see {@link #TICKS_PER_PERIOD}.
      */
     @Override
     public void run() {
         if (OperStatus.RUN.equals(operationalStatus)) {
-            LOG.debug("Sending LLDP frames to {} ports...", nodeConnectorMap.keySet().size());
-            for (InstanceIdentifier<NodeConnector> nodeConnectorInstanceId : nodeConnectorMap.keySet()) {
-                NodeConnectorId nodeConnectorId = InstanceIdentifier.keyOf(nodeConnectorInstanceId).getId();
-                LOG.trace("Sending LLDP through port {}", nodeConnectorId.getValue());
-                packetProcessingService.transmitPacket(nodeConnectorMap.get(nodeConnectorInstanceId));
+            final long now = System.nanoTime();
+            final List<TransmitPacketInput> batch = new ArrayList<>();
+            for (DeviceTransmitter device : deviceMap.values()) {
+                device.collectDuePackets(now, linkRefreshWindowNanos, batch);
+                for (TransmitPacketInput packet : batch) {
+                    packetProcessingService.transmitPacket(packet);
+                }
+                batch.clear();
             }
         }
     }
@@ -129,17 +179,25 @@ public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver,
             return;
         }
 
-        // Generate packet with destination switch and port
+        // Generate packet with destination switch and port, node part of the frame is shared by all its ports
+        final LLDPUtil.NodeFrameTemplate frameTemplate = deviceMap.computeIfAbsent(nodeInstanceId,
+                key -> new DeviceTransmitter(nodeId)).frameTemplate;
         TransmitPacketInput packet = new TransmitPacketInputBuilder()
                 .setEgress(new NodeConnectorRef(nodeConnectorInstanceId))
                 .setNode(new NodeRef(nodeInstanceId))
-                .setPayload(LLDPUtil
-                        .buildLldpFrame(nodeId, nodeConnectorId, srcMacAddress, outputPortNo, addressDestionation))
+                .setPayload(LLDPUtil.buildLldpFrame(frameTemplate, nodeConnectorId, srcMacAddress, outputPortNo,
+                        addressDestionation))
                 .build();
 
         // Save packet to node connector id -> packet map to transmit it every 5
         // seconds
-        nodeConnectorMap.put(nodeConnectorInstanceId, packet);
+        final PortTransmission port = new PortTransmission(packet, System.nanoTime());
+        nodeConnectorMap.put(nodeConnectorInstanceId, port);
+        deviceMap.compute(nodeInstanceId, (key, device) -> {
+            final DeviceTransmitter transmitter = device != null ? device : new DeviceTransmitter(nodeId);
+            transmitter.addPort(port);
+            return transmitter;
+        });
         LOG.trace("Port {} added to LLDPSpeaker.nodeConnectorMap", nodeConnectorId.getValue());
 
         // Transmit packet for first time immediately
@@ -151,9 +209,131 @@ public class LLDPSpeaker implements AutoCloseable, NodeConnectorEventsObserver,
      */
     @Override
     public void nodeConnectorRemoved(final InstanceIdentifier<NodeConnector> nodeConnectorInstanceId) {
-        nodeConnectorMap.remove(nodeConnectorInstanceId);
+        final PortTransmission port = nodeConnectorMap.remove(nodeConnectorInstanceId);
+        if (port != null) {
+            deviceMap.computeIfPresent(nodeConnectorInstanceId.firstIdentifierOf(Node.class), (key, device) ->
+                    device.removePort(port) ? null : device);
+        }
         NodeConnectorId nodeConnectorId = InstanceIdentifier.keyOf(nodeConnectorInstanceId).getId();
+        LLDPDiscoveryUtils.invalidateValueForLLDPPacketIntegrityEnsuring(nodeConnectorId);
         LOG.trace("Port {} removed from LLDPSpeaker.nodeConnectorMap", nodeConnectorId.getValue());
     }
 
+    @Override
+    public void onLinkDiscovered(final LinkDiscovered notification) {
+        if (notification.getSource() == null) {
+            return;
+        }
+        final PortTransmission port = nodeConnectorMap.get(
+                notification.getSource().getValue().firstIdentifierOf(NodeConnector.class));
+        if (port != null) {
+            port.linkRefreshed(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onLinkOverutilized(final LinkOverutilized notification) {
+        // NOOP
+    }
+
+    @Override
+    public void onLinkRemoved(final LinkRemoved notification) {
+        // NOOP
+    }
+
+    @Override
+    public void onLinkUtilizationNormal(final LinkUtilizationNormal notification) {
+        // NOOP
+    }
+
+    /**
+     * LLDP frame of single port, time its outgoing link was last discovered and time the frame was last sent.
+     * Transmission state is guarded by owning {@link DeviceTransmitter}.
+     */
+    private static final class PortTransmission {
+        private final TransmitPacketInput packet;
+        private volatile boolean linkDiscovered;
+        private volatile long linkRefreshedAt;
+        private long lastSentAt;
+        private boolean skippedLast;
+
+        private PortTransmission(final TransmitPacketInput packet, final long sentAt) {
+            this.packet = packet;
+            this.lastSentAt = sentAt;
+        }
+
+        private void linkRefreshed(final long now) {
+            linkRefreshedAt = now;
+            linkDiscovered = true;
+        }
+
+        /**
+         * @return true if frame has to be sent, false if its transmission is skipped in this period
+         */
+        private boolean transmissionDue(final long now, final long linkRefreshWindowNanos) {
+            final long refreshedAt = linkRefreshedAt;
+            if (skippedLast || !linkDiscovered || refreshedAt - lastSentAt < 0
+                    || now - refreshedAt >= linkRefreshWindowNanos) {
+                skippedLast = false;
+                lastSentAt = now;
+                return true;
+            }
+            skippedLast = true;
+            return false;
+        }
+    }
+
+    /**
+     * Ports of single device with token bucket pacing their transmission. Tokens are counted in 1/TICKS_PER_PERIOD
+     * of a frame - each tick adds one token per port, a frame costs {@link #TICKS_PER_PERIOD} tokens.
+     */
+    private static final class DeviceTransmitter {
+        private final LLDPUtil.NodeFrameTemplate frameTemplate;
+        private final List<PortTransmission> ports = new ArrayList<>();
+        private int nextPort;
+        private long tokens;
+
+        private DeviceTransmitter(final NodeId nodeId) {
+            frameTemplate = LLDPUtil.buildNodeFrameTemplate(nodeId);
+            // phase of device within flood period
+            tokens = Math.floorMod(nodeId.hashCode(), TICKS_PER_PERIOD);
+        }
+
+        private synchronized void addPort(final PortTransmission port) {
+            ports.add(port);
+        }
+
+        /**
+         * @return true if device has no more ports
+         */
+        private synchronized boolean removePort(final PortTransmission port) {
+            final int index = ports.indexOf(port);
+            if (index >= 0) {
+                ports.remove(index);
+                if (index < nextPort) {
+                    nextPort--;
+                }
+            }
+            return ports.isEmpty();
+        }
+
+        private synchronized void collectDuePackets(final long now, final long linkRefreshWindowNanos,
+                                                    final List<TransmitPacketInput> batch) {
+            if (ports.isEmpty()) {
+                return;
+            }
+            // unused tokens never exceed one period worth of frames
+            tokens = Math.min(tokens + ports.size(), (long) TICKS_PER_PERIOD * (ports.size() + 1));
+            while (tokens >= TICKS_PER_PERIOD) {
+                tokens -= TICKS_PER_PERIOD;
+                if (nextPort >= ports.size()) {
+                    nextPort = 0;
+                }
+                final PortTransmission port = ports.get(nextPort++);
+                if (port.transmissionDue(now, linkRefreshWindowNanos)) {
+                    batch.add(port.packet);
+                }
+            }
+        }
+    }
 }
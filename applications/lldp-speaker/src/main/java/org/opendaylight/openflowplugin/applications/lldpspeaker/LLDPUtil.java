@@ -19,7 +19,6 @@ import org.opendaylight.controller.liblldp.Ethernet;
 import org.opendaylight.controller.liblldp.HexEncode;
 import org.opendaylight.controller.liblldp.LLDP;
 import org.opendaylight.controller.liblldp.LLDPTLV;
-import org.opendaylight.controller.liblldp.PacketException;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
@@ -32,93 +31,115 @@ import org.slf4j.LoggerFactory;
 public final class LLDPUtil {
     private static final Logger LOG = LoggerFactory.getLogger(LLDPUtil.class);
     private static final String OF_URI_PREFIX = "openflow:";
+    private static final int MAC_ADDRESS_LENGTH = 6;
+    private static final int ETHERNET_HEADER_LENGTH = 2 * MAC_ADDRESS_LENGTH + 2;
+    private static final int TLV_HEADER_LENGTH = 2;
+    private static final int TLV_LENGTH_BITS = 9;
+    private static final byte[] TTL_VALUE = new byte[] { (byte) 0x13, (byte) 0x37 };
+
+    /**
+     * LLDP TLVs which are the same for all ports of one node, serialized once per node. Frame of single port is
+     * assembled from these and port specific TLVs written at computed offsets.
+     */
+    static final class NodeFrameTemplate {
+        private final byte[] chassisIdTlv;
+        private final byte[] ttlAndSystemNameTlvs;
+
+        private NodeFrameTemplate(final byte[] chassisIdTlv, final byte[] ttlAndSystemNameTlvs) {
+            this.chassisIdTlv = chassisIdTlv;
+            this.ttlAndSystemNameTlvs = ttlAndSystemNameTlvs;
+        }
+    }
 
-    static byte[] buildLldpFrame(final NodeId nodeId,
-                                 final NodeConnectorId nodeConnectorId,
-                                 final MacAddress src,
-                                 final Long outPortNo,
-                                 final MacAddress destinationAddress) {
-        // Create discovery pkt
-        LLDP discoveryPkt = new LLDP();
-
+    static NodeFrameTemplate buildNodeFrameTemplate(final NodeId nodeId) {
         // Create LLDP ChassisID TLV
         BigInteger dataPathId = dataPathIdFromNodeId(nodeId);
         byte[] cidValue = LLDPTLV.createChassisIDTLVValue(colonize(bigIntegerToPaddedHex(dataPathId)));
-        LLDPTLV chassisIdTlv = new LLDPTLV();
-        chassisIdTlv.setType(LLDPTLV.TLVType.ChassisID.getValue());
-        chassisIdTlv.setType(LLDPTLV.TLVType.ChassisID.getValue())
-                    .setLength((short) cidValue.length)
-                    .setValue(cidValue);
-        discoveryPkt.setChassisId(chassisIdTlv);
-
-        // Create LLDP PortID TL
-        String hexString = Long.toHexString(outPortNo);
-        byte[] pidValue = LLDPTLV.createPortIDTLVValue(hexString);
-        LLDPTLV portIdTlv = new LLDPTLV();
-        portIdTlv.setType(LLDPTLV.TLVType.PortID.getValue())
-                 .setLength((short) pidValue.length)
-                 .setValue(pidValue);
-        portIdTlv.setType(LLDPTLV.TLVType.PortID.getValue());
-        discoveryPkt.setPortId(portIdTlv);
-
-        // Create LLDP TTL TLV
-        byte[] ttl = new byte[] { (byte) 0x13, (byte) 0x37 };
-        LLDPTLV ttlTlv = new LLDPTLV();
-        ttlTlv.setType(LLDPTLV.TLVType.TTL.getValue()).setLength((short) ttl.length).setValue(ttl);
-        discoveryPkt.setTtl(ttlTlv);
-
-        // Create LLDP SystemName TLV
+        byte[] chassisIdTlv = new byte[tlvLength(cidValue)];
+        writeTlv(chassisIdTlv, 0, LLDPTLV.TLVType.ChassisID.getValue(), cidValue);
+
+        // Create LLDP TTL and SystemName TLVs, they follow port id TLV
         byte[] snValue = LLDPTLV.createSystemNameTLVValue(nodeId.getValue());
-        LLDPTLV systemNameTlv = new LLDPTLV();
-        systemNameTlv.setType(LLDPTLV.TLVType.SystemName.getValue());
-        systemNameTlv.setType(LLDPTLV.TLVType.SystemName.getValue())
-                     .setLength((short) snValue.length)
-                     .setValue(snValue);
-        discoveryPkt.setSystemNameId(systemNameTlv);
-
-        // Create LLDP Custom TLV
+        byte[] ttlAndSystemNameTlvs = new byte[tlvLength(TTL_VALUE) + tlvLength(snValue)];
+        int offset = writeTlv(ttlAndSystemNameTlvs, 0, LLDPTLV.TLVType.TTL.getValue(), TTL_VALUE);
+        writeTlv(ttlAndSystemNameTlvs, offset, LLDPTLV.TLVType.SystemName.getValue(), snValue);
+
+        return new NodeFrameTemplate(chassisIdTlv, ttlAndSystemNameTlvs);
+    }
+
+    /**
+     * Assembles LLDP frame of single port. Frame layout is the same as {@link Ethernet} carrying {@link LLDP}
+     * serializes to: ethernet header, ChassisID, PortID, TTL, SystemName, custom TLVs and end of LLDPDU.
+     */
+    static byte[] buildLldpFrame(final NodeFrameTemplate template,
+                                 final NodeConnectorId nodeConnectorId,
+                                 final MacAddress src,
+                                 final Long outPortNo,
+                                 final MacAddress destinationAddress) {
+        byte[] pidValue = LLDPTLV.createPortIDTLVValue(Long.toHexString(outPortNo));
         byte[] customValue = LLDPTLV.createCustomTLVValue(nodeConnectorId.getValue());
-        LLDPTLV customTlv = new LLDPTLV();
-        customTlv.setType(LLDPTLV.TLVType.Custom.getValue())
-                 .setLength((short) customValue.length)
-                 .setValue(customValue);
-        discoveryPkt.addCustomTLV(customTlv);
-
-        //Create LLDP CustomSec TLV
-        byte[] pureValue = new byte[1];
+        byte[] customSecValue = null;
         try {
-            pureValue = getValueForLLDPPacketIntegrityEnsuring(nodeConnectorId);
-            byte[] customSecValue = LLDPTLV.createCustomTLVValue(CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC, pureValue);
-            LLDPTLV customSecTlv = new LLDPTLV();
-            customSecTlv.setType(LLDPTLV.TLVType.Custom.getValue())
-                        .setLength((short)customSecValue.length)
-                        .setValue(customSecValue);
-            discoveryPkt.addCustomTLV(customSecTlv);
+            customSecValue = LLDPTLV.createCustomTLVValue(CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC,
+                    getValueForLLDPPacketIntegrityEnsuring(nodeConnectorId));
         } catch (NoSuchAlgorithmException e1) {
             LOG.info("LLDP extra authenticator creation failed: {}", e1.getMessage());
             LOG.debug("Reason why LLDP extra authenticator creation failed: ", e1);
         }
 
-
-        // Create ethernet pkt
-        byte[] sourceMac = HexEncode.bytesFromHexString(src.getValue());
-        Ethernet ethPkt = new Ethernet();
-        ethPkt.setSourceMACAddress(sourceMac)
-              .setEtherType(EtherTypes.LLDP.shortValue())
-              .setPayload(discoveryPkt);
-        if (destinationAddress == null) {
-            ethPkt.setDestinationMACAddress(LLDP.LLDPMulticastMac);
-        } else {
-            ethPkt.setDestinationMACAddress(HexEncode.bytesFromHexString(destinationAddress.getValue()));
+        byte[] frame = new byte[ETHERNET_HEADER_LENGTH + template.chassisIdTlv.length + tlvLength(pidValue)
+                + template.ttlAndSystemNameTlvs.length + tlvLength(customValue)
+                + (customSecValue == null ? 0 : tlvLength(customSecValue)) + TLV_HEADER_LENGTH];
+
+        // Ethernet header
+        byte[] destinationMac = destinationAddress == null
+                ? LLDP.LLDPMulticastMac : HexEncode.bytesFromHexString(destinationAddress.getValue());
+        System.arraycopy(destinationMac, 0, frame, 0, MAC_ADDRESS_LENGTH);
+        System.arraycopy(HexEncode.bytesFromHexString(src.getValue()), 0, frame, MAC_ADDRESS_LENGTH,
+                MAC_ADDRESS_LENGTH);
+        int offset = writeShort(frame, 2 * MAC_ADDRESS_LENGTH, EtherTypes.LLDP.shortValue());
+
+        // LLDPDU - end of LLDPDU TLV is left zeroed
+        offset = writeBytes(frame, offset, template.chassisIdTlv);
+        offset = writeTlv(frame, offset, LLDPTLV.TLVType.PortID.getValue(), pidValue);
+        offset = writeBytes(frame, offset, template.ttlAndSystemNameTlvs);
+        offset = writeTlv(frame, offset, LLDPTLV.TLVType.Custom.getValue(), customValue);
+        if (customSecValue != null) {
+            writeTlv(frame, offset, LLDPTLV.TLVType.Custom.getValue(), customSecValue);
         }
+        return frame;
+    }
 
-        try {
-            return ethPkt.serialize();
-        } catch (PacketException e) {
-            LOG.warn("Error creating LLDP packet: {}", e.getMessage());
-            LOG.debug("Error creating LLDP packet.. ", e);
-        }
-        return null;
+    static byte[] buildLldpFrame(final NodeId nodeId,
+                                 final NodeConnectorId nodeConnectorId,
+                                 final MacAddress src,
+                                 final Long outPortNo,
+                                 final MacAddress destinationAddress) {
+        return buildLldpFrame(buildNodeFrameTemplate(nodeId), nodeConnectorId, src, outPortNo, destinationAddress);
+    }
+
+    private static int tlvLength(final byte[] value) {
+        return TLV_HEADER_LENGTH + value.length;
+    }
+
+    /**
+     * Writes TLV with 7 bit type and 9 bit length header.
+     *
+     * @return offset following written TLV
+     */
+    private static int writeTlv(final byte[] frame, final int offset, final byte type, final byte[] value) {
+        return writeBytes(frame, writeShort(frame, offset, type << TLV_LENGTH_BITS | value.length), value);
+    }
+
+    private static int writeShort(final byte[] frame, final int offset, final int value) {
+        frame[offset] = (byte) (value >>> Byte.SIZE);
+        frame[offset + 1] = (byte) value;
+        return offset + 2;
+    }
+
+    private static int writeBytes(final byte[] frame, final int offset, final byte[] bytes) {
+        System.arraycopy(bytes, 0, frame, offset, bytes.length);
+        return offset + bytes.length;
     }
 
     private static String colonize(final String orig) {
@@ -26,6 +26,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeConnector;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkDiscoveredBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.port.rev130925.PortNumberUni;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorRef;
@@ -91,9 +92,9 @@ public class LLDPSpeakerTest {
         // packetProcessingService
         lldpSpeaker.nodeConnectorAdded(id, fcnc);
 
-        // Execute one iteration of periodic task - LLDP packet should be
+        // Execute periodic task for one flood period - LLDP packet should be
         // transmitted second time
-        lldpSpeaker.run();
+        runFloodPeriod();
 
         // Check packet transmission
         verify(packetProcessingService, times(1)).transmitPacket(packet);
@@ -110,9 +111,9 @@ public class LLDPSpeakerTest {
         // packetProcessingService
         lldpSpeaker.nodeConnectorAdded(id, fcnc);
 
-        // Execute one iteration of periodic task - LLDP packet should be
+        // Execute periodic task for one flood period - LLDP packet should be
         // transmitted second time
-        lldpSpeaker.run();
+        runFloodPeriod();
 
         // Check packet transmission
         verify(packetProcessingService, times(2)).transmitPacket(packet);
@@ -131,8 +132,8 @@ public class LLDPSpeakerTest {
         // Trigger removal of packet
         lldpSpeaker.nodeConnectorRemoved(id);
 
-        // Run one iteration of LLDP flood
-        lldpSpeaker.run();
+        // Run one LLDP flood period
+        runFloodPeriod();
 
         // Verify that LLDP frame sent only once (by nodeConnectorAdded),
         // e.g. no flood after removal
@@ -182,4 +183,88 @@ public class LLDPSpeakerTest {
         verify(packetProcessingService, never()).transmitPacket(
                 any(TransmitPacketInput.class));
     }
+
+    /**
+     * Test that ports of device are spread over flood period instead of being sent in one burst.
+     */
+    @Test
+    public void testPortsSpreadOverFloodPeriod() {
+        final int portCount = 4 * LLDPSpeaker.TICKS_PER_PERIOD;
+        for (int i = 1; i <= portCount; i++) {
+            lldpSpeaker.nodeConnectorAdded(TestUtils.createNodeConnectorId("openflow:1", "openflow:1:" + i),
+                    TestUtils.createFlowCapableNodeConnector(new MacAddress("01:23:45:67:89:AB"), i).build());
+        }
+        verify(packetProcessingService, times(portCount)).transmitPacket(any(TransmitPacketInput.class));
+
+        // one tick sends only its share of ports
+        lldpSpeaker.run();
+        verify(packetProcessingService, times(portCount + 4)).transmitPacket(any(TransmitPacketInput.class));
+
+        // every port is sent once per period
+        for (int i = 1; i < LLDPSpeaker.TICKS_PER_PERIOD; i++) {
+            lldpSpeaker.run();
+        }
+        verify(packetProcessingService, times(2 * portCount)).transmitPacket(any(TransmitPacketInput.class));
+    }
+
+    /**
+     * Test that LLDP frame is not sent through port whose link was discovered recently.
+     */
+    @Test
+    public void testPortWithFreshLinkSkipped() {
+        lldpSpeaker.nodeConnectorAdded(id, fcnc);
+        lldpSpeaker.onLinkDiscovered(new LinkDiscoveredBuilder()
+                .setSource(new NodeConnectorRef(id))
+                .setDestination(new NodeConnectorRef(
+                        TestUtils.createNodeConnectorId("openflow:2", "openflow:2:1")))
+                .build());
+
+        runFloodPeriod();
+
+        // Only the initial transmission
+        verify(packetProcessingService, times(1)).transmitPacket(packet);
+        verifyNoMoreInteractions(packetProcessingService);
+    }
+
+    /**
+     * Test that port with fresh link is not skipped twice in a row and that frame which did not refresh the link
+     * (was lost) is sent again in the next period.
+     */
+    @Test
+    public void testLostFrameNotSkipped() {
+        lldpSpeaker.nodeConnectorAdded(id, fcnc);
+        discoverLink();
+
+        // link discovered after the initial transmission - skipped
+        runFloodPeriod();
+        verify(packetProcessingService, times(1)).transmitPacket(packet);
+
+        // never skipped twice in a row
+        runFloodPeriod();
+        verify(packetProcessingService, times(2)).transmitPacket(packet);
+
+        // the frame was lost - link not refreshed since, so it is sent again
+        runFloodPeriod();
+        verify(packetProcessingService, times(3)).transmitPacket(packet);
+
+        // the frame arrived - skipped again
+        discoverLink();
+        runFloodPeriod();
+        verify(packetProcessingService, times(3)).transmitPacket(packet);
+        verifyNoMoreInteractions(packetProcessingService);
+    }
+
+    private void discoverLink() {
+        lldpSpeaker.onLinkDiscovered(new LinkDiscoveredBuilder()
+                .setSource(new NodeConnectorRef(id))
+                .setDestination(new NodeConnectorRef(
+                        TestUtils.createNodeConnectorId("openflow:2", "openflow:2:1")))
+                .build());
+    }
+
+    private void runFloodPeriod() {
+        for (int i = 0; i < LLDPSpeaker.TICKS_PER_PERIOD; i++) {
+            lldpSpeaker.run();
+        }
+    }
 }
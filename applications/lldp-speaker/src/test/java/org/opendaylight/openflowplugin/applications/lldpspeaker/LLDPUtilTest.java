@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 Pacnet and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.applications.lldpspeaker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.opendaylight.controller.liblldp.EtherTypes;
+import org.opendaylight.controller.liblldp.Ethernet;
+import org.opendaylight.controller.liblldp.HexEncode;
+import org.opendaylight.controller.liblldp.LLDP;
+import org.opendaylight.controller.liblldp.LLDPTLV;
+import org.opendaylight.openflowplugin.applications.topology.lldp.utils.LLDPDiscoveryUtils;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorRef;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+
+/**
+ * Tests for {@link LLDPUtil} frame assembly and its parsing by {@link LLDPDiscoveryUtils}.
+ */
+public class LLDPUtilTest {
+    private static final NodeId NODE_ID = new NodeId("openflow:17");
+    private static final NodeConnectorId NODE_CONNECTOR_ID = new NodeConnectorId("openflow:17:1234");
+    private static final MacAddress SRC_MAC = new MacAddress("01:23:45:67:89:AB");
+    private static final MacAddress DST_MAC = new MacAddress("13:37:BA:AD:F0:0D");
+
+    /**
+     * Frame assembled from node template must be the same as the one serialized by liblldp.
+     */
+    @Test
+    public void testFrameMatchesLibLldp() throws Exception {
+        final byte[] frame = LLDPUtil.buildLldpFrame(LLDPUtil.buildNodeFrameTemplate(NODE_ID), NODE_CONNECTOR_ID,
+                SRC_MAC, 1234L, DST_MAC);
+
+        assertArrayEquals(serializeByLibLldp(), frame);
+    }
+
+    @Test
+    public void testFrameParsedByDiscovery() {
+        final byte[] frame = LLDPUtil.buildLldpFrame(NODE_ID, NODE_CONNECTOR_ID, SRC_MAC, 1234L);
+
+        final NodeConnectorRef ref = LLDPDiscoveryUtils.lldpToNodeConnectorRef(frame, true);
+        assertEquals(TestUtils.createNodeConnectorId(NODE_ID.getValue(), NODE_CONNECTOR_ID.getValue()),
+                ref.getValue());
+    }
+
+    @Test
+    public void testTamperedFrameRejected() {
+        final byte[] frame = LLDPUtil.buildLldpFrame(NODE_ID, NODE_CONNECTOR_ID, SRC_MAC, 1234L);
+        // last byte of authenticator, followed by end of LLDPDU
+        frame[frame.length - 3] ^= 1;
+
+        assertNull(LLDPDiscoveryUtils.lldpToNodeConnectorRef(frame, true));
+        assertEquals(TestUtils.createNodeConnectorId(NODE_ID.getValue(), NODE_CONNECTOR_ID.getValue()),
+                LLDPDiscoveryUtils.lldpToNodeConnectorRef(frame, false).getValue());
+    }
+
+    @Test
+    public void testTruncatedFrameRejected() {
+        final byte[] frame = LLDPUtil.buildLldpFrame(NODE_ID, NODE_CONNECTOR_ID, SRC_MAC, 1234L);
+        final byte[] truncated = new byte[frame.length - 30];
+        System.arraycopy(frame, 0, truncated, 0, truncated.length);
+
+        assertNull(LLDPDiscoveryUtils.lldpToNodeConnectorRef(truncated, false));
+    }
+
+    private static byte[] serializeByLibLldp() throws Exception {
+        final LLDP lldp = new LLDP();
+        lldp.setChassisId(tlv(LLDPTLV.TLVType.ChassisID.getValue(),
+                LLDPTLV.createChassisIDTLVValue("00:00:00:00:00:00:00:11")));
+        lldp.setPortId(tlv(LLDPTLV.TLVType.PortID.getValue(), LLDPTLV.createPortIDTLVValue("4d2")));
+        lldp.setTtl(tlv(LLDPTLV.TLVType.TTL.getValue(), new byte[] { (byte) 0x13, (byte) 0x37 }));
+        lldp.setSystemNameId(tlv(LLDPTLV.TLVType.SystemName.getValue(),
+                LLDPTLV.createSystemNameTLVValue(NODE_ID.getValue())));
+        lldp.addCustomTLV(tlv(LLDPTLV.TLVType.Custom.getValue(),
+                LLDPTLV.createCustomTLVValue(NODE_CONNECTOR_ID.getValue())));
+        lldp.addCustomTLV(tlv(LLDPTLV.TLVType.Custom.getValue(),
+                LLDPTLV.createCustomTLVValue(LLDPTLV.CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC,
+                        LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID))));
+
+        final Ethernet ethernet = new Ethernet();
+        ethernet.setSourceMACAddress(HexEncode.bytesFromHexString(SRC_MAC.getValue()))
+                .setDestinationMACAddress(HexEncode.bytesFromHexString(DST_MAC.getValue()))
+                .setEtherType(EtherTypes.LLDP.shortValue())
+                .setPayload(lldp);
+        return ethernet.serialize();
+    }
+
+    private static LLDPTLV tlv(final byte type, final byte[] value) {
+        return new LLDPTLV().setType(type).setLength((short) value.length).setValue(value);
+    }
+}
@@ -8,72 +8,184 @@
 package org.opendaylight.openflowplugin.applications.topology.lldp;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.util.Date;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.sal.binding.api.NotificationProviderService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkDiscovered;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.topology.discovery.rev130819.LinkRemovedBuilder;
 
-
+/**
+ * Ages out links which were not rediscovered within expiration time.
+ * <p>
+ * Links are kept on a timing wheel with one slot per LLDP interval. Refreshing a link only moves its expiration
+ * timestamp - the link stays in its slot and is moved forward when the slot comes up. Each tick processes only
+ * slots which came due, so aging costs do not grow with amount of links which are still alive.
+ */
 public class LLDPLinkAger implements AutoCloseable {
-    private final long linkExpirationTime;
-    private final Map<LinkDiscovered, Date> linkToDate;
+    private final long linkExpirationNanos;
+    private final long tickNanos;
+    private final long startNanos;
+    private final ConcurrentMap<LinkDiscovered, LinkEntry> linkToDate;
+    private final Queue<LinkEntry>[] wheel;
+    /** last tick processed by aging task, written by timer thread only */
+    private volatile long currentTick;
     private final Timer timer;
     private final NotificationProviderService notificationService;
 
     /**
      * default ctor - start timer
      */
+    @SuppressWarnings("unchecked")
     public LLDPLinkAger(final long lldpInterval, final long linkExpirationTime,
             final NotificationProviderService notificationService) {
-        this.linkExpirationTime = linkExpirationTime;
+        this.linkExpirationNanos = TimeUnit.MILLISECONDS.toNanos(linkExpirationTime);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(lldpInterval);
         this.notificationService = notificationService;
         linkToDate = new ConcurrentHashMap<>();
+        // every expiration fits into one revolution, so slots never hold links of different revolutions
+        final int wheelSize = (int) ((linkExpirationTime + lldpInterval - 1) / lldpInterval) + 2;
+        wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        startNanos = System.nanoTime();
         timer = new Timer();
         timer.schedule(new LLDPAgingTask(), 0, lldpInterval);
     }
 
     public void put(LinkDiscovered link) {
-        Date expires = new Date();
-        expires.setTime(expires.getTime() + linkExpirationTime);
-        linkToDate.put(link, expires);
+        final long expiresAt = System.nanoTime() + linkExpirationNanos;
+        while (true) {
+            final LinkEntry entry = linkToDate.get(link);
+            if (entry != null && entry.refresh(expiresAt)) {
+                return;
+            }
+
+            final LinkEntry created = new LinkEntry(link, expiresAt);
+            final boolean stored = entry == null
+                    ? linkToDate.putIfAbsent(link, created) == null
+                    : linkToDate.replace(link, entry, created);
+            if (stored) {
+                schedule(created, expiresAt);
+                return;
+            }
+        }
     }
 
     @Override
     public void close() {
         timer.cancel();
         linkToDate.clear();
+        for (Queue<LinkEntry> slot : wheel) {
+            slot.clear();
+        }
+    }
+
+    private void schedule(final LinkEntry entry, final long expiresAt) {
+        // round up - link must not be checked before it expires
+        final long tick = Math.max((expiresAt - startNanos + tickNanos - 1) / tickNanos, currentTick + 1);
+        entry.tick = tick;
+        wheel[(int) (tick % wheel.length)].add(entry);
     }
 
     private class LLDPAgingTask extends TimerTask {
 
         @Override
         public void run() {
-            for (Entry<LinkDiscovered,Date> entry : linkToDate.entrySet()) {
-                LinkDiscovered link = entry.getKey();
-                Date expires = entry.getValue();
-                Date now = new Date();
-                if(now.after(expires)) {
-                    if (notificationService != null) {
-                        LinkRemovedBuilder lrb = new LinkRemovedBuilder(link);
-                        notificationService.publish(lrb.build());
-                        linkToDate.remove(link);
+            final long now = System.nanoTime();
+            final long nowTick = (now - startNanos) / tickNanos;
+            final List<LinkDiscovered> expiredLinks = new ArrayList<>();
+
+            // catch up on ticks missed by delayed timer, at most one revolution
+            for (long tick = Math.max(currentTick + 1, nowTick - wheel.length + 1); tick <= nowTick; tick++) {
+                currentTick = tick;
+                final Queue<LinkEntry> slot = wheel[(int) (tick % wheel.length)];
+                for (int pending = slot.size(); pending > 0; pending--) {
+                    final LinkEntry entry = slot.poll();
+                    if (entry == null) {
+                        break;
+                    }
+                    if (entry.tick > tick) {
+                        // scheduled for later revolution
+                        slot.add(entry);
+                        continue;
+                    }
+
+                    final long expiresAt = entry.expireIfDue(now);
+                    if (expiresAt == LinkEntry.EXPIRED) {
+                        if (linkToDate.remove(entry.link, entry)) {
+                            expiredLinks.add(entry.link);
+                        }
+                    } else if (expiresAt != LinkEntry.DROPPED) {
+                        schedule(entry, expiresAt);
                     }
                 }
             }
 
+            if (notificationService != null) {
+                for (LinkDiscovered link : expiredLinks) {
+                    notificationService.publish(new LinkRemovedBuilder(link).build());
+                }
+            }
         }
 
     }
 
+    /**
+     * Expiration of single link. Refresh and expiration are serialized on the entry, once expired the entry
+     * is never refreshed again - new entry replaces it.
+     */
+    private final class LinkEntry {
+        /** expireIfDue result - link expired */
+        static final long EXPIRED = Long.MIN_VALUE;
+        /** expireIfDue result - entry was replaced, nothing to do */
+        static final long DROPPED = Long.MAX_VALUE;
+
+        private final LinkDiscovered link;
+        /** tick of wheel slot holding this entry, accessed by the thread scheduling it */
+        private long tick;
+        private long expiresAt;
+        private boolean expired;
+
+        private LinkEntry(final LinkDiscovered link, final long expiresAt) {
+            this.link = link;
+            this.expiresAt = expiresAt;
+        }
+
+        synchronized boolean refresh(final long newExpiresAt) {
+            if (expired) {
+                return false;
+            }
+            expiresAt = newExpiresAt;
+            return true;
+        }
+
+        /**
+         * @return {@link #EXPIRED}, {@link #DROPPED} or expiration time the entry has to be rescheduled to
+         */
+        synchronized long expireIfDue(final long now) {
+            if (expired || linkToDate.get(link) != this) {
+                expired = true;
+                return DROPPED;
+            }
+            if (now - expiresAt < 0) {
+                return expiresAt;
+            }
+            expired = true;
+            return EXPIRED;
+        }
+    }
+
     @VisibleForTesting
     public boolean isLinkToDateEmpty() {
         return linkToDate.isEmpty();
     }
 
 }
-
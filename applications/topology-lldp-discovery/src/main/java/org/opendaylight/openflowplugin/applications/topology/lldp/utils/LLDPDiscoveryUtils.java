@@ -7,21 +7,21 @@
  */
 package org.opendaylight.openflowplugin.applications.topology.lldp.utils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import java.lang.management.ManagementFactory;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
-import org.apache.commons.lang3.ArrayUtils;
-import org.opendaylight.controller.liblldp.BitBufferHelper;
-import org.opendaylight.controller.liblldp.CustomTLVKey;
+import java.util.Objects;
+import org.opendaylight.controller.liblldp.EtherTypes;
 import org.opendaylight.controller.liblldp.Ethernet;
 import org.opendaylight.controller.liblldp.LLDP;
 import org.opendaylight.controller.liblldp.LLDPTLV;
-import org.opendaylight.controller.liblldp.NetUtils;
 import org.opendaylight.openflowplugin.applications.topology.lldp.LLDPActivator;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorRef;
@@ -38,6 +38,18 @@ import org.slf4j.LoggerFactory;
 
 public class LLDPDiscoveryUtils {
     private static final Logger LOG = LoggerFactory.getLogger(LLDPDiscoveryUtils.class);
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final int LLDP_OFFSET = 14;
+    private static final int TLV_HEADER_LENGTH = 2;
+    private static final int TLV_LENGTH_BITS = 9;
+    private static final int TLV_LENGTH_MASK = (1 << TLV_LENGTH_BITS) - 1;
+    /** OUI and subtype precede value of custom TLV */
+    private static final int CUSTOM_TLV_OFFSET = 4;
+    private static final int NO_SUB_TYPE = -1;
+    /** bounds cache against LLDP packets carrying made up node connector ids */
+    private static final long MAX_CACHED_AUTHENTICATORS = 65536;
+
+    private static volatile AuthenticatorCache authenticatorCache;
 
     public static String macToString(byte[] mac) {
         StringBuilder b = new StringBuilder();
@@ -58,103 +70,195 @@ public class LLDPDiscoveryUtils {
     }
 
     /**
+     * Parses TLVs directly from payload bytes, no {@link Ethernet} or {@link LLDP} objects are built.
+     *
      * @param payload
      * @param useExtraAuthenticatorCheck make it more secure (CVE-2015-1611 CVE-2015-1612)
      * @return nodeConnectorId - encoded in custom TLV of given lldp
      */
     public static NodeConnectorRef lldpToNodeConnectorRef(byte[] payload, boolean useExtraAuthenticatorCheck)  {
-        Ethernet ethPkt = new Ethernet();
-        try {
-            ethPkt.deserialize(payload, 0,payload.length * NetUtils.NumBitsInAByte);
-        } catch (Exception e) {
-            LOG.warn("Failed to decode LLDP packet {}", e);
+        if (payload == null || payload.length < LLDP_OFFSET
+                || readShort(payload, ETHER_TYPE_OFFSET) != EtherTypes.LLDP.shortValue()) {
+            return null;
         }
 
-        NodeConnectorRef nodeConnectorRef = null;
+        final int systemNameOffset = findTlvValue(payload, LLDPTLV.TLVType.SystemName.getValue(), NO_SUB_TYPE);
+        if (systemNameOffset < 0) {
+            LOG.debug("Node id wasn't specified via systemNameId in LLDP packet.");
+            return null;
+        }
+        final int nodeConnectorIdOffset = findTlvValue(payload, LLDPTLV.TLVType.Custom.getValue(),
+                LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID[0]);
+        if (nodeConnectorIdOffset < 0) {
+            LOG.debug("Node connector wasn't specified via Custom TLV in LLDP packet.");
+            return null;
+        }
 
-        if (ethPkt.getPayload() instanceof LLDP) {
-            LLDP lldp = (LLDP) ethPkt.getPayload();
+        final NodeId srcNodeId = new NodeId(new String(payload, systemNameOffset,
+                tlvValueLength(payload, systemNameOffset), Charset.defaultCharset()));
+        final NodeConnectorId srcNodeConnectorId = new NodeConnectorId(new String(payload,
+                nodeConnectorIdOffset + CUSTOM_TLV_OFFSET,
+                tlvValueLength(payload, nodeConnectorIdOffset) - CUSTOM_TLV_OFFSET, StandardCharsets.UTF_8));
 
+        if (useExtraAuthenticatorCheck) {
             try {
-                NodeId srcNodeId = null;
-                NodeConnectorId srcNodeConnectorId = null;
-
-                final LLDPTLV systemIdTLV = lldp.getSystemNameId();
-                if (systemIdTLV != null) {
-                    String srcNodeIdString = new String(systemIdTLV.getValue(),Charset.defaultCharset());
-                    srcNodeId = new NodeId(srcNodeIdString);
-                } else {
-                    throw new Exception("Node id wasn't specified via systemNameId in LLDP packet.");
+                if (!checkExtraAuthenticator(payload, srcNodeConnectorId)) {
+                    LOG.warn("SECURITY ALERT: there is probably a LLDP spoofing attack in progress.");
+                    LOG.debug("Attack. LLDP packet with inconsistent extra authenticator field was received.");
+                    return null;
                 }
+            } catch (NoSuchAlgorithmException e) {
+                LOG.debug("Caught exception while checking LLDP extra authenticator: {}", e.getMessage(), e);
+                return null;
+            }
+        }
 
-                final LLDPTLV nodeConnectorIdLldptlv = lldp.getCustomTLV(
-                        new CustomTLVKey(BitBufferHelper.getInt(LLDPTLV.OFOUI), LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID[0]));
-                if (nodeConnectorIdLldptlv != null) {
-                    srcNodeConnectorId = new NodeConnectorId(LLDPTLV.getCustomString(
-                            nodeConnectorIdLldptlv.getValue(), nodeConnectorIdLldptlv.getLength()));
-                } else {
-                    throw new Exception("Node connector wasn't specified via Custom TLV in LLDP packet.");
-                }
+        InstanceIdentifier<NodeConnector> srcInstanceId = InstanceIdentifier.builder(Nodes.class)
+                .child(Node.class,new NodeKey(srcNodeId))
+                .child(NodeConnector.class, new NodeConnectorKey(srcNodeConnectorId))
+                .toInstance();
+        return new NodeConnectorRef(srcInstanceId);
+    }
 
-                if (useExtraAuthenticatorCheck) {
-                    boolean secure = checkExtraAuthenticator(lldp, srcNodeConnectorId);
-                    if (! secure) {
-                        LOG.warn("SECURITY ALERT: there is probably a LLDP spoofing attack in progress.");
-                        throw new Exception("Attack. LLDP packet with inconsistent extra authenticator field was received.");
-                    }
-                }
+    /**
+     * Walks TLVs of LLDPDU carried by ethernet frame.
+     *
+     * @param frame ethernet frame
+     * @param type type of TLV
+     * @param customSubType subtype of OpenFlow custom TLV, {@link #NO_SUB_TYPE} for other types
+     * @return offset of value of first matching TLV, -1 if there is none or LLDPDU is malformed
+     */
+    private static int findTlvValue(final byte[] frame, final byte type, final int customSubType) {
+        int offset = LLDP_OFFSET;
+        while (offset + TLV_HEADER_LENGTH <= frame.length) {
+            final int header = readShort(frame, offset) & 0xffff;
+            final int tlvType = header >>> TLV_LENGTH_BITS;
+            final int valueOffset = offset + TLV_HEADER_LENGTH;
+            final int valueLength = header & TLV_LENGTH_MASK;
+            if (tlvType == 0 || valueOffset + valueLength > frame.length) {
+                // end of LLDPDU or truncated TLV
+                return -1;
+            }
+            if (tlvType == type && (customSubType == NO_SUB_TYPE
+                    || isOpenFlowCustomTlv(frame, valueOffset, valueLength, customSubType))) {
+                return valueOffset;
+            }
+            offset = valueOffset + valueLength;
+        }
+        return -1;
+    }
 
-                InstanceIdentifier<NodeConnector> srcInstanceId = InstanceIdentifier.builder(Nodes.class)
-                        .child(Node.class,new NodeKey(srcNodeId))
-                        .child(NodeConnector.class, new NodeConnectorKey(srcNodeConnectorId))
-                        .toInstance();
-                nodeConnectorRef = new NodeConnectorRef(srcInstanceId);
-            } catch (Exception e) {
-                LOG.debug("Caught exception while parsing out lldp optional and custom fields: {}", e.getMessage(), e);
+    private static boolean isOpenFlowCustomTlv(final byte[] frame, final int valueOffset, final int valueLength,
+                                               final int subType) {
+        if (valueLength < CUSTOM_TLV_OFFSET || frame[valueOffset + LLDPTLV.OFOUI.length] != subType) {
+            return false;
+        }
+        for (int i = 0; i < LLDPTLV.OFOUI.length; i++) {
+            if (frame[valueOffset + i] != LLDPTLV.OFOUI[i]) {
+                return false;
             }
         }
-        return nodeConnectorRef;
+        return true;
+    }
+
+    private static int tlvValueLength(final byte[] frame, final int valueOffset) {
+        return readShort(frame, valueOffset - TLV_HEADER_LENGTH) & TLV_LENGTH_MASK;
+    }
+
+    private static short readShort(final byte[] frame, final int offset) {
+        return (short) ((frame[offset] & 0xff) << Byte.SIZE | frame[offset + 1] & 0xff);
     }
 
     /**
+     * Authenticators are cached per node connector until the port is removed (see
+     * {@link #invalidateValueForLLDPPacketIntegrityEnsuring(NodeConnectorId)}) or secure key changes.
+     *
      * @param nodeConnectorId
-     * @return extra authenticator for lldp security
+     * @return extra authenticator for lldp security, shared - must not be modified
      * @throws NoSuchAlgorithmException
      */
     public static byte[] getValueForLLDPPacketIntegrityEnsuring(final NodeConnectorId nodeConnectorId) throws NoSuchAlgorithmException {
-        String finalKey;
-        if(LLDPActivator.getLldpSecureKey() !=null && !LLDPActivator.getLldpSecureKey().isEmpty()) {
-            finalKey = LLDPActivator.getLldpSecureKey();
-        } else {
-            finalKey = ManagementFactory.getRuntimeMXBean().getName();
+        final AuthenticatorCache cache = currentAuthenticatorCache();
+        byte[] authenticator = cache.authenticators.getIfPresent(nodeConnectorId);
+        if (authenticator == null) {
+            final String pureValue = nodeConnectorId + cache.finalKey;
+
+            final byte[] pureBytes = pureValue.getBytes();
+            HashFunction hashFunction = Hashing.md5();
+            Hasher hasher = hashFunction.newHasher();
+            HashCode hashedValue = hasher.putBytes(pureBytes).hash();
+            authenticator = hashedValue.asBytes();
+            cache.authenticators.put(nodeConnectorId, authenticator);
+        }
+        return authenticator;
+    }
+
+    /**
+     * Drops cached extra authenticator of removed node connector.
+     *
+     * @param nodeConnectorId
+     */
+    public static void invalidateValueForLLDPPacketIntegrityEnsuring(final NodeConnectorId nodeConnectorId) {
+        final AuthenticatorCache cache = authenticatorCache;
+        if (cache != null) {
+            cache.authenticators.invalidate(nodeConnectorId);
         }
-        final String pureValue = nodeConnectorId + finalKey;
+    }
 
-        final byte[] pureBytes = pureValue.getBytes();
-        HashFunction hashFunction = Hashing.md5();
-        Hasher hasher = hashFunction.newHasher();
-        HashCode hashedValue = hasher.putBytes(pureBytes).hash();
-        return hashedValue.asBytes();
+    private static AuthenticatorCache currentAuthenticatorCache() {
+        final String secureKey = LLDPActivator.getLldpSecureKey();
+        AuthenticatorCache cache = authenticatorCache;
+        if (cache == null || !Objects.equals(cache.secureKey, secureKey)) {
+            // key rotated - authenticators computed with old key are dropped together with the cache
+            cache = new AuthenticatorCache(secureKey);
+            authenticatorCache = cache;
+        }
+        return cache;
     }
 
     /**
-     * @param lldp
+     * @param frame
      * @param srcNodeConnectorId
      * @throws NoSuchAlgorithmException
      */
-    private static boolean checkExtraAuthenticator(LLDP lldp, NodeConnectorId srcNodeConnectorId) throws NoSuchAlgorithmException {
-        final LLDPTLV hashLldptlv = lldp.getCustomTLV(
-                new CustomTLVKey(BitBufferHelper.getInt(LLDPTLV.OFOUI), LLDPTLV.CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC[0]));
+    private static boolean checkExtraAuthenticator(byte[] frame, NodeConnectorId srcNodeConnectorId) throws NoSuchAlgorithmException {
+        final int hashTlvOffset = findTlvValue(frame, LLDPTLV.TLVType.Custom.getValue(),
+                LLDPTLV.CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC[0]);
         boolean secAuthenticatorOk = false;
-        if (hashLldptlv != null) {
-            byte[] rawTlvValue = hashLldptlv.getValue();
-            byte[] lldpCustomSecurityHash = ArrayUtils.subarray(rawTlvValue, 4, rawTlvValue.length);
-            byte[] calculatedHash = getValueForLLDPPacketIntegrityEnsuring(srcNodeConnectorId);
-            secAuthenticatorOk = Arrays.equals(calculatedHash, lldpCustomSecurityHash);
+        if (hashTlvOffset >= 0) {
+            final byte[] calculatedHash = getValueForLLDPPacketIntegrityEnsuring(srcNodeConnectorId);
+            final int hashOffset = hashTlvOffset + CUSTOM_TLV_OFFSET;
+            if (tlvValueLength(frame, hashTlvOffset) - CUSTOM_TLV_OFFSET == calculatedHash.length) {
+                // constant time comparison, does not reveal length of matching prefix
+                int difference = 0;
+                for (int i = 0; i < calculatedHash.length; i++) {
+                    difference |= frame[hashOffset + i] ^ calculatedHash[i];
+                }
+                secAuthenticatorOk = difference == 0;
+            }
         } else {
             LOG.debug("Custom security hint wasn't specified via Custom TLV in LLDP packet.");
         }
 
         return secAuthenticatorOk;
     }
+
+    /**
+     * Extra authenticators computed with one secure key.
+     */
+    private static final class AuthenticatorCache {
+        private final String secureKey;
+        private final String finalKey;
+        private final Cache<NodeConnectorId, byte[]> authenticators =
+                CacheBuilder.newBuilder().maximumSize(MAX_CACHED_AUTHENTICATORS).build();
+
+        private AuthenticatorCache(final String secureKey) {
+            this.secureKey = secureKey;
+            if (secureKey != null && !secureKey.isEmpty()) {
+                finalKey = secureKey;
+            } else {
+                finalKey = ManagementFactory.getRuntimeMXBean().getName();
+            }
+        }
+    }
 }
@@ -10,6 +10,8 @@ package org.opendaylight.openflowplugin.applications.topology.lldp;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Date;
@@ -48,6 +50,8 @@ public class LLDPLinkAgerTest {
     @Mock
     private LinkDiscovered link;
     @Mock
+    private LinkDiscovered otherLink;
+    @Mock
     private Map<LinkDiscovered, Date> linkToDate;
     @Mock
     private Timer timer;
@@ -83,4 +87,31 @@ public class LLDPLinkAgerTest {
         Thread.sleep(SLEEP);
         verify(notificationService).publish(Matchers.any(LinkRemoved.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLLDPAgingTaskMultipleLinks() throws InterruptedException {
+        lldpLinkAger.put(link);
+        lldpLinkAger.put(otherLink);
+        Thread.sleep(SLEEP);
+        verify(notificationService, times(2)).publish(Matchers.any(LinkRemoved.class));
+        assertTrue(lldpLinkAger.isLinkToDateEmpty());
+    }
+
+    /**
+     * Rediscovered link must not age out, until it is not rediscovered within expiration time
+     */
+    @Test
+    public void testLinkRefresh() throws InterruptedException {
+        lldpLinkAger.close();
+        lldpLinkAger = new LLDPLinkAger(10L, 300L, notificationService);
+        for (int i = 0; i < 10; i++) {
+            lldpLinkAger.put(link);
+            Thread.sleep(50);
+        }
+        verify(notificationService, never()).publish(Matchers.any(LinkRemoved.class));
+
+        Thread.sleep(500);
+        verify(notificationService).publish(Matchers.any(LinkRemoved.class));
+        lldpLinkAger.close();
+    }
+}
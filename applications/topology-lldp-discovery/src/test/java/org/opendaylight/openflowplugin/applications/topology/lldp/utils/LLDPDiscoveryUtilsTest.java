@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.applications.topology.lldp.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.hash.Hashing;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.controller.sal.binding.api.NotificationProviderService;
+import org.opendaylight.openflowplugin.applications.topology.lldp.LLDPActivator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+
+/**
+ * Test for extra authenticator cache of {@link LLDPDiscoveryUtils}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LLDPDiscoveryUtilsTest {
+
+    private static final NodeConnectorId NODE_CONNECTOR_ID = new NodeConnectorId("openflow:1:2");
+
+    @Mock
+    private NotificationProviderService notificationService;
+
+    @Test
+    public void testAuthenticatorCached() throws Exception {
+        new LLDPActivator(notificationService, null, "key-1");
+        final byte[] authenticator = LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID);
+
+        assertArrayEquals(Hashing.md5().hashBytes((NODE_CONNECTOR_ID + "key-1").getBytes()).asBytes(),
+                authenticator);
+        assertSame(authenticator, LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID));
+
+        LLDPDiscoveryUtils.invalidateValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID);
+        final byte[] recomputed = LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID);
+        assertNotSame(authenticator, recomputed);
+        assertArrayEquals(authenticator, recomputed);
+    }
+
+    @Test
+    public void testKeyRotation() throws Exception {
+        new LLDPActivator(notificationService, null, "key-1");
+        final byte[] authenticator = LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID);
+
+        new LLDPActivator(notificationService, null, "key-2");
+        final byte[] rotated = LLDPDiscoveryUtils.getValueForLLDPPacketIntegrityEnsuring(NODE_CONNECTOR_ID);
+
+        assertFalse(Arrays.equals(authenticator, rotated));
+        assertArrayEquals(Hashing.md5().hashBytes((NODE_CONNECTOR_ID + "key-2").getBytes()).asBytes(), rotated);
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.openflowplugin.api.openflow.connection;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
 
@@ -16,4 +17,13 @@ import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandle
  */
 public interface OutboundQueueProvider extends OutboundQueue, OutboundQueueHandler {
 
+    /**
+     * Non-blocking variant of {@link #reserveEntry()}. If the current queue is full, the reservation is parked
+     * in a bounded queue of waiters and served (in order of arrival) once the connection queue gets replaced -
+     * the calling thread is never parked.
+     *
+     * @return future of reserved XID; completes with null if there is no queue, the queue went away while waiting
+     * or too many reservations are waiting already
+     */
+    ListenableFuture<Long> reserveEntryAsync();
 }
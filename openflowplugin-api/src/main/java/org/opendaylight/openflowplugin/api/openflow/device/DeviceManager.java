@@ -8,6 +8,9 @@
 
 package org.opendaylight.openflowplugin.api.openflow.device;
 
+import java.math.BigInteger;
+import java.util.Set;
+import org.opendaylight.openflowplugin.api.openflow.OpenFlowPluginTimer;
 import org.opendaylight.openflowplugin.api.openflow.device.handlers.DeviceConnectedHandler;
 import org.opendaylight.openflowplugin.api.openflow.device.handlers.DeviceDisconnectedHandler;
 import org.opendaylight.openflowplugin.api.openflow.device.handlers.DeviceInitializationPhaseHandler;
@@ -21,7 +24,8 @@ import org.opendaylight.openflowplugin.api.openflow.translator.TranslatorLibrari
  * has its own device context managed by this manager.
  */
 public interface DeviceManager extends DeviceConnectedHandler, DeviceDisconnectedHandler, DeviceLifecycleSupervisor,
-        DeviceInitializationPhaseHandler, DeviceTerminationPhaseHandler, TranslatorLibrarian, AutoCloseable {
+        DeviceInitializationPhaseHandler, DeviceTerminationPhaseHandler, TranslatorLibrarian, OpenFlowPluginTimer,
+        AutoCloseable {
 
 
     /**
@@ -35,5 +39,49 @@ public interface DeviceManager extends DeviceConnectedHandler, DeviceDisconnecte
 
     void setSkipTableFeatures(boolean skipTableFeatures);
 
+    /**
+     * @param etherTypes ethertypes of packet-ins delivered through priority lane (LLDP and ARP by default)
+     */
+    void setPacketInPriorityEtherTypes(Set<Integer> etherTypes);
+
+    /**
+     * @param tableIds ids of tables whose packet-ins are delivered through priority lane
+     */
+    void setPacketInPriorityTableIds(Set<Short> tableIds);
+
+    /**
+     * @param cookies cookies of flows whose packet-ins are delivered through priority lane
+     */
+    void setPacketInPriorityCookies(Set<BigInteger> cookies);
+
+    /**
+     * @param txCoalescingEnabled true if writes of device context should be coalesced into fewer transactions
+     *                            (applies to devices connected afterwards)
+     */
+    void setTxCoalescingEnabled(boolean txCoalescingEnabled);
+
+    boolean isTxCoalescingEnabled();
+
+    /**
+     * @param maxOperations max. number of writes and deletes accumulated in one coalesced transaction
+     */
+    void setTxCoalescingMaxOperations(int maxOperations);
+
+    int getTxCoalescingMaxOperations();
+
+    /**
+     * @param maxDelayMillis max. delay between submit request and actual submit of coalesced transaction
+     */
+    void setTxCoalescingMaxDelayMillis(long maxDelayMillis);
+
+    long getTxCoalescingMaxDelayMillis();
+
+    /**
+     * @param maxOutstandingSubmits max. number of submitted and not yet committed coalesced transactions
+     */
+    void setTxCoalescingMaxOutstandingSubmits(int maxOutstandingSubmits);
+
+    int getTxCoalescingMaxOutstandingSubmits();
+
 }
 
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.openflowplugin.api.openflow.device;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import javax.annotation.Nullable;
 
 /**
@@ -23,6 +25,16 @@ public interface RequestContext<T> extends RequestFutureContext<T>, AutoCloseabl
      */
     @Nullable Xid getXid();
 
+    /**
+     * Returns XID of this request once it is reserved. Reservation may still wait for room in outbound queue,
+     * in which case {@link #getXid()} returns null until this future completes.
+     *
+     * @return future of allocated XID, completed with null if the XID could not be reserved
+     */
+    default ListenableFuture<Xid> getXidFuture() {
+        return Futures.immediateFuture(getXid());
+    }
+
     @Override
     void close();
 
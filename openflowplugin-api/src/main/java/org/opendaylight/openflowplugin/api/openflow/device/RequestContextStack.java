@@ -7,6 +7,8 @@
  */
 package org.opendaylight.openflowplugin.api.openflow.device;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 
 /**
@@ -19,4 +21,14 @@ public interface RequestContextStack {
      * @return A request context, or null if one cannot be created.
      */
     @Nullable <T> RequestContext<T> createRequestContext();
+
+    /**
+     * Executor continuing requests whose XID reservation had to wait for outbound queue. Such reservation
+     * is completed by connection I/O thread, which must not be used to build and send requests.
+     *
+     * @return executor for request continuations, calling thread by default (XIDs reserved synchronously)
+     */
+    default Executor getRequestExecutor() {
+        return MoreExecutors.directExecutor();
+    }
 }
@@ -41,11 +41,20 @@ public interface TxFacade {
                                                    final InstanceIdentifier<T> path);
 
     /**
-     * Method submits Transaction to DataStore.
-     * @return transaction is submitted successfully
+     * Method submits Transaction to DataStore. If write coalescing is enabled, the submit may be deferred
+     * until more writes accumulate or the coalescing delay expires.
+     * @return transaction is submitted successfully or scheduled for submit
      */
     boolean submitTransaction();
 
+    /**
+     * Method exposes epoch of writes. Epoch changes whenever writes made through this facade might have been lost
+     * (failed submit, transaction chain recreated, role change), so that callers caching content of the operational
+     * datastore know when to drop the cache.
+     * @return current epoch of writes
+     */
+    long getWriteEpoch();
+
     /**
      * Method exposes transaction created for device
      * represented by this context. This read only transaction has a fresh dataStore snapshot.
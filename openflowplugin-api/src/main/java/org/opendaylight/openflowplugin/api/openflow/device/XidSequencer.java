@@ -8,6 +8,9 @@
 
 package org.opendaylight.openflowplugin.api.openflow.device;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 /**
  * Reserves unique XID for Device Messages.
  */
@@ -19,4 +22,13 @@ public interface XidSequencer {
      * @return Reserved XID
      */
     Long reserveXidForDeviceMessage();
+
+    /**
+     * Reserves unique XID for Device Message without blocking calling thread while outbound queue is full.
+     * Attention: OFJava expect the message, otherwise OutboundQueue could stop working.
+     * @return future of reserved XID, completed with null if XID could not be reserved
+     */
+    default ListenableFuture<Long> reserveXidForDeviceMessageAsync() {
+        return Futures.immediateFuture(reserveXidForDeviceMessage());
+    }
 }
@@ -18,6 +18,11 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * org.opendaylight.openflowplugin.api.openflow.device
  * Collects multipart msgs from device by provided XID and returns them
  * to the caller as request/collection response one-to-one contract.
+ * <p>
+ * Implementation may stream replies instead - hand every reply over to a consumer supplied along with
+ * the request as soon as it arrives. Successful result of such request has no value (null result, not an empty
+ * list), so only the requester who supplied the consumer gets the replies and nobody can mistake the request
+ * for one which got no replies.
  *
  * @author <a href="mailto:vdemcak@cisco.com">Vaclav Demcak</a>
  * @author <a href="mailto:tkubas@cisco.com">Timotej Kubas</a>
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.api.openflow.md.util;
+
+import com.google.common.net.InetAddresses;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DottedQuad;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.MacAddressFilter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.arp.match.fields.ArpSourceHardwareAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.arp.match.fields.ArpTargetHardwareAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetDestinationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetSourceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Layer3Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Metadata;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.MetadataBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.ArpMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.ArpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchArbitraryBitMask;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchArbitraryBitMaskBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6MatchArbitraryBitMask;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6MatchArbitraryBitMaskBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.opendaylight.ipv6.arbitrary.bitmask.fields.rev160224.Ipv6ArbitraryMask;
+
+/**
+ * Brings {@link Match} into canonical form, so that matches which are considered equal by
+ * {@code MatchComparatorFactory#createMatch()} of openflowplugin-impl are also equal (and have equal hash codes)
+ * by means of plain {@link Match#equals(Object)}. Shared by flow registry of the plugin and by applications
+ * pairing configured flows with flows reported by device.
+ *
+ * Following differences between match provided by user and match reported by device are eliminated:
+ * <ul>
+ *     <li>case of MAC addresses and MAC masks</li>
+ *     <li>host bits of IPv4/IPv6 addresses not covered by prefix or arbitrary mask</li>
+ *     <li>missing prefix length (full length is used)</li>
+ *     <li>notation of IPv6 addresses and masks (compressed lower case form is used)</li>
+ *     <li>arbitrary bit masks consisting of consecutive ones (converted to prefix match)</li>
+ *     <li>metadata bits not covered by metadata mask and metadata mask of all ones (dropped)</li>
+ * </ul>
+ */
+public final class MatchNormalizationUtil {
+
+    private static final String PREFIX_SEPARATOR = "/";
+    private static final int IPV4_ADDRESS_LENGTH = 32;
+    private static final int IPV6_ADDRESS_LENGTH = 128;
+    private static final int BYTE_SIZE = 8;
+    private static final BigInteger METADATA_ALL_ONES = BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE);
+
+    private MatchNormalizationUtil() {
+        throw new IllegalStateException("This class should not be instantiated.");
+    }
+
+    /**
+     * Create canonical form of given match
+     *
+     * @param match match to normalize
+     * @return normalized match or the same instance if there is nothing to normalize
+     */
+    public static Match normalizeMatch(@Nullable final Match match) {
+        if (match == null || (match.getEthernetMatch() == null && match.getLayer3Match() == null
+                && match.getMetadata() == null)) {
+            return match;
+        }
+
+        return new MatchBuilder(match)
+                .setMetadata(normalizeMetadata(match.getMetadata()))
+                .setEthernetMatch(normalizeEthernetMatch(match.getEthernetMatch()))
+                .setLayer3Match(normalizeLayer3Match(match.getLayer3Match()))
+                .build();
+    }
+
+    private static EthernetMatch normalizeEthernetMatch(@Nullable final EthernetMatch ethernetMatch) {
+        if (ethernetMatch == null) {
+            return null;
+        }
+
+        final EthernetMatchBuilder builder = new EthernetMatchBuilder(ethernetMatch);
+        final MacAddressFilter source = ethernetMatch.getEthernetSource();
+        final MacAddressFilter destination = ethernetMatch.getEthernetDestination();
+
+        if (source != null) {
+            builder.setEthernetSource(new EthernetSourceBuilder()
+                    .setAddress(normalizeMacAddress(source.getAddress()))
+                    .setMask(normalizeMacAddress(source.getMask()))
+                    .build());
+        }
+
+        if (destination != null) {
+            builder.setEthernetDestination(new EthernetDestinationBuilder()
+                    .setAddress(normalizeMacAddress(destination.getAddress()))
+                    .setMask(normalizeMacAddress(destination.getMask()))
+                    .build());
+        }
+
+        return builder.build();
+    }
+
+    private static Layer3Match normalizeLayer3Match(@Nullable final Layer3Match layer3Match) {
+        if (layer3Match instanceof Ipv4Match) {
+            final Ipv4Match ipv4Match = (Ipv4Match) layer3Match;
+            return new Ipv4MatchBuilder(ipv4Match)
+                    .setIpv4Source(normalizeIpv4Prefix(ipv4Match.getIpv4Source()))
+                    .setIpv4Destination(normalizeIpv4Prefix(ipv4Match.getIpv4Destination()))
+                    .build();
+        } else if (layer3Match instanceof Ipv4MatchArbitraryBitMask) {
+            return normalizeIpv4MatchArbitraryBitMask((Ipv4MatchArbitraryBitMask) layer3Match);
+        } else if (layer3Match instanceof Ipv6Match) {
+            final Ipv6Match ipv6Match = (Ipv6Match) layer3Match;
+            return new Ipv6MatchBuilder(ipv6Match)
+                    .setIpv6Source(normalizeIpv6Prefix(ipv6Match.getIpv6Source()))
+                    .setIpv6Destination(normalizeIpv6Prefix(ipv6Match.getIpv6Destination()))
+                    .build();
+        } else if (layer3Match instanceof Ipv6MatchArbitraryBitMask) {
+            return normalizeIpv6MatchArbitraryBitMask((Ipv6MatchArbitraryBitMask) layer3Match);
+        } else if (layer3Match instanceof ArpMatch) {
+            return normalizeArpMatch((ArpMatch) layer3Match);
+        }
+
+        return layer3Match;
+    }
+
+    private static Layer3Match normalizeIpv4MatchArbitraryBitMask(final Ipv4MatchArbitraryBitMask match) {
+        final byte[] srcMask = match.getIpv4SourceArbitraryBitmask() == null
+                ? null : InetAddresses.forString(match.getIpv4SourceArbitraryBitmask().getValue()).getAddress();
+        final byte[] dstMask = match.getIpv4DestinationArbitraryBitmask() == null
+                ? null : InetAddresses.forString(match.getIpv4DestinationArbitraryBitmask().getValue()).getAddress();
+
+        // Device reports arbitrary masks consisting of consecutive ones as plain prefix match
+        if (isContiguousMask(srcMask) && isContiguousMask(dstMask)) {
+            return new Ipv4MatchBuilder()
+                    .setIpv4Source(match.getIpv4SourceAddressNoMask() == null ? null : normalizeIpv4Prefix(
+                            match.getIpv4SourceAddressNoMask().getValue(), prefixLength(srcMask, IPV4_ADDRESS_LENGTH)))
+                    .setIpv4Destination(match.getIpv4DestinationAddressNoMask() == null ? null : normalizeIpv4Prefix(
+                            match.getIpv4DestinationAddressNoMask().getValue(), prefixLength(dstMask, IPV4_ADDRESS_LENGTH)))
+                    .build();
+        }
+
+        final Ipv4MatchArbitraryBitMaskBuilder builder = new Ipv4MatchArbitraryBitMaskBuilder(match);
+
+        if (match.getIpv4SourceAddressNoMask() != null && srcMask != null) {
+            builder.setIpv4SourceAddressNoMask(new Ipv4Address(
+                    applyMask(match.getIpv4SourceAddressNoMask().getValue(), srcMask)));
+            builder.setIpv4SourceArbitraryBitmask(new DottedQuad(toAddressString(srcMask)));
+        }
+
+        if (match.getIpv4DestinationAddressNoMask() != null && dstMask != null) {
+            builder.setIpv4DestinationAddressNoMask(new Ipv4Address(
+                    applyMask(match.getIpv4DestinationAddressNoMask().getValue(), dstMask)));
+            builder.setIpv4DestinationArbitraryBitmask(new DottedQuad(toAddressString(dstMask)));
+        }
+
+        return builder.build();
+    }
+
+    private static Layer3Match normalizeIpv6MatchArbitraryBitMask(final Ipv6MatchArbitraryBitMask match) {
+        final byte[] srcMask = match.getIpv6SourceArbitraryBitmask() == null
+                ? null : InetAddresses.forString(match.getIpv6SourceArbitraryBitmask().getValue()).getAddress();
+        final byte[] dstMask = match.getIpv6DestinationArbitraryBitmask() == null
+                ? null : InetAddresses.forString(match.getIpv6DestinationArbitraryBitmask().getValue()).getAddress();
+
+        // Device reports arbitrary masks consisting of consecutive ones as plain prefix match
+        if (isContiguousMask(srcMask) && isContiguousMask(dstMask)) {
+            return new Ipv6MatchBuilder()
+                    .setIpv6Source(match.getIpv6SourceAddressNoMask() == null ? null : normalizeIpv6Prefix(
+                            match.getIpv6SourceAddressNoMask().getValue(), prefixLength(srcMask, IPV6_ADDRESS_LENGTH)))
+                    .setIpv6Destination(match.getIpv6DestinationAddressNoMask() == null ? null : normalizeIpv6Prefix(
+                            match.getIpv6DestinationAddressNoMask().getValue(), prefixLength(dstMask, IPV6_ADDRESS_LENGTH)))
+                    .build();
+        }
+
+        final Ipv6MatchArbitraryBitMaskBuilder builder = new Ipv6MatchArbitraryBitMaskBuilder(match);
+
+        if (match.getIpv6SourceAddressNoMask() != null && srcMask != null) {
+            builder.setIpv6SourceAddressNoMask(new Ipv6Address(
+                    applyMask(match.getIpv6SourceAddressNoMask().getValue(), srcMask)));
+            builder.setIpv6SourceArbitraryBitmask(new Ipv6ArbitraryMask(toAddressString(srcMask)));
+        }
+
+        if (match.getIpv6DestinationAddressNoMask() != null && dstMask != null) {
+            builder.setIpv6DestinationAddressNoMask(new Ipv6Address(
+                    applyMask(match.getIpv6DestinationAddressNoMask().getValue(), dstMask)));
+            builder.setIpv6DestinationArbitraryBitmask(new Ipv6ArbitraryMask(toAddressString(dstMask)));
+        }
+
+        return builder.build();
+    }
+
+    private static ArpMatch normalizeArpMatch(final ArpMatch arpMatch) {
+        final ArpMatchBuilder builder = new ArpMatchBuilder(arpMatch)
+                .setArpSourceTransportAddress(normalizeIpv4Prefix(arpMatch.getArpSourceTransportAddress()))
+                .setArpTargetTransportAddress(normalizeIpv4Prefix(arpMatch.getArpTargetTransportAddress()));
+
+        if (arpMatch.getArpSourceHardwareAddress() != null) {
+            builder.setArpSourceHardwareAddress(new ArpSourceHardwareAddressBuilder()
+                    .setAddress(normalizeMacAddress(arpMatch.getArpSourceHardwareAddress().getAddress()))
+                    .setMask(normalizeMacAddress(arpMatch.getArpSourceHardwareAddress().getMask()))
+                    .build());
+        }
+
+        if (arpMatch.getArpTargetHardwareAddress() != null) {
+            builder.setArpTargetHardwareAddress(new ArpTargetHardwareAddressBuilder()
+                    .setAddress(normalizeMacAddress(arpMatch.getArpTargetHardwareAddress().getAddress()))
+                    .setMask(normalizeMacAddress(arpMatch.getArpTargetHardwareAddress().getMask()))
+                    .build());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Clear metadata bits not covered by mask and drop mask consisting of all ones
+     *
+     * @param metadata metadata match
+     * @return normalized metadata match or the same instance if there is nothing to normalize
+     */
+    public static Metadata normalizeMetadata(@Nullable final Metadata metadata) {
+        if (metadata == null || metadata.getMetadata() == null || metadata.getMetadataMask() == null) {
+            return metadata;
+        }
+
+        final BigInteger mask = metadata.getMetadataMask();
+        if (METADATA_ALL_ONES.equals(mask)) {
+            return new MetadataBuilder().setMetadata(metadata.getMetadata()).build();
+        }
+
+        return new MetadataBuilder()
+                .setMetadata(metadata.getMetadata().and(mask))
+                .setMetadataMask(mask)
+                .build();
+    }
+
+    /**
+     * Convert MAC address to lower case
+     *
+     * @param macAddress MAC address
+     * @return normalized MAC address
+     */
+    public static MacAddress normalizeMacAddress(@Nullable final MacAddress macAddress) {
+        if (macAddress == null) {
+            return null;
+        }
+
+        return new MacAddress(macAddress.getValue().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Clear host bits of IPv4 prefix and add full prefix length if missing
+     *
+     * @param prefix IPv4 prefix
+     * @return normalized IPv4 prefix
+     */
+    public static Ipv4Prefix normalizeIpv4Prefix(@Nullable final Ipv4Prefix prefix) {
+        if (prefix == null) {
+            return null;
+        }
+
+        final String[] parts = prefix.getValue().split(PREFIX_SEPARATOR);
+        final int length = parts.length < 2 ? IPV4_ADDRESS_LENGTH : Integer.parseInt(parts[1]);
+        return normalizeIpv4Prefix(parts[0], length);
+    }
+
+    /**
+     * Clear host bits of IPv6 prefix, add full prefix length if missing and compress the address
+     *
+     * @param prefix IPv6 prefix
+     * @return normalized IPv6 prefix
+     */
+    public static Ipv6Prefix normalizeIpv6Prefix(@Nullable final Ipv6Prefix prefix) {
+        if (prefix == null) {
+            return null;
+        }
+
+        final String[] parts = prefix.getValue().split(PREFIX_SEPARATOR);
+        final int length = parts.length < 2 ? IPV6_ADDRESS_LENGTH : Integer.parseInt(parts[1]);
+        return normalizeIpv6Prefix(parts[0], length);
+    }
+
+    private static Ipv4Prefix normalizeIpv4Prefix(final String address, final int length) {
+        return new Ipv4Prefix(applyMask(address, prefixToMask(length, IPV4_ADDRESS_LENGTH)) + PREFIX_SEPARATOR + length);
+    }
+
+    private static Ipv6Prefix normalizeIpv6Prefix(final String address, final int length) {
+        return new Ipv6Prefix(applyMask(address, prefixToMask(length, IPV6_ADDRESS_LENGTH)) + PREFIX_SEPARATOR + length);
+    }
+
+    private static String applyMask(final String address, final byte[] mask) {
+        final byte[] bytes = InetAddresses.forString(address).getAddress();
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] &= mask[i];
+        }
+
+        return toAddressString(bytes);
+    }
+
+    private static String toAddressString(final byte[] bytes) {
+        final InetAddress address;
+
+        try {
+            address = InetAddress.getByAddress(bytes);
+        } catch (final UnknownHostException e) {
+            // Cannot happen, address has always valid length here
+            throw new IllegalArgumentException(e);
+        }
+
+        return InetAddresses.toAddrString(address);
+    }
+
+    private static byte[] prefixToMask(final int length, final int addressLength) {
+        if (length < 0 || length > addressLength) {
+            throw new IllegalArgumentException("Valid values for prefix length are from range 0 - "
+                    + addressLength + ". Value " + length + " is invalid.");
+        }
+
+        final byte[] mask = new byte[addressLength / BYTE_SIZE];
+
+        for (int i = 0; i < length; i++) {
+            mask[i / BYTE_SIZE] |= 0x80 >>> (i % BYTE_SIZE);
+        }
+
+        return mask;
+    }
+
+    private static boolean isContiguousMask(@Nullable final byte[] mask) {
+        if (mask == null) {
+            return true;
+        }
+
+        boolean zeroSeen = false;
+
+        for (final byte b : mask) {
+            for (int bit = BYTE_SIZE - 1; bit >= 0; bit--) {
+                final boolean one = ((b >>> bit) & 1) == 1;
+
+                if (one && zeroSeen) {
+                    return false;
+                }
+
+                zeroSeen |= !one;
+            }
+        }
+
+        return true;
+    }
+
+    private static int prefixLength(@Nullable final byte[] mask, final int addressLength) {
+        return mask == null ? addressLength : MatchComparatorHelper.countBits(mask);
+    }
+}
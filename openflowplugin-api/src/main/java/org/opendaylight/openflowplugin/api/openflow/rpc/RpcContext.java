@@ -7,6 +7,7 @@
  */
 package org.opendaylight.openflowplugin.api.openflow.rpc;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.openflowplugin.api.openflow.OFPContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
 import org.opendaylight.yangtools.yang.binding.RpcService;
@@ -29,4 +30,23 @@ public interface RpcContext extends RequestContextStack, AutoCloseable, OFPConte
     void setStatisticsRpcEnabled(boolean isStatisticsRpcEnabled);
 
     boolean isStatisticsRpcEnabled();
+
+    void setFlowBatchPipelined(boolean isFlowBatchPipelined);
+
+    boolean isFlowBatchPipelined();
+
+    /**
+     * Reserves block of request quota permits for batch of requests written to device without request context.
+     * Unlike {@link #createRequestContext()} this never refuses - returned future waits until at least one permit
+     * is available.
+     *
+     * @param permits wanted amount of permits
+     * @return amount of permits granted - at least 1, at most given amount (capped by quota)
+     */
+    ListenableFuture<Integer> acquireBatchPermits(int permits);
+
+    /**
+     * @param permits amount of permits acquired by {@link #acquireBatchPermits(int)} to give back to quota
+     */
+    void releaseBatchPermits(int permits);
 }
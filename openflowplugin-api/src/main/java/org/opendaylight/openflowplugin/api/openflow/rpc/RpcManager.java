@@ -21,4 +21,10 @@ import org.opendaylight.openflowplugin.api.openflow.device.handlers.DeviceTermin
 public interface RpcManager extends DeviceLifecycleSupervisor, DeviceInitializationPhaseHandler, AutoCloseable, DeviceTerminationPhaseHandler {
 
     void setStatisticsRpcEnabled(boolean statisticsRpcEnabled);
+
+    /**
+     * @param flowBatchPipelined true if flow batches should be written to device as pipelined flow-mods
+     *                           closed by single barrier (applies to devices connected afterwards)
+     */
+    void setFlowBatchPipelined(boolean flowBatchPipelined);
 }
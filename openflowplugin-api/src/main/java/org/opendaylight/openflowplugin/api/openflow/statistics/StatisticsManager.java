@@ -31,6 +31,18 @@ public interface StatisticsManager extends DeviceLifecycleSupervisor, DeviceInit
      */
     void stopScheduling(final DeviceInfo deviceInfo);
 
+    /**
+     * Set max. number of statistics types requested from one device at once, applies to newly connected devices
+     * @param maxInFlightStatRequests 1 for sequential collection of statistics
+     */
+    void setMaxInFlightStatRequests(final int maxInFlightStatRequests);
+
+    /**
+     * Set max. number of devices being polled for statistics at once, polling of other devices gets deferred
+     * @param maxConcurrentPolls global budget of statistics pollings in progress
+     */
+    void setMaxConcurrentPolls(final int maxConcurrentPolls);
+
     @Override
     void close();
 
@@ -8,8 +8,8 @@
 
 package org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
-import java.util.concurrent.Future;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
 import org.opendaylight.yangtools.yang.common.RpcResult;
@@ -18,5 +18,5 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
  * Created by mirehak on 6/2/15.
  */
 public interface StatisticsGatherer {
-    Future<RpcResult<List<MultipartReply>>> getStatisticsOfType(EventIdentifier eventIdentifier, MultipartType type);
+    ListenableFuture<RpcResult<List<MultipartReply>>> getStatisticsOfType(EventIdentifier eventIdentifier, MultipartType type);
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.api.openflow.md.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.math.BigInteger;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DottedQuad;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetSourceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.MetadataBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchArbitraryBitMaskBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
+
+public class MatchNormalizationUtilTest {
+
+    @Test
+    public void normalizeMacAddress() {
+        final Match userMatch = new MatchBuilder()
+                .setEthernetMatch(new EthernetMatchBuilder()
+                        .setEthernetSource(new EthernetSourceBuilder()
+                                .setAddress(new MacAddress("aa:BB:cc:DD:ee:FF"))
+                                .build())
+                        .build())
+                .build();
+
+        final Match deviceMatch = new MatchBuilder()
+                .setEthernetMatch(new EthernetMatchBuilder()
+                        .setEthernetSource(new EthernetSourceBuilder()
+                                .setAddress(new MacAddress("AA:BB:CC:DD:EE:FF"))
+                                .build())
+                        .build())
+                .build();
+
+        assertEquals(MatchNormalizationUtil.normalizeMatch(userMatch), MatchNormalizationUtil.normalizeMatch(deviceMatch));
+    }
+
+    @Test
+    public void normalizeMetadata() {
+        assertEquals(new MetadataBuilder()
+                        .setMetadata(new BigInteger("1200", 16))
+                        .setMetadataMask(new BigInteger("ff00", 16)).build(),
+                MatchNormalizationUtil.normalizeMetadata(new MetadataBuilder()
+                        .setMetadata(new BigInteger("1234", 16))
+                        .setMetadataMask(new BigInteger("ff00", 16)).build()));
+        assertEquals(new MetadataBuilder().setMetadata(new BigInteger("1234", 16)).build(),
+                MatchNormalizationUtil.normalizeMetadata(new MetadataBuilder()
+                        .setMetadata(new BigInteger("1234", 16))
+                        .setMetadataMask(new BigInteger("ffffffffffffffff", 16)).build()));
+    }
+
+    @Test
+    public void normalizeIpv4Prefix() {
+        assertEquals(new Ipv4Prefix("10.0.0.0/24"),
+                MatchNormalizationUtil.normalizeIpv4Prefix(new Ipv4Prefix("10.0.0.1/24")));
+        assertEquals(new Ipv4Prefix("10.0.0.1/32"),
+                MatchNormalizationUtil.normalizeIpv4Prefix(new Ipv4Prefix("10.0.0.1")));
+        assertNotEquals(MatchNormalizationUtil.normalizeIpv4Prefix(new Ipv4Prefix("10.0.0.1/32")),
+                MatchNormalizationUtil.normalizeIpv4Prefix(new Ipv4Prefix("10.0.0.2/32")));
+    }
+
+    @Test
+    public void normalizeIpv6Prefix() {
+        assertEquals(new Ipv6Prefix("2001:db8::/64"),
+                MatchNormalizationUtil.normalizeIpv6Prefix(new Ipv6Prefix("2001:0DB8:0000:0000:0000:0000:0000:0001/64")));
+        assertEquals(new Ipv6Prefix("2001:db8::1/128"),
+                MatchNormalizationUtil.normalizeIpv6Prefix(new Ipv6Prefix("2001:DB8::1")));
+    }
+
+    @Test
+    public void normalizeContiguousArbitraryBitMask() {
+        final Match userMatch = new MatchBuilder()
+                .setLayer3Match(new Ipv4MatchArbitraryBitMaskBuilder()
+                        .setIpv4DestinationAddressNoMask(new Ipv4Address("1.1.1.1"))
+                        .setIpv4DestinationArbitraryBitmask(new DottedQuad("255.255.255.0"))
+                        .build())
+                .build();
+
+        final Match deviceMatch = new MatchBuilder()
+                .setLayer3Match(new Ipv4MatchBuilder()
+                        .setIpv4Destination(new Ipv4Prefix("1.1.1.0/24"))
+                        .build())
+                .build();
+
+        assertEquals(MatchNormalizationUtil.normalizeMatch(deviceMatch), MatchNormalizationUtil.normalizeMatch(userMatch));
+    }
+
+    @Test
+    public void normalizeArbitraryBitMask() {
+        final Match userMatch = new MatchBuilder()
+                .setLayer3Match(new Ipv4MatchArbitraryBitMaskBuilder()
+                        .setIpv4DestinationAddressNoMask(new Ipv4Address("1.1.1.1"))
+                        .setIpv4DestinationArbitraryBitmask(new DottedQuad("255.0.255.0"))
+                        .build())
+                .build();
+
+        final Match deviceMatch = new MatchBuilder()
+                .setLayer3Match(new Ipv4MatchArbitraryBitMaskBuilder()
+                        .setIpv4DestinationAddressNoMask(new Ipv4Address("1.0.1.0"))
+                        .setIpv4DestinationArbitraryBitmask(new DottedQuad("255.0.255.0"))
+                        .build())
+                .build();
+
+        assertEquals(MatchNormalizationUtil.normalizeMatch(deviceMatch), MatchNormalizationUtil.normalizeMatch(userMatch));
+    }
+}
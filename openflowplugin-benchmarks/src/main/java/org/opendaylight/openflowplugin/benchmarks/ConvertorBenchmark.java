@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManager;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManagerFactory;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.data.VersionDatapathIdConvertorData;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.match.MatchConvertorImpl;
+import org.opendaylight.openflowplugin.openflow.md.util.OpenflowPortsUtil;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MD-SAL &lt;-&gt; OpenFlow conversions done for every flow add/modify/remove and every flow statistics entry:
+ * <ul>
+ * <li>{@link ConvertorManager#convert} of add-flow RPC input by FlowConvertor</li>
+ * <li>{@link MatchConvertorImpl} - MD-SAL match to OXM entries</li>
+ * <li>MatchResponseConvertor - OXM entries back to MD-SAL match</li>
+ * </ul>
+ * Every invocation converts next flow of the fixture, so that the data do not sit in the CPU cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConvertorBenchmark {
+
+    @Param({"1000", "100000"})
+    private int flowCount;
+
+    private ConvertorManager convertorManager;
+    private MatchConvertorImpl matchConvertor;
+    private VersionDatapathIdConvertorData convertorData;
+    private Flow[] flows;
+    private AddFlowInput[] addFlowInputs;
+    private Match[] ofMatches;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        OpenflowPortsUtil.init();
+        convertorManager = ConvertorManagerFactory.createDefaultManager();
+        matchConvertor = new MatchConvertorImpl();
+        convertorData = new VersionDatapathIdConvertorData(OFConstants.OFP_VERSION_1_3);
+        convertorData.setDatapathId(BigInteger.ONE);
+
+        flows = FlowFixtures.createFlows(flowCount).toArray(new Flow[flowCount]);
+        addFlowInputs = new AddFlowInput[flowCount];
+        ofMatches = new Match[flowCount];
+        for (int i = 0; i < flowCount; i++) {
+            addFlowInputs[i] = new AddFlowInputBuilder(flows[i]).build();
+            final List<MatchEntry> entries = matchConvertor.convert(flows[i].getMatch(), convertorManager);
+            ofMatches[i] = new org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping
+                    .MatchBuilder()
+                    .setType(OxmMatchType.class)
+                    .setMatchEntry(entries)
+                    .build();
+        }
+    }
+
+    private int next() {
+        final int current = cursor;
+        cursor = current + 1 == flowCount ? 0 : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public Optional<List<FlowModInputBuilder>> convertFlow() {
+        return convertorManager.convert(addFlowInputs[next()], convertorData);
+    }
+
+    @Benchmark
+    public List<MatchEntry> convertMatch() {
+        return matchConvertor.convert(flows[next()].getMatch(), convertorManager);
+    }
+
+    @Benchmark
+    public Optional<MatchBuilder> convertMatchResponse() {
+        return convertorManager.convert(ofMatches[next()], convertorData);
+    }
+}
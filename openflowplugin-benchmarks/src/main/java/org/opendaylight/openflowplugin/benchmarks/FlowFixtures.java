@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.OutputActionCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.output.action._case.OutputActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.InstructionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.apply.actions._case.ApplyActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.InstructionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.InstructionKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.EtherType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetTypeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.TcpMatchBuilder;
+
+/**
+ * Deterministic fixture flows resembling proactively programmed L3/L4 forwarding: in-port, IPv4 TCP 5-tuple
+ * with host source and /24 destination prefixes, output action. Flows are spread over several tables
+ * and priorities and each has unique cookie and id.
+ */
+final class FlowFixtures {
+
+    private static final long ETHERTYPE_IPV4 = 0x0800L;
+    private static final short IP_PROTOCOL_TCP = 6;
+    private static final int PORT_COUNT = 48;
+    private static final int TABLE_COUNT = 4;
+
+    private FlowFixtures() {
+        throw new IllegalStateException("This class should not be instantiated.");
+    }
+
+    static List<Flow> createFlows(final int count) {
+        final List<Flow> flows = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            flows.add(createFlow(index));
+        }
+        return flows;
+    }
+
+    static Flow createFlow(final int index) {
+        return new FlowBuilder()
+                .setId(new FlowId("fixture-flow-" + index))
+                .setTableId((short) (index % TABLE_COUNT))
+                .setPriority(100 + index % 64)
+                .setCookie(new FlowCookie(BigInteger.valueOf(index)))
+                .setIdleTimeout(0)
+                .setHardTimeout(0)
+                .setMatch(createMatch(index))
+                .setInstructions(new InstructionsBuilder()
+                        .setInstruction(Collections.singletonList(new InstructionBuilder()
+                                .setOrder(0)
+                                .setKey(new InstructionKey(0))
+                                .setInstruction(new ApplyActionsCaseBuilder()
+                                        .setApplyActions(new ApplyActionsBuilder()
+                                                .setAction(Collections.singletonList(new ActionBuilder()
+                                                        .setOrder(0)
+                                                        .setKey(new ActionKey(0))
+                                                        .setAction(new OutputActionCaseBuilder()
+                                                                .setOutputAction(new OutputActionBuilder()
+                                                                        .setOutputNodeConnector(new Uri(
+                                                                                String.valueOf(port(index + 1))))
+                                                                        .setMaxLength(0xffff)
+                                                                        .build())
+                                                                .build())
+                                                        .build()))
+                                                .build())
+                                        .build())
+                                .build()))
+                        .build())
+                .build();
+    }
+
+    static Match createMatch(final int index) {
+        return new MatchBuilder()
+                .setInPort(new NodeConnectorId("openflow:1:" + port(index)))
+                .setEthernetMatch(new EthernetMatchBuilder()
+                        .setEthernetType(new EthernetTypeBuilder().setType(new EtherType(ETHERTYPE_IPV4)).build())
+                        .build())
+                .setIpMatch(new IpMatchBuilder().setIpProtocol(IP_PROTOCOL_TCP).build())
+                .setLayer3Match(new Ipv4MatchBuilder()
+                        .setIpv4Source(new Ipv4Prefix(ipv4Address(index) + "/32"))
+                        .setIpv4Destination(new Ipv4Prefix(ipv4Network(index) + "/24"))
+                        .build())
+                .setLayer4Match(new TcpMatchBuilder()
+                        .setTcpDestinationPort(new PortNumber(1024 + index % 64000))
+                        .build())
+                .build();
+    }
+
+    /**
+     * @return unique host address in 10.0.0.0/8 for index below 2^24
+     */
+    static String ipv4Address(final int index) {
+        return "10." + ((index >>> 16) & 0xff) + "." + ((index >>> 8) & 0xff) + "." + (index & 0xff);
+    }
+
+    static String ipv4Network(final int index) {
+        return "172." + (16 + ((index >>> 16) & 0x0f)) + "." + ((index >>> 8) & 0xff) + ".0";
+    }
+
+    private static int port(final int index) {
+        return 1 + index % PORT_COUNT;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowDescriptor;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.openflowplugin.impl.registry.flow.DeviceFlowRegistryImpl;
+import org.opendaylight.openflowplugin.impl.registry.flow.FlowDescriptorFactory;
+import org.opendaylight.openflowplugin.impl.registry.flow.FlowRegistryKeyFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Flow registry operations done for every flow statistics entry and every flow RPC:
+ * {@link FlowRegistryKeyFactory#create} and {@link DeviceFlowRegistryImpl#retrieveIdForFlow} against registry
+ * filled with given number of flows. Keys are created from fresh flow instances (equal to, but not the same as
+ * the stored ones), the same way the statistics path does it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FlowRegistryBenchmark {
+
+    /** number of distinct lookup probes - bounds fixture memory for the biggest registries */
+    private static final int PROBE_COUNT = 100000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int flowCount;
+
+    private DeviceFlowRegistryImpl flowRegistry;
+    private Flow[] probeFlows;
+    private FlowRegistryKey[] probeKeys;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        flowRegistry = new DeviceFlowRegistryImpl(null, InstanceIdentifier.create(Nodes.class)
+                .child(Node.class, new NodeKey(new NodeId("openflow:1"))));
+        for (int i = 0; i < flowCount; i++) {
+            final Flow flow = FlowFixtures.createFlow(i);
+            flowRegistry.store(FlowRegistryKeyFactory.create(flow),
+                    FlowDescriptorFactory.create(flow.getTableId(), flow.getId()));
+        }
+
+        final int probeCount = Math.min(flowCount, PROBE_COUNT);
+        // probes spread evenly over whole registry
+        final int stride = flowCount / probeCount;
+        probeFlows = new Flow[probeCount];
+        probeKeys = new FlowRegistryKey[probeCount];
+        for (int i = 0; i < probeCount; i++) {
+            probeFlows[i] = FlowFixtures.createFlow(i * stride);
+            probeKeys[i] = FlowRegistryKeyFactory.create(FlowFixtures.createFlow(i * stride));
+        }
+    }
+
+    private int next() {
+        final int current = cursor;
+        cursor = current + 1 == probeFlows.length ? 0 : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public FlowRegistryKey createKey() {
+        return FlowRegistryKeyFactory.create(probeFlows[next()]);
+    }
+
+    @Benchmark
+    public FlowDescriptor retrieveIdForFlow() {
+        return flowRegistry.retrieveIdForFlow(probeKeys[next()]);
+    }
+
+    @Benchmark
+    public FlowDescriptor createKeyAndRetrieveIdForFlow() {
+        return flowRegistry.retrieveIdForFlow(FlowRegistryKeyFactory.create(probeFlows[next()]));
+    }
+}
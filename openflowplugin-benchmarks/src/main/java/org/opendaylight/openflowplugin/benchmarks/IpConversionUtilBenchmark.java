@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.common.IpConversionUtil;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DottedQuad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link IpConversionUtil} prefix and mask parsing used by match conversion of every IPv4/IPv6 flow
+ * in both directions. Prefix lengths of the fixture cycle over whole range, so that no single mask
+ * dominates the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IpConversionUtilBenchmark {
+
+    private static final int FIXTURE_SIZE = 1024;
+
+    private Ipv4Prefix[] ipv4Prefixes;
+    private Ipv4Address[] ipv4Addresses;
+    private String[] ipv4PrefixLengths;
+    private DottedQuad[] ipv4Masks;
+    private byte[][] ipv4MaskBytes;
+    private Ipv6Prefix[] ipv6Prefixes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        ipv4Prefixes = new Ipv4Prefix[FIXTURE_SIZE];
+        ipv4Addresses = new Ipv4Address[FIXTURE_SIZE];
+        ipv4PrefixLengths = new String[FIXTURE_SIZE];
+        ipv4Masks = new DottedQuad[FIXTURE_SIZE];
+        ipv4MaskBytes = new byte[FIXTURE_SIZE][];
+        ipv6Prefixes = new Ipv6Prefix[FIXTURE_SIZE];
+        for (int i = 0; i < FIXTURE_SIZE; i++) {
+            final int ipv4Length = 8 + i % 25;
+            final String address = FlowFixtures.ipv4Address(i);
+            ipv4Prefixes[i] = new Ipv4Prefix(address + "/" + ipv4Length);
+            ipv4Addresses[i] = new Ipv4Address(address);
+            ipv4PrefixLengths[i] = String.valueOf(ipv4Length);
+            ipv4Masks[i] = IpConversionUtil.extractIpv4AddressMask(ipv4Prefixes[i]);
+            ipv4MaskBytes[i] = IpConversionUtil.convertArbitraryMaskToByteArray(ipv4Masks[i]);
+            ipv6Prefixes[i] = new Ipv6Prefix(String.format("2001:db8:%x:%x::/%d", i >>> 8, i & 0xff, 16 + i % 113));
+        }
+    }
+
+    private int next() {
+        final int current = cursor;
+        cursor = current + 1 == FIXTURE_SIZE ? 0 : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public Integer extractIpv4Prefix() {
+        return IpConversionUtil.extractPrefix(ipv4Prefixes[next()]);
+    }
+
+    @Benchmark
+    public DottedQuad extractIpv4AddressMask() {
+        return IpConversionUtil.extractIpv4AddressMask(ipv4Prefixes[next()]);
+    }
+
+    @Benchmark
+    public Ipv4Prefix createIpv4Prefix() {
+        final int index = next();
+        return IpConversionUtil.createPrefix(ipv4Addresses[index], ipv4PrefixLengths[index]);
+    }
+
+    @Benchmark
+    public byte[] convertArbitraryMaskToByteArray() {
+        return IpConversionUtil.convertArbitraryMaskToByteArray(ipv4Masks[next()]);
+    }
+
+    @Benchmark
+    public boolean isArbitraryBitMask() {
+        return IpConversionUtil.isArbitraryBitMask(ipv4MaskBytes[next()]);
+    }
+
+    @Benchmark
+    public byte[] canonicalBinaryV6Prefix() {
+        return IpConversionUtil.canonicalBinaryV6Prefix(ipv6Prefixes[next()]);
+    }
+
+    @Benchmark
+    public Integer extractIpv6Prefix() {
+        return IpConversionUtil.extractIpv6Prefix(ipv6Prefixes[next()]);
+    }
+}
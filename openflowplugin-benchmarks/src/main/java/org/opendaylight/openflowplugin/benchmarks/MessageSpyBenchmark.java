@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageSpy.STATISTIC_GROUP;
+import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.MessageIntelligenceAgencyImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowRemovedMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PortStatusMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MessageIntelligenceAgencyImpl#spyMessage} - invoked several times for every message passing the plugin.
+ * Measured both uncontended and with several threads counting into single (shared) agency, the way all
+ * connection threads do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSpyBenchmark {
+
+    private static final Class<?>[] MESSAGE_TYPES = {
+            PacketInMessage.class, PacketReceived.class, MultipartReplyMessage.class, FlowRemovedMessage.class,
+            PortStatusMessage.class, EchoRequestMessage.class, AddFlowInput.class, TransmitPacketInput.class
+    };
+    private static final STATISTIC_GROUP[] GROUPS = {
+            STATISTIC_GROUP.FROM_SWITCH, STATISTIC_GROUP.FROM_SWITCH_TRANSLATE_IN_SUCCESS,
+            STATISTIC_GROUP.FROM_SWITCH_TRANSLATE_OUT_SUCCESS, STATISTIC_GROUP.FROM_SWITCH_PUBLISHED_SUCCESS,
+            STATISTIC_GROUP.TO_SWITCH_ENTERED, STATISTIC_GROUP.TO_SWITCH_SUBMIT_SUCCESS
+    };
+
+    private MessageIntelligenceAgencyImpl messageSpy;
+
+    /**
+     * Per-thread position in the message and group cycles.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int messageIndex;
+        private int groupIndex;
+
+        Class<?> nextMessage() {
+            messageIndex = messageIndex + 1 == MESSAGE_TYPES.length ? 0 : messageIndex + 1;
+            return MESSAGE_TYPES[messageIndex];
+        }
+
+        STATISTIC_GROUP nextGroup() {
+            groupIndex = groupIndex + 1 == GROUPS.length ? 0 : groupIndex + 1;
+            return GROUPS[groupIndex];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        messageSpy = new MessageIntelligenceAgencyImpl();
+        // first count of every message type is the slow one, do not measure it
+        for (final Class<?> messageType : MESSAGE_TYPES) {
+            for (final STATISTIC_GROUP group : GROUPS) {
+                messageSpy.spyMessage(messageType, group);
+            }
+        }
+    }
+
+    @Benchmark
+    public void spyMessage(final Cursor cursor) {
+        messageSpy.spyMessage(cursor.nextMessage(), cursor.nextGroup());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void spyMessageContended(final Cursor cursor) {
+        messageSpy.spyMessage(cursor.nextMessage(), cursor.nextGroup());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
+import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.impl.translator.PacketReceivedTranslator;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManagerFactory;
+import org.opendaylight.openflowplugin.openflow.md.util.OpenflowPortsUtil;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.InPort;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.InPortCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.in.port._case.InPortBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.packet.received.Match;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Packet-in translation of OF 1.3 table-miss packet-ins: translation alone (what every packet-in pays
+ * on the connection thread) and translation followed by full read of the notification (what a subscriber pays).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketReceivedTranslatorBenchmark {
+
+    private static final int PACKET_COUNT = 1024;
+    private static final int PORT_COUNT = 48;
+
+    @Param({"64", "1500"})
+    private int payloadSize;
+
+    private PacketReceivedTranslator translator;
+    private DeviceInfo deviceInfo;
+    private PacketInMessage[] packetIns;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        OpenflowPortsUtil.init();
+        translator = new PacketReceivedTranslator(ConvertorManagerFactory.createDefaultManager());
+        deviceInfo = new FixtureDeviceInfo(BigInteger.ONE);
+        packetIns = new PacketInMessage[PACKET_COUNT];
+        for (int i = 0; i < PACKET_COUNT; i++) {
+            packetIns[i] = createPacketIn(i);
+        }
+    }
+
+    private PacketInMessage createPacketIn(final int index) {
+        final byte[] payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) index);
+        final MatchEntryBuilder inPortEntry = new MatchEntryBuilder()
+                .setOxmClass(OpenflowBasicClass.class)
+                .setOxmMatchField(InPort.class)
+                .setHasMask(false)
+                .setMatchEntryValue(new InPortCaseBuilder()
+                        .setInPort(new InPortBuilder().setPortNumber(new PortNumber((long) (1 + index % PORT_COUNT)))
+                                .build())
+                        .build());
+
+        return new PacketInMessageBuilder()
+                .setVersion(OFConstants.OFP_VERSION_1_3)
+                .setXid((long) index)
+                .setBufferId(OFConstants.OFP_NO_BUFFER)
+                .setTotalLen(payloadSize)
+                .setReason(PacketInReason.OFPRNOMATCH)
+                .setTableId(new TableId(0L))
+                .setCookie(BigInteger.ZERO)
+                .setMatch(new MatchBuilder()
+                        .setType(OxmMatchType.class)
+                        .setMatchEntry(Arrays.asList(inPortEntry.build()))
+                        .build())
+                .setData(payload)
+                .build();
+    }
+
+    private int next() {
+        final int current = cursor;
+        cursor = current + 1 == PACKET_COUNT ? 0 : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public PacketReceived translate() {
+        return translator.translate(packetIns[next()], deviceInfo, null);
+    }
+
+    @Benchmark
+    public Match translateAndReadMatch() {
+        final PacketReceived packetReceived = translator.translate(packetIns[next()], deviceInfo, null);
+        packetReceived.getIngress();
+        packetReceived.getPayload();
+        return packetReceived.getMatch();
+    }
+
+    /**
+     * Plain device info - mocks would add their own overhead to the measured path.
+     */
+    private static final class FixtureDeviceInfo implements DeviceInfo {
+
+        private final BigInteger datapathId;
+        private final NodeId nodeId;
+        private final KeyedInstanceIdentifier<Node, NodeKey> nodeInstanceIdentifier;
+
+        private FixtureDeviceInfo(final BigInteger datapathId) {
+            this.datapathId = datapathId;
+            this.nodeId = new NodeId("openflow:" + datapathId);
+            this.nodeInstanceIdentifier = InstanceIdentifier.create(Nodes.class).child(Node.class, new NodeKey(nodeId));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public KeyedInstanceIdentifier<Node, NodeKey> getNodeInstanceIdentifier() {
+            return nodeInstanceIdentifier;
+        }
+
+        @Override
+        public short getVersion() {
+            return OFConstants.OFP_VERSION_1_3;
+        }
+
+        @Override
+        public BigInteger getDatapathId() {
+            return datapathId;
+        }
+
+        @Override
+        public ServiceGroupIdentifier getServiceIdentifier() {
+            return ServiceGroupIdentifier.create(nodeId.getValue());
+        }
+
+        @Override
+        public Long reserveXidForDeviceMessage() {
+            return 0L;
+        }
+    }
+}
@@ -10,18 +10,23 @@ package org.opendaylight.openflowplugin.impl;
 
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.util.HashedWheelTimer;
 import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanRegistrationException;
@@ -51,6 +56,8 @@ import org.opendaylight.openflowplugin.impl.device.DeviceManagerImpl;
 import org.opendaylight.openflowplugin.impl.role.RoleManagerImpl;
 import org.opendaylight.openflowplugin.impl.rpc.RpcManagerImpl;
 import org.opendaylight.openflowplugin.impl.statistics.StatisticsManagerImpl;
+import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.EventsTimeCounter;
+import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.EventsTimeCounterMXBean;
 import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.MessageIntelligenceAgencyImpl;
 import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.MessageIntelligenceAgencyMXBean;
 import org.opendaylight.openflowplugin.impl.util.TranslatorLibraryUtil;
@@ -224,7 +231,8 @@ public class OpenFlowPluginProviderImpl implements OpenFlowPluginProvider, OpenF
 
         connectionManager = new ConnectionManagerImpl(echoReplyTimeout, threadPool);
 
-        registerMXBean(messageIntelligenceAgency);
+        registerMXBean(messageIntelligenceAgency, MessageIntelligenceAgencyMXBean.class);
+        registerMXBean(EventsTimeCounter.getMXBean(), EventsTimeCounterMXBean.class);
 
         deviceManager = new DeviceManagerImpl(dataBroker,
                 globalNotificationQuota,
@@ -276,16 +284,75 @@ public class OpenFlowPluginProviderImpl implements OpenFlowPluginProvider, OpenF
         if(deviceManager != null && props.containsKey("skip-table-features")) {
             deviceManager.setSkipTableFeatures(Boolean.valueOf(props.get("skip-table-features").toString()));
         }
+        if(deviceManager != null && props.containsKey("packet-in-priority-ether-types")) {
+            deviceManager.setPacketInPriorityEtherTypes(
+                    parseValues(props.get("packet-in-priority-ether-types"), Integer::decode));
+        }
+        if(deviceManager != null && props.containsKey("packet-in-priority-table-ids")) {
+            deviceManager.setPacketInPriorityTableIds(
+                    parseValues(props.get("packet-in-priority-table-ids"), Short::decode));
+        }
+        if(deviceManager != null && props.containsKey("packet-in-priority-cookies")) {
+            deviceManager.setPacketInPriorityCookies(
+                    parseValues(props.get("packet-in-priority-cookies"), OpenFlowPluginProviderImpl::decodeCookie));
+        }
+        if(deviceManager != null && props.containsKey("tx-coalescing-enabled")) {
+            deviceManager.setTxCoalescingEnabled(Boolean.valueOf(props.get("tx-coalescing-enabled").toString()));
+        }
+        if(deviceManager != null && props.containsKey("tx-coalescing-max-operations")) {
+            deviceManager.setTxCoalescingMaxOperations(
+                    Integer.valueOf(props.get("tx-coalescing-max-operations").toString()));
+        }
+        if(deviceManager != null && props.containsKey("tx-coalescing-max-delay-millis")) {
+            deviceManager.setTxCoalescingMaxDelayMillis(
+                    Long.valueOf(props.get("tx-coalescing-max-delay-millis").toString()));
+        }
+        if(deviceManager != null && props.containsKey("tx-coalescing-max-outstanding-submits")) {
+            deviceManager.setTxCoalescingMaxOutstandingSubmits(
+                    Integer.valueOf(props.get("tx-coalescing-max-outstanding-submits").toString()));
+        }
+        if(statisticsManager != null && props.containsKey("statistics-max-in-flight-requests")) {
+            statisticsManager.setMaxInFlightStatRequests(
+                    Integer.valueOf(props.get("statistics-max-in-flight-requests").toString()));
+        }
+        if(rpcManager != null && props.containsKey("flow-batch-pipelined")) {
+            rpcManager.setFlowBatchPipelined(Boolean.valueOf(props.get("flow-batch-pipelined").toString()));
+        }
+        if(statisticsManager != null && props.containsKey("statistics-max-concurrent-polls")) {
+            statisticsManager.setMaxConcurrentPolls(
+                    Integer.valueOf(props.get("statistics-max-concurrent-polls").toString()));
+        }
+    }
+
+    /**
+     * @param value comma separated list of values
+     */
+    private static <T> Set<T> parseValues(final Object value, final Function<String, T> parser) {
+        final Set<T> values = new HashSet<>();
+        for (final String item : Splitter.on(',').trimResults().omitEmptyStrings().split(value.toString())) {
+            values.add(parser.apply(item));
+        }
+        return values;
+    }
+
+    /**
+     * @param value unsigned 64-bit cookie, decimal or hexadecimal with 0x prefix
+     */
+    private static BigInteger decodeCookie(final String value) {
+        if (value.startsWith("0x") || value.startsWith("0X")) {
+            return new BigInteger(value.substring(2), 16);
+        }
+        return new BigInteger(value);
     }
 
-    private static void registerMXBean(final MessageIntelligenceAgency messageIntelligenceAgency) {
+    private static void registerMXBean(final Object mxBean, final Class<?> mxBeanInterface) {
         final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
         try {
             final String pathToMxBean = String.format("%s:type=%s",
-                    MessageIntelligenceAgencyMXBean.class.getPackage().getName(),
-                    MessageIntelligenceAgencyMXBean.class.getSimpleName());
+                    mxBeanInterface.getPackage().getName(),
+                    mxBeanInterface.getSimpleName());
             final ObjectName name = new ObjectName(pathToMxBean);
-            mbs.registerMBean(messageIntelligenceAgency, name);
+            mbs.registerMBean(mxBean, name);
         } catch (MalformedObjectNameException
                 | NotCompliantMBeanException
                 | MBeanRegistrationException
@@ -9,6 +9,7 @@
 package org.opendaylight.openflowplugin.impl.connection;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.util.Objects;
@@ -279,14 +280,14 @@ public class ConnectionContextImpl implements ConnectionContext {
         private final Short version;
         private final BigInteger datapathId;
         private final ServiceGroupIdentifier serviceGroupIdentifier;
-        private OutboundQueue outboundQueueProvider;
+        private OutboundQueueProvider outboundQueueProvider;
 
         DeviceInfoImpl(
                 final NodeId nodeId,
                 final KeyedInstanceIdentifier<Node, NodeKey> nodeII,
                 final Short version,
                 final BigInteger datapathId,
-                final OutboundQueue outboundQueueProvider) {
+                final OutboundQueueProvider outboundQueueProvider) {
             this.nodeId = nodeId;
             this.nodeII = nodeII;
             this.version = version;
@@ -348,7 +349,7 @@ public class ConnectionContextImpl implements ConnectionContext {
             return result;
         }
 
-        public void setOutboundQueueProvider(final OutboundQueue outboundQueueProvider) {
+        public void setOutboundQueueProvider(final OutboundQueueProvider outboundQueueProvider) {
             this.outboundQueueProvider = outboundQueueProvider;
         }
 
@@ -356,5 +357,10 @@ public class ConnectionContextImpl implements ConnectionContext {
         public Long reserveXidForDeviceMessage() {
             return outboundQueueProvider.reserveEntry();
         }
+
+        @Override
+        public ListenableFuture<Long> reserveXidForDeviceMessageAsync() {
+            return outboundQueueProvider.reserveEntryAsync();
+        }
     }
 }
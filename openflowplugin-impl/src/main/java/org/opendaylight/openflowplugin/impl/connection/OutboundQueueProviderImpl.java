@@ -8,7 +8,15 @@
 
 package org.opendaylight.openflowplugin.impl.connection;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import javax.annotation.Nonnull;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
 import org.opendaylight.openflowplugin.api.openflow.connection.OutboundQueueProvider;
@@ -20,8 +28,14 @@ import org.slf4j.LoggerFactory;
 
 public class OutboundQueueProviderImpl implements OutboundQueueProvider {
     private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueProviderImpl.class);
+    @VisibleForTesting
+    static final int MAX_PENDING_RESERVATIONS = 1024;
+
     private final short ofVersion;
     private volatile OutboundQueue outboundQueue;
+    /** asynchronous reservations waiting for queue replacement, guarded by this */
+    private final Queue<SettableFuture<Long>> pendingReservations = new ArrayDeque<>();
+    private volatile boolean reservationsPending;
 
     public OutboundQueueProviderImpl(final short ofVersion) {
         this.ofVersion = ofVersion;
@@ -38,10 +52,30 @@ public class OutboundQueueProviderImpl implements OutboundQueueProvider {
     }
 
     @Override
-    public synchronized void onConnectionQueueChanged(final OutboundQueue queue) {
-        LOG.debug("Replacing queue {} with {}", outboundQueue, queue);
-        outboundQueue = queue;
-        notifyAll();
+    public void onConnectionQueueChanged(final OutboundQueue queue) {
+        final List<SettableFuture<Long>> served = new ArrayList<>();
+        final List<Long> xids = new ArrayList<>();
+        synchronized (this) {
+            LOG.debug("Replacing queue {} with {}", outboundQueue, queue);
+            outboundQueue = queue;
+            notifyAll();
+
+            while (!pendingReservations.isEmpty()) {
+                final Long xid = queue == null ? null : queue.reserveEntry();
+                if (xid == null && queue != null) {
+                    LOG.debug("Queue {} is full, {} reservations keep waiting", queue, pendingReservations.size());
+                    break;
+                }
+                served.add(pendingReservations.poll());
+                xids.add(xid);
+            }
+            reservationsPending = !pendingReservations.isEmpty();
+        }
+
+        // complete outside of lock, listeners are free to reserve again
+        for (int i = 0; i < served.size(); i++) {
+            served.get(i).set(xids.get(i));
+        }
     }
 
     @Override
@@ -73,6 +107,48 @@ public class OutboundQueueProviderImpl implements OutboundQueueProvider {
         }
     }
 
+    @Override
+    public ListenableFuture<Long> reserveEntryAsync() {
+        final OutboundQueue queue = outboundQueue;
+        if (queue == null) {
+            LOG.error("No queue present, failing request");
+            return Futures.immediateFuture(null);
+        }
+
+        // do not overtake waiting reservations
+        if (!reservationsPending) {
+            final Long ret = queue.reserveEntry();
+            if (ret != null) {
+                return Futures.immediateFuture(ret);
+            }
+        }
+
+        synchronized (this) {
+            final OutboundQueue currentQueue = outboundQueue;
+            if (currentQueue == null) {
+                LOG.error("No queue present, failing request");
+                return Futures.immediateFuture(null);
+            }
+            if (pendingReservations.isEmpty()) {
+                // queue could have been replaced meanwhile
+                final Long ret = currentQueue.reserveEntry();
+                if (ret != null) {
+                    return Futures.immediateFuture(ret);
+                }
+            }
+            if (pendingReservations.size() >= MAX_PENDING_RESERVATIONS) {
+                LOG.warn("Reservation failed, {} reservations are waiting already", pendingReservations.size());
+                return Futures.immediateFuture(null);
+            }
+
+            LOG.debug("Reservation failed, waiting for queue {} to be replaced", currentQueue);
+            final SettableFuture<Long> reservation = SettableFuture.create();
+            pendingReservations.add(reservation);
+            reservationsPending = true;
+            return reservation;
+        }
+    }
+
     @Override
     public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback) {
         outboundQueue.commitEntry(xid, message, callback);
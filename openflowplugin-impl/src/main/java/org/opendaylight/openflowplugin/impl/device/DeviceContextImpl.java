@@ -18,8 +18,10 @@ import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
@@ -119,6 +121,7 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
     private DeviceGroupRegistry deviceGroupRegistry;
     private DeviceMeterRegistry deviceMeterRegistry;
     private final PacketInRateLimiter packetInLimiter;
+    private final PacketInDispatcher.PacketInQueue packetInQueue;
     private final MessageSpy messageSpy;
     private final ItemLifeCycleKeeper flowLifeCycleKeeper;
     private NotificationPublishService notificationPublishService;
@@ -145,6 +148,23 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
             @Nonnull final DeviceManager manager,
             final ConvertorExecutor convertorExecutor,
             final boolean skipTableFeatures) {
+        this(primaryConnectionContext, dataBroker, messageSpy, translatorLibrary, manager, convertorExecutor,
+                skipTableFeatures, null);
+    }
+
+    /**
+     * @param packetInDispatcher shared packet-in dispatcher, if null then packet-ins are published directly
+     *                           and guarded by {@link PacketInRateLimiter} only
+     */
+    DeviceContextImpl(
+            @Nonnull final ConnectionContext primaryConnectionContext,
+            @Nonnull final DataBroker dataBroker,
+            @Nonnull final MessageSpy messageSpy,
+            @Nonnull final TranslatorLibrary translatorLibrary,
+            @Nonnull final DeviceManager manager,
+            final ConvertorExecutor convertorExecutor,
+            final boolean skipTableFeatures,
+            @Nullable final PacketInDispatcher packetInDispatcher) {
         this.primaryConnectionContext = primaryConnectionContext;
         this.deviceInfo = primaryConnectionContext.getDeviceInfo();
         this.deviceState = new DeviceStateImpl();
@@ -155,6 +175,9 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
 
         this.packetInLimiter = new PacketInRateLimiter(primaryConnectionContext.getConnectionAdapter(),
                 /*initial*/ 1000, /*initial*/2000, this.messageSpy, REJECTED_DRAIN_FACTOR);
+        this.packetInQueue = packetInDispatcher == null
+                ? null
+                : packetInDispatcher.register(deviceInfo, this::publishPacketIn);
 
         this.translatorLibrary = translatorLibrary;
         this.portStatusTranslator = translatorLibrary.lookupTranslator(
@@ -238,6 +261,11 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
         return initialized && transactionChainManager.submitWriteTransaction();
     }
 
+    @Override
+    public long getWriteEpoch() {
+        return initialized ? transactionChainManager.getWriteEpoch() : 0;
+    }
+
     @Override
     public ConnectionContext getPrimaryConnectionContext() {
         return primaryConnectionContext;
@@ -358,6 +386,14 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
             messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_TRANSLATE_OUT_SUCCESS);
         }
 
+        if (packetInQueue != null) {
+            if (!packetInQueue.offer(packetReceived)) {
+                LOG.debug("Packet queue full");
+                messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_PACKET_IN_LIMIT_REACHED_AND_DROPPED);
+            }
+            return;
+        }
+
         if (!packetInLimiter.acquirePermit()) {
             LOG.debug("Packet limited");
             // TODO: save packet into emergency slot if possible
@@ -365,10 +401,8 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
             return;
         }
 
-        final ListenableFuture<?> offerNotification = notificationPublishService.offerNotification(packetReceived);
+        final ListenableFuture<?> offerNotification = publishPacketIn(packetReceived);
         if (NotificationPublishService.REJECTED.equals(offerNotification)) {
-            LOG.debug("notification offer rejected");
-            messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_NOTIFICATION_REJECTED);
             packetInLimiter.drainLowWaterMark();
             packetInLimiter.releasePermit();
             return;
@@ -377,18 +411,38 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
         Futures.addCallback(offerNotification, new FutureCallback<Object>() {
             @Override
             public void onSuccess(final Object result) {
-                messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_PUBLISHED_SUCCESS);
                 packetInLimiter.releasePermit();
             }
 
+            @Override
+            public void onFailure(final Throwable t) {
+                packetInLimiter.releasePermit();
+            }
+        });
+    }
+
+    private ListenableFuture<?> publishPacketIn(final PacketReceived packetReceived) {
+        final ListenableFuture<?> offerNotification = notificationPublishService.offerNotification(packetReceived);
+        if (NotificationPublishService.REJECTED.equals(offerNotification)) {
+            LOG.debug("notification offer rejected");
+            messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_NOTIFICATION_REJECTED);
+            return offerNotification;
+        }
+
+        Futures.addCallback(offerNotification, new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(final Object result) {
+                messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_PUBLISHED_SUCCESS);
+            }
+
             @Override
             public void onFailure(final Throwable t) {
                 messageSpy.spyMessage(packetReceived.getImplementedInterface(), MessageSpy.STATISTIC_GROUP.FROM_SWITCH_NOTIFICATION_REJECTED);
                 LOG.debug("notification offer failed: {}", t.getMessage());
                 LOG.trace("notification offer failed..", t);
-                packetInLimiter.releasePermit();
             }
         });
+        return offerNotification;
     }
 
     @Override
@@ -471,6 +525,9 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
     @Override
     public void updatePacketInRateLimit(final long upperBound) {
         packetInLimiter.changeWaterMarks((int) (LOW_WATERMARK_FACTOR * upperBound), (int) (HIGH_WATERMARK_FACTOR * upperBound));
+        if (packetInQueue != null) {
+            packetInQueue.setBulkCapacity((int) (HIGH_WATERMARK_FACTOR * upperBound));
+        }
     }
 
     @Override
@@ -620,6 +677,13 @@ public class DeviceContextImpl implements DeviceContext, ExtensionConverterProvi
                 LOG.debug("Transaction chain manager for node {} created", deviceInfo.getLOGValue());
             }
             this.transactionChainManager = new TransactionChainManager(dataBroker, deviceInfo);
+            if (deviceManager.isTxCoalescingEnabled()) {
+                Optional.ofNullable(deviceManager.getTimer()).ifPresent(timer ->
+                        this.transactionChainManager.enableWriteCoalescing(timer,
+                                deviceManager.getTxCoalescingMaxOperations(),
+                                deviceManager.getTxCoalescingMaxDelayMillis(),
+                                deviceManager.getTxCoalescingMaxOutstandingSubmits()));
+            }
             this.deviceFlowRegistry = new DeviceFlowRegistryImpl(dataBroker, deviceInfo.getNodeInstanceIdentifier());
             this.deviceGroupRegistry = new DeviceGroupRegistryImpl();
             this.deviceMeterRegistry = new DeviceMeterRegistryImpl();
@@ -9,19 +9,25 @@ package org.opendaylight.openflowplugin.impl.device;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.TimerTask;
+import java.math.BigInteger;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.CheckForNull;
@@ -69,6 +75,14 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
     private final boolean switchFeaturesMandatory;
     private boolean isNotificationFlowRemovedOff;
     private boolean skipTableFeatures;
+    private volatile boolean txCoalescingEnabled;
+    private volatile int txCoalescingMaxOperations = 1000;
+    private volatile long txCoalescingMaxDelayMillis = 100;
+    private volatile int txCoalescingMaxOutstandingSubmits = 2;
+    private Set<Integer> packetInPriorityEtherTypes = ImmutableSet.of(
+            PacketInClassifier.ETHERTYPE_LLDP, PacketInClassifier.ETHERTYPE_ARP);
+    private Set<Short> packetInPriorityTableIds = ImmutableSet.of();
+    private Set<BigInteger> packetInPriorityCookies = ImmutableSet.of();
     private static final int SPY_RATE = 10;
 
     private final DataBroker dataBroker;
@@ -89,6 +103,8 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
     private final NotificationPublishService notificationPublishService;
     private final MessageSpy messageSpy;
     private final HashedWheelTimer hashedWheelTimer;
+    private final ExecutorService packetInExecutor;
+    private final PacketInDispatcher packetInDispatcher;
 
     public DeviceManagerImpl(@Nonnull final DataBroker dataBroker,
                              final long globalNotificationQuota,
@@ -129,6 +145,12 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
         this.singletonServiceProvider = singletonServiceProvider;
         this.notificationPublishService = notificationPublishService;
         this.messageSpy = messageSpy;
+        this.packetInExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("ofppacketin-dispatcher-%d")
+                .setDaemon(true)
+                .build());
+        this.packetInDispatcher = new PacketInDispatcher(packetInExecutor,
+                (int) Math.min(Integer.MAX_VALUE, Math.max(1, globalNotificationQuota)));
     }
 
 
@@ -193,7 +215,8 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
                 translatorLibrary,
                 this,
                 convertorExecutor,
-                skipTableFeatures);
+                skipTableFeatures,
+                packetInDispatcher);
 
         deviceContexts.put(deviceInfo, deviceContext);
 
@@ -257,6 +280,7 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
 
         Optional.ofNullable(spyPool).ifPresent(ScheduledThreadPoolExecutor::shutdownNow);
         spyPool = null;
+        packetInExecutor.shutdownNow();
 
     }
 
@@ -279,6 +303,7 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
         }
 
         deviceContexts.remove(deviceInfo);
+        packetInDispatcher.unregister(deviceInfo);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Device context removed for node {}", deviceInfo.getLOGValue());
         }
@@ -377,4 +402,75 @@ public class DeviceManagerImpl implements DeviceManager, ExtensionConverterProvi
         skipTableFeatures = skipTableFeaturesValue;
     }
 
+    @Override
+    public synchronized void setPacketInPriorityEtherTypes(final Set<Integer> etherTypes) {
+        packetInPriorityEtherTypes = ImmutableSet.copyOf(etherTypes);
+        updatePacketInClassifier();
+    }
+
+    @Override
+    public synchronized void setPacketInPriorityTableIds(final Set<Short> tableIds) {
+        packetInPriorityTableIds = ImmutableSet.copyOf(tableIds);
+        updatePacketInClassifier();
+    }
+
+    @Override
+    public synchronized void setPacketInPriorityCookies(final Set<BigInteger> cookies) {
+        packetInPriorityCookies = ImmutableSet.copyOf(cookies);
+        updatePacketInClassifier();
+    }
+
+    private void updatePacketInClassifier() {
+        packetInDispatcher.setClassifier(new PacketInClassifier(
+                packetInPriorityEtherTypes, packetInPriorityTableIds, packetInPriorityCookies));
+    }
+
+    @Override
+    public void setTxCoalescingEnabled(final boolean txCoalescingEnabled) {
+        this.txCoalescingEnabled = txCoalescingEnabled;
+    }
+
+    @Override
+    public boolean isTxCoalescingEnabled() {
+        return txCoalescingEnabled;
+    }
+
+    @Override
+    public void setTxCoalescingMaxOperations(final int maxOperations) {
+        Preconditions.checkArgument(maxOperations > 0, "Coalesced operations limit has to be positive");
+        this.txCoalescingMaxOperations = maxOperations;
+    }
+
+    @Override
+    public int getTxCoalescingMaxOperations() {
+        return txCoalescingMaxOperations;
+    }
+
+    @Override
+    public void setTxCoalescingMaxDelayMillis(final long maxDelayMillis) {
+        Preconditions.checkArgument(maxDelayMillis >= 0, "Coalescing delay must not be negative");
+        this.txCoalescingMaxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public long getTxCoalescingMaxDelayMillis() {
+        return txCoalescingMaxDelayMillis;
+    }
+
+    @Override
+    public void setTxCoalescingMaxOutstandingSubmits(final int maxOutstandingSubmits) {
+        Preconditions.checkArgument(maxOutstandingSubmits > 0, "Outstanding submits limit has to be positive");
+        this.txCoalescingMaxOutstandingSubmits = maxOutstandingSubmits;
+    }
+
+    @Override
+    public int getTxCoalescingMaxOutstandingSubmits() {
+        return txCoalescingMaxOutstandingSubmits;
+    }
+
+    @Override
+    public HashedWheelTimer getTimer() {
+        return hashedWheelTimer;
+    }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.device;
+
+import com.google.common.collect.ImmutableSet;
+import java.math.BigInteger;
+import java.util.Set;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+
+/**
+ * Decides which packet-ins belong to priority lane of {@link PacketInDispatcher}. Packet is prioritized
+ * if its ethertype (behind optional VLAN tags), table-id or cookie is among configured ones (see
+ * packet-in-priority-* properties of openflowplugin.cfg). By default LLDP and ARP are prioritized, so that
+ * topology discovery and address resolution survive table-miss flood.
+ */
+final class PacketInClassifier {
+
+    static final int ETHERTYPE_ARP = 0x0806;
+    static final int ETHERTYPE_LLDP = 0x88cc;
+    private static final int ETHERTYPE_VLAN = 0x8100;
+    private static final int ETHERTYPE_QINQ = 0x88a8;
+    private static final int ETHERTYPE_OFFSET = 12;
+    private static final int VLAN_TAG_LENGTH = 4;
+
+    static final PacketInClassifier DEFAULT = new PacketInClassifier(
+            ImmutableSet.of(ETHERTYPE_LLDP, ETHERTYPE_ARP), ImmutableSet.of(), ImmutableSet.of());
+
+    private final Set<Integer> priorityEtherTypes;
+    private final Set<Short> priorityTableIds;
+    private final Set<BigInteger> priorityCookies;
+
+    PacketInClassifier(final Set<Integer> priorityEtherTypes,
+                       final Set<Short> priorityTableIds,
+                       final Set<BigInteger> priorityCookies) {
+        this.priorityEtherTypes = ImmutableSet.copyOf(priorityEtherTypes);
+        this.priorityTableIds = ImmutableSet.copyOf(priorityTableIds);
+        this.priorityCookies = ImmutableSet.copyOf(priorityCookies);
+    }
+
+    boolean isPriority(final PacketReceived packetReceived) {
+        if (!priorityTableIds.isEmpty() && packetReceived.getTableId() != null
+                && priorityTableIds.contains(packetReceived.getTableId().getValue())) {
+            return true;
+        }
+        if (!priorityCookies.isEmpty() && packetReceived.getFlowCookie() != null
+                && priorityCookies.contains(packetReceived.getFlowCookie().getValue())) {
+            return true;
+        }
+        return priorityEtherTypes.contains(extractEtherType(packetReceived.getPayload()));
+    }
+
+    /**
+     * @param frame ethernet frame
+     * @return ethertype of frame payload (VLAN tags skipped), -1 if frame is too short
+     */
+    static int extractEtherType(final byte[] frame) {
+        if (frame == null) {
+            return -1;
+        }
+        int offset = ETHERTYPE_OFFSET;
+        while (offset + 1 < frame.length) {
+            final int etherType = ((frame[offset] & 0xff) << 8) | (frame[offset + 1] & 0xff);
+            if (etherType != ETHERTYPE_VLAN && etherType != ETHERTYPE_QINQ) {
+                return etherType;
+            }
+            offset += VLAN_TAG_LENGTH;
+        }
+        return -1;
+    }
+}
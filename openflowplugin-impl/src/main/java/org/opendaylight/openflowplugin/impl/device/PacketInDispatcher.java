@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.device;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared packet-in publisher with per-device bounded queues. Every device has two lanes:
+ * <ul>
+ * <li>priority lane (see {@link PacketInClassifier}) - served strictly before any bulk packet</li>
+ * <li>bulk lane - devices are served using deficit round robin weighted by payload size</li>
+ * </ul>
+ * Number of notifications offered to MD-SAL and not yet completed is limited, so when the notification service
+ * is the bottleneck, packets wait (or get dropped when full) in the lane of the device which sends them instead
+ * of displacing packets of other devices. All the draining happens on given executor, one task at a time.
+ */
+class PacketInDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PacketInDispatcher.class);
+
+    static final int PRIORITY_LANE_CAPACITY = 1024;
+    static final int DEFAULT_BULK_LANE_CAPACITY = 2000;
+    /** bulk bytes credited to device per round */
+    @VisibleForTesting
+    static final int QUANTUM = 16 * 1024;
+    /** packets smaller than minimal ethernet frame are charged as minimal frame */
+    private static final int MINIMUM_PACKET_COST = 64;
+    /** priority packets published per device visit */
+    private static final int PRIORITY_BATCH = 16;
+
+    private final Executor executor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ConcurrentLinkedDeque<PacketInQueue> priorityQueues = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<PacketInQueue> bulkQueues = new ConcurrentLinkedDeque<>();
+    private final ConcurrentMap<DeviceInfo, PacketInQueue> queues = new ConcurrentHashMap<>();
+    private volatile PacketInClassifier classifier = PacketInClassifier.DEFAULT;
+    private final FutureCallback<Object> inFlightReleaser = new FutureCallback<Object>() {
+        @Override
+        public void onSuccess(final Object result) {
+            releaseInFlight();
+        }
+
+        @Override
+        public void onFailure(final Throwable t) {
+            releaseInFlight();
+        }
+    };
+
+    /**
+     * @param executor    executor draining the queues
+     * @param maxInFlight maximum number of offered but not yet completed notifications
+     */
+    PacketInDispatcher(final Executor executor, final int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+        this.executor = Preconditions.checkNotNull(executor);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param deviceInfo device the queue belongs to
+     * @param publisher  offers notification to MD-SAL, returned future tracks its delivery
+     * @return queue of given device
+     */
+    PacketInQueue register(final DeviceInfo deviceInfo,
+                           final Function<PacketReceived, ListenableFuture<?>> publisher) {
+        final PacketInQueue queue = new PacketInQueue(publisher);
+        final PacketInQueue previous = queues.put(deviceInfo, queue);
+        if (previous != null) {
+            LOG.debug("Replacing packet-in queue of node {}", deviceInfo.getLOGValue());
+            previous.close();
+        }
+        return queue;
+    }
+
+    /**
+     * Drop all pending packets of given device and stop accepting new ones.
+     */
+    void unregister(final DeviceInfo deviceInfo) {
+        final PacketInQueue queue = queues.remove(deviceInfo);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    /**
+     * @param classifier decides which packets of all devices go to priority lane
+     */
+    void setClassifier(final PacketInClassifier classifier) {
+        this.classifier = Preconditions.checkNotNull(classifier);
+    }
+
+    @VisibleForTesting
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                LOG.debug("Packet-in dispatcher is shut down, pending packets are not published", e);
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (inFlight.get() < maxInFlight) {
+                PacketInQueue queue = priorityQueues.pollFirst();
+                if (queue != null) {
+                    queue.servePriority();
+                    continue;
+                }
+                queue = bulkQueues.pollFirst();
+                if (queue == null) {
+                    break;
+                }
+                queue.serveBulk();
+            }
+        } finally {
+            drainScheduled.set(false);
+        }
+        // work might have arrived or capacity got released after the loop ended
+        if (inFlight.get() < maxInFlight && !(priorityQueues.isEmpty() && bulkQueues.isEmpty())) {
+            scheduleDrain();
+        }
+    }
+
+    private void releaseInFlight() {
+        inFlight.decrementAndGet();
+        if (!(priorityQueues.isEmpty() && bulkQueues.isEmpty())) {
+            scheduleDrain();
+        }
+    }
+
+    private static int cost(final PacketReceived packet) {
+        final byte[] payload = packet.getPayload();
+        return Math.max(MINIMUM_PACKET_COST, payload == null ? 0 : payload.length);
+    }
+
+    /**
+     * Packet-in lanes of single device. Lanes are filled by the device connection thread and drained
+     * by dispatcher, both under the queue monitor. Deficit is touched by draining task only.
+     */
+    final class PacketInQueue {
+
+        private final Function<PacketReceived, ListenableFuture<?>> publisher;
+        private final Queue<PacketReceived> priorityLane = new ArrayDeque<>();
+        private final Queue<PacketReceived> bulkLane = new ArrayDeque<>();
+        private int bulkCapacity = DEFAULT_BULK_LANE_CAPACITY;
+        private boolean priorityActive;
+        private boolean bulkActive;
+        private boolean closed;
+        private int deficit;
+
+        private PacketInQueue(final Function<PacketReceived, ListenableFuture<?>> publisher) {
+            this.publisher = publisher;
+        }
+
+        /**
+         * @param packet translated packet-in, lane is chosen by classifier of dispatcher
+         * @return false if packet was dropped because lane is full or queue is closed
+         */
+        boolean offer(final PacketReceived packet) {
+            return offer(packet, classifier.isPriority(packet));
+        }
+
+        /**
+         * @param packet   translated packet-in
+         * @param priority true if packet belongs to priority lane
+         * @return false if packet was dropped because lane is full or queue is closed
+         */
+        boolean offer(final PacketReceived packet, final boolean priority) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (priority) {
+                    if (priorityLane.size() >= PRIORITY_LANE_CAPACITY) {
+                        return false;
+                    }
+                    priorityLane.add(packet);
+                    if (!priorityActive) {
+                        priorityActive = true;
+                        priorityQueues.addLast(this);
+                    }
+                } else {
+                    if (bulkLane.size() >= bulkCapacity) {
+                        return false;
+                    }
+                    bulkLane.add(packet);
+                    if (!bulkActive) {
+                        bulkActive = true;
+                        bulkQueues.addLast(this);
+                    }
+                }
+            }
+            if (inFlight.get() < maxInFlight) {
+                scheduleDrain();
+            }
+            return true;
+        }
+
+        /**
+         * Excess packets are not dropped, new ones are rejected until the lane shrinks below new capacity.
+         */
+        synchronized void setBulkCapacity(final int bulkCapacity) {
+            this.bulkCapacity = Math.max(1, bulkCapacity);
+        }
+
+        synchronized int size() {
+            return priorityLane.size() + bulkLane.size();
+        }
+
+        synchronized void close() {
+            closed = true;
+            priorityLane.clear();
+            bulkLane.clear();
+        }
+
+        private void servePriority() {
+            for (int served = 0; served < PRIORITY_BATCH && inFlight.get() < maxInFlight; served++) {
+                final PacketReceived packet;
+                synchronized (this) {
+                    packet = priorityLane.poll();
+                    if (packet == null) {
+                        priorityActive = false;
+                        return;
+                    }
+                }
+                publish(packet);
+            }
+            synchronized (this) {
+                if (priorityLane.isEmpty()) {
+                    priorityActive = false;
+                    return;
+                }
+            }
+            priorityQueues.addLast(this);
+        }
+
+        private void serveBulk() {
+            deficit += QUANTUM;
+            while (inFlight.get() < maxInFlight) {
+                final PacketReceived packet;
+                synchronized (this) {
+                    packet = bulkLane.peek();
+                    if (packet == null) {
+                        bulkActive = false;
+                        deficit = 0;
+                        return;
+                    }
+                    if (cost(packet) > deficit) {
+                        break;
+                    }
+                    bulkLane.poll();
+                }
+                deficit -= cost(packet);
+                publish(packet);
+            }
+
+            if (inFlight.get() < maxInFlight) {
+                // quantum used up - go to the end of round
+                bulkQueues.addLast(this);
+            } else {
+                // interrupted by in-flight limit - keep the turn (and remaining deficit)
+                deficit -= QUANTUM;
+                bulkQueues.addFirst(this);
+            }
+        }
+
+        private void publish(final PacketReceived packet) {
+            inFlight.incrementAndGet();
+            final ListenableFuture<?> future;
+            try {
+                future = publisher.apply(packet);
+            } catch (final RuntimeException e) {
+                LOG.warn("Packet-in publishing failed", e);
+                releaseInFlight();
+                return;
+            }
+            Futures.addCallback(future, inFlightReleaser);
+        }
+    }
+}
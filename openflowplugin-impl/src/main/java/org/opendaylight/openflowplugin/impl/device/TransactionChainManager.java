@@ -14,9 +14,14 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -44,11 +49,18 @@ import org.slf4j.LoggerFactory;
  * a {@link TransactionChainListener} and provide package protected methods for writeToTransaction
  * method (wrapped {@link WriteTransaction#put(LogicalDatastoreType, InstanceIdentifier, DataObject)})
  * and submitTransaction method (wrapped {@link WriteTransaction#submit()})
+ * <p/>
+ * With write coalescing enabled (see {@link #enableWriteCoalescing(Timer, int, long, int)}) a submit request
+ * does not submit the transaction immediately. Writes are accumulated until the operation count or the latency
+ * budget is exhausted, and while too many submits are outstanding in the datastore the accumulation continues
+ * instead of queueing further commits - up to twice the operation count, then the transaction is submitted anyway.
  */
 class TransactionChainManager implements TransactionChainListener, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransactionChainManager.class);
     private static final String CANNOT_WRITE_INTO_TRANSACTION = "Cannot write into transaction.";
+    /** multiple of pending operations limit at which transaction is flushed even if too many submits are outstanding */
+    private static final int OVERFLOW_FACTOR = 2;
 
     private final Object txLock = new Object();
     private final DataBroker dataBroker;
@@ -63,6 +75,23 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
     private boolean submitIsEnabled;
     @GuardedBy("txLock")
     private ListenableFuture<Void> lastSubmittedFuture;
+    @GuardedBy("txLock")
+    private int pendingOperations;
+    @GuardedBy("txLock")
+    private Timeout flushTimeout;
+    @GuardedBy("txLock")
+    private boolean flushRequested;
+
+    private final AtomicInteger outstandingSubmits = new AtomicInteger();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    /** read without lock on every write to find out whether pending operations are counted */
+    private volatile Timer coalescingTimer;
+    @GuardedBy("txLock")
+    private int maxPendingOperations;
+    @GuardedBy("txLock")
+    private long maxSubmitDelayMillis;
+    @GuardedBy("txLock")
+    private int maxOutstandingSubmits;
 
     private boolean initCommit;
 
@@ -79,6 +108,7 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
 
     @GuardedBy("txLock")
     private void createTxChain() {
+        writeEpoch.incrementAndGet();
         Optional.ofNullable(txChainFactory).ifPresent(TransactionChain::close);
         txChainFactory = dataBroker.createTransactionChain(TransactionChainManager.this);
     }
@@ -87,9 +117,34 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
         this.lifecycleService = lifecycleService;
     }
 
+    /**
+     * Switch submits to write coalescing mode.
+     *
+     * @param timer                 timer used for flushing writes once latency budget is exhausted
+     * @param maxPendingOperations  max. number of writes and deletes accumulated in one transaction - reaching it
+     *                              flushes the transaction right from the write path
+     * @param maxSubmitDelayMillis  max. delay between submit request and actual submit of transaction
+     * @param maxOutstandingSubmits max. number of submitted and not yet committed transactions
+     */
+    void enableWriteCoalescing(@Nonnull final Timer timer,
+                               final int maxPendingOperations,
+                               final long maxSubmitDelayMillis,
+                               final int maxOutstandingSubmits) {
+        Preconditions.checkArgument(maxPendingOperations > 0, "Pending operations limit has to be positive");
+        Preconditions.checkArgument(maxOutstandingSubmits > 0, "Outstanding submits limit has to be positive");
+        synchronized (txLock) {
+            this.coalescingTimer = timer;
+            this.maxPendingOperations = maxPendingOperations;
+            this.maxSubmitDelayMillis = maxSubmitDelayMillis;
+            this.maxOutstandingSubmits = maxOutstandingSubmits;
+        }
+    }
+
     void initialSubmitWriteTransaction() {
         enableSubmit();
-        submitWriteTransaction();
+        synchronized (txLock) {
+            flushWriteTransaction();
+        }
     }
 
     /**
@@ -153,60 +208,134 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
         txChainFactory = null;
     }
 
+    /**
+     * Submit current write transaction. With write coalescing enabled the submit is only scheduled - it is issued
+     * once the operation count limit is reached or the latency budget expires, so returning true does not mean that
+     * the transaction was handed over to the datastore yet.
+     *
+     * @return false if submit is blocked, true if transaction was submitted, scheduled for submit
+     * or there was nothing to submit
+     */
     boolean submitWriteTransaction() {
         synchronized (txLock) {
-            if (!submitIsEnabled) {
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("transaction not committed - submit block issued");
-                }
-                return false;
-            }
-            if (Objects.isNull(wTx)) {
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("nothing to commit - submit returns true");
-                }
-                return true;
+            if (Objects.isNull(coalescingTimer) || !submitIsEnabled || Objects.isNull(wTx)) {
+                return flushWriteTransaction();
             }
-            Preconditions.checkState(TransactionChainManagerStatus.WORKING.equals(transactionChainManagerStatus),
-                    "we have here Uncompleted Transaction for node {} and we are not MASTER", this.nodeId);
-            final CheckedFuture<Void, TransactionCommitFailedException> submitFuture = wTx.submit();
-            Futures.addCallback(submitFuture, new FutureCallback<Void>() {
-                @Override
-                public void onSuccess(final Void result) {
-                    if (initCommit) {
-                        initCommit = false;
+            if (pendingOperations >= maxPendingOperations) {
+                trySubmitCoalesced();
+            } else if (Objects.isNull(flushTimeout)) {
+                flushTimeout = coalescingTimer.newTimeout(timeout -> {
+                    synchronized (txLock) {
+                        if (flushTimeout == timeout) {
+                            flushTimeout = null;
+                            trySubmitCoalesced();
+                        }
                     }
+                }, maxSubmitDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return true;
+    }
+
+    @GuardedBy("txLock")
+    private void trySubmitCoalesced() {
+        if (outstandingSubmits.get() >= maxOutstandingSubmits) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Submit of {} operations for node {} postponed, {} submits outstanding",
+                        pendingOperations, this.nodeId, outstandingSubmits.get());
+            }
+            flushRequested = true;
+            return;
+        }
+        flushWriteTransaction();
+    }
+
+    @GuardedBy("txLock")
+    private void resetCoalescing() {
+        Optional.ofNullable(flushTimeout).ifPresent(Timeout::cancel);
+        flushTimeout = null;
+        flushRequested = false;
+        pendingOperations = 0;
+    }
+
+    @GuardedBy("txLock")
+    private boolean flushWriteTransaction() {
+        if (!submitIsEnabled) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("transaction not committed - submit block issued");
+            }
+            return false;
+        }
+        if (Objects.isNull(wTx)) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("nothing to commit - submit returns true");
+            }
+            return true;
+        }
+        Preconditions.checkState(TransactionChainManagerStatus.WORKING.equals(transactionChainManagerStatus),
+                "we have here Uncompleted Transaction for node {} and we are not MASTER", this.nodeId);
+        final WriteTransaction submittedTx = wTx;
+        wTx = null;
+        resetCoalescing();
+        outstandingSubmits.incrementAndGet();
+        final CheckedFuture<Void, TransactionCommitFailedException> submitFuture = submittedTx.submit();
+        lastSubmittedFuture = submitFuture;
+        Futures.addCallback(submitFuture, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                if (initCommit) {
+                    initCommit = false;
                 }
+                onSubmitCompleted();
+            }
 
-                @Override
-                public void onFailure(final Throwable t) {
-                    if (t instanceof TransactionCommitFailedException) {
-                        LOG.error("Transaction commit failed. ", t);
+            @Override
+            public void onFailure(final Throwable t) {
+                writeEpoch.incrementAndGet();
+                if (t instanceof TransactionCommitFailedException) {
+                    LOG.error("Transaction commit failed. ", t);
+                } else {
+                    if (t instanceof CancellationException) {
+                        LOG.warn("Submit task was canceled");
+                        LOG.trace("Submit exception: ", t);
                     } else {
-                        if (t instanceof CancellationException) {
-                            LOG.warn("Submit task was canceled");
-                            LOG.trace("Submit exception: ", t);
-                        } else {
-                            LOG.error("Exception during transaction submitting. ", t);
-                        }
-                    }
-                    if (initCommit) {
-                        wTx = null;
-                        Optional.ofNullable(lifecycleService).ifPresent(LifecycleService::closeConnection);
+                        LOG.error("Exception during transaction submitting. ", t);
                     }
                 }
-            });
-            lastSubmittedFuture = submitFuture;
-            wTx = null;
-        }
+                if (initCommit) {
+                    wTx = null;
+                    Optional.ofNullable(lifecycleService).ifPresent(LifecycleService::closeConnection);
+                }
+                onSubmitCompleted();
+            }
+        });
         return true;
     }
 
+    private void onSubmitCompleted() {
+        outstandingSubmits.decrementAndGet();
+        synchronized (txLock) {
+            if (flushRequested) {
+                flushRequested = false;
+                trySubmitCoalesced();
+            }
+        }
+    }
+
+    /**
+     * @return epoch of writes - it changes whenever writes handed over to this manager might have been lost
+     * (failed submit, transaction chain recreated or shut down)
+     */
+    long getWriteEpoch() {
+        return writeEpoch.get();
+    }
+
     <T extends DataObject> void addDeleteOperationTotTxChain(final LogicalDatastoreType store,
                                                              final InstanceIdentifier<T> path){
         final WriteTransaction writeTx = getTransactionSafely();
         if (Objects.nonNull(writeTx)) {
             writeTx.delete(store, path);
+            countPendingOperation();
         } else {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("WriteTx is null for node {}. Delete {} was not realized.", this.nodeId, path);
@@ -222,6 +351,7 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
         final WriteTransaction writeTx = getTransactionSafely();
         if (Objects.nonNull(writeTx)) {
             writeTx.put(store, path, data, createParents);
+            countPendingOperation();
         } else {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("WriteTx is null for node {}. Write data for {} was not realized.", this.nodeId, path);
@@ -230,6 +360,20 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
         }
     }
 
+    private void countPendingOperation() {
+        if (Objects.nonNull(coalescingTimer)) {
+            synchronized (txLock) {
+                pendingOperations++;
+                if (pendingOperations >= OVERFLOW_FACTOR * maxPendingOperations) {
+                    // outstanding submits limit must not let one transaction grow without bounds
+                    flushWriteTransaction();
+                } else if (pendingOperations >= maxPendingOperations) {
+                    trySubmitCoalesced();
+                }
+            }
+        }
+    }
+
     @Override
     public void onTransactionChainFailed(final TransactionChain<?, ?> chain,
                                          final AsyncTransaction<?, ?> transaction, final Throwable cause) {
@@ -248,6 +392,7 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
         synchronized (txLock) {
             createTxChain();
             wTx = null;
+            resetCoalescing();
         }
     }
 
@@ -283,7 +428,9 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
 
     @GuardedBy("txLock")
     private ListenableFuture<Void> txChainShuttingDown() {
+        writeEpoch.incrementAndGet();
         submitIsEnabled = false;
+        resetCoalescing();
         ListenableFuture<Void> future;
         if (txChainFactory == null) {
             // stay with actual thread
@@ -308,6 +455,7 @@ class TransactionChainManager implements TransactionChainListener, AutoCloseable
             LOG.debug("Setting transactionChainManagerStatus to SHUTTING_DOWN for {}", this.nodeId);
         }
         synchronized (txLock) {
+            resetCoalescing();
             removeTxChainFactory();
         }
     }
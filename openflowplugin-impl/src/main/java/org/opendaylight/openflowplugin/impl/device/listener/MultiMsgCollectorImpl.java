@@ -10,8 +10,11 @@ package org.opendaylight.openflowplugin.impl.device.listener;
 
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContext;
 import org.opendaylight.openflowplugin.api.openflow.device.handlers.DeviceReplyProcessor;
 import org.opendaylight.openflowplugin.api.openflow.device.handlers.MultiMsgCollector;
@@ -41,11 +44,23 @@ public class MultiMsgCollectorImpl implements MultiMsgCollector {
     private final List<MultipartReply> replyCollection = new ArrayList<>();
     private final RequestContext<List<MultipartReply>> requestContext;
     private final DeviceReplyProcessor deviceReplyProcessor;
+    private final Consumer<MultipartReply> replyConsumer;
     private MultipartType msgType;
 
     public MultiMsgCollectorImpl(final DeviceReplyProcessor deviceReplyProcessor, final RequestContext<List<MultipartReply>> requestContext) {
+        this(deviceReplyProcessor, requestContext, null);
+    }
+
+    /**
+     * @param replyConsumer if set, collector works in streaming mode - every reply is handed over to consumer
+     *                      as soon as it arrives instead of being collected and result of request is null
+     */
+    public MultiMsgCollectorImpl(final DeviceReplyProcessor deviceReplyProcessor,
+                                 final RequestContext<List<MultipartReply>> requestContext,
+                                 @Nullable final Consumer<MultipartReply> replyConsumer) {
         this.deviceReplyProcessor = Preconditions.checkNotNull(deviceReplyProcessor);
         this.requestContext = Preconditions.checkNotNull(requestContext);
+        this.replyConsumer = replyConsumer;
     }
 
     @Override
@@ -67,7 +82,13 @@ public class MultiMsgCollectorImpl implements MultiMsgCollector {
             LOG.warn("MultiMsgCollector get incorrect multipart msg with type {} but expected type is {}", reply.getType(), msgType);
         }
 
-        replyCollection.add(reply);
+        if (null != replyConsumer) {
+            deviceReplyProcessor.processReply(requestContext.getXid(), Collections.singletonList(reply));
+            replyConsumer.accept(reply);
+        } else {
+            replyCollection.add(reply);
+        }
+
         if (!reply.getFlags().isOFPMPFREQMORE()) {
             endCollecting(eventIdentifier);
         }
@@ -78,12 +99,16 @@ public class MultiMsgCollectorImpl implements MultiMsgCollector {
     }
 
     public void endCollecting(final EventIdentifier eventIdentifier) {
-        final RpcResult<List<MultipartReply>> rpcResult = RpcResultBuilder.success(replyCollection).build();
+        final RpcResult<List<MultipartReply>> rpcResult = null != replyConsumer
+                ? RpcResultBuilder.<List<MultipartReply>>success().build()
+                : RpcResultBuilder.success(replyCollection).build();
         if (null != eventIdentifier) {
             EventsTimeCounter.markEnd(eventIdentifier);
         }
         requestContext.setResult(rpcResult);
         requestContext.close();
-        deviceReplyProcessor.processReply(requestContext.getXid(), replyCollection);
+        if (null == replyConsumer) {
+            deviceReplyProcessor.processReply(requestContext.getXid(), replyCollection);
+        }
     }
 }
@@ -9,13 +9,11 @@ package org.opendaylight.openflowplugin.impl.registry.flow;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Striped;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,7 +21,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
@@ -42,12 +43,21 @@ import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Flow registry backed by concurrent maps. Keys are created by {@link FlowRegistryKeyFactory} and carry
+ * canonical form of flow match, so lookup is always plain hash lookup. Readers are lock-free, writers
+ * are serialized per key stripe only, so that mapping from key to descriptor and reverse mapping from
+ * descriptor to key (descriptors are unique within registry) are kept consistent.
+ */
 public class DeviceFlowRegistryImpl implements DeviceFlowRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(DeviceFlowRegistryImpl.class);
     private static final String ALIEN_SYSTEM_FLOW_ID = "#UF$TABLE*";
     private static final AtomicInteger UNACCOUNTED_FLOWS_COUNTER = new AtomicInteger(0);
+    private static final int WRITE_LOCK_STRIPES = 64;
 
-    private final BiMap<FlowRegistryKey, FlowDescriptor> flowRegistry = Maps.synchronizedBiMap(HashBiMap.create());
+    private final ConcurrentMap<FlowRegistryKey, FlowDescriptor> flowRegistry = new ConcurrentHashMap<>();
+    private final ConcurrentMap<FlowDescriptor, FlowRegistryKey> inverseFlowRegistry = new ConcurrentHashMap<>();
+    private final Striped<Lock> writeLocks = Striped.lock(WRITE_LOCK_STRIPES);
     private final DataBroker dataBroker;
     private final KeyedInstanceIdentifier<Node, NodeKey> instanceIdentifier;
     private final List<ListenableFuture<List<Optional<FlowCapableNode>>>> lastFillFutures = new ArrayList<>();
@@ -145,42 +155,82 @@ public class DeviceFlowRegistryImpl implements DeviceFlowRegistry {
     @Override
     public FlowDescriptor retrieveIdForFlow(final FlowRegistryKey flowRegistryKey) {
         LOG.trace("Retrieving flow descriptor for flow hash : {}", flowRegistryKey.hashCode());
-        FlowDescriptor flowDescriptor = flowRegistry.get(flowRegistryKey);
-        // Get FlowDescriptor from flow registry
-        if(flowDescriptor == null){
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Failed to retrieve flow descriptor for flow hash : {}, trying with custom equals method", flowRegistryKey.hashCode());
-            }
-            for(Map.Entry<FlowRegistryKey, FlowDescriptor> fd : flowRegistry.entrySet()) {
-                if (fd.getKey().equals(flowRegistryKey)) {
-                    flowDescriptor = fd.getValue();
-                    break;
-                }
-            }
-        }
-        return flowDescriptor;
+        return flowRegistry.get(flowRegistryKey);
     }
 
     @Override
     public void store(final FlowRegistryKey flowRegistryKey, final FlowDescriptor flowDescriptor) {
+        final Lock lock = writeLocks.get(flowRegistryKey);
+        lock.lock();
+
         try {
-          LOG.trace("Storing flowDescriptor with table ID : {} and flow ID : {} for flow hash : {}",
+            LOG.trace("Storing flowDescriptor with table ID : {} and flow ID : {} for flow hash : {}",
                     flowDescriptor.getTableKey().getId(), flowDescriptor.getFlowId().getValue(), flowRegistryKey.hashCode());
-          flowRegistry.put(flowRegistryKey, flowDescriptor);
-        } catch (IllegalArgumentException ex) {
-          LOG.error("Flow with flowId {} already exists in table {}", flowDescriptor.getFlowId().getValue(),
-                    flowDescriptor.getTableKey().getId());
-          final FlowId newFlowId = createAlienFlowId(flowDescriptor.getTableKey().getId());
-          final FlowDescriptor newFlowDescriptor = FlowDescriptorFactory.
-            create(flowDescriptor.getTableKey().getId(), newFlowId);
-          flowRegistry.put(flowRegistryKey, newFlowDescriptor);
+            final FlowRegistryKey owner = inverseFlowRegistry.putIfAbsent(flowDescriptor, flowRegistryKey);
+
+            if (owner != null && !owner.equals(flowRegistryKey)) {
+                LOG.error("Flow with flowId {} already exists in table {}", flowDescriptor.getFlowId().getValue(),
+                        flowDescriptor.getTableKey().getId());
+                final FlowId newFlowId = createAlienFlowId(flowDescriptor.getTableKey().getId());
+                final FlowDescriptor newFlowDescriptor = FlowDescriptorFactory.
+                        create(flowDescriptor.getTableKey().getId(), newFlowId);
+                inverseFlowRegistry.put(newFlowDescriptor, flowRegistryKey);
+                bind(flowRegistryKey, newFlowDescriptor);
+            } else {
+                bind(flowRegistryKey, flowDescriptor);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public void update(final FlowRegistryKey newFlowRegistryKey, final FlowDescriptor flowDescriptor) {
-        LOG.trace("Updating the entry with hash: {}", newFlowRegistryKey.hashCode());
-        flowRegistry.forcePut(newFlowRegistryKey, flowDescriptor);
+        while (true) {
+            // Descriptor may be bound to key of another stripe, both stripes have to be held
+            final FlowRegistryKey previousKey = inverseFlowRegistry.get(flowDescriptor);
+            final List<FlowRegistryKey> lockedKeys = previousKey == null || previousKey.equals(newFlowRegistryKey)
+                    ? Collections.singletonList(newFlowRegistryKey)
+                    : Arrays.asList(previousKey, newFlowRegistryKey);
+            // bulkGet returns locks in stripe order, so concurrent updates can not deadlock
+            final List<Lock> locks = new ArrayList<>();
+            writeLocks.bulkGet(lockedKeys).forEach(locks::add);
+            locks.forEach(Lock::lock);
+
+            try {
+                if (!Objects.equals(previousKey, inverseFlowRegistry.get(flowDescriptor))) {
+                    // Descriptor was rebound before we got the locks, retry with its current key
+                    continue;
+                }
+
+                LOG.trace("Updating the entry with hash: {}", newFlowRegistryKey.hashCode());
+                inverseFlowRegistry.put(flowDescriptor, newFlowRegistryKey);
+
+                // Descriptor was bound to another key, so release it
+                if (previousKey != null && !previousKey.equals(newFlowRegistryKey)) {
+                    flowRegistry.remove(previousKey, flowDescriptor);
+                }
+
+                bind(newFlowRegistryKey, flowDescriptor);
+                return;
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Bind key to descriptor and release descriptor previously bound to the key. Reverse mapping of new
+     * descriptor must be already in place and lock for key stripe must be held by caller.
+     */
+    private void bind(final FlowRegistryKey flowRegistryKey, final FlowDescriptor flowDescriptor) {
+        final FlowDescriptor previousDescriptor = flowRegistry.put(flowRegistryKey, flowDescriptor);
+
+        if (previousDescriptor != null && !previousDescriptor.equals(flowDescriptor)) {
+            inverseFlowRegistry.remove(previousDescriptor, flowRegistryKey);
+        }
     }
 
     @Override
@@ -190,16 +240,30 @@ public class DeviceFlowRegistryImpl implements DeviceFlowRegistry {
         // First, try to get FlowDescriptor from flow registry
         FlowDescriptor flowDescriptor = retrieveIdForFlow(flowRegistryKey);
 
-        // We was not able to retrieve FlowDescriptor, so we will at least try to generate it
-        if (flowDescriptor == null) {
-            LOG.trace("Flow descriptor for flow hash : {} not found, generating alien flow ID", flowRegistryKey.hashCode());
-            final short tableId = flowRegistryKey.getTableId();
-            final FlowId alienFlowId = createAlienFlowId(tableId);
-            flowDescriptor = FlowDescriptorFactory.create(tableId, alienFlowId);
+        if (flowDescriptor != null) {
+            return flowDescriptor.getFlowId();
+        }
+
+        final Lock lock = writeLocks.get(flowRegistryKey);
+        lock.lock();
 
-            // Finally we got flowDescriptor, so now we will store it to registry,
-            // so next time we won't need to generate it again
-            store(flowRegistryKey, flowDescriptor);
+        try {
+            // Somebody could store the descriptor meanwhile, so check it again under lock
+            flowDescriptor = retrieveIdForFlow(flowRegistryKey);
+
+            // We was not able to retrieve FlowDescriptor, so we will at least try to generate it
+            if (flowDescriptor == null) {
+                LOG.trace("Flow descriptor for flow hash : {} not found, generating alien flow ID", flowRegistryKey.hashCode());
+                final short tableId = flowRegistryKey.getTableId();
+                final FlowId alienFlowId = createAlienFlowId(tableId);
+                flowDescriptor = FlowDescriptorFactory.create(tableId, alienFlowId);
+
+                // Finally we got flowDescriptor, so now we will store it to registry,
+                // so next time we won't need to generate it again
+                store(flowRegistryKey, flowDescriptor);
+            }
+        } finally {
+            lock.unlock();
         }
 
         return flowDescriptor.getFlowId();
@@ -207,8 +271,19 @@ public class DeviceFlowRegistryImpl implements DeviceFlowRegistry {
 
     @Override
     public void removeDescriptor(final FlowRegistryKey flowRegistryKey) {
-        LOG.trace("Removing flow descriptor for flow hash : {}", flowRegistryKey.hashCode());
-        flowRegistry.remove(flowRegistryKey);
+        final Lock lock = writeLocks.get(flowRegistryKey);
+        lock.lock();
+
+        try {
+            LOG.trace("Removing flow descriptor for flow hash : {}", flowRegistryKey.hashCode());
+            final FlowDescriptor flowDescriptor = flowRegistry.remove(flowRegistryKey);
+
+            if (flowDescriptor != null) {
+                inverseFlowRegistry.remove(flowDescriptor, flowRegistryKey);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -228,6 +303,7 @@ public class DeviceFlowRegistryImpl implements DeviceFlowRegistry {
         }
 
         flowRegistry.clear();
+        inverseFlowRegistry.clear();
     }
 
     @VisibleForTesting
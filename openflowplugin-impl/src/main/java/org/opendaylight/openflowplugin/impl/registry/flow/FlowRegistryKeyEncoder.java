@@ -0,0 +1,716 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.registry.flow;
+
+import com.google.common.net.InetAddresses;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.opendaylight.openflowplugin.api.openflow.md.util.MatchNormalizationUtil;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Dscp;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpVersion;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.EtherType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.VlanId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.VlanPcp;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.MacAddressFilter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetDestinationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetSourceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetTypeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Icmpv4Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Icmpv4MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Layer3Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Layer4Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Metadata;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.MetadataBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.VlanMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.VlanMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchArbitraryBitMask;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6MatchArbitraryBitMask;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv6MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.TcpMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.TcpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.UdpMatch;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.UdpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.vlan.match.fields.VlanIdBuilder;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+
+/**
+ * Encodes table id, priority, cookie and match of flow into compact byte array, which is used by
+ * {@link FlowRegistryKeyFactory} keys for allocation-free equals and hash code. Match fields are normalized
+ * while they are written (the same way {@link MatchNormalizationUtil} does it), so no normalized copy of match
+ * is built. Only the most common match fields are encoded - if match contains anything else (including extension
+ * augmentations), encoding is not complete and the match has to be compared by plain equals of its normalized
+ * form.
+ */
+final class FlowRegistryKeyEncoder {
+
+    private static final byte TAG_IN_PORT = 1;
+    private static final byte TAG_IN_PHY_PORT = 2;
+    private static final byte TAG_METADATA = 3;
+    private static final byte TAG_ETH_SRC = 4;
+    private static final byte TAG_ETH_DST = 5;
+    private static final byte TAG_ETH_TYPE = 6;
+    private static final byte TAG_VLAN_ID = 7;
+    private static final byte TAG_VLAN_PCP = 8;
+    private static final byte TAG_IP_PROTOCOL = 9;
+    private static final byte TAG_IP_DSCP = 10;
+    private static final byte TAG_IP_ECN = 11;
+    private static final byte TAG_IP_PROTO = 12;
+    private static final byte TAG_IPV4_SRC = 13;
+    private static final byte TAG_IPV4_DST = 14;
+    private static final byte TAG_IPV6_SRC = 15;
+    private static final byte TAG_IPV6_DST = 16;
+    private static final byte TAG_TCP_SRC = 17;
+    private static final byte TAG_TCP_DST = 18;
+    private static final byte TAG_UDP_SRC = 19;
+    private static final byte TAG_UDP_DST = 20;
+    private static final byte TAG_ICMPV4_TYPE = 21;
+    private static final byte TAG_ICMPV4_CODE = 22;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte FALSE_VALUE = 1;
+    private static final byte TRUE_VALUE = 2;
+
+    /** table id, priority and cookie */
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES + Long.BYTES;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final String PREFIX_SEPARATOR = "/";
+    private static final int MAC_ADDRESS_LENGTH = 6;
+    private static final int IPV4_ADDRESS_LENGTH = 4;
+    private static final int IPV6_ADDRESS_LENGTH = 16;
+    private static final int HEX_RADIX = 16;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int position;
+    private boolean complete = true;
+
+    private FlowRegistryKeyEncoder() {
+        // Use encode()
+    }
+
+    /**
+     * Encode flow identification into byte array
+     *
+     * @param tableId flow table id
+     * @param priority flow priority
+     * @param cookie flow cookie
+     * @param match flow match, does not need to be normalized
+     * @return encoded flow identification
+     */
+    static FlowRegistryKeyEncoder encode(final short tableId, final int priority, final BigInteger cookie,
+                                         final Match match) {
+        final FlowRegistryKeyEncoder encoder = new FlowRegistryKeyEncoder();
+        encoder.writeByte(tableId);
+        encoder.writeInt(priority);
+        encoder.writeLong(cookie.longValue());
+        encoder.writeMatch(match);
+        return encoder;
+    }
+
+    byte[] getFingerprint() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * @return true if fingerprint identifies the match completely, false if normalized match has to be compared too
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Rebuild normalized match from complete fingerprint
+     *
+     * @param fingerprint fingerprint of complete encoding
+     * @return normalized match
+     */
+    static Match decodeMatch(final byte[] fingerprint) {
+        return new Decoder(fingerprint).readMatch();
+    }
+
+    private void writeMatch(final Match match) {
+        if (match.getTunnel() != null || match.getIcmpv6Match() != null || match.getProtocolMatchFields() != null
+                || match.getTcpFlagsMatch() != null || !BindingReflections.getAugmentations(match).isEmpty()) {
+            complete = false;
+        }
+
+        writeNodeConnectorId(TAG_IN_PORT, match.getInPort());
+        writeNodeConnectorId(TAG_IN_PHY_PORT, match.getInPhyPort());
+        writeMetadata(match.getMetadata());
+        writeEthernetMatch(match.getEthernetMatch());
+        writeVlanMatch(match.getVlanMatch());
+        writeIpMatch(match.getIpMatch());
+        writeLayer3Match(match.getLayer3Match());
+        writeLayer4Match(match.getLayer4Match());
+        writeIcmpv4Match(match.getIcmpv4Match());
+    }
+
+    private void writeMetadata(final Metadata metadata) {
+        if (metadata != null) {
+            final Metadata normalized = MatchNormalizationUtil.normalizeMetadata(metadata);
+            writeTag(TAG_METADATA);
+            writeBigInteger(normalized.getMetadata());
+            writeBigInteger(normalized.getMetadataMask());
+        }
+    }
+
+    private void writeEthernetMatch(final EthernetMatch ethernetMatch) {
+        if (ethernetMatch == null) {
+            return;
+        }
+
+        writeMacAddressFilter(TAG_ETH_SRC, ethernetMatch.getEthernetSource());
+        writeMacAddressFilter(TAG_ETH_DST, ethernetMatch.getEthernetDestination());
+
+        if (ethernetMatch.getEthernetType() != null) {
+            if (ethernetMatch.getEthernetType().getType() == null) {
+                complete = false;
+            } else {
+                writeTag(TAG_ETH_TYPE);
+                writeInt(ethernetMatch.getEthernetType().getType().getValue().intValue());
+            }
+        }
+    }
+
+    private void writeVlanMatch(final VlanMatch vlanMatch) {
+        if (vlanMatch == null) {
+            return;
+        }
+
+        if (vlanMatch.getVlanId() != null) {
+            writeTag(TAG_VLAN_ID);
+            writeBoolean(vlanMatch.getVlanId().getVlanIdPresent());
+            writeInt(vlanMatch.getVlanId().getVlanId() == null ? -1 : vlanMatch.getVlanId().getVlanId().getValue());
+        }
+
+        if (vlanMatch.getVlanPcp() != null) {
+            writeTag(TAG_VLAN_PCP);
+            writeByte(vlanMatch.getVlanPcp().getValue());
+        }
+    }
+
+    private void writeIpMatch(final IpMatch ipMatch) {
+        if (ipMatch == null) {
+            return;
+        }
+
+        if (ipMatch.getIpProtocol() != null) {
+            writeTag(TAG_IP_PROTOCOL);
+            writeByte(ipMatch.getIpProtocol());
+        }
+
+        if (ipMatch.getIpDscp() != null) {
+            writeTag(TAG_IP_DSCP);
+            writeByte(ipMatch.getIpDscp().getValue());
+        }
+
+        if (ipMatch.getIpEcn() != null) {
+            writeTag(TAG_IP_ECN);
+            writeByte(ipMatch.getIpEcn());
+        }
+
+        if (ipMatch.getIpProto() != null) {
+            writeTag(TAG_IP_PROTO);
+            writeByte(ipMatch.getIpProto().getIntValue());
+        }
+    }
+
+    private void writeLayer3Match(final Layer3Match layer3Match) {
+        if (layer3Match == null) {
+            return;
+        }
+
+        if (layer3Match instanceof Ipv4Match) {
+            final Ipv4Match ipv4Match = (Ipv4Match) layer3Match;
+            writeIpPrefix(TAG_IPV4_SRC, ipv4Match.getIpv4Source() == null
+                    ? null : ipv4Match.getIpv4Source().getValue());
+            writeIpPrefix(TAG_IPV4_DST, ipv4Match.getIpv4Destination() == null
+                    ? null : ipv4Match.getIpv4Destination().getValue());
+        } else if (layer3Match instanceof Ipv4MatchArbitraryBitMask) {
+            final Ipv4MatchArbitraryBitMask ipv4Match = (Ipv4MatchArbitraryBitMask) layer3Match;
+            final byte[] srcMask = ipv4Match.getIpv4SourceArbitraryBitmask() == null
+                    ? null : addressBytes(ipv4Match.getIpv4SourceArbitraryBitmask().getValue());
+            final byte[] dstMask = ipv4Match.getIpv4DestinationArbitraryBitmask() == null
+                    ? null : addressBytes(ipv4Match.getIpv4DestinationArbitraryBitmask().getValue());
+
+            // Arbitrary masks consisting of consecutive ones are the same as prefix match
+            if (isContiguousMask(srcMask) && isContiguousMask(dstMask)) {
+                writeMaskedAddress(TAG_IPV4_SRC, ipv4Match.getIpv4SourceAddressNoMask() == null
+                        ? null : ipv4Match.getIpv4SourceAddressNoMask().getValue(), srcMask);
+                writeMaskedAddress(TAG_IPV4_DST, ipv4Match.getIpv4DestinationAddressNoMask() == null
+                        ? null : ipv4Match.getIpv4DestinationAddressNoMask().getValue(), dstMask);
+            } else {
+                complete = false;
+            }
+        } else if (layer3Match instanceof Ipv6Match) {
+            final Ipv6Match ipv6Match = (Ipv6Match) layer3Match;
+
+            // Only plain source/destination matches are encoded, rest of IPv6 match is compared by equals
+            if (ipv6Match.getIpv6NdTarget() == null && ipv6Match.getIpv6Label() == null
+                    && ipv6Match.getIpv6NdSll() == null && ipv6Match.getIpv6NdTll() == null
+                    && ipv6Match.getIpv6ExtHeader() == null) {
+                writeIpPrefix(TAG_IPV6_SRC, ipv6Match.getIpv6Source() == null
+                        ? null : ipv6Match.getIpv6Source().getValue());
+                writeIpPrefix(TAG_IPV6_DST, ipv6Match.getIpv6Destination() == null
+                        ? null : ipv6Match.getIpv6Destination().getValue());
+            } else {
+                complete = false;
+            }
+        } else if (layer3Match instanceof Ipv6MatchArbitraryBitMask) {
+            final Ipv6MatchArbitraryBitMask ipv6Match = (Ipv6MatchArbitraryBitMask) layer3Match;
+            final byte[] srcMask = ipv6Match.getIpv6SourceArbitraryBitmask() == null
+                    ? null : addressBytes(ipv6Match.getIpv6SourceArbitraryBitmask().getValue());
+            final byte[] dstMask = ipv6Match.getIpv6DestinationArbitraryBitmask() == null
+                    ? null : addressBytes(ipv6Match.getIpv6DestinationArbitraryBitmask().getValue());
+
+            if (isContiguousMask(srcMask) && isContiguousMask(dstMask)) {
+                writeMaskedAddress(TAG_IPV6_SRC, ipv6Match.getIpv6SourceAddressNoMask() == null
+                        ? null : ipv6Match.getIpv6SourceAddressNoMask().getValue(), srcMask);
+                writeMaskedAddress(TAG_IPV6_DST, ipv6Match.getIpv6DestinationAddressNoMask() == null
+                        ? null : ipv6Match.getIpv6DestinationAddressNoMask().getValue(), dstMask);
+            } else {
+                complete = false;
+            }
+        } else {
+            complete = false;
+        }
+    }
+
+    private void writeLayer4Match(final Layer4Match layer4Match) {
+        if (layer4Match == null) {
+            return;
+        }
+
+        if (layer4Match instanceof TcpMatch) {
+            final TcpMatch tcpMatch = (TcpMatch) layer4Match;
+            writePortNumber(TAG_TCP_SRC, tcpMatch.getTcpSourcePort());
+            writePortNumber(TAG_TCP_DST, tcpMatch.getTcpDestinationPort());
+        } else if (layer4Match instanceof UdpMatch) {
+            final UdpMatch udpMatch = (UdpMatch) layer4Match;
+            writePortNumber(TAG_UDP_SRC, udpMatch.getUdpSourcePort());
+            writePortNumber(TAG_UDP_DST, udpMatch.getUdpDestinationPort());
+        } else {
+            complete = false;
+        }
+    }
+
+    private void writeIcmpv4Match(final Icmpv4Match icmpv4Match) {
+        if (icmpv4Match == null) {
+            return;
+        }
+
+        if (icmpv4Match.getIcmpv4Type() != null) {
+            writeTag(TAG_ICMPV4_TYPE);
+            writeByte(icmpv4Match.getIcmpv4Type());
+        }
+
+        if (icmpv4Match.getIcmpv4Code() != null) {
+            writeTag(TAG_ICMPV4_CODE);
+            writeByte(icmpv4Match.getIcmpv4Code());
+        }
+    }
+
+    private void writeNodeConnectorId(final byte tag, final NodeConnectorId nodeConnectorId) {
+        if (nodeConnectorId != null) {
+            writeTag(tag);
+            writeString(nodeConnectorId.getValue());
+        }
+    }
+
+    private void writeMacAddressFilter(final byte tag, final MacAddressFilter filter) {
+        if (filter != null) {
+            writeTag(tag);
+            writeMacAddress(filter.getAddress());
+            writeMacAddress(filter.getMask());
+        }
+    }
+
+    private void writeMacAddress(final MacAddress macAddress) {
+        if (macAddress == null) {
+            writeByte(NULL_VALUE);
+            return;
+        }
+
+        writeByte(TRUE_VALUE);
+        final String value = macAddress.getValue();
+
+        // MAC address is always in xx:xx:xx:xx:xx:xx form, hex digits are parsed regardless of case
+        for (int i = 0; i < MAC_ADDRESS_LENGTH; i++) {
+            final int offset = i * 3;
+            writeByte((Character.digit(value.charAt(offset), HEX_RADIX) << 4)
+                    | Character.digit(value.charAt(offset + 1), HEX_RADIX));
+        }
+    }
+
+    /**
+     * Writes address with host bits cleared followed by prefix length, missing prefix length means full length.
+     */
+    private void writeIpPrefix(final byte tag, final String prefix) {
+        if (prefix == null) {
+            return;
+        }
+
+        final int separator = prefix.indexOf(PREFIX_SEPARATOR);
+        final byte[] address = addressBytes(separator < 0 ? prefix : prefix.substring(0, separator));
+        final int length = separator < 0 ? address.length * Byte.SIZE : Integer.parseInt(prefix.substring(separator + 1));
+        writeTag(tag);
+        writeAddress(address, length);
+    }
+
+    private void writeMaskedAddress(final byte tag, final String address, final byte[] mask) {
+        if (address == null) {
+            return;
+        }
+
+        final byte[] addressBytes = addressBytes(address);
+        writeTag(tag);
+        writeAddress(addressBytes, mask == null ? addressBytes.length * Byte.SIZE : countBits(mask));
+    }
+
+    private void writeAddress(final byte[] address, final int prefixLength) {
+        if (prefixLength < 0 || prefixLength > address.length * Byte.SIZE) {
+            throw new IllegalArgumentException("Valid values for prefix length are from range 0 - "
+                    + address.length * Byte.SIZE + ". Value " + prefixLength + " is invalid.");
+        }
+
+        ensureCapacity(address.length + 1);
+        for (int i = 0; i < address.length; i++) {
+            final int bits = Math.min(Math.max(prefixLength - i * Byte.SIZE, 0), Byte.SIZE);
+            buffer[position++] = (byte) (address[i] & (0xff00 >>> bits));
+        }
+        writeByte(prefixLength);
+    }
+
+    private void writePortNumber(final byte tag, final PortNumber portNumber) {
+        if (portNumber != null) {
+            writeTag(tag);
+            writeInt(portNumber.getValue());
+        }
+    }
+
+    private void writeBigInteger(final BigInteger value) {
+        if (value == null) {
+            writeByte(NULL_VALUE);
+        } else {
+            writeByte(TRUE_VALUE);
+            writeLong(value.longValue());
+        }
+    }
+
+    private void writeBoolean(final Boolean value) {
+        if (value == null) {
+            writeByte(NULL_VALUE);
+        } else {
+            writeByte(value ? TRUE_VALUE : FALSE_VALUE);
+        }
+    }
+
+    private void writeString(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeTag(final byte tag) {
+        writeByte(tag);
+    }
+
+    private void writeByte(final int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(final int value) {
+        ensureCapacity(Integer.BYTES);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(final long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void ensureCapacity(final int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+
+    private static byte[] addressBytes(final String address) {
+        return InetAddresses.forString(address).getAddress();
+    }
+
+    private static boolean isContiguousMask(final byte[] mask) {
+        if (mask == null) {
+            return true;
+        }
+
+        boolean zeroSeen = false;
+        for (final byte b : mask) {
+            for (int bit = Byte.SIZE - 1; bit >= 0; bit--) {
+                final boolean one = ((b >>> bit) & 1) == 1;
+                if (one && zeroSeen) {
+                    return false;
+                }
+                zeroSeen |= !one;
+            }
+        }
+        return true;
+    }
+
+    private static int countBits(final byte[] mask) {
+        int bits = 0;
+        for (final byte b : mask) {
+            bits += Integer.bitCount(b & 0xff);
+        }
+        return bits;
+    }
+
+    /**
+     * Reads complete fingerprint back into normalized match, fields are read in the order they were written.
+     */
+    private static final class Decoder {
+        private final byte[] fingerprint;
+        private int position = HEADER_LENGTH;
+
+        private Decoder(final byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private Match readMatch() {
+            final MatchBuilder match = new MatchBuilder();
+            EthernetMatchBuilder ethernetMatch = null;
+            VlanMatchBuilder vlanMatch = null;
+            IpMatchBuilder ipMatch = null;
+            Ipv4MatchBuilder ipv4Match = null;
+            Ipv6MatchBuilder ipv6Match = null;
+            TcpMatchBuilder tcpMatch = null;
+            UdpMatchBuilder udpMatch = null;
+            Icmpv4MatchBuilder icmpv4Match = null;
+
+            while (position < fingerprint.length) {
+                final byte tag = fingerprint[position++];
+                switch (tag) {
+                    case TAG_IN_PORT:
+                        match.setInPort(new NodeConnectorId(readString()));
+                        break;
+                    case TAG_IN_PHY_PORT:
+                        match.setInPhyPort(new NodeConnectorId(readString()));
+                        break;
+                    case TAG_METADATA:
+                        match.setMetadata(new MetadataBuilder()
+                                .setMetadata(readBigInteger())
+                                .setMetadataMask(readBigInteger())
+                                .build());
+                        break;
+                    case TAG_ETH_SRC:
+                        ethernetMatch = ethernetMatch == null ? new EthernetMatchBuilder() : ethernetMatch;
+                        ethernetMatch.setEthernetSource(new EthernetSourceBuilder()
+                                .setAddress(readMacAddress())
+                                .setMask(readMacAddress())
+                                .build());
+                        break;
+                    case TAG_ETH_DST:
+                        ethernetMatch = ethernetMatch == null ? new EthernetMatchBuilder() : ethernetMatch;
+                        ethernetMatch.setEthernetDestination(new EthernetDestinationBuilder()
+                                .setAddress(readMacAddress())
+                                .setMask(readMacAddress())
+                                .build());
+                        break;
+                    case TAG_ETH_TYPE:
+                        ethernetMatch = ethernetMatch == null ? new EthernetMatchBuilder() : ethernetMatch;
+                        ethernetMatch.setEthernetType(new EthernetTypeBuilder()
+                                .setType(new EtherType(readInt() & 0xffffffffL))
+                                .build());
+                        break;
+                    case TAG_VLAN_ID:
+                        vlanMatch = vlanMatch == null ? new VlanMatchBuilder() : vlanMatch;
+                        final Boolean vlanIdPresent = readBoolean();
+                        final int vlanId = readInt();
+                        vlanMatch.setVlanId(new VlanIdBuilder()
+                                .setVlanIdPresent(vlanIdPresent)
+                                .setVlanId(vlanId < 0 ? null : new VlanId(vlanId))
+                                .build());
+                        break;
+                    case TAG_VLAN_PCP:
+                        vlanMatch = vlanMatch == null ? new VlanMatchBuilder() : vlanMatch;
+                        vlanMatch.setVlanPcp(new VlanPcp(readUnsignedByte()));
+                        break;
+                    case TAG_IP_PROTOCOL:
+                        ipMatch = ipMatch == null ? new IpMatchBuilder() : ipMatch;
+                        ipMatch.setIpProtocol(readUnsignedByte());
+                        break;
+                    case TAG_IP_DSCP:
+                        ipMatch = ipMatch == null ? new IpMatchBuilder() : ipMatch;
+                        ipMatch.setIpDscp(new Dscp(readUnsignedByte()));
+                        break;
+                    case TAG_IP_ECN:
+                        ipMatch = ipMatch == null ? new IpMatchBuilder() : ipMatch;
+                        ipMatch.setIpEcn(readUnsignedByte());
+                        break;
+                    case TAG_IP_PROTO:
+                        ipMatch = ipMatch == null ? new IpMatchBuilder() : ipMatch;
+                        ipMatch.setIpProto(IpVersion.forValue(readUnsignedByte()));
+                        break;
+                    case TAG_IPV4_SRC:
+                        ipv4Match = ipv4Match == null ? new Ipv4MatchBuilder() : ipv4Match;
+                        ipv4Match.setIpv4Source(new Ipv4Prefix(readPrefix(IPV4_ADDRESS_LENGTH)));
+                        break;
+                    case TAG_IPV4_DST:
+                        ipv4Match = ipv4Match == null ? new Ipv4MatchBuilder() : ipv4Match;
+                        ipv4Match.setIpv4Destination(new Ipv4Prefix(readPrefix(IPV4_ADDRESS_LENGTH)));
+                        break;
+                    case TAG_IPV6_SRC:
+                        ipv6Match = ipv6Match == null ? new Ipv6MatchBuilder() : ipv6Match;
+                        ipv6Match.setIpv6Source(new Ipv6Prefix(readPrefix(IPV6_ADDRESS_LENGTH)));
+                        break;
+                    case TAG_IPV6_DST:
+                        ipv6Match = ipv6Match == null ? new Ipv6MatchBuilder() : ipv6Match;
+                        ipv6Match.setIpv6Destination(new Ipv6Prefix(readPrefix(IPV6_ADDRESS_LENGTH)));
+                        break;
+                    case TAG_TCP_SRC:
+                        tcpMatch = tcpMatch == null ? new TcpMatchBuilder() : tcpMatch;
+                        tcpMatch.setTcpSourcePort(new PortNumber(readInt()));
+                        break;
+                    case TAG_TCP_DST:
+                        tcpMatch = tcpMatch == null ? new TcpMatchBuilder() : tcpMatch;
+                        tcpMatch.setTcpDestinationPort(new PortNumber(readInt()));
+                        break;
+                    case TAG_UDP_SRC:
+                        udpMatch = udpMatch == null ? new UdpMatchBuilder() : udpMatch;
+                        udpMatch.setUdpSourcePort(new PortNumber(readInt()));
+                        break;
+                    case TAG_UDP_DST:
+                        udpMatch = udpMatch == null ? new UdpMatchBuilder() : udpMatch;
+                        udpMatch.setUdpDestinationPort(new PortNumber(readInt()));
+                        break;
+                    case TAG_ICMPV4_TYPE:
+                        icmpv4Match = icmpv4Match == null ? new Icmpv4MatchBuilder() : icmpv4Match;
+                        icmpv4Match.setIcmpv4Type(readUnsignedByte());
+                        break;
+                    case TAG_ICMPV4_CODE:
+                        icmpv4Match = icmpv4Match == null ? new Icmpv4MatchBuilder() : icmpv4Match;
+                        icmpv4Match.setIcmpv4Code(readUnsignedByte());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown fingerprint tag " + tag);
+                }
+            }
+
+            if (ethernetMatch != null) {
+                match.setEthernetMatch(ethernetMatch.build());
+            }
+            if (vlanMatch != null) {
+                match.setVlanMatch(vlanMatch.build());
+            }
+            if (ipMatch != null) {
+                match.setIpMatch(ipMatch.build());
+            }
+            if (ipv4Match != null) {
+                match.setLayer3Match(ipv4Match.build());
+            } else if (ipv6Match != null) {
+                match.setLayer3Match(ipv6Match.build());
+            }
+            if (tcpMatch != null) {
+                match.setLayer4Match(tcpMatch.build());
+            } else if (udpMatch != null) {
+                match.setLayer4Match(udpMatch.build());
+            }
+            if (icmpv4Match != null) {
+                match.setIcmpv4Match(icmpv4Match.build());
+            }
+            return match.build();
+        }
+
+        private String readPrefix(final int addressLength) {
+            final byte[] address = Arrays.copyOfRange(fingerprint, position, position + addressLength);
+            position += addressLength;
+            final int prefixLength = readUnsignedByte();
+            try {
+                return InetAddresses.toAddrString(InetAddress.getByAddress(address)) + PREFIX_SEPARATOR + prefixLength;
+            } catch (final UnknownHostException e) {
+                // Cannot happen, address has always valid length here
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private MacAddress readMacAddress() {
+            if (fingerprint[position++] == NULL_VALUE) {
+                return null;
+            }
+
+            final StringBuilder value = new StringBuilder(MAC_ADDRESS_LENGTH * 3);
+            for (int i = 0; i < MAC_ADDRESS_LENGTH; i++) {
+                if (i > 0) {
+                    value.append(':');
+                }
+                final int b = fingerprint[position++] & 0xff;
+                value.append(Character.forDigit(b >>> 4, HEX_RADIX)).append(Character.forDigit(b & 0xf, HEX_RADIX));
+            }
+            return new MacAddress(value.toString());
+        }
+
+        private BigInteger readBigInteger() {
+            if (fingerprint[position++] == NULL_VALUE) {
+                return null;
+            }
+
+            final long value = readLong();
+            return value >= 0 ? BigInteger.valueOf(value) : BigInteger.valueOf(value).add(BigInteger.ONE.shiftLeft(Long.SIZE));
+        }
+
+        private Boolean readBoolean() {
+            final byte value = fingerprint[position++];
+            return value == NULL_VALUE ? null : value == TRUE_VALUE;
+        }
+
+        private String readString() {
+            final int length = readInt();
+            final String value = new String(fingerprint, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private short readUnsignedByte() {
+            return (short) (fingerprint[position++] & 0xff);
+        }
+
+        private int readInt() {
+            return (fingerprint[position++] & 0xff) << 24
+                    | (fingerprint[position++] & 0xff) << 16
+                    | (fingerprint[position++] & 0xff) << 8
+                    | fingerprint[position++] & 0xff;
+        }
+
+        private long readLong() {
+            return (long) readInt() << 32 | readInt() & 0xffffffffL;
+        }
+    }
+}
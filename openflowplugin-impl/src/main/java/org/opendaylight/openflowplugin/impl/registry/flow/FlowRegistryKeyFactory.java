@@ -11,12 +11,13 @@ package org.opendaylight.openflowplugin.impl.registry.flow;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
 import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.api.openflow.md.util.MatchNormalizationUtil;
 import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
-import org.opendaylight.openflowplugin.impl.util.MatchComparatorFactory;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.Flow;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
 
 /**
  * Created by Martin Bobak &lt;mbobak@cisco.com&gt; on 8.4.2015.
@@ -31,18 +32,31 @@ public class FlowRegistryKeyFactory {
         return new FlowRegistryKeyDto(flow);
     }
 
+    /**
+     * Flow registry key holding flow identification in compact binary form. Table id, priority, cookie and
+     * canonical form of match are encoded once by {@link FlowRegistryKeyEncoder}, so equals and hash code
+     * are just array operations. Match itself is not kept, unless it contains fields the encoder does not know.
+     */
     private static final class FlowRegistryKeyDto implements FlowRegistryKey {
         private final short tableId;
         private final int priority;
         private final BigInteger cookie;
-        private final Match match;
+        private final byte[] fingerprint;
+        private final Match residualMatch;
+        private final int hashCode;
 
         private FlowRegistryKeyDto(final Flow flow) {
             //TODO: mandatory flow input values (or default values) should be specified via yang model
             tableId = Preconditions.checkNotNull(flow.getTableId(), "flow tableId must not be null");
             priority = MoreObjects.firstNonNull(flow.getPriority(), OFConstants.DEFAULT_FLOW_PRIORITY);
-            match = MoreObjects.firstNonNull(flow.getMatch(), OFConstants.EMPTY_MATCH);
             cookie = MoreObjects.firstNonNull(flow.getCookie(), OFConstants.DEFAULT_FLOW_COOKIE).getValue();
+            final Match match = MoreObjects.firstNonNull(flow.getMatch(), OFConstants.EMPTY_MATCH);
+
+            // Match is encoded directly, normalized copy is built and kept only if encoding is not complete
+            final FlowRegistryKeyEncoder encoder = FlowRegistryKeyEncoder.encode(tableId, priority, cookie, match);
+            fingerprint = encoder.getFingerprint();
+            residualMatch = encoder.isComplete() ? null : MatchNormalizationUtil.normalizeMatch(match);
+            hashCode = 31 * Arrays.hashCode(fingerprint) + Objects.hashCode(residualMatch);
         }
 
         @Override
@@ -51,25 +65,22 @@ public class FlowRegistryKeyFactory {
                 return true;
             }
 
-            if (o == null || !(o instanceof FlowRegistryKey)) {
+            // Keys are compared by normalized encoding, which hash code is computed from - keys of other
+            // implementations can not have consistent hash code, so they are never equal
+            if (!(o instanceof FlowRegistryKeyDto)) {
                 return false;
             }
 
-            final FlowRegistryKey that = (FlowRegistryKey) o;
+            final FlowRegistryKeyDto that = (FlowRegistryKeyDto) o;
 
-            return getPriority() == that.getPriority() &&
-                    getTableId() == that.getTableId() &&
-                    getCookie().equals(that.getCookie()) &&
-                    MatchComparatorFactory.createMatch().areObjectsEqual(getMatch(), that.getMatch());
+            return hashCode == that.hashCode &&
+                    Arrays.equals(fingerprint, that.fingerprint) &&
+                    Objects.equals(residualMatch, that.residualMatch);
         }
 
         @Override
         public int hashCode() {
-            int result = tableId;
-            result = 31 * result + priority;
-            result = 31 * result + cookie.hashCode();
-            result = 31 * result + match.hashCode();
-            return result;
+            return hashCode;
         }
 
         @Override
@@ -89,7 +100,8 @@ public class FlowRegistryKeyFactory {
 
         @Override
         public Match getMatch() {
-            return match;
+            // Key does not retain the match, normalized form is rebuilt from fingerprint
+            return residualMatch != null ? residualMatch : FlowRegistryKeyEncoder.decodeMatch(fingerprint);
         }
     }
 }
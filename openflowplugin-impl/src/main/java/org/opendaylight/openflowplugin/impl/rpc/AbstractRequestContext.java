@@ -7,6 +7,8 @@
  */
 package org.opendaylight.openflowplugin.impl.rpc;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContext;
@@ -15,11 +17,24 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 
 public abstract class AbstractRequestContext<T> implements RequestContext<T> {
     private final SettableFuture<RpcResult<T>> rpcResultFuture = SettableFuture.create();
-    private final Xid xid;
+    private final ListenableFuture<Xid> xidFuture;
+    private volatile Xid xid;
     private long waitTimeout;
 
     protected AbstractRequestContext(final Long xid) {
         this.xid = xid == null ? null : new Xid(xid);
+        this.xidFuture = Futures.immediateFuture(this.xid);
+    }
+
+    /**
+     * @param xidFuture pending XID reservation, {@link #getXid()} returns null until it completes
+     */
+    protected AbstractRequestContext(final ListenableFuture<Long> xidFuture) {
+        final Function<Long, Xid> toXid = reserved -> {
+            xid = reserved == null ? null : new Xid(reserved);
+            return xid;
+        };
+        this.xidFuture = Futures.transform(xidFuture, toXid);
     }
 
     @Override
@@ -37,6 +52,11 @@ public abstract class AbstractRequestContext<T> implements RequestContext<T> {
         return xid;
     }
 
+    @Override
+    public final ListenableFuture<Xid> getXidFuture() {
+        return xidFuture;
+    }
+
     @Override
     public final long getWaitTimeout() {
         return waitTimeout;
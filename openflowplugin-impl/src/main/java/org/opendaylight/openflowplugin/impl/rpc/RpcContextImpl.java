@@ -12,10 +12,17 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker.RoutedRpcRegistration;
@@ -44,7 +51,12 @@ class RpcContextImpl implements RpcContext {
     private final RpcProviderRegistry rpcProviderRegistry;
     private final MessageSpy messageSpy;
     private final Semaphore tracker;
+    private final int maxRequests;
+    /** batches waiting for quota permits, in arrival order */
+    private final Queue<BatchPermitRequest> batchPermitRequests = new ConcurrentLinkedQueue<>();
+    private Executor requestExecutor = MoreExecutors.directExecutor();
     private boolean isStatisticsRpcEnabled;
+    private boolean isFlowBatchPipelined;
 
     // TODO: add private Sal salBroker
     private final ConcurrentMap<Class<?>, RoutedRpcRegistration<?>> rpcRegistrations = new ConcurrentHashMap<>();
@@ -71,6 +83,7 @@ class RpcContextImpl implements RpcContext {
         this.nodeInstanceIdentifier = nodeInstanceIdentifier;
 
         tracker = new Semaphore(maxRequests, true);
+        this.maxRequests = maxRequests;
         this.extensionConverterProvider = extensionConverterProvider;
         this.notificationPublishService = notificationPublishService;
         setState(CONTEXT_STATE.WORKING);
@@ -114,7 +127,16 @@ class RpcContextImpl implements RpcContext {
                 LOG.debug("RpcContext is already in TERMINATION state.");
             }
         } else {
-            setState(CONTEXT_STATE.TERMINATION);
+            final List<BatchPermitRequest> pendingRequests;
+            // same lock as enqueueing in acquireBatchPermits - no request gets queued after this drain
+            synchronized (batchPermitRequests) {
+                setState(CONTEXT_STATE.TERMINATION);
+                pendingRequests = new ArrayList<>(batchPermitRequests);
+                batchPermitRequests.clear();
+            }
+            for (final BatchPermitRequest request : pendingRequests) {
+                request.future.setException(new IllegalStateException("RPC context closed"));
+            }
             for (final Iterator<Entry<Class<?>, RoutedRpcRegistration<?>>> iterator = Iterators
                     .consumingIterator(rpcRegistrations.entrySet().iterator()); iterator.hasNext(); ) {
                 final RoutedRpcRegistration<?> rpcRegistration = iterator.next().getValue();
@@ -137,24 +159,84 @@ class RpcContextImpl implements RpcContext {
             LOG.trace("Acquired semaphore for {}, available permits:{} ", nodeInstanceIdentifier.getKey().getId().getValue(), tracker.availablePermits());
         }
 
-        final Long xid = deviceInfo.reserveXidForDeviceMessage();
-        if (xid == null) {
+        final ListenableFuture<Long> xidFuture = deviceInfo.reserveXidForDeviceMessageAsync();
+        if (xidFuture.isDone() && Futures.getUnchecked(xidFuture) == null) {
             LOG.warn("Xid cannot be reserved for new RequestContext, node:{}", nodeInstanceIdentifier.getKey().getId().getValue());
             tracker.release();
             return null;
         }
 
-        return new AbstractRequestContext<T>(xid) {
+        // xid stays pending while outbound queue is full, callers chain on RequestContext#getXidFuture
+        return new AbstractRequestContext<T>(xidFuture) {
             @Override
             public void close() {
                 tracker.release();
-                final long xid = getXid().getValue();
-                LOG.trace("Removed request context with xid {}", xid);
+                grantBatchPermits();
+                LOG.trace("Removed request context with xid {}", getXid());
                 messageSpy.spyMessage(RpcContextImpl.class, MessageSpy.STATISTIC_GROUP.REQUEST_STACK_FREED);
             }
         };
     }
 
+    @Override
+    public ListenableFuture<Integer> acquireBatchPermits(final int permits) {
+        Preconditions.checkArgument(permits > 0, "at least one permit has to be requested");
+        final BatchPermitRequest request = new BatchPermitRequest(Math.min(permits, maxRequests));
+        synchronized (batchPermitRequests) {
+            if (CONTEXT_STATE.TERMINATION.equals(getState())) {
+                return Futures.immediateFailedFuture(new IllegalStateException("RPC context closed"));
+            }
+            batchPermitRequests.add(request);
+        }
+        grantBatchPermits();
+        return request.future;
+    }
+
+    @Override
+    public void releaseBatchPermits(final int permits) {
+        tracker.release(permits);
+        grantBatchPermits();
+    }
+
+    /**
+     * Hands out available permits to waiting batches in arrival order. Batch gets what is available (at least one
+     * permit) rather than waiting for its whole block, so that single requests cannot starve it.
+     */
+    private void grantBatchPermits() {
+        while (!batchPermitRequests.isEmpty()) {
+            final BatchPermitRequest request;
+            final int granted;
+            synchronized (batchPermitRequests) {
+                final BatchPermitRequest head = batchPermitRequests.peek();
+                if (head == null) {
+                    return;
+                }
+                final int available = Math.min(head.permits, tracker.availablePermits());
+                if (available <= 0 || !tracker.tryAcquire(available)) {
+                    return;
+                }
+                request = batchPermitRequests.poll();
+                granted = available;
+            }
+            LOG.trace("Granted {} batch permits for {}, available permits:{}", granted,
+                    nodeInstanceIdentifier.getKey().getId().getValue(), tracker.availablePermits());
+            // completed outside of lock - completion continues sending of the batch
+            request.future.set(granted);
+        }
+    }
+
+    @Override
+    public Executor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    /**
+     * @param requestExecutor executor continuing requests once outbound queue makes room for their XID
+     */
+    void setRequestExecutor(final Executor requestExecutor) {
+        this.requestExecutor = Preconditions.checkNotNull(requestExecutor);
+    }
+
     @Override
     public <S extends RpcService> void unregisterRpcServiceImplementation(final Class<S> serviceClass) {
         LOG.trace("Try to unregister serviceClass {} for Node {}", serviceClass, nodeInstanceIdentifier.getKey().getId());
@@ -181,6 +263,16 @@ class RpcContextImpl implements RpcContext {
         return isStatisticsRpcEnabled;
     }
 
+    @Override
+    public void setFlowBatchPipelined(boolean isFlowBatchPipelined) {
+        this.isFlowBatchPipelined = isFlowBatchPipelined;
+    }
+
+    @Override
+    public boolean isFlowBatchPipelined() {
+        return isFlowBatchPipelined;
+    }
+
     @Override
     public CONTEXT_STATE getState() {
         return this.state;
@@ -230,4 +322,13 @@ class RpcContextImpl implements RpcContext {
         }
         return this.clusterInitializationPhaseHandler.onContextInstantiateService(connectionContext);
     }
+
+    private static final class BatchPermitRequest {
+        private final int permits;
+        private final SettableFuture<Integer> future = SettableFuture.create();
+
+        private BatchPermitRequest(final int permits) {
+            this.permits = permits;
+        }
+    }
 }
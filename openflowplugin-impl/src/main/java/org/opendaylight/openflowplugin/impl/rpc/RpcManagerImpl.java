@@ -14,6 +14,9 @@ import com.google.common.collect.Iterators;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
@@ -24,6 +27,7 @@ import org.opendaylight.openflowplugin.api.openflow.lifecycle.LifecycleService;
 import org.opendaylight.openflowplugin.api.openflow.rpc.RpcContext;
 import org.opendaylight.openflowplugin.api.openflow.rpc.RpcManager;
 import org.opendaylight.openflowplugin.extension.api.core.extension.ExtensionConverterProvider;
+import org.opendaylight.openflowplugin.openflow.md.core.ThreadPoolLoggingExecutor;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,15 +35,19 @@ import org.slf4j.LoggerFactory;
 public class RpcManagerImpl implements RpcManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(RpcManagerImpl.class);
+    private static final long REQUEST_THREAD_KEEP_ALIVE_SEC = 60L;
     private final RpcProviderRegistry rpcProviderRegistry;
     private DeviceInitializationPhaseHandler deviceInitPhaseHandler;
     private DeviceTerminationPhaseHandler deviceTerminPhaseHandler;
     private final int maxRequestsQuota;
     private final ConcurrentMap<DeviceInfo, RpcContext> contexts = new ConcurrentHashMap<>();
     private boolean isStatisticsRpcEnabled;
+    private volatile boolean isFlowBatchPipelined;
     private final ExtensionConverterProvider extensionConverterProvider;
     private final ConvertorExecutor convertorExecutor;
     private final NotificationPublishService notificationPublishService;
+    /** continues requests after waiting for XID reservation, off the connection I/O thread */
+    private final ThreadPoolExecutor requestExecutor;
 
 
     public RpcManagerImpl(
@@ -53,6 +61,12 @@ public class RpcManagerImpl implements RpcManager {
         this.extensionConverterProvider = extensionConverterProvider;
         this.convertorExecutor = convertorExecutor;
         this.notificationPublishService = notificationPublishService;
+        final int requestThreads = Runtime.getRuntime().availableProcessors();
+        this.requestExecutor = new ThreadPoolLoggingExecutor(requestThreads, requestThreads,
+                REQUEST_THREAD_KEEP_ALIVE_SEC, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), "ofppool-rpc");
+        this.requestExecutor.allowCoreThreadTimeOut(true);
+        // request waiting for XID while shutting down must still commit (or release) it
+        this.requestExecutor.setRejectedExecutionHandler((task, executor) -> task.run());
     }
 
     @Override
@@ -65,7 +79,7 @@ public class RpcManagerImpl implements RpcManager {
 
         final DeviceContext deviceContext = Preconditions.checkNotNull(lifecycleService.getDeviceContext());
 
-        final RpcContext rpcContext = new RpcContextImpl(
+        final RpcContextImpl rpcContext = new RpcContextImpl(
                 deviceInfo,
                 rpcProviderRegistry,
                 deviceContext.getMessageSpy(),
@@ -75,10 +89,12 @@ public class RpcManagerImpl implements RpcManager {
                 extensionConverterProvider,
                 convertorExecutor,
                 notificationPublishService);
+        rpcContext.setRequestExecutor(requestExecutor);
 
         Verify.verify(contexts.putIfAbsent(deviceInfo, rpcContext) == null, "RpcCtx still not closed for node {}", deviceInfo.getNodeId());
         lifecycleService.setRpcContext(rpcContext);
         rpcContext.setStatisticsRpcEnabled(isStatisticsRpcEnabled);
+        rpcContext.setFlowBatchPipelined(isFlowBatchPipelined);
 
         // finish device initialization cycle back to DeviceManager
         deviceInitPhaseHandler.onDeviceContextLevelUp(deviceInfo, lifecycleService);
@@ -90,6 +106,7 @@ public class RpcManagerImpl implements RpcManager {
                 iterator.hasNext();) {
             iterator.next().close();
         }
+        requestExecutor.shutdown();
     }
 
     @Override
@@ -122,4 +139,9 @@ public class RpcManagerImpl implements RpcManager {
     public void setStatisticsRpcEnabled(boolean statisticsRpcEnabled) {
         isStatisticsRpcEnabled = statisticsRpcEnabled;
     }
+
+    @Override
+    public void setFlowBatchPipelined(boolean flowBatchPipelined) {
+        isFlowBatchPipelined = flowBatchPipelined;
+    }
 }
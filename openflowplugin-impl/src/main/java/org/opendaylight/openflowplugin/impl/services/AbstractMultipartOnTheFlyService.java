@@ -13,12 +13,14 @@ import java.util.List;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
+import org.opendaylight.openflowplugin.impl.statistics.IncrementalFlowStatisticsWriter;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorExecutor;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 
 public abstract class AbstractMultipartOnTheFlyService<I> extends AbstractService<I, List<MultipartReply>> {
     private final ConvertorExecutor convertorExecutor;
+    private final IncrementalFlowStatisticsWriter flowStatisticsWriter = new IncrementalFlowStatisticsWriter();
 
     protected AbstractMultipartOnTheFlyService(final RequestContextStack requestContextStack, final DeviceContext deviceContext, final ConvertorExecutor convertorExecutor) {
         super(requestContextStack, deviceContext);
@@ -30,7 +32,7 @@ public abstract class AbstractMultipartOnTheFlyService<I> extends AbstractServic
         return new MultipartRequestOnTheFlyCallback(context, requestType,
                 getMessageSpy(), getEventIdentifier(), getDeviceInfo(),
                 getDeviceContext().getDeviceFlowRegistry(), getTxFacade(),
-                convertorExecutor);
+                flowStatisticsWriter, convertorExecutor);
     }
 
 
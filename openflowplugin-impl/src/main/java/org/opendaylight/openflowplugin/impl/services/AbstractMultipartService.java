@@ -7,13 +7,19 @@
  */
 package org.opendaylight.openflowplugin.impl.services;
 
+import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
+import org.opendaylight.openflowplugin.impl.device.listener.MultiMsgCollectorImpl;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yangtools.yang.common.RpcResult;
 
 public abstract class AbstractMultipartService<I> extends AbstractService<I, List<MultipartReply>> {
     protected AbstractMultipartService(final RequestContextStack requestContextStack, final DeviceContext deviceContext) {
@@ -25,5 +31,20 @@ public abstract class AbstractMultipartService<I> extends AbstractService<I, Lis
         return new MultipartRequestCallback(context, requestType, getDeviceContext(), getEventIdentifier());
     }
 
+    /**
+     * Send request and stream its multipart replies to given consumer as they arrive instead of collecting them.
+     * Result of such request carries no replies (null result) - it only tells whether the request succeeded.
+     *
+     * @param input         request input
+     * @param replyConsumer consumer of replies of this very request
+     * @return future of request outcome
+     */
+    protected final ListenableFuture<RpcResult<List<MultipartReply>>> handleServiceCall(
+            @Nonnull final I input, @Nonnull final Consumer<MultipartReply> replyConsumer) {
+        Preconditions.checkNotNull(replyConsumer);
+        return handleServiceCall(input, (context, requestType) ->
+                new MultipartRequestCallback(context, requestType, getDeviceContext(), getEventIdentifier(),
+                        new MultiMsgCollectorImpl(getDeviceContext(), context, replyConsumer)));
+    }
 
 }
@@ -12,7 +12,10 @@ import com.google.common.base.Verify;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.math.BigInteger;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import javax.annotation.Nonnull;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
@@ -92,6 +95,14 @@ abstract class AbstractService<I, O> {
     protected abstract FutureCallback<OfHeader> createCallback(RequestContext<O> context, Class<?> requestType);
 
     public final ListenableFuture<RpcResult<O>> handleServiceCall(@Nonnull final I input) {
+        return handleServiceCall(input, this::createCallback);
+    }
+
+    /**
+     * @param callbackFactory creates callback of this very request out of its context and type
+     */
+    final ListenableFuture<RpcResult<O>> handleServiceCall(@Nonnull final I input,
+            @Nonnull final BiFunction<RequestContext<O>, Class<?>, FutureCallback<OfHeader>> callbackFactory) {
         Preconditions.checkNotNull(input);
 
         final Class<?> requestType;
@@ -110,14 +121,40 @@ abstract class AbstractService<I, O> {
             return failedFuture();
         }
 
-        if (requestContext.getXid() == null) {
-            getMessageSpy().spyMessage(requestContext.getClass(), MessageSpy.STATISTIC_GROUP.TO_SWITCH_RESERVATION_REJECTED);
-            return RequestContextUtil.closeRequestContextWithRpcError(requestContext, "Outbound queue wasn't able to reserve XID.");
-        }
+        final ListenableFuture<Xid> xidFuture = requestContext.getXidFuture();
+        // pending reservation is completed by connection I/O thread once outbound queue makes room - the request
+        // is sent by request executor then instead of parking this thread or the I/O one
+        final Executor executor = xidFuture.isDone()
+                ? MoreExecutors.directExecutor() : requestContextStack.getRequestExecutor();
+        Futures.addCallback(xidFuture, new FutureCallback<Xid>() {
+            @Override
+            public void onSuccess(final Xid xid) {
+                if (xid == null) {
+                    rejectReservation(requestContext);
+                } else {
+                    sendRequest(requestContext, xid, input, requestType, callbackFactory);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                LOG.debug("XID reservation failed", t);
+                rejectReservation(requestContext);
+            }
+        }, executor);
+        return requestContext.getFuture();
+    }
 
+    private void rejectReservation(final RequestContext<O> requestContext) {
+        getMessageSpy().spyMessage(requestContext.getClass(), MessageSpy.STATISTIC_GROUP.TO_SWITCH_RESERVATION_REJECTED);
+        RequestContextUtil.closeRequestContextWithRpcError(requestContext, "Outbound queue wasn't able to reserve XID.");
+    }
+
+    private void sendRequest(final RequestContext<O> requestContext, final Xid xid, final I input,
+                             final Class<?> requestType,
+                             final BiFunction<RequestContext<O>, Class<?>, FutureCallback<OfHeader>> callbackFactory) {
         getMessageSpy().spyMessage(requestContext.getClass(), MessageSpy.STATISTIC_GROUP.TO_SWITCH_READY_FOR_SUBMIT);
 
-        final Xid xid = requestContext.getXid();
         OfHeader request = null;
         try {
             request = buildRequest(xid, input);
@@ -127,10 +164,8 @@ abstract class AbstractService<I, O> {
             RequestContextUtil.closeRequestContextWithRpcError(requestContext, "failed to build request input: " + e.getMessage());
         } finally {
             final OutboundQueue outboundQueue = getDeviceContext().getPrimaryConnectionContext().getOutboundQueueProvider();
-            outboundQueue.commitEntry(xid.getValue(), request, createCallback(requestContext, requestType));
+            outboundQueue.commitEntry(xid.getValue(), request, callbackFactory.apply(requestContext, requestType));
         }
-
-        return requestContext.getFuture();
     }
 
     protected static <T> ListenableFuture<RpcResult<T>> failedFuture() {
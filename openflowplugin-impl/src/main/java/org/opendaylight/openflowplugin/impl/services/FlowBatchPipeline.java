@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowplugin.impl.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.opendaylight.openflowjava.protocol.api.connection.DeviceRequestFailedException;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
+import org.opendaylight.openflowplugin.api.openflow.rpc.RpcContext;
+import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageSpy;
+import org.opendaylight.openflowplugin.impl.registry.flow.FlowRegistryKeyFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.RemoveFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.UpdateFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.BatchFlowIdGrouping;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.batch.flow.output.list.grouping.BatchFailedFlowsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.batch.flow.output.list.grouping.BatchFailedFlowsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.Error;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipelined transport of flow batches. Flow-mods of all batch items are committed to device outbound queue
+ * in one go, followed by single barrier, instead of one {@link SalFlowServiceImpl} RPC (request context, xid
+ * reservation against request quota and result future) per item.
+ * <p>
+ * Batch is admitted to device request quota as a whole - block of permits is reserved from {@link RpcContext}
+ * (one per batch item, given back as device answers the item). When quota is exhausted, sending pauses until
+ * permits are given back instead of failing the items. The same applies to XIDs while device outbound queue
+ * is full. Paused sending resumes on {@link RpcContext#getRequestExecutor()}, never on the connection I/O thread
+ * which gives back permits and XIDs.
+ * <p>
+ * Device errors are correlated back to batch order of the item by per flow-mod callback. Batch fails fast -
+ * once an error is seen, remaining items are not sent and get reported as failed. Items sent before the error
+ * got noticed are still processed by device (there is no rollback). Flow registry and item lifecycle listener
+ * are updated for successful items only after the barrier is answered.
+ */
+public final class FlowBatchPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlowBatchPipeline.class);
+
+    private final DeviceContext deviceContext;
+    private final SalFlowServiceImpl salFlowService;
+    private final RpcContext rpcContext;
+
+    public FlowBatchPipeline(final DeviceContext deviceContext,
+                             final SalFlowServiceImpl salFlowService,
+                             final RpcContext rpcContext) {
+        this.deviceContext = Preconditions.checkNotNull(deviceContext);
+        this.salFlowService = Preconditions.checkNotNull(salFlowService);
+        this.rpcContext = Preconditions.checkNotNull(rpcContext);
+    }
+
+    /**
+     * @param inputs     flow add inputs in batch order
+     * @param batchFlows batch items the inputs were created from (source of flow ids for failure report)
+     * @return batch result containing failed flows, completed once device answered closing barrier
+     */
+    public ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> addFlows(
+            final List<AddFlowInput> inputs, final List<? extends BatchFlowIdGrouping> batchFlows) {
+        return this.<AddFlowInput>process(inputs, batchFlows, salFlowService::toFlowModInputs,
+                input -> salFlowService.onFlowAdded(input, FlowRegistryKeyFactory.create(input)));
+    }
+
+    /**
+     * @param inputs     flow remove inputs in batch order
+     * @param batchFlows batch items the inputs were created from (source of flow ids for failure report)
+     * @return batch result containing failed flows, completed once device answered closing barrier
+     */
+    public ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> removeFlows(
+            final List<RemoveFlowInput> inputs, final List<? extends BatchFlowIdGrouping> batchFlows) {
+        return this.<RemoveFlowInput>process(inputs, batchFlows, salFlowService::toFlowModInputs,
+                salFlowService::onFlowRemoved);
+    }
+
+    /**
+     * @param inputs     flow update inputs in batch order
+     * @param batchFlows batch items the inputs were created from (source of flow ids for failure report)
+     * @return batch result containing failed flows, completed once device answered closing barrier
+     */
+    public ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> updateFlows(
+            final List<UpdateFlowInput> inputs, final List<? extends BatchFlowIdGrouping> batchFlows) {
+        return this.<UpdateFlowInput>process(inputs, batchFlows, salFlowService::toFlowModInputs,
+                salFlowService::onFlowUpdated);
+    }
+
+    private <I> ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> process(
+            final List<I> inputs,
+            final List<? extends BatchFlowIdGrouping> batchFlows,
+            final Function<I, List<FlowModInputBuilder>> toFlowModInputs,
+            final Consumer<I> onSuccess) {
+        Preconditions.checkArgument(inputs.size() == batchFlows.size(),
+                "wrong amount of batch flows: %s <> %s", inputs.size(), batchFlows.size());
+
+        final BatchWrite<I> batchWrite = new BatchWrite<>(inputs, batchFlows, toFlowModInputs, onSuccess);
+        batchWrite.sendMore();
+        return batchWrite.result;
+    }
+
+    /**
+     * @param xidFuture completed XID reservation
+     * @return reserved xid, null if reservation failed
+     */
+    private static Long getReservedXid(final ListenableFuture<Long> xidFuture) {
+        try {
+            return Futures.getUnchecked(xidFuture);
+        } catch (RuntimeException e) {
+            LOG.debug("XID reservation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static RpcError createError(final String message, final Throwable cause) {
+        return RpcResultBuilder.newError(RpcError.ErrorType.APPLICATION, OFConstants.APPLICATION_TAG, message,
+                null, null, cause);
+    }
+
+    /**
+     * Streaming of one batch. Sending part ({@link #sendMore()}) is driven by one thread at a time - either the
+     * caller or request executor once more permits or XIDs are available. Per item errors are written by connection
+     * thread and read once the closing barrier is answered.
+     */
+    private final class BatchWrite<I> implements FutureCallback<Integer> {
+        private final List<I> inputs;
+        private final List<? extends BatchFlowIdGrouping> batchFlows;
+        private final Function<I, List<FlowModInputBuilder>> toFlowModInputs;
+        private final Consumer<I> onSuccess;
+        private final MessageSpy messageSpy;
+        private final OutboundQueue outboundQueue;
+        private final AtomicReferenceArray<RpcError> itemErrors;
+        private final SettableFuture<RpcResult<List<BatchFailedFlowsOutput>>> result = SettableFuture.create();
+        private volatile boolean failed;
+        /** batch order of next item to send */
+        private int sentCount;
+        /** permits reserved but not used yet */
+        private int permits;
+        /** flow-mods of item being sent (batch order {@code sentCount - 1}), null between items */
+        private List<FlowModInputBuilder> itemFlowMods;
+        /** index of next flow-mod of item being sent */
+        private int itemFlowModIndex;
+
+        private BatchWrite(final List<I> inputs,
+                           final List<? extends BatchFlowIdGrouping> batchFlows,
+                           final Function<I, List<FlowModInputBuilder>> toFlowModInputs,
+                           final Consumer<I> onSuccess) {
+            this.inputs = inputs;
+            this.batchFlows = batchFlows;
+            this.toFlowModInputs = toFlowModInputs;
+            this.onSuccess = onSuccess;
+            messageSpy = deviceContext.getMessageSpy();
+            outboundQueue = deviceContext.getPrimaryConnectionContext().getOutboundQueueProvider();
+            itemErrors = new AtomicReferenceArray<>(inputs.size());
+        }
+
+        private void fail(final int batchOrder, final RpcError error) {
+            // first error of item wins (update sends 2 flow-mods for one item)
+            itemErrors.compareAndSet(batchOrder, null, error);
+            failed = true;
+        }
+
+        private void sendMore() {
+            // item being sent is always completed - its permit is given back by its last flow-mod
+            while (itemFlowMods != null || !failed) {
+                if (itemFlowMods == null) {
+                    if (sentCount == inputs.size()) {
+                        break;
+                    }
+                    if (permits == 0) {
+                        // ask for the rest of the batch at once, quota decides how much we get
+                        final ListenableFuture<Integer> granted =
+                                rpcContext.acquireBatchPermits(inputs.size() - sentCount);
+                        if (!granted.isDone()) {
+                            Futures.addCallback(granted, this, rpcContext.getRequestExecutor());
+                            return;
+                        }
+                        try {
+                            permits += Futures.getUnchecked(granted);
+                        } catch (RuntimeException e) {
+                            onFailure(e);
+                            return;
+                        }
+                    }
+                    if (!startItem()) {
+                        continue;
+                    }
+                }
+
+                final ListenableFuture<Long> xidFuture =
+                        deviceContext.getDeviceInfo().reserveXidForDeviceMessageAsync();
+                if (!xidFuture.isDone()) {
+                    // outbound queue is full - resume once it makes room instead of parking this thread
+                    Futures.addCallback(xidFuture, new FutureCallback<Long>() {
+                        @Override
+                        public void onSuccess(final Long xid) {
+                            sendFlowMod(xid);
+                            sendMore();
+                        }
+
+                        @Override
+                        public void onFailure(final Throwable t) {
+                            LOG.debug("XID reservation failed: {}", t.getMessage());
+                            sendFlowMod(null);
+                            sendMore();
+                        }
+                    }, rpcContext.getRequestExecutor());
+                    return;
+                }
+                sendFlowMod(getReservedXid(xidFuture));
+            }
+            finish();
+        }
+
+        /**
+         * Converts next item to flow-mods, using one of reserved permits.
+         *
+         * @return true if item has flow-mods to send, false if item failed to convert or has nothing to send
+         */
+        private boolean startItem() {
+            final int batchOrder = sentCount;
+            final List<FlowModInputBuilder> flowModInputs;
+            try {
+                flowModInputs = toFlowModInputs.apply(inputs.get(batchOrder));
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to convert flow at batch order {}: {}", batchOrder, e.getMessage());
+                fail(batchOrder, createError("failed to build request input: " + e.getMessage(), e));
+                return false;
+            }
+
+            permits--;
+            sentCount++;
+            if (flowModInputs.isEmpty()) {
+                rpcContext.releaseBatchPermits(1);
+                return false;
+            }
+            itemFlowMods = flowModInputs;
+            itemFlowModIndex = 0;
+            return true;
+        }
+
+        /**
+         * Commits next flow-mod of item being sent.
+         *
+         * @param xid reserved xid, null if reservation failed
+         */
+        private void sendFlowMod(final Long xid) {
+            final int batchOrder = sentCount - 1;
+            if (xid == null) {
+                messageSpy.spyMessage(FlowModInput.class, MessageSpy.STATISTIC_GROUP.TO_SWITCH_RESERVATION_REJECTED);
+                fail(batchOrder, createError("Outbound queue wasn't able to reserve XID.", null));
+                // partially sent item is resolved by closing barrier, its permit is not needed any more
+                rpcContext.releaseBatchPermits(1);
+                itemFlowMods = null;
+                return;
+            }
+
+            final FlowModInputBuilder flowModInput = itemFlowMods.get(itemFlowModIndex++);
+            final boolean lastFlowMod = itemFlowModIndex == itemFlowMods.size();
+            if (lastFlowMod) {
+                itemFlowMods = null;
+            }
+            messageSpy.spyMessage(FlowModInput.class, MessageSpy.STATISTIC_GROUP.TO_SWITCH_READY_FOR_SUBMIT);
+            flowModInput.setXid(xid);
+            // permit of the item is given back by its last flow-mod
+            outboundQueue.commitEntry(xid, flowModInput.build(), new ItemCallback(batchOrder, lastFlowMod));
+        }
+
+        @Override
+        public void onSuccess(final Integer granted) {
+            permits += granted;
+            sendMore();
+        }
+
+        @Override
+        public void onFailure(final Throwable t) {
+            LOG.debug("Batch permits not granted: {}", t.getMessage());
+            // remaining items are reported as not sent
+            failed = true;
+            finish();
+        }
+
+        private void finish() {
+            if (permits > 0) {
+                rpcContext.releaseBatchPermits(permits);
+                permits = 0;
+            }
+
+            final ListenableFuture<Long> xidFuture = deviceContext.getDeviceInfo().reserveXidForDeviceMessageAsync();
+            if (xidFuture.isDone()) {
+                sendBarrier(getReservedXid(xidFuture));
+                return;
+            }
+            Futures.addCallback(xidFuture, new FutureCallback<Long>() {
+                @Override
+                public void onSuccess(final Long barrierXid) {
+                    sendBarrier(barrierXid);
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    LOG.debug("XID reservation for barrier failed: {}", t.getMessage());
+                    sendBarrier(null);
+                }
+            }, rpcContext.getRequestExecutor());
+        }
+
+        private void sendBarrier(final Long barrierXid) {
+            if (barrierXid == null) {
+                complete(createError("Outbound queue wasn't able to reserve XID for barrier.", null));
+                return;
+            }
+            final BarrierInput barrierInput = new BarrierInputBuilder()
+                    .setVersion(deviceContext.getDeviceInfo().getVersion())
+                    .setXid(barrierXid)
+                    .build();
+            outboundQueue.commitEntry(barrierXid, barrierInput, new FutureCallback<OfHeader>() {
+                @Override
+                public void onSuccess(final OfHeader barrierReply) {
+                    complete(null);
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    LOG.warn("Barrier closing flow batch failed: {}", t.getMessage());
+                    complete(createError("barrier closing flow batch failed: " + t.getMessage(), t));
+                }
+            });
+        }
+
+        /**
+         * Device processed all flow-mods preceding the closing barrier, so every item error is known by now.
+         */
+        private void complete(final RpcError barrierError) {
+            final List<BatchFailedFlowsOutput> failedFlows = new ArrayList<>();
+            final List<RpcError> errors = new ArrayList<>();
+
+            for (int batchOrder = 0; batchOrder < sentCount; batchOrder++) {
+                RpcError itemError = itemErrors.get(batchOrder);
+                if (itemError == null && barrierError == null) {
+                    onSuccess.accept(inputs.get(batchOrder));
+                    continue;
+                }
+                if (itemError == null) {
+                    // outcome unknown - device did not confirm processing
+                    itemError = barrierError;
+                }
+                failedFlows.add(createFailedFlow(batchOrder));
+                errors.add(itemError);
+            }
+
+            if (sentCount < inputs.size()) {
+                errors.add(createError(String.format("%d flows not sent - batch interrupted by previous failure",
+                        inputs.size() - sentCount), null));
+                for (int batchOrder = sentCount; batchOrder < inputs.size(); batchOrder++) {
+                    // item which failed to convert is not sent either
+                    final RpcError itemError = itemErrors.get(batchOrder);
+                    if (itemError != null) {
+                        errors.add(itemError);
+                    }
+                    failedFlows.add(createFailedFlow(batchOrder));
+                }
+            }
+
+            final RpcResultBuilder<List<BatchFailedFlowsOutput>> resultBuilder;
+            if (errors.isEmpty()) {
+                resultBuilder = RpcResultBuilder.success(failedFlows);
+            } else {
+                resultBuilder = RpcResultBuilder.<List<BatchFailedFlowsOutput>>failed()
+                        .withRpcErrors(errors).withResult(failedFlows);
+            }
+            result.set(resultBuilder.build());
+        }
+
+        private BatchFailedFlowsOutput createFailedFlow(final int batchOrder) {
+            return new BatchFailedFlowsOutputBuilder()
+                    .setFlowId(batchFlows.get(batchOrder).getFlowId())
+                    .setBatchOrder(batchOrder)
+                    .build();
+        }
+
+        private final class ItemCallback implements FutureCallback<OfHeader> {
+            private final int batchOrder;
+            private final boolean releasesPermit;
+
+            private ItemCallback(final int batchOrder, final boolean releasesPermit) {
+                this.batchOrder = batchOrder;
+                this.releasesPermit = releasesPermit;
+            }
+
+            @Override
+            public void onSuccess(final OfHeader result) {
+                messageSpy.spyMessage(FlowModInput.class, MessageSpy.STATISTIC_GROUP.TO_SWITCH_SUBMIT_SUCCESS);
+                releasePermit();
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                final String errorString;
+                if (t instanceof DeviceRequestFailedException) {
+                    final Error err = ((DeviceRequestFailedException) t).getError();
+                    errorString = String.format("Device reported error type %s code %s",
+                            err.getTypeString(), err.getCodeString());
+                    messageSpy.spyMessage(FlowModInput.class, MessageSpy.STATISTIC_GROUP.TO_SWITCH_SUBMIT_FAILURE);
+                } else {
+                    errorString = t.getMessage();
+                    messageSpy.spyMessage(FlowModInput.class, MessageSpy.STATISTIC_GROUP.TO_SWITCH_SUBMIT_ERROR);
+                }
+                fail(batchOrder, createError(errorString, t));
+                releasePermit();
+            }
+
+            private void releasePermit() {
+                if (releasesPermit) {
+                    rpcContext.releaseBatchPermits(1);
+                }
+            }
+        }
+    }
+}
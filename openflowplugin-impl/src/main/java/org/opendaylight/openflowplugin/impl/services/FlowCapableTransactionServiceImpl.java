@@ -7,7 +7,7 @@
  */
 package org.opendaylight.openflowplugin.impl.services;
 
-import java.util.concurrent.Future;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
 import org.opendaylight.openflowplugin.api.openflow.device.Xid;
@@ -23,7 +23,7 @@ public class FlowCapableTransactionServiceImpl extends AbstractVoidService<SendB
     }
 
     @Override
-    public Future<RpcResult<Void>> sendBarrier(final SendBarrierInput input) {
+    public ListenableFuture<RpcResult<Void>> sendBarrier(final SendBarrierInput input) {
         return handleServiceCall(input);
     }
 
@@ -36,6 +36,15 @@ final class MultipartRequestCallback extends AbstractRequestCallback<List<Multip
         collector = deviceContext.getMultiMsgCollector(context);
     }
 
+    public MultipartRequestCallback(final RequestContext<List<MultipartReply>> context,
+                                    final Class<?> requestType,
+                                    final DeviceContext deviceContext,
+                                    final EventIdentifier eventIdentifier,
+                                    final MultiMsgCollector collector) {
+        super(context, requestType, deviceContext.getMessageSpy(), eventIdentifier);
+        this.collector = collector;
+    }
+
     @Override
     public void onSuccess(final OfHeader result) {
         if (result == null) {
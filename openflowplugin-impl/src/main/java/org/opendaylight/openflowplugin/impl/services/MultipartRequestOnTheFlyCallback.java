@@ -18,12 +18,12 @@ import org.opendaylight.openflowplugin.api.openflow.device.TxFacade;
 import org.opendaylight.openflowplugin.api.openflow.registry.flow.DeviceFlowRegistry;
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.EventIdentifier;
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageSpy;
+import org.opendaylight.openflowplugin.impl.statistics.IncrementalFlowStatisticsWriter;
 import org.opendaylight.openflowplugin.impl.statistics.SinglePurposeMultipartReplyTranslator;
 import org.opendaylight.openflowplugin.impl.statistics.StatisticsGatheringUtils;
 import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.EventsTimeCounter;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorExecutor;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdate;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -40,9 +40,8 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
     private final DeviceFlowRegistry registry;
     private boolean virgin = true;
     private boolean finished = false;
-    private final EventIdentifier doneEventIdentifier;
     private final TxFacade txFacade;
-
+    private final IncrementalFlowStatisticsWriter flowStatisticsWriter;
 
     public MultipartRequestOnTheFlyCallback(final RequestContext<List<MultipartReply>> context,
                                             final Class<?> requestType,
@@ -51,21 +50,16 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
                                             final DeviceInfo deviceInfo,
                                             final DeviceFlowRegistry registry,
                                             final TxFacade txFacade,
+                                            final IncrementalFlowStatisticsWriter flowStatisticsWriter,
                                             final ConvertorExecutor convertorExecutor) {
         super(context, requestType, messageSpy, eventIdentifier);
 
         this.deviceInfo = deviceInfo;
         this.registry = registry;
         this.txFacade = txFacade;
+        this.flowStatisticsWriter = flowStatisticsWriter;
 
         multipartReplyTranslator = new SinglePurposeMultipartReplyTranslator(convertorExecutor);
-
-        //TODO: this is focused on flow stats only - need more general approach if used for more than flow stats
-        doneEventIdentifier = new EventIdentifier(MultipartType.OFPMPFLOW.name(), deviceInfo.getNodeId().toString());
-    }
-
-    public EventIdentifier getDoneEventIdentifier() {
-        return doneEventIdentifier;
     }
 
     @Override
@@ -73,7 +67,7 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
         if (result == null) {
             LOG.info("Ofheader was null.");
             if (!finished) {
-                endCollecting();
+                endCollecting(true);
                 return;
             }
         } else if (finished) {
@@ -87,7 +81,7 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
                     RpcResultBuilder.<List<MultipartReply>>failed().withError(RpcError.ErrorType.APPLICATION,
                             String.format("Unexpected response type received %s.", result.getClass()));
             setResult(rpcResultBuilder.build());
-            endCollecting();
+            endCollecting(false);
         } else {
             final MultipartReply multipartReply = (MultipartReply) result;
 
@@ -99,7 +93,10 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
             //TODO: following part is focused on flow stats only - need more general approach if used for more than flow stats
             ListenableFuture<Void> future;
             if (virgin) {
-                future = StatisticsGatheringUtils.deleteAllKnownFlows(deviceInfo, registry, txFacade);
+                // flows in datastore are cleaned up only if snapshot of previous cycle is not available
+                future = flowStatisticsWriter.startCollecting(txFacade)
+                        ? Futures.immediateFuture(null)
+                        : StatisticsGatheringUtils.deleteAllKnownFlows(deviceInfo, registry, txFacade);
                 virgin = false;
             } else {
                 future = Futures.immediateFuture(null);
@@ -109,11 +106,11 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
 
                 @Override
                 public Void apply(final Void input) {
-                    StatisticsGatheringUtils.writeFlowStatistics((Iterable<FlowsStatisticsUpdate>) allMultipartData,
+                    flowStatisticsWriter.writeFlowStatistics((Iterable<FlowsStatisticsUpdate>) allMultipartData,
                             deviceInfo, registry, txFacade);
 
                     if (!multipartReply.getFlags().isOFPMPFREQMORE()) {
-                        endCollecting();
+                        endCollecting(true);
                     }
                     return input;
                 }
@@ -121,12 +118,20 @@ final class MultipartRequestOnTheFlyCallback extends AbstractRequestCallback<Lis
         }
     }
 
-    private void endCollecting() {
-        EventsTimeCounter.markEnd(getDoneEventIdentifier());
+    private void endCollecting(final boolean succeeded) {
         EventsTimeCounter.markEnd(getEventIdentifier());
         final RpcResult<List<MultipartReply>> rpcResult = RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build();
         spyMessage(MessageSpy.STATISTIC_GROUP.FROM_SWITCH_TRANSLATE_OUT_SUCCESS);
-        txFacade.submitTransaction();
+        if (succeeded && !virgin) {
+            // submits transaction
+            flowStatisticsWriter.finishCollecting(deviceInfo, txFacade);
+        } else {
+            if (!virgin) {
+                // abandoned cycle - snapshot of flows is not reliable anymore
+                flowStatisticsWriter.invalidate();
+            }
+            txFacade.submitTransaction();
+        }
         setResult(rpcResult);
         finished = true;
     }
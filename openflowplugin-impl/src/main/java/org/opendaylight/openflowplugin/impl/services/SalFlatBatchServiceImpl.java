@@ -14,7 +14,6 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchPlanStep;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchStepJob;
 import org.opendaylight.openflowplugin.impl.services.batch.FlatBatchFlowAdapters;
@@ -37,7 +36,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.Ad
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.AddGroupsBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.RemoveGroupsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.RemoveGroupsBatchOutput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.SalGroupsBatchService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.UpdateGroupsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.UpdateGroupsBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
@@ -45,7 +43,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.Ad
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.AddMetersBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.RemoveMetersBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.RemoveMetersBatchOutput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.SalMetersBatchService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.UpdateMetersBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.UpdateMetersBatchOutput;
 import org.opendaylight.yangtools.yang.common.RpcResult;
@@ -58,33 +55,41 @@ import org.slf4j.LoggerFactory;
 public class SalFlatBatchServiceImpl implements SalFlatBatchService {
     private static final Logger LOG = LoggerFactory.getLogger(SalFlatBatchServiceImpl.class);
 
-    private final SalFlowsBatchService salFlowService;
-    private final SalGroupsBatchService salGroupService;
-    private final SalMetersBatchService salMeterService;
+    private final SalFlowsBatchServiceImpl salFlowService;
+    private final SalGroupsBatchServiceImpl salGroupService;
+    private final SalMetersBatchServiceImpl salMeterService;
 
-    public SalFlatBatchServiceImpl(final SalFlowsBatchService salFlowBatchService,
-                                   final SalGroupsBatchService salGroupsBatchService,
-                                   final SalMetersBatchService salMetersBatchService) {
+    public SalFlatBatchServiceImpl(final SalFlowsBatchServiceImpl salFlowBatchService,
+                                   final SalGroupsBatchServiceImpl salGroupsBatchService,
+                                   final SalMetersBatchServiceImpl salMetersBatchService) {
         this.salFlowService = Preconditions.checkNotNull(salFlowBatchService, "delegate flow service must not be null");
         this.salGroupService = Preconditions.checkNotNull(salGroupsBatchService, "delegate group service must not be null");
         this.salMeterService = Preconditions.checkNotNull(salMetersBatchService, "delegate meter service must not be null");
     }
 
     @Override
-    public Future<RpcResult<ProcessFlatBatchOutput>> processFlatBatch(final ProcessFlatBatchInput input) {
+    public ListenableFuture<RpcResult<ProcessFlatBatchOutput>> processFlatBatch(final ProcessFlatBatchInput input) {
         LOG.trace("processing flat batch @ {} : {}", PathUtil.extractNodeId(input.getNode()).getValue(), input.getBatch().size());
         // create plan
         final List<BatchPlanStep> batchPlan = FlatBatchUtil.assembleBatchPlan(input.getBatch());
-        // add barriers where needed
-        FlatBatchUtil.markBarriersWhereNeeded(batchPlan);
+        final boolean exitOnFirstError = Boolean.TRUE.equals(input.isExitOnFirstError());
+        if (exitOnFirstError) {
+            // add barriers where needed - every barrier is also checkpoint for first error
+            FlatBatchUtil.markBarriersWhereNeeded(batchPlan);
+        } else {
+            // add barriers only where steps really depend on each other
+            FlatBatchUtil.markDependencies(batchPlan);
+        }
         // prepare chain elements
-        final List<BatchStepJob> batchChainElements = prepareBatchChain(batchPlan, input.getNode(), input.isExitOnFirstError());
+        final List<BatchStepJob> batchChainElements = prepareBatchChain(batchPlan, input.getNode(), exitOnFirstError);
         // execute plan with barriers and collect outputs chain correspondingly, collect results
-        return executeBatchPlan(batchChainElements);
+        return exitOnFirstError
+                ? executeBatchPlan(batchChainElements)
+                : executeBatchGraph(batchChainElements);
     }
 
     @VisibleForTesting
-    Future<RpcResult<ProcessFlatBatchOutput>> executeBatchPlan(final List<BatchStepJob> batchJobsChain) {
+    ListenableFuture<RpcResult<ProcessFlatBatchOutput>> executeBatchPlan(final List<BatchStepJob> batchJobsChain) {
         BatchStepJob batchJob;
         final List<ListenableFuture<RpcResult<ProcessFlatBatchOutput>>> firedJobs = new ArrayList<>();
         ListenableFuture<RpcResult<ProcessFlatBatchOutput>> chainSummaryResult =
@@ -104,6 +109,36 @@ public class SalFlatBatchServiceImpl implements SalFlatBatchService {
         return chainSummaryResult;
     }
 
+    /**
+     * Fire every job as soon as the jobs it depends on allow it: immediately if there is no dependency, after
+     * completion (barrier) of all dependencies otherwise. Independent jobs are thus processed by device
+     * concurrently instead of waiting for each other.
+     *
+     * @param batchJobs jobs in plan order with dependencies marked by {@link FlatBatchUtil#markDependencies(List)}
+     * @return merged results of all jobs
+     */
+    @VisibleForTesting
+    ListenableFuture<RpcResult<ProcessFlatBatchOutput>> executeBatchGraph(final List<BatchStepJob> batchJobs) {
+        final ListenableFuture<RpcResult<ProcessFlatBatchOutput>> emptyInput =
+                FlatBatchUtil.createEmptyRpcBatchResultFuture(true);
+        final List<ListenableFuture<RpcResult<ProcessFlatBatchOutput>>> jobResults = new ArrayList<>(batchJobs.size());
+
+        for (final BatchStepJob batchJob : batchJobs) {
+            final BatchPlanStep planStep = batchJob.getPlanStep();
+            final List<ListenableFuture<RpcResult<ProcessFlatBatchOutput>>> preconditions = new ArrayList<>();
+            for (final Integer barrierDependency : planStep.getBarrierDependencies()) {
+                preconditions.add(jobResults.get(barrierDependency));
+            }
+
+            final ListenableFuture<RpcResult<ProcessFlatBatchOutput>> trigger = preconditions.isEmpty()
+                    ? emptyInput
+                    : FlatBatchUtil.mergeJobsResultsFutures(preconditions);
+            jobResults.add(Futures.transform(trigger, batchJob.getStepFunction()));
+        }
+
+        return jobResults.isEmpty() ? emptyInput : FlatBatchUtil.mergeJobsResultsFutures(jobResults);
+    }
+
     @VisibleForTesting
     List<BatchStepJob> prepareBatchChain(final List<BatchPlanStep> batchPlan, final NodeRef node, final boolean exitOnFirstError) {
         // create batch API calls based on plan steps
@@ -134,47 +169,47 @@ public class SalFlatBatchServiceImpl implements SalFlatBatchService {
         switch (planStep.getStepType()) {
             case FLOW_ADD:
                 final AddFlowsBatchInput addFlowsBatchInput = FlatBatchFlowAdapters.adaptFlatBatchAddFlow(planStep, node);
-                final Future<RpcResult<AddFlowsBatchOutput>> resultAddFlowFuture = salFlowService.addFlowsBatch(addFlowsBatchInput);
+                final ListenableFuture<RpcResult<AddFlowsBatchOutput>> resultAddFlowFuture = salFlowService.addFlowsBatch(addFlowsBatchInput);
                 chainOutput = FlatBatchFlowAdapters.convertFlowBatchFutureForChain(resultAddFlowFuture, currentOffset);
                 break;
             case FLOW_REMOVE:
                 final RemoveFlowsBatchInput removeFlowsBatchInput = FlatBatchFlowAdapters.adaptFlatBatchRemoveFlow(planStep, node);
-                final Future<RpcResult<RemoveFlowsBatchOutput>> resultRemoveFlowFuture = salFlowService.removeFlowsBatch(removeFlowsBatchInput);
+                final ListenableFuture<RpcResult<RemoveFlowsBatchOutput>> resultRemoveFlowFuture = salFlowService.removeFlowsBatch(removeFlowsBatchInput);
                 chainOutput = FlatBatchFlowAdapters.convertFlowBatchFutureForChain(resultRemoveFlowFuture, currentOffset);
                 break;
             case FLOW_UPDATE:
                 final UpdateFlowsBatchInput updateFlowsBatchInput = FlatBatchFlowAdapters.adaptFlatBatchUpdateFlow(planStep, node);
-                final Future<RpcResult<UpdateFlowsBatchOutput>> resultUpdateFlowFuture = salFlowService.updateFlowsBatch(updateFlowsBatchInput);
+                final ListenableFuture<RpcResult<UpdateFlowsBatchOutput>> resultUpdateFlowFuture = salFlowService.updateFlowsBatch(updateFlowsBatchInput);
                 chainOutput = FlatBatchFlowAdapters.convertFlowBatchFutureForChain(resultUpdateFlowFuture, currentOffset);
                 break;
             case GROUP_ADD:
                 final AddGroupsBatchInput addGroupsBatchInput = FlatBatchGroupAdapters.adaptFlatBatchAddGroup(planStep, node);
-                final Future<RpcResult<AddGroupsBatchOutput>> resultAddGroupFuture = salGroupService.addGroupsBatch(addGroupsBatchInput);
+                final ListenableFuture<RpcResult<AddGroupsBatchOutput>> resultAddGroupFuture = salGroupService.addGroupsBatch(addGroupsBatchInput);
                 chainOutput = FlatBatchGroupAdapters.convertGroupBatchFutureForChain(resultAddGroupFuture, currentOffset);
                 break;
             case GROUP_REMOVE:
                 final RemoveGroupsBatchInput removeGroupsBatchInput = FlatBatchGroupAdapters.adaptFlatBatchRemoveGroup(planStep, node);
-                final Future<RpcResult<RemoveGroupsBatchOutput>> resultRemoveGroupFuture = salGroupService.removeGroupsBatch(removeGroupsBatchInput);
+                final ListenableFuture<RpcResult<RemoveGroupsBatchOutput>> resultRemoveGroupFuture = salGroupService.removeGroupsBatch(removeGroupsBatchInput);
                 chainOutput = FlatBatchGroupAdapters.convertGroupBatchFutureForChain(resultRemoveGroupFuture, currentOffset);
                 break;
             case GROUP_UPDATE:
                 final UpdateGroupsBatchInput updateGroupsBatchInput = FlatBatchGroupAdapters.adaptFlatBatchUpdateGroup(planStep, node);
-                final Future<RpcResult<UpdateGroupsBatchOutput>> resultUpdateGroupFuture = salGroupService.updateGroupsBatch(updateGroupsBatchInput);
+                final ListenableFuture<RpcResult<UpdateGroupsBatchOutput>> resultUpdateGroupFuture = salGroupService.updateGroupsBatch(updateGroupsBatchInput);
                 chainOutput = FlatBatchGroupAdapters.convertGroupBatchFutureForChain(resultUpdateGroupFuture, currentOffset);
                 break;
             case METER_ADD:
                 final AddMetersBatchInput addMetersBatchInput = FlatBatchMeterAdapters.adaptFlatBatchAddMeter(planStep, node);
-                final Future<RpcResult<AddMetersBatchOutput>> resultAddMeterFuture = salMeterService.addMetersBatch(addMetersBatchInput);
+                final ListenableFuture<RpcResult<AddMetersBatchOutput>> resultAddMeterFuture = salMeterService.addMetersBatch(addMetersBatchInput);
                 chainOutput = FlatBatchMeterAdapters.convertMeterBatchFutureForChain(resultAddMeterFuture, currentOffset);
                 break;
             case METER_REMOVE:
                 final RemoveMetersBatchInput removeMetersBatchInput = FlatBatchMeterAdapters.adaptFlatBatchRemoveMeter(planStep, node);
-                final Future<RpcResult<RemoveMetersBatchOutput>> resultRemoveMeterFuture = salMeterService.removeMetersBatch(removeMetersBatchInput);
+                final ListenableFuture<RpcResult<RemoveMetersBatchOutput>> resultRemoveMeterFuture = salMeterService.removeMetersBatch(removeMetersBatchInput);
                 chainOutput = FlatBatchMeterAdapters.convertMeterBatchFutureForChain(resultRemoveMeterFuture, currentOffset);
                 break;
             case METER_UPDATE:
                 final UpdateMetersBatchInput updateMetersBatchInput = FlatBatchMeterAdapters.adaptFlatBatchUpdateMeter(planStep, node);
-                final Future<RpcResult<UpdateMetersBatchOutput>> resultUpdateMeterFuture = salMeterService.updateMetersBatch(updateMetersBatchInput);
+                final ListenableFuture<RpcResult<UpdateMetersBatchOutput>> resultUpdateMeterFuture = salMeterService.updateMetersBatch(updateMetersBatchInput);
                 chainOutput = FlatBatchMeterAdapters.convertMeterBatchFutureForChain(resultUpdateMeterFuture, currentOffset);
                 break;
             default:
@@ -14,7 +14,6 @@ import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
@@ -75,7 +74,7 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
     }
 
     @Override
-    public Future<RpcResult<AddFlowOutput>> addFlow(final AddFlowInput input) {
+    public ListenableFuture<RpcResult<AddFlowOutput>> addFlow(final AddFlowInput input) {
         final FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(input);
         final ListenableFuture<RpcResult<AddFlowOutput>> future =
                 flowAdd.processFlowModInputBuilders(flowAdd.toFlowModInputs(input));
@@ -84,7 +83,7 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
     }
 
     @Override
-    public Future<RpcResult<RemoveFlowOutput>> removeFlow(final RemoveFlowInput input) {
+    public ListenableFuture<RpcResult<RemoveFlowOutput>> removeFlow(final RemoveFlowInput input) {
         final ListenableFuture<RpcResult<RemoveFlowOutput>> future =
                 flowRemove.processFlowModInputBuilders(flowRemove.toFlowModInputs(input));
         Futures.addCallback(future, new RemoveFlowCallback(input));
@@ -92,7 +91,22 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
     }
 
     @Override
-    public Future<RpcResult<UpdateFlowOutput>> updateFlow(final UpdateFlowInput input) {
+    public ListenableFuture<RpcResult<UpdateFlowOutput>> updateFlow(final UpdateFlowInput input) {
+        ListenableFuture<RpcResult<UpdateFlowOutput>> future =
+                flowUpdate.processFlowModInputBuilders(toFlowModInputs(input));
+        Futures.addCallback(future, new UpdateFlowCallback(input));
+        return future;
+    }
+
+    List<FlowModInputBuilder> toFlowModInputs(final AddFlowInput input) {
+        return flowAdd.toFlowModInputs(input);
+    }
+
+    List<FlowModInputBuilder> toFlowModInputs(final RemoveFlowInput input) {
+        return flowRemove.toFlowModInputs(input);
+    }
+
+    List<FlowModInputBuilder> toFlowModInputs(final UpdateFlowInput input) {
         final UpdatedFlow updated = input.getUpdatedFlow();
         final OriginalFlow original = input.getOriginalFlow();
 
@@ -114,9 +128,102 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
         }
 
         allFlowMods.addAll(ofFlowModInputs);
-        ListenableFuture<RpcResult<UpdateFlowOutput>> future = flowUpdate.processFlowModInputBuilders(allFlowMods);
-        Futures.addCallback(future, new UpdateFlowCallback(input));
-        return future;
+        return allFlowMods;
+    }
+
+    /**
+     * Updates flow registry and notifies lifecycle listener about flow successfully added to device.
+     */
+    void onFlowAdded(final AddFlowInput input, final FlowRegistryKey flowRegistryKey) {
+        final FlowDescriptor flowDescriptor;
+
+        if (Objects.nonNull(input.getFlowRef())) {
+            final FlowId flowId = input.getFlowRef().getValue().firstKeyOf(Flow.class, FlowKey.class).getId();
+            flowDescriptor = FlowDescriptorFactory.create(input.getTableId(), flowId);
+            deviceContext.getDeviceFlowRegistry().store(flowRegistryKey, flowDescriptor);
+        } else {
+            final FlowId flowId = deviceContext.getDeviceFlowRegistry().storeIfNecessary(flowRegistryKey);
+            flowDescriptor = FlowDescriptorFactory.create(input.getTableId(), flowId);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Flow add with id={} finished without error", flowDescriptor.getFlowId().getValue());
+        }
+
+        if (itemLifecycleListener != null) {
+            KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
+                    deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
+            final FlowBuilder flowBuilder = new FlowBuilder(input).setId(flowDescriptor.getFlowId());
+            itemLifecycleListener.onAdded(flowPath, flowBuilder.build());
+        }
+    }
+
+    /**
+     * Updates flow registry and notifies lifecycle listener about flow successfully removed from device.
+     */
+    void onFlowRemoved(final RemoveFlowInput input) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Flow remove finished without error for flow={}", input);
+        }
+        FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(input);
+        deviceContext.getDeviceFlowRegistry().removeDescriptor(flowRegistryKey);
+
+        if (itemLifecycleListener != null) {
+            final FlowDescriptor flowDescriptor =
+                    deviceContext.getDeviceFlowRegistry().retrieveIdForFlow(flowRegistryKey);
+            if (flowDescriptor != null) {
+                KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
+                        deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
+                itemLifecycleListener.onRemoved(flowPath);
+            }
+        }
+    }
+
+    /**
+     * Updates flow registry and notifies lifecycle listener about flow successfully updated on device.
+     */
+    void onFlowUpdated(final UpdateFlowInput input) {
+        final UpdatedFlow updated = input.getUpdatedFlow();
+        final OriginalFlow original = input.getOriginalFlow();
+        FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(original);
+
+        FlowRegistryKey updatedflowRegistryKey = FlowRegistryKeyFactory.create(updated);
+        final FlowRef flowRef = input.getFlowRef();
+        final DeviceFlowRegistry deviceFlowRegistry = deviceContext.getDeviceFlowRegistry();
+
+        if (flowRef == null) {
+            // then this is equivalent to a delete
+            deviceFlowRegistry.removeDescriptor(flowRegistryKey);
+
+            if (itemLifecycleListener != null) {
+                final FlowDescriptor flowDescriptor =
+                        deviceContext.getDeviceFlowRegistry().retrieveIdForFlow( flowRegistryKey);
+                KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
+                        deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
+                itemLifecycleListener.onRemoved(flowPath);
+            }
+        } else {
+            // this is either an add or an update
+            final FlowId flowId = flowRef.getValue().firstKeyOf(Flow.class, FlowKey.class).getId();
+            final FlowDescriptor flowDescriptor = FlowDescriptorFactory.create(updated.getTableId(), flowId);
+
+            deviceFlowRegistry.update(updatedflowRegistryKey, flowDescriptor);
+
+            if (itemLifecycleListener != null) {
+                KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
+                        deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
+                final FlowBuilder flowBuilder = new FlowBuilder(
+                        input.getUpdatedFlow()).setId(flowDescriptor.getFlowId());
+
+                boolean isUpdate = null !=
+                        deviceFlowRegistry.retrieveIdForFlow(flowRegistryKey);
+                if (isUpdate) {
+                    itemLifecycleListener.onUpdated(flowPath, flowBuilder.build());
+                } else {
+                    itemLifecycleListener.onAdded(flowPath, flowBuilder.build());
+                }
+            }
+        }
     }
 
     @VisibleForTesting
@@ -140,27 +247,7 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
         @Override
         public void onSuccess(final RpcResult<AddFlowOutput> rpcResult) {
             if (rpcResult.isSuccessful()) {
-                final FlowDescriptor flowDescriptor;
-
-                if (Objects.nonNull(input.getFlowRef())) {
-                    final FlowId flowId = input.getFlowRef().getValue().firstKeyOf(Flow.class, FlowKey.class).getId();
-                    flowDescriptor = FlowDescriptorFactory.create(input.getTableId(), flowId);
-                    deviceContext.getDeviceFlowRegistry().store(flowRegistryKey, flowDescriptor);
-                } else {
-                    final FlowId flowId = deviceContext.getDeviceFlowRegistry().storeIfNecessary(flowRegistryKey);
-                    flowDescriptor = FlowDescriptorFactory.create(input.getTableId(), flowId);
-                }
-
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Flow add with id={} finished without error", flowDescriptor.getFlowId().getValue());
-                }
-
-                if (itemLifecycleListener != null) {
-                    KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
-                            deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
-                    final FlowBuilder flowBuilder = new FlowBuilder(input).setId(flowDescriptor.getFlowId());
-                    itemLifecycleListener.onAdded(flowPath, flowBuilder.build());
-                }
+                onFlowAdded(input, flowRegistryKey);
             } else {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Flow add failed for flow={}, errors={}", input,
@@ -185,21 +272,7 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
         @Override
         public void onSuccess(final RpcResult<RemoveFlowOutput> result) {
             if (result.isSuccessful()) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Flow remove finished without error for flow={}", input);
-                }
-                FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(input);
-                deviceContext.getDeviceFlowRegistry().removeDescriptor(flowRegistryKey);
-
-                if (itemLifecycleListener != null) {
-                    final FlowDescriptor flowDescriptor =
-                            deviceContext.getDeviceFlowRegistry().retrieveIdForFlow(flowRegistryKey);
-                    if (flowDescriptor != null) {
-                        KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
-                                deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
-                        itemLifecycleListener.onRemoved(flowPath);
-                    }
-                }
+                onFlowRemoved(input);
             } else {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Flow remove failed for flow={}, errors={}", input,
@@ -223,47 +296,7 @@ public class SalFlowServiceImpl implements SalFlowService, ItemLifeCycleSource {
 
         @Override
         public void onSuccess(final RpcResult<UpdateFlowOutput> o) {
-            final UpdatedFlow updated = input.getUpdatedFlow();
-            final OriginalFlow original = input.getOriginalFlow();
-            FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(original);
-
-            FlowRegistryKey updatedflowRegistryKey = FlowRegistryKeyFactory.create(updated);
-            final FlowRef flowRef = input.getFlowRef();
-            final DeviceFlowRegistry deviceFlowRegistry = deviceContext.getDeviceFlowRegistry();
-
-            if (flowRef == null) {
-                // then this is equivalent to a delete
-                deviceFlowRegistry.removeDescriptor(flowRegistryKey);
-
-                if (itemLifecycleListener != null) {
-                    final FlowDescriptor flowDescriptor =
-                            deviceContext.getDeviceFlowRegistry().retrieveIdForFlow( flowRegistryKey);
-                    KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
-                            deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
-                    itemLifecycleListener.onRemoved(flowPath);
-                }
-            } else {
-                // this is either an add or an update
-                final FlowId flowId = flowRef.getValue().firstKeyOf(Flow.class, FlowKey.class).getId();
-                final FlowDescriptor flowDescriptor = FlowDescriptorFactory.create(updated.getTableId(), flowId);
-
-                deviceFlowRegistry.update(updatedflowRegistryKey, flowDescriptor);
-
-                if (itemLifecycleListener != null) {
-                    KeyedInstanceIdentifier<Flow, FlowKey> flowPath = createFlowPath(flowDescriptor,
-                            deviceContext.getDeviceInfo().getNodeInstanceIdentifier());
-                    final FlowBuilder flowBuilder = new FlowBuilder(
-                            input.getUpdatedFlow()).setId(flowDescriptor.getFlowId());
-
-                    boolean isUpdate = null !=
-                            deviceFlowRegistry.retrieveIdForFlow(flowRegistryKey);
-                    if (isUpdate) {
-                        itemLifecycleListener.onUpdated(flowPath, flowBuilder.build());
-                    } else {
-                        itemLifecycleListener.onAdded(flowPath, flowBuilder.build());
-                    }
-                }
-            }
+            onFlowUpdated(input);
         }
 
         @Override
@@ -9,11 +9,10 @@ package org.opendaylight.openflowplugin.impl.services;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import org.opendaylight.openflowplugin.impl.util.BarrierUtil;
 import org.opendaylight.openflowplugin.impl.util.FlowUtil;
 import org.opendaylight.openflowplugin.impl.util.PathUtil;
@@ -29,7 +28,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.Upda
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.UpdateFlowOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.flow.update.OriginalFlowBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.flow.update.UpdatedFlowBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.transaction.rev150304.FlowCapableTransactionService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowRef;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.AddFlowsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.AddFlowsBatchOutput;
@@ -51,38 +49,57 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation of {@link SalFlowsBatchService} - delegates work to {@link SalFlowService}.
+ * <p>
+ * If {@link FlowBatchPipeline} is given, whole batch is written to device as pipelined flow-mods closed by barrier
+ * instead of one {@link SalFlowService} call per flow.
  */
 public class SalFlowsBatchServiceImpl implements SalFlowsBatchService {
     private static final Logger LOG = LoggerFactory.getLogger(SalFlowsBatchServiceImpl.class);
 
-    private final SalFlowService salFlowService;
-    private final FlowCapableTransactionService transactionService;
+    private final SalFlowServiceImpl salFlowService;
+    private final FlowCapableTransactionServiceImpl transactionService;
+    private final FlowBatchPipeline flowBatchPipeline;
 
-    public SalFlowsBatchServiceImpl(final SalFlowService salFlowService,
-                                    final FlowCapableTransactionService transactionService) {
+    public SalFlowsBatchServiceImpl(final SalFlowServiceImpl salFlowService,
+                                    final FlowCapableTransactionServiceImpl transactionService) {
+        this(salFlowService, transactionService, null);
+    }
+
+    public SalFlowsBatchServiceImpl(final SalFlowServiceImpl salFlowService,
+                                    final FlowCapableTransactionServiceImpl transactionService,
+                                    @Nullable final FlowBatchPipeline flowBatchPipeline) {
         this.salFlowService = Preconditions.checkNotNull(salFlowService, "delegate flow service must not be null");
         this.transactionService = Preconditions.checkNotNull(transactionService, "delegate transaction service must not be null");
+        this.flowBatchPipeline = flowBatchPipeline;
     }
 
     @Override
-    public Future<RpcResult<RemoveFlowsBatchOutput>> removeFlowsBatch(final RemoveFlowsBatchInput input) {
+    public ListenableFuture<RpcResult<RemoveFlowsBatchOutput>> removeFlowsBatch(final RemoveFlowsBatchInput input) {
         LOG.trace("Removing flows @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchRemoveFlows().size());
-        final ArrayList<ListenableFuture<RpcResult<RemoveFlowOutput>>> resultsLot = new ArrayList<>();
+        final List<RemoveFlowInput> removeFlowInputs = new ArrayList<>(input.getBatchRemoveFlows().size());
         for (BatchFlowInputGrouping batchFlow : input.getBatchRemoveFlows()) {
-            final RemoveFlowInput removeFlowInput = new RemoveFlowInputBuilder(batchFlow)
+            removeFlowInputs.add(new RemoveFlowInputBuilder(batchFlow)
                     .setFlowRef(createFlowRef(input.getNode(), batchFlow))
                     .setNode(input.getNode())
-                    .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salFlowService.removeFlow(removeFlowInput)));
+                    .build());
         }
 
-        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult =
-                Futures.transform(Futures.successfulAsList(resultsLot),
-                        FlowUtil.<RemoveFlowOutput>createCumulatingFunction(input.getBatchRemoveFlows()));
+        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult;
+        if (flowBatchPipeline != null) {
+            commonResult = flowBatchPipeline.removeFlows(removeFlowInputs, input.getBatchRemoveFlows());
+        } else {
+            final ArrayList<ListenableFuture<RpcResult<RemoveFlowOutput>>> resultsLot = new ArrayList<>();
+            for (RemoveFlowInput removeFlowInput : removeFlowInputs) {
+                resultsLot.add(salFlowService.removeFlow(removeFlowInput));
+            }
+            commonResult = Futures.transform(Futures.successfulAsList(resultsLot),
+                    FlowUtil.<RemoveFlowOutput>createCumulatingFunction(input.getBatchRemoveFlows()));
+        }
 
         ListenableFuture<RpcResult<RemoveFlowsBatchOutput>> removeFlowsBulkFuture = Futures.transform(commonResult, FlowUtil.FLOW_REMOVE_TRANSFORM);
 
-        if (input.isBarrierAfter()) {
+        // pipelined batch is always closed by barrier
+        if (input.isBarrierAfter() && flowBatchPipeline == null) {
             removeFlowsBulkFuture = BarrierUtil.chainBarrier(removeFlowsBulkFuture, input.getNode(),
                     transactionService, FlowUtil.FLOW_REMOVE_COMPOSING_TRANSFORM);
         }
@@ -91,25 +108,33 @@ public class SalFlowsBatchServiceImpl implements SalFlowsBatchService {
     }
 
     @Override
-    public Future<RpcResult<AddFlowsBatchOutput>> addFlowsBatch(final AddFlowsBatchInput input) {
+    public ListenableFuture<RpcResult<AddFlowsBatchOutput>> addFlowsBatch(final AddFlowsBatchInput input) {
         LOG.trace("Adding flows @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchAddFlows().size());
-        final ArrayList<ListenableFuture<RpcResult<AddFlowOutput>>> resultsLot = new ArrayList<>();
+        final List<AddFlowInput> addFlowInputs = new ArrayList<>(input.getBatchAddFlows().size());
         for (BatchFlowInputGrouping batchFlow : input.getBatchAddFlows()) {
-            final AddFlowInput addFlowInput = new AddFlowInputBuilder(batchFlow)
+            addFlowInputs.add(new AddFlowInputBuilder(batchFlow)
                     .setFlowRef(createFlowRef(input.getNode(), batchFlow))
                     .setNode(input.getNode())
-                    .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salFlowService.addFlow(addFlowInput)));
+                    .build());
         }
 
-        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult =
-                Futures.transform(Futures.successfulAsList(resultsLot),
-                        FlowUtil.<AddFlowOutput>createCumulatingFunction(input.getBatchAddFlows()));
+        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult;
+        if (flowBatchPipeline != null) {
+            commonResult = flowBatchPipeline.addFlows(addFlowInputs, input.getBatchAddFlows());
+        } else {
+            final ArrayList<ListenableFuture<RpcResult<AddFlowOutput>>> resultsLot = new ArrayList<>();
+            for (AddFlowInput addFlowInput : addFlowInputs) {
+                resultsLot.add(salFlowService.addFlow(addFlowInput));
+            }
+            commonResult = Futures.transform(Futures.successfulAsList(resultsLot),
+                    FlowUtil.<AddFlowOutput>createCumulatingFunction(input.getBatchAddFlows()));
+        }
 
         ListenableFuture<RpcResult<AddFlowsBatchOutput>> addFlowsBulkFuture =
                 Futures.transform(commonResult, FlowUtil.FLOW_ADD_TRANSFORM);
 
-        if (input.isBarrierAfter()) {
+        // pipelined batch is always closed by barrier
+        if (input.isBarrierAfter() && flowBatchPipeline == null) {
             addFlowsBulkFuture = BarrierUtil.chainBarrier(addFlowsBulkFuture, input.getNode(),
                     transactionService, FlowUtil.FLOW_ADD_COMPOSING_TRANSFORM);
         }
@@ -128,25 +153,33 @@ public class SalFlowsBatchServiceImpl implements SalFlowsBatchService {
     }
 
     @Override
-    public Future<RpcResult<UpdateFlowsBatchOutput>> updateFlowsBatch(final UpdateFlowsBatchInput input) {
+    public ListenableFuture<RpcResult<UpdateFlowsBatchOutput>> updateFlowsBatch(final UpdateFlowsBatchInput input) {
         LOG.trace("Updating flows @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchUpdateFlows().size());
-        final ArrayList<ListenableFuture<RpcResult<UpdateFlowOutput>>> resultsLot = new ArrayList<>();
+        final List<UpdateFlowInput> updateFlowInputs = new ArrayList<>(input.getBatchUpdateFlows().size());
         for (BatchUpdateFlows batchFlow : input.getBatchUpdateFlows()) {
-            final UpdateFlowInput updateFlowInput = new UpdateFlowInputBuilder(input)
+            updateFlowInputs.add(new UpdateFlowInputBuilder(input)
                     .setOriginalFlow(new OriginalFlowBuilder(batchFlow.getOriginalBatchedFlow()).build())
                     .setUpdatedFlow(new UpdatedFlowBuilder(batchFlow.getUpdatedBatchedFlow()).build())
                     .setFlowRef(createFlowRef(input.getNode(), batchFlow))
                     .setNode(input.getNode())
-                    .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salFlowService.updateFlow(updateFlowInput)));
+                    .build());
         }
 
-        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult =
-                Futures.transform(Futures.successfulAsList(resultsLot), FlowUtil.<UpdateFlowOutput>createCumulatingFunction(input.getBatchUpdateFlows()));
+        final ListenableFuture<RpcResult<List<BatchFailedFlowsOutput>>> commonResult;
+        if (flowBatchPipeline != null) {
+            commonResult = flowBatchPipeline.updateFlows(updateFlowInputs, input.getBatchUpdateFlows());
+        } else {
+            final ArrayList<ListenableFuture<RpcResult<UpdateFlowOutput>>> resultsLot = new ArrayList<>();
+            for (UpdateFlowInput updateFlowInput : updateFlowInputs) {
+                resultsLot.add(salFlowService.updateFlow(updateFlowInput));
+            }
+            commonResult = Futures.transform(Futures.successfulAsList(resultsLot), FlowUtil.<UpdateFlowOutput>createCumulatingFunction(input.getBatchUpdateFlows()));
+        }
 
         ListenableFuture<RpcResult<UpdateFlowsBatchOutput>> updateFlowsBulkFuture = Futures.transform(commonResult, FlowUtil.FLOW_UPDATE_TRANSFORM);
 
-        if (input.isBarrierAfter()) {
+        // pipelined batch is always closed by barrier
+        if (input.isBarrierAfter() && flowBatchPipeline == null) {
             updateFlowsBulkFuture = BarrierUtil.chainBarrier(updateFlowsBulkFuture, input.getNode(),
                     transactionService, FlowUtil.FLOW_UPDATE_COMPOSING_TRANSFORM);
         }
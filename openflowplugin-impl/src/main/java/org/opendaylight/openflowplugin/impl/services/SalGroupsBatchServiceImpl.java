@@ -12,16 +12,13 @@ import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.opendaylight.openflowplugin.impl.util.BarrierUtil;
 import org.opendaylight.openflowplugin.impl.util.GroupUtil;
 import org.opendaylight.openflowplugin.impl.util.PathUtil;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.transaction.rev150304.FlowCapableTransactionService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.service.rev130918.AddGroupInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.service.rev130918.AddGroupInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.group.service.rev130918.AddGroupOutput;
@@ -61,16 +58,16 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SalGroupsBatchServiceImpl.class);
 
-    private final SalGroupService salGroupService;
-    private final FlowCapableTransactionService transactionService;
+    private final SalGroupServiceImpl salGroupService;
+    private final FlowCapableTransactionServiceImpl transactionService;
 
-    public SalGroupsBatchServiceImpl(final SalGroupService salGroupService, final FlowCapableTransactionService transactionService) {
+    public SalGroupsBatchServiceImpl(final SalGroupServiceImpl salGroupService, final FlowCapableTransactionServiceImpl transactionService) {
         this.salGroupService = Preconditions.checkNotNull(salGroupService);
         this.transactionService = Preconditions.checkNotNull(transactionService);
     }
 
     @Override
-    public Future<RpcResult<UpdateGroupsBatchOutput>> updateGroupsBatch(final UpdateGroupsBatchInput input) {
+    public ListenableFuture<RpcResult<UpdateGroupsBatchOutput>> updateGroupsBatch(final UpdateGroupsBatchInput input) {
         final List<BatchUpdateGroups> batchUpdateGroups = input.getBatchUpdateGroups();
         LOG.trace("Updating groups @ {} : {}", PathUtil.extractNodeId(input.getNode()), batchUpdateGroups.size());
 
@@ -82,7 +79,7 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
                     .setGroupRef(createGroupRef(input.getNode(), batchGroup))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salGroupService.updateGroup(updateGroupInput)));
+            resultsLot.add(salGroupService.updateGroup(updateGroupInput));
         }
 
         final Iterable<Group> groups = Iterables.transform(batchUpdateGroups, new Function<BatchUpdateGroups, Group>() {
@@ -110,7 +107,7 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
     }
 
     @Override
-    public Future<RpcResult<AddGroupsBatchOutput>> addGroupsBatch(final AddGroupsBatchInput input) {
+    public ListenableFuture<RpcResult<AddGroupsBatchOutput>> addGroupsBatch(final AddGroupsBatchInput input) {
         LOG.trace("Adding groups @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchAddGroups().size());
         final ArrayList<ListenableFuture<RpcResult<AddGroupOutput>>> resultsLot = new ArrayList<>();
         for (BatchAddGroups addGroup : input.getBatchAddGroups()) {
@@ -118,7 +115,7 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
                     .setGroupRef(createGroupRef(input.getNode(), addGroup))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salGroupService.addGroup(addGroupInput)));
+            resultsLot.add(salGroupService.addGroup(addGroupInput));
         }
 
         final ListenableFuture<RpcResult<List<BatchFailedGroupsOutput>>> commonResult =
@@ -137,7 +134,7 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
     }
 
     @Override
-    public Future<RpcResult<RemoveGroupsBatchOutput>> removeGroupsBatch(final RemoveGroupsBatchInput input) {
+    public ListenableFuture<RpcResult<RemoveGroupsBatchOutput>> removeGroupsBatch(final RemoveGroupsBatchInput input) {
         LOG.trace("Removing groups @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchRemoveGroups().size());
         final ArrayList<ListenableFuture<RpcResult<RemoveGroupOutput>>> resultsLot = new ArrayList<>();
         for (BatchRemoveGroups addGroup : input.getBatchRemoveGroups()) {
@@ -145,7 +142,7 @@ public class SalGroupsBatchServiceImpl implements SalGroupsBatchService {
                     .setGroupRef(createGroupRef(input.getNode(), addGroup))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salGroupService.removeGroup(removeGroupInput)));
+            resultsLot.add(salGroupService.removeGroup(removeGroupInput));
         }
 
         final ListenableFuture<RpcResult<List<BatchFailedGroupsOutput>>> commonResult =
@@ -12,16 +12,13 @@ import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.opendaylight.openflowplugin.impl.util.BarrierUtil;
 import org.opendaylight.openflowplugin.impl.util.MeterUtil;
 import org.opendaylight.openflowplugin.impl.util.PathUtil;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.transaction.rev150304.FlowCapableTransactionService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.service.rev130918.AddMeterInput;
@@ -61,16 +58,16 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SalMetersBatchServiceImpl.class);
 
-    private final SalMeterService salMeterService;
-    private final FlowCapableTransactionService transactionService;
+    private final SalMeterServiceImpl salMeterService;
+    private final FlowCapableTransactionServiceImpl transactionService;
 
-    public SalMetersBatchServiceImpl(final SalMeterService salMeterService, final FlowCapableTransactionService transactionService) {
+    public SalMetersBatchServiceImpl(final SalMeterServiceImpl salMeterService, final FlowCapableTransactionServiceImpl transactionService) {
         this.salMeterService = Preconditions.checkNotNull(salMeterService);
         this.transactionService = Preconditions.checkNotNull(transactionService);
     }
 
     @Override
-    public Future<RpcResult<UpdateMetersBatchOutput>> updateMetersBatch(final UpdateMetersBatchInput input) {
+    public ListenableFuture<RpcResult<UpdateMetersBatchOutput>> updateMetersBatch(final UpdateMetersBatchInput input) {
         final List<BatchUpdateMeters> batchUpdateMeters = input.getBatchUpdateMeters();
         LOG.trace("Updating meters @ {} : {}", PathUtil.extractNodeId(input.getNode()), batchUpdateMeters.size());
 
@@ -82,7 +79,7 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
                     .setMeterRef(createMeterRef(input.getNode(), batchMeter))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salMeterService.updateMeter(updateMeterInput)));
+            resultsLot.add(salMeterService.updateMeter(updateMeterInput));
         }
 
         final Iterable<Meter> meters = Iterables.transform(batchUpdateMeters, new Function<BatchUpdateMeters, Meter>() {
@@ -110,7 +107,7 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
     }
 
     @Override
-    public Future<RpcResult<AddMetersBatchOutput>> addMetersBatch(final AddMetersBatchInput input) {
+    public ListenableFuture<RpcResult<AddMetersBatchOutput>> addMetersBatch(final AddMetersBatchInput input) {
         LOG.trace("Adding meters @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchAddMeters().size());
         final ArrayList<ListenableFuture<RpcResult<AddMeterOutput>>> resultsLot = new ArrayList<>();
         for (BatchAddMeters addMeter : input.getBatchAddMeters()) {
@@ -118,7 +115,7 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
                     .setMeterRef(createMeterRef(input.getNode(), addMeter))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salMeterService.addMeter(addMeterInput)));
+            resultsLot.add(salMeterService.addMeter(addMeterInput));
         }
 
         final ListenableFuture<RpcResult<List<BatchFailedMetersOutput>>> commonResult =
@@ -137,7 +134,7 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
     }
 
     @Override
-    public Future<RpcResult<RemoveMetersBatchOutput>> removeMetersBatch(final RemoveMetersBatchInput input) {
+    public ListenableFuture<RpcResult<RemoveMetersBatchOutput>> removeMetersBatch(final RemoveMetersBatchInput input) {
         LOG.trace("Removing meters @ {} : {}", PathUtil.extractNodeId(input.getNode()), input.getBatchRemoveMeters().size());
         final ArrayList<ListenableFuture<RpcResult<RemoveMeterOutput>>> resultsLot = new ArrayList<>();
         for (BatchRemoveMeters addMeter : input.getBatchRemoveMeters()) {
@@ -145,7 +142,7 @@ public class SalMetersBatchServiceImpl implements SalMetersBatchService {
                     .setMeterRef(createMeterRef(input.getNode(), addMeter))
                     .setNode(input.getNode())
                     .build();
-            resultsLot.add(JdkFutureAdapters.listenInPoolThread(salMeterService.removeMeter(removeMeterInput)));
+            resultsLot.add(salMeterService.removeMeter(removeMeterInput));
         }
 
         final ListenableFuture<RpcResult<List<BatchFailedMetersOutput>>> commonResult =
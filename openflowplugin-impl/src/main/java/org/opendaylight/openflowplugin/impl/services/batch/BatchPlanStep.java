@@ -10,6 +10,8 @@ package org.opendaylight.openflowplugin.impl.services.batch;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.service.batch.common.rev160322.BatchOrderGrouping;
 
 /**
@@ -19,6 +21,7 @@ public class BatchPlanStep {
     private final List<? extends BatchOrderGrouping> taskBag;
     private final BatchStepType stepType;
     private boolean barrierAfter = false;
+    private final Set<Integer> barrierDependencies = new TreeSet<>();
 
     public BatchPlanStep(final BatchStepType stepType) {
         this.stepType = stepType;
@@ -44,4 +47,11 @@ public class BatchPlanStep {
     public boolean isBarrierAfter() {
         return barrierAfter;
     }
+
+    /**
+     * @return plan indexes of preceding steps which must be finished by device before this step is sent
+     */
+    public Set<Integer> getBarrierDependencies() {
+        return barrierDependencies;
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.services.batch;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.GroupActionCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.update.flow._case.FlatBatchUpdateFlow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.update.group._case.FlatBatchUpdateGroup;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.update.meter._case.FlatBatchUpdateMeter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.MeterCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.WriteActionsCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.Instruction;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.Group;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.buckets.Bucket;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.types.rev130918.Meter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.service.batch.common.rev160322.BatchOrderGrouping;
+
+/**
+ * Device objects touched by one {@link BatchPlanStep}: ids of groups and meters the step writes (adds, updates
+ * or removes), ids of groups and meters the step only refers to (group actions and meter instructions of flows,
+ * chained groups in buckets) and tables of written flows.
+ * <p>
+ * Two steps depend on each other if one writes an object the other refers to or if both write the same
+ * objects - the device must process the earlier one before it gets the later one (barrier).
+ */
+public final class BatchStepFootprint {
+
+    private final Set<Long> writtenGroups = new HashSet<>();
+    private final Set<Long> referencedGroups = new HashSet<>();
+    private final Set<Long> writtenMeters = new HashSet<>();
+    private final Set<Long> referencedMeters = new HashSet<>();
+    private final Set<Short> writtenTables = new HashSet<>();
+    private boolean writesAnyTable = false;
+
+    private BatchStepFootprint() {
+        // use BatchStepFootprint#of
+    }
+
+    /**
+     * @param planStep batch step containing changes of the same type
+     * @return objects written and referenced by given step
+     */
+    public static BatchStepFootprint of(final BatchPlanStep planStep) {
+        final BatchStepFootprint footprint = new BatchStepFootprint();
+        switch (planStep.getStepType()) {
+            case FLOW_ADD:
+            case FLOW_REMOVE:
+                for (BatchOrderGrouping flow : planStep.getTaskBag()) {
+                    footprint.collectFlow((Flow) flow);
+                }
+                break;
+            case FLOW_UPDATE:
+                for (FlatBatchUpdateFlow updateFlow : planStep.<FlatBatchUpdateFlow>getTaskBag()) {
+                    footprint.collectFlow(updateFlow.getOriginalBatchedFlow());
+                    footprint.collectFlow(updateFlow.getUpdatedBatchedFlow());
+                }
+                break;
+            case GROUP_ADD:
+            case GROUP_REMOVE:
+                for (BatchOrderGrouping group : planStep.getTaskBag()) {
+                    footprint.collectGroup((Group) group);
+                }
+                break;
+            case GROUP_UPDATE:
+                for (FlatBatchUpdateGroup updateGroup : planStep.<FlatBatchUpdateGroup>getTaskBag()) {
+                    footprint.collectGroup(updateGroup.getOriginalBatchedGroup());
+                    footprint.collectGroup(updateGroup.getUpdatedBatchedGroup());
+                }
+                break;
+            case METER_ADD:
+            case METER_REMOVE:
+                for (BatchOrderGrouping meter : planStep.getTaskBag()) {
+                    footprint.collectMeter((Meter) meter);
+                }
+                break;
+            case METER_UPDATE:
+                for (FlatBatchUpdateMeter updateMeter : planStep.<FlatBatchUpdateMeter>getTaskBag()) {
+                    footprint.collectMeter(updateMeter.getOriginalBatchedMeter());
+                    footprint.collectMeter(updateMeter.getUpdatedBatchedMeter());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported batch step type obtained: " + planStep.getStepType());
+        }
+        return footprint;
+    }
+
+    private void collectFlow(final Flow flow) {
+        if (flow == null) {
+            return;
+        }
+        if (flow.getTableId() == null) {
+            writesAnyTable = true;
+        } else {
+            writtenTables.add(flow.getTableId());
+        }
+        if (flow.getInstructions() == null || flow.getInstructions().getInstruction() == null) {
+            return;
+        }
+        for (Instruction instruction : flow.getInstructions().getInstruction()) {
+            final org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.Instruction
+                    instructionChoice = instruction.getInstruction();
+            if (instructionChoice instanceof ApplyActionsCase) {
+                final ApplyActionsCase applyActionsCase = (ApplyActionsCase) instructionChoice;
+                if (applyActionsCase.getApplyActions() != null) {
+                    collectReferencedGroups(applyActionsCase.getApplyActions().getAction());
+                }
+            } else if (instructionChoice instanceof WriteActionsCase) {
+                final WriteActionsCase writeActionsCase = (WriteActionsCase) instructionChoice;
+                if (writeActionsCase.getWriteActions() != null) {
+                    collectReferencedGroups(writeActionsCase.getWriteActions().getAction());
+                }
+            } else if (instructionChoice instanceof MeterCase) {
+                final MeterCase meterCase = (MeterCase) instructionChoice;
+                if (meterCase.getMeter() != null && meterCase.getMeter().getMeterId() != null) {
+                    referencedMeters.add(meterCase.getMeter().getMeterId().getValue());
+                }
+            }
+        }
+    }
+
+    private void collectGroup(final Group group) {
+        if (group == null) {
+            return;
+        }
+        if (group.getGroupId() != null) {
+            writtenGroups.add(group.getGroupId().getValue());
+        }
+        if (group.getBuckets() == null || group.getBuckets().getBucket() == null) {
+            return;
+        }
+        for (Bucket bucket : group.getBuckets().getBucket()) {
+            collectReferencedGroups(bucket.getAction());
+        }
+    }
+
+    private void collectMeter(final Meter meter) {
+        if (meter != null && meter.getMeterId() != null) {
+            writtenMeters.add(meter.getMeterId().getValue());
+        }
+    }
+
+    private void collectReferencedGroups(final List<Action> actions) {
+        if (actions == null) {
+            return;
+        }
+        for (Action action : actions) {
+            if (action.getAction() instanceof GroupActionCase) {
+                final GroupActionCase groupActionCase = (GroupActionCase) action.getAction();
+                if (groupActionCase.getGroupAction() != null && groupActionCase.getGroupAction().getGroupId() != null) {
+                    referencedGroups.add(groupActionCase.getGroupAction().getGroupId());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param previous footprint of step preceding this one in plan
+     * @return true if previous step writes object this step refers to or vice versa - previous step
+     * must be finished by device (barrier) before this step is sent
+     */
+    public boolean requiresBarrierAfter(final BatchStepFootprint previous) {
+        return intersects(previous.writtenGroups, referencedGroups)
+                || intersects(previous.referencedGroups, writtenGroups)
+                || intersects(previous.writtenMeters, referencedMeters)
+                || intersects(previous.referencedMeters, writtenMeters);
+    }
+
+    /**
+     * @param previous footprint of step preceding this one in plan
+     * @return true if both steps write the same objects - previous step must be finished by device (barrier)
+     * before this step is sent, otherwise their writes could be applied in any order
+     */
+    public boolean writesSameObjects(final BatchStepFootprint previous) {
+        return intersects(previous.writtenGroups, writtenGroups)
+                || intersects(previous.writtenMeters, writtenMeters)
+                || writesSameTable(previous);
+    }
+
+    private boolean writesSameTable(final BatchStepFootprint previous) {
+        final boolean writesFlows = writesAnyTable || !writtenTables.isEmpty();
+        final boolean previousWritesFlows = previous.writesAnyTable || !previous.writtenTables.isEmpty();
+        return (writesAnyTable && previousWritesFlows)
+                || (previous.writesAnyTable && writesFlows)
+                || intersects(previous.writtenTables, writtenTables);
+    }
+
+    private static <T> boolean intersects(final Set<T> first, final Set<T> second) {
+        return !first.isEmpty() && !second.isEmpty() && !Collections.disjoint(first, second);
+    }
+}
@@ -11,11 +11,9 @@ package org.opendaylight.openflowplugin.impl.services.batch;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutputBuilder;
@@ -161,9 +159,9 @@ public class FlatBatchMeterAdapters {
      * @return ListenableFuture with converted result {@link ProcessFlatBatchOutput}
      */
     public static <T extends BatchMeterOutputListGrouping> ListenableFuture<RpcResult<ProcessFlatBatchOutput>>
-    convertMeterBatchFutureForChain(final Future<RpcResult<T>> resultUpdateMeterFuture,
+    convertMeterBatchFutureForChain(final ListenableFuture<RpcResult<T>> resultUpdateMeterFuture,
                                     final int currentOffset) {
-        return Futures.transform(JdkFutureAdapters.listenInPoolThread(resultUpdateMeterFuture),
+        return Futures.transform(resultUpdateMeterFuture,
                 FlatBatchMeterAdapters.<T>convertBatchMeterResult(currentOffset));
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.api.openflow.device.TxFacade;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.DeviceFlowRegistry;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.openflowplugin.impl.registry.flow.FlowRegistryKeyFactory;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.Counter64;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.Table;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.TableKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowStatisticsData;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdate;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.duration.Duration;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per device writer of flow statistics into operational datastore. It keeps snapshot of flows (per table) written
+ * during last gathering cycle, so that subsequent cycle writes only flows which are new or which changed (flow
+ * itself, packet or byte counter) and deletes flows which were not reported by device anymore. Flow duration grows
+ * every cycle, so unchanged flows are rewritten every {@value #REFRESH_CYCLES} cycles to keep it fresh, and right
+ * away if the duration went back - the flow was removed and added again in the meantime, possibly with its
+ * operational entry rewritten by somebody else.
+ * <p/>
+ * Until first gathering cycle is successfully finished and submitted the snapshot does not reflect content of
+ * operational datastore - in that case caller is expected to clean flows in datastore first
+ * (see {@link StatisticsGatheringUtils#deleteAllKnownFlows}). The snapshot is trusted only while write epoch of
+ * the device ({@link TxFacade#getWriteEpoch()}) stays the same, so any failed submit, transaction chain recreation
+ * or role change drops it.
+ */
+public class IncrementalFlowStatisticsWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalFlowStatisticsWriter.class);
+    /** max. number of cycles an unchanged flow is skipped for, before its duration gets refreshed */
+    static final int REFRESH_CYCLES = 10;
+
+    private final Map<Short, Map<FlowId, FlowSnapshotEntry>> snapshot = new HashMap<>();
+    private long cycle;
+    private long cycleEpoch;
+    private boolean cycleBroken;
+    private boolean primed;
+    private long primedEpoch;
+
+    /**
+     * Start new gathering cycle.
+     *
+     * @param txFacade transaction manager of device
+     * @return true if snapshot reflects operational datastore (no full cleanup of flows is needed)
+     */
+    public synchronized boolean startCollecting(final TxFacade txFacade) {
+        cycle++;
+        cycleEpoch = txFacade.getWriteEpoch();
+        cycleBroken = false;
+        if (!primed || primedEpoch != cycleEpoch) {
+            invalidate();
+        }
+        return primed;
+    }
+
+    /**
+     * Write new and changed flows of current gathering cycle into transaction.
+     *
+     * @param data       flow statistics of current gathering cycle
+     * @param deviceInfo device
+     * @param registry   flow registry of device
+     * @param txFacade   transaction manager of device
+     */
+    public synchronized void writeFlowStatistics(final Iterable<FlowsStatisticsUpdate> data,
+                                                 final DeviceInfo deviceInfo,
+                                                 final DeviceFlowRegistry registry,
+                                                 final TxFacade txFacade) {
+        final InstanceIdentifier<FlowCapableNode> fNodeIdent = deviceInfo.getNodeInstanceIdentifier()
+                .augmentation(FlowCapableNode.class);
+        try {
+            for (final FlowsStatisticsUpdate flowsStatistics : data) {
+                for (final FlowAndStatisticsMapList flowStat : flowsStatistics.getFlowAndStatisticsMapList()) {
+                    final FlowBuilder flowBuilder = new FlowBuilder(flowStat);
+                    final short tableId = flowStat.getTableId();
+                    final FlowRegistryKey flowRegistryKey = FlowRegistryKeyFactory.create(flowBuilder.build());
+                    final FlowId flowId = registry.storeIfNecessary(flowRegistryKey);
+                    final FlowKey flowKey = new FlowKey(flowId);
+                    final Flow flow = flowBuilder.setKey(flowKey).build();
+
+                    final Map<FlowId, FlowSnapshotEntry> tableSnapshot =
+                            snapshot.computeIfAbsent(tableId, key -> new HashMap<>());
+                    final FlowSnapshotEntry lastEntry = tableSnapshot.get(flowId);
+                    if (Objects.nonNull(lastEntry) && lastEntry.isUnchanged(flow, flowStat, cycle)) {
+                        lastEntry.lastSeenCycle = cycle;
+                        continue;
+                    }
+
+                    tableSnapshot.put(flowId, new FlowSnapshotEntry(flow, flowStat, cycle));
+                    flowBuilder.addAugmentation(FlowStatisticsData.class,
+                            StatisticsGatheringUtils.refineFlowStatisticsAugmentation(flowStat).build());
+                    final InstanceIdentifier<Flow> flowIdent = fNodeIdent.child(Table.class, new TableKey(tableId))
+                            .child(Flow.class, flowKey);
+                    txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, flowIdent, flowBuilder.build());
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Not able to write to transaction: {}", e.getMessage());
+            cycleBroken = true;
+        }
+    }
+
+    /**
+     * Finish current gathering cycle successfully - flows not reported by device during the cycle get deleted
+     * and transaction is submitted. Snapshot is kept for next cycle only if the submit was accepted and no write
+     * of the cycle could have been lost.
+     *
+     * @param deviceInfo device
+     * @param txFacade   transaction manager of device
+     */
+    public synchronized void finishCollecting(final DeviceInfo deviceInfo, final TxFacade txFacade) {
+        final InstanceIdentifier<FlowCapableNode> fNodeIdent = deviceInfo.getNodeInstanceIdentifier()
+                .augmentation(FlowCapableNode.class);
+        try {
+            for (final Map.Entry<Short, Map<FlowId, FlowSnapshotEntry>> tableSnapshot : snapshot.entrySet()) {
+                final InstanceIdentifier<Table> tableIdent = fNodeIdent.child(Table.class,
+                        new TableKey(tableSnapshot.getKey()));
+                final Iterator<Map.Entry<FlowId, FlowSnapshotEntry>> flowIterator =
+                        tableSnapshot.getValue().entrySet().iterator();
+                while (flowIterator.hasNext()) {
+                    final Map.Entry<FlowId, FlowSnapshotEntry> flowEntry = flowIterator.next();
+                    if (flowEntry.getValue().lastSeenCycle != cycle) {
+                        txFacade.addDeleteToTxChain(LogicalDatastoreType.OPERATIONAL,
+                                tableIdent.child(Flow.class, new FlowKey(flowEntry.getKey())));
+                        flowIterator.remove();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Not able to delete vanished flows: {}", e.getMessage());
+            cycleBroken = true;
+        }
+
+        if (txFacade.submitTransaction() && !cycleBroken && txFacade.getWriteEpoch() == cycleEpoch) {
+            primed = true;
+            primedEpoch = cycleEpoch;
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drop snapshot - next gathering cycle has to clean flows in operational datastore and write all of them.
+     */
+    public synchronized void invalidate() {
+        snapshot.clear();
+        primed = false;
+    }
+
+    private static final class FlowSnapshotEntry {
+        private final Flow flow;
+        private final Counter64 packetCount;
+        private final Counter64 byteCount;
+        private final long durationNanos;
+        private final long writtenCycle;
+        private long lastSeenCycle;
+
+        FlowSnapshotEntry(final Flow flow, final FlowAndStatisticsMapList flowStat, final long cycle) {
+            this.flow = flow;
+            this.packetCount = flowStat.getPacketCount();
+            this.byteCount = flowStat.getByteCount();
+            this.durationNanos = durationNanos(flowStat.getDuration());
+            this.writtenCycle = cycle;
+            this.lastSeenCycle = cycle;
+        }
+
+        boolean isUnchanged(final Flow currentFlow, final FlowAndStatisticsMapList currentFlowStat, final long cycle) {
+            return cycle - writtenCycle < REFRESH_CYCLES
+                    && durationNanos(currentFlowStat.getDuration()) >= durationNanos
+                    && Objects.equals(packetCount, currentFlowStat.getPacketCount())
+                    && Objects.equals(byteCount, currentFlowStat.getByteCount())
+                    && flow.equals(currentFlow);
+        }
+
+        private static long durationNanos(final Duration duration) {
+            if (Objects.isNull(duration) || Objects.isNull(duration.getSecond())) {
+                return 0;
+            }
+            final long nanos = TimeUnit.SECONDS.toNanos(duration.getSecond().getValue());
+            return Objects.isNull(duration.getNanosecond()) ? nanos : nanos + duration.getNanosecond().getValue();
+        }
+    }
+}
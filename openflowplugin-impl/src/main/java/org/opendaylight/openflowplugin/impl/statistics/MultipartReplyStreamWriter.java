@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceRegistry;
+import org.opendaylight.openflowplugin.api.openflow.device.TxFacade;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Translates and writes multipart replies of single statistics request one by one as they arrive, so that neither
+ * whole reply nor its translation has to be kept in memory. Replies are processed in order of arrival using given
+ * executor, transaction gets submitted once the last reply is processed (see {@link #finish()}).
+ * <p/>
+ * At most {@value #MAX_PENDING_REPLIES} replies wait for the executor - beyond that the thread handing over
+ * replies (device connection) writes them itself, which slows down reading from device instead of piling up replies.
+ * <p/>
+ * Only pure statistics types are streamed - writing of partial reply does not harm them. Group and meter
+ * configuration replace content of operational datastore, so they are still processed as a whole.
+ */
+class MultipartReplyStreamWriter implements Consumer<MultipartReply> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MultipartReplyStreamWriter.class);
+    private static final Set<MultipartType> STREAMABLE_TYPES = ImmutableSet.of(
+            MultipartType.OFPMPTABLE,
+            MultipartType.OFPMPPORTSTATS,
+            MultipartType.OFPMPQUEUE,
+            MultipartType.OFPMPGROUP,
+            MultipartType.OFPMPMETER);
+    static final int MAX_PENDING_REPLIES = 32;
+
+    private final DeviceInfo deviceInfo;
+    private final MultipartType type;
+    private final TxFacade txFacade;
+    private final DeviceRegistry registry;
+    private final SinglePurposeMultipartReplyTranslator multipartReplyTranslator;
+    private final Executor executor;
+    private final Object writeLock = new Object();
+    @GuardedBy("this")
+    private final Queue<MultipartReply> pendingReplies = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean drainScheduled;
+    @GuardedBy("this")
+    private SettableFuture<Boolean> finished;
+    @GuardedBy("writeLock")
+    private boolean repliesProcessed = true;
+
+    MultipartReplyStreamWriter(final DeviceInfo deviceInfo,
+                               final MultipartType type,
+                               final TxFacade txFacade,
+                               final DeviceRegistry registry,
+                               final SinglePurposeMultipartReplyTranslator multipartReplyTranslator,
+                               final Executor executor) {
+        this.deviceInfo = deviceInfo;
+        this.type = type;
+        this.txFacade = txFacade;
+        this.registry = registry;
+        this.multipartReplyTranslator = multipartReplyTranslator;
+        this.executor = executor;
+    }
+
+    static boolean isStreamable(final MultipartType type) {
+        return STREAMABLE_TYPES.contains(type);
+    }
+
+    @Override
+    public void accept(final MultipartReply reply) {
+        final boolean startDrain;
+        final boolean overloaded;
+        synchronized (this) {
+            Preconditions.checkState(Objects.isNull(finished), "Reply streaming already finished");
+            pendingReplies.add(reply);
+            startDrain = markDrainScheduled();
+            overloaded = pendingReplies.size() > MAX_PENDING_REPLIES;
+        }
+        if (startDrain) {
+            executor.execute(this::drainReplies);
+        }
+        if (overloaded) {
+            writeNextReply();
+        }
+    }
+
+    /**
+     * @return future of outcome of whole statistics request, done when all replies are written and transaction
+     * is submitted
+     */
+    ListenableFuture<Boolean> finish() {
+        final SettableFuture<Boolean> finishedFuture = SettableFuture.create();
+        final boolean startDrain;
+        synchronized (this) {
+            Preconditions.checkState(Objects.isNull(finished), "Reply streaming already finished");
+            finished = finishedFuture;
+            startDrain = markDrainScheduled();
+        }
+        if (startDrain) {
+            executor.execute(this::drainReplies);
+        }
+        return finishedFuture;
+    }
+
+    @GuardedBy("this")
+    private boolean markDrainScheduled() {
+        if (drainScheduled) {
+            return false;
+        }
+        drainScheduled = true;
+        return true;
+    }
+
+    private void drainReplies() {
+        while (true) {
+            final SettableFuture<Boolean> finishedFuture;
+            synchronized (this) {
+                if (pendingReplies.isEmpty()) {
+                    drainScheduled = false;
+                    if (Objects.isNull(finished)) {
+                        return;
+                    }
+                    finishedFuture = finished;
+                } else {
+                    finishedFuture = null;
+                }
+            }
+            if (Objects.nonNull(finishedFuture)) {
+                submitProcessedReplies(finishedFuture);
+                return;
+            }
+            writeNextReply();
+        }
+    }
+
+    private void writeNextReply() {
+        // polled under write lock, so that replies are written in order of arrival by whichever thread
+        synchronized (writeLock) {
+            final MultipartReply reply;
+            synchronized (this) {
+                reply = pendingReplies.poll();
+            }
+            if (Objects.nonNull(reply)) {
+                // once some reply failed, the rest of them is just dropped
+                repliesProcessed = repliesProcessed && writeReply(reply);
+            }
+        }
+    }
+
+    private void submitProcessedReplies(final SettableFuture<Boolean> finishedFuture) {
+        final boolean processed;
+        synchronized (writeLock) {
+            processed = repliesProcessed;
+            if (processed) {
+                LOG.debug("Stats reply added to transaction for node {} of type {}", deviceInfo.getNodeId(), type);
+                txFacade.submitTransaction();
+            }
+        }
+        finishedFuture.set(processed);
+    }
+
+    private boolean writeReply(final MultipartReply reply) {
+        try {
+            final List<? extends DataObject> multipartDataList = multipartReplyTranslator.translate(
+                    deviceInfo.getDatapathId(), deviceInfo.getVersion(), reply);
+            if (multipartDataList.isEmpty()) {
+                return true;
+            }
+            return StatisticsGatheringUtils.writeStatistics(multipartDataList, multipartDataList.get(0),
+                    deviceInfo, txFacade, registry);
+        } catch (final Exception e) {
+            LOG.warn("stats processing of type {} for node {} failed during streaming of reply with xid {}",
+                    type, deviceInfo.getNodeId(), reply.getXid(), e);
+            return false;
+        }
+    }
+}
@@ -11,19 +11,26 @@ package org.opendaylight.openflowplugin.impl.statistics;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.Timeout;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -53,15 +60,24 @@ class StatisticsContextImpl implements StatisticsContext {
 
     private static final Logger LOG = LoggerFactory.getLogger(StatisticsContextImpl.class);
     private static final String CONNECTION_CLOSED = "Connection closed.";
+    /**
+     * Statistics types which have to be collected only after their prerequisite type is collected (e.g. groups
+     * referenced by group statistics are stored by group description statistics).
+     */
+    private static final Map<MultipartType, MultipartType> STAT_PREREQUISITES = ImmutableMap.of(
+            MultipartType.OFPMPGROUP, MultipartType.OFPMPGROUPDESC,
+            MultipartType.OFPMPMETER, MultipartType.OFPMPMETERCONFIG,
+            MultipartType.OFPMPFLOW, MultipartType.OFPMPTABLE);
 
     private final ItemLifecycleListener itemLifeCycleListener;
-    private final Collection<RequestContext<?>> requestContexts = new HashSet<>();
+    private final Collection<RequestContext<?>> requestContexts = ConcurrentHashMap.newKeySet();
     private final DeviceContext deviceContext;
     private final DeviceState devState;
     private final ListenableFuture<Boolean> emptyFuture;
     private final boolean shuttingDownStatisticsPolling;
     private final SinglePurposeMultipartReplyTranslator multipartReplyTranslator;
     private final Object collectionStatTypeLock = new Object();
+    private final Object statRequestLock = new Object();
     @GuardedBy("collectionStatTypeLock")
     private List<MultipartType> collectingStatType;
 
@@ -78,6 +94,8 @@ class StatisticsContextImpl implements StatisticsContext {
     private ClusterInitializationPhaseHandler initialSubmitHandler;
 
     private ListenableFuture<Boolean> lastDataGathering;
+    private int maxInFlightStatRequests = 1;
+    private Executor statisticsExecutor = MoreExecutors.directExecutor();
 
     StatisticsContextImpl(@Nonnull final DeviceInfo deviceInfo,
                           final boolean shuttingDownStatisticsPolling,
@@ -100,6 +118,19 @@ class StatisticsContextImpl implements StatisticsContext {
         this.lastDataGathering = null;
     }
 
+    /**
+     * Enable pipelined statistics collection - up to given number of statistics types are requested from device
+     * at once and their replies are translated and stored by given executor.
+     *
+     * @param maxInFlightStatRequests max. number of statistics types collected in parallel, 1 for sequential mode
+     * @param statisticsExecutor      executor for translation of replies
+     */
+    void setStatisticsPipelining(final int maxInFlightStatRequests, @Nonnull final Executor statisticsExecutor) {
+        Preconditions.checkArgument(maxInFlightStatRequests > 0, "At least one statistics request has to be allowed");
+        this.maxInFlightStatRequests = maxInFlightStatRequests;
+        this.statisticsExecutor = Preconditions.checkNotNull(statisticsExecutor);
+    }
+
     @Override
     public void statListForCollectingInitialization() {
         synchronized (collectionStatTypeLock) {
@@ -150,13 +181,16 @@ class StatisticsContextImpl implements StatisticsContext {
             return errorResultFuture;
         }
         synchronized (collectionStatTypeLock) {
-            final Iterator<MultipartType> statIterator = collectingStatType.iterator();
             final SettableFuture<Boolean> settableStatResultFuture = SettableFuture.create();
 
             // write start timestamp to state snapshot container
             StatisticsGatheringUtils.markDeviceStateSnapshotStart(deviceContext);
 
-            statChainFuture(statIterator, settableStatResultFuture, initial);
+            if (maxInFlightStatRequests > 1) {
+                new StatisticsPipeline(collectingStatType, settableStatResultFuture, initial).dispatch();
+            } else {
+                statChainFuture(collectingStatType.iterator(), settableStatResultFuture, initial);
+            }
 
             // write end timestamp to state snapshot container
             Futures.addCallback(settableStatResultFuture, new FutureCallback<Boolean>() {
@@ -177,6 +211,13 @@ class StatisticsContextImpl implements StatisticsContext {
     }
 
     private ListenableFuture<Boolean> chooseStat(final MultipartType multipartType, final boolean initial){
+        // gathering services keep event identifier of last request, so requests must not interleave
+        synchronized (statRequestLock) {
+            return chooseStatInternal(multipartType, initial);
+        }
+    }
+
+    private ListenableFuture<Boolean> chooseStatInternal(final MultipartType multipartType, final boolean initial){
         ListenableFuture<Boolean> result = Futures.immediateCheckedFuture(Boolean.TRUE);
 
         switch (multipartType) {
@@ -294,6 +335,78 @@ class StatisticsContextImpl implements StatisticsContext {
         });
     }
 
+    /**
+     * Keeps up to {@link #maxInFlightStatRequests} statistics types of one gathering cycle in flight, types with
+     * prerequisite wait until the prerequisite type is collected.
+     */
+    private final class StatisticsPipeline {
+        private final List<MultipartType> cycleTypes;
+        private final List<MultipartType> waitingTypes;
+        private final Set<MultipartType> collectedTypes = EnumSet.noneOf(MultipartType.class);
+        private final SettableFuture<Boolean> resultFuture;
+        private final boolean initial;
+        private int inFlight;
+
+        StatisticsPipeline(final List<MultipartType> cycleTypes, final SettableFuture<Boolean> resultFuture,
+                           final boolean initial) {
+            this.cycleTypes = cycleTypes;
+            this.waitingTypes = new LinkedList<>(cycleTypes);
+            this.resultFuture = resultFuture;
+            this.initial = initial;
+        }
+
+        void dispatch() {
+            final List<MultipartType> typesToStart = new ArrayList<>();
+            synchronized (this) {
+                if (resultFuture.isDone()) {
+                    return;
+                }
+                if (ConnectionContext.CONNECTION_STATE.RIP.equals(deviceContext.getPrimaryConnectionContext().getConnectionState())) {
+                    final String errMsg = String.format("Device connection is closed for Node : %s.",
+                            getDeviceInfo().getNodeId());
+                    LOG.debug(errMsg);
+                    resultFuture.setException(new IllegalStateException(errMsg));
+                    return;
+                }
+                if (waitingTypes.isEmpty() && inFlight == 0) {
+                    resultFuture.set(Boolean.TRUE);
+                    LOG.debug("Stats collection successfully finished for node {}", getDeviceInfo().getLOGValue());
+                    return;
+                }
+                final Iterator<MultipartType> iterator = waitingTypes.iterator();
+                while (iterator.hasNext() && inFlight < maxInFlightStatRequests) {
+                    final MultipartType type = iterator.next();
+                    final MultipartType prerequisite = STAT_PREREQUISITES.get(type);
+                    if (Objects.isNull(prerequisite) || !cycleTypes.contains(prerequisite)
+                            || collectedTypes.contains(prerequisite)) {
+                        iterator.remove();
+                        inFlight++;
+                        typesToStart.add(type);
+                    }
+                }
+            }
+
+            for (final MultipartType type : typesToStart) {
+                LOG.debug("Stats pipelining type {} for node {}", type, getDeviceInfo().getLOGValue());
+                Futures.addCallback(chooseStat(type, initial), new FutureCallback<Boolean>() {
+                    @Override
+                    public void onSuccess(final Boolean result) {
+                        synchronized (StatisticsPipeline.this) {
+                            inFlight--;
+                            collectedTypes.add(type);
+                        }
+                        dispatch();
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull final Throwable t) {
+                        resultFuture.setException(t);
+                    }
+                });
+            }
+        }
+    }
+
     /**
      * Method checks a device state. It returns null for be able continue. Otherwise it returns immediateFuture
      * which has to be returned from caller too
@@ -327,7 +440,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPFLOW*/ multipartType,
                 deviceContext,
                 deviceContext,
-                initial, multipartReplyTranslator) : emptyFuture;
+                initial, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectTableStatistics(final MultipartType multipartType) {
@@ -337,7 +450,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPTABLE*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectPortStatistics(final MultipartType multipartType) {
@@ -347,7 +460,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPPORTSTATS*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectQueueStatistics(final MultipartType multipartType) {
@@ -357,7 +470,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPQUEUE*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator);
+                false, multipartReplyTranslator, statisticsExecutor);
     }
 
     private ListenableFuture<Boolean> collectGroupDescStatistics(final MultipartType multipartType) {
@@ -367,7 +480,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPGROUPDESC*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectGroupStatistics(final MultipartType multipartType) {
@@ -377,7 +490,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPGROUP*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectMeterConfigStatistics(final MultipartType multipartType) {
@@ -387,7 +500,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPMETERCONFIG*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     private ListenableFuture<Boolean> collectMeterStatistics(final MultipartType multipartType) {
@@ -397,7 +510,7 @@ class StatisticsContextImpl implements StatisticsContext {
                 /*MultipartType.OFPMPMETER*/ multipartType,
                 deviceContext,
                 deviceContext,
-                false, multipartReplyTranslator) : emptyFuture;
+                false, multipartReplyTranslator, statisticsExecutor) : emptyFuture;
     }
 
     @VisibleForTesting
@@ -15,12 +15,13 @@ import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureFallback;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
@@ -38,6 +39,7 @@ import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.Event
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.StatisticsGatherer;
 import org.opendaylight.openflowplugin.impl.registry.flow.FlowRegistryKeyFactory;
 import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.EventsTimeCounter;
+import org.opendaylight.openflowplugin.impl.statistics.services.dedicated.StatisticsGatheringService;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeConnector;
@@ -134,16 +136,42 @@ public final class StatisticsGatheringUtils {
                                                       final DeviceRegistry registry,
                                                       final Boolean initial,
                                                       final SinglePurposeMultipartReplyTranslator multipartReplyTranslator) {
+        return gatherStatistics(statisticsGatheringService, deviceInfo, type, txFacade, registry, initial,
+                multipartReplyTranslator, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Request statistics of given type and store them into operational datastore.
+     *
+     * @param executor executor for translation and storing of replies (thread completing the request by default)
+     */
+    static ListenableFuture<Boolean> gatherStatistics(final StatisticsGatherer statisticsGatheringService,
+                                                      final DeviceInfo deviceInfo,
+                                                      final MultipartType type,
+                                                      final TxFacade txFacade,
+                                                      final DeviceRegistry registry,
+                                                      final Boolean initial,
+                                                      final SinglePurposeMultipartReplyTranslator multipartReplyTranslator,
+                                                      final Executor executor) {
         EventIdentifier wholeProcessEventIdentifier = null;
         if (MultipartType.OFPMPFLOW.equals(type)) {
             wholeProcessEventIdentifier = new EventIdentifier(type.toString(), deviceInfo.getNodeId().getValue());
             EventsTimeCounter.markStart(wholeProcessEventIdentifier);
         }
         final EventIdentifier ofpQueuToRequestContextEventIdentifier = new EventIdentifier(QUEUE2_REQCTX + type.toString(), deviceInfo.getNodeId().toString());
-        final ListenableFuture<RpcResult<List<MultipartReply>>> statisticsDataInFuture =
-                JdkFutureAdapters.listenInPoolThread(statisticsGatheringService.getStatisticsOfType(
-                        ofpQueuToRequestContextEventIdentifier, type));
-        return transformAndStoreStatisticsData(statisticsDataInFuture, deviceInfo, wholeProcessEventIdentifier, type, txFacade, registry, initial, multipartReplyTranslator);
+
+        MultipartReplyStreamWriter streamWriter = null;
+        final ListenableFuture<RpcResult<List<MultipartReply>>> statisticsDataInFuture;
+        if (statisticsGatheringService instanceof StatisticsGatheringService && MultipartReplyStreamWriter.isStreamable(type)) {
+            // replies get translated and written as they arrive instead of being buffered until the last one
+            streamWriter = new MultipartReplyStreamWriter(deviceInfo, type, txFacade, registry, multipartReplyTranslator, executor);
+            statisticsDataInFuture = ((StatisticsGatheringService) statisticsGatheringService).getStatisticsOfType(
+                    ofpQueuToRequestContextEventIdentifier, type, streamWriter);
+        } else {
+            statisticsDataInFuture = statisticsGatheringService.getStatisticsOfType(
+                    ofpQueuToRequestContextEventIdentifier, type);
+        }
+        return transformAndStoreStatisticsData(statisticsDataInFuture, deviceInfo, wholeProcessEventIdentifier, type, txFacade, registry, initial, multipartReplyTranslator, streamWriter, executor);
     }
 
     private static ListenableFuture<Boolean> transformAndStoreStatisticsData(final ListenableFuture<RpcResult<List<MultipartReply>>> statisticsDataInFuture,
@@ -153,7 +181,9 @@ public final class StatisticsGatheringUtils {
                                                                              final TxFacade txFacade,
                                                                              final DeviceRegistry registry,
                                                                              final boolean initial,
-                                                                             final SinglePurposeMultipartReplyTranslator multipartReplyTranslator) {
+                                                                             final SinglePurposeMultipartReplyTranslator multipartReplyTranslator,
+                                                                             @Nullable final MultipartReplyStreamWriter streamWriter,
+                                                                             final Executor executor) {
         return Futures.transform(statisticsDataInFuture, new AsyncFunction<RpcResult<List<MultipartReply>>, Boolean>() {
             @Nullable
             @Override
@@ -162,8 +192,12 @@ public final class StatisticsGatheringUtils {
                 if (rpcResult.isSuccessful()) {
                     LOG.debug("Stats reply successfully received for node {} of type {}", deviceInfo.getNodeId(), type);
 
-                    // TODO: in case the result value is null then multipart data probably got processed on the fly -
-                    // TODO: this contract should by clearly stated and enforced - now simple true value is returned
+                    // in case the result value is null then multipart data got processed on the fly - either by
+                    // on-the-fly service (flows) or by stream writer, which has to be finished
+                    if (null == rpcResult.getResult() && null != streamWriter) {
+                        return streamWriter.finish();
+                    }
+
                     if (null != rpcResult.getResult()) {
                         Iterable<? extends DataObject> allMultipartData = Collections.emptyList();
                         DataObject multipartData = null;
@@ -185,27 +219,15 @@ public final class StatisticsGatheringUtils {
 
 
                         try {
-                            if (multipartData instanceof GroupStatisticsUpdated) {
-                                processGroupStatistics((Iterable<GroupStatisticsUpdated>) allMultipartData, deviceInfo, txFacade);
-                            } else if (multipartData instanceof MeterStatisticsUpdated) {
-                                processMetersStatistics((Iterable<MeterStatisticsUpdated>) allMultipartData, deviceInfo, txFacade);
-                            } else if (multipartData instanceof NodeConnectorStatisticsUpdate) {
-                                processNodeConnectorStatistics((Iterable<NodeConnectorStatisticsUpdate>) allMultipartData, deviceInfo, txFacade);
-                            } else if (multipartData instanceof FlowTableStatisticsUpdate) {
-                                processFlowTableStatistics((Iterable<FlowTableStatisticsUpdate>) allMultipartData, deviceInfo, txFacade);
-                            } else if (multipartData instanceof QueueStatisticsUpdate) {
-                                processQueueStatistics((Iterable<QueueStatisticsUpdate>) allMultipartData, deviceInfo, txFacade);
-                            } else if (multipartData instanceof FlowsStatisticsUpdate) {
+                            if (multipartData instanceof FlowsStatisticsUpdate) {
                                 /* FlowStat Processing is realized by NettyThread only by initPhase, otherwise it is realized
                                  * by MD-SAL thread */
                                 return processFlowStatistics((Iterable<FlowsStatisticsUpdate>) allMultipartData, deviceInfo, txFacade, registry.getDeviceFlowRegistry(), initial, eventIdentifier);
+                            }
 
-                            } else if (multipartData instanceof GroupDescStatsUpdated) {
-                                processGroupDescStats((Iterable<GroupDescStatsUpdated>) allMultipartData, deviceInfo, txFacade, registry.getDeviceGroupRegistry());
-                            } else if (multipartData instanceof MeterConfigStatsUpdated) {
-                                processMeterConfigStatsUpdated((Iterable<MeterConfigStatsUpdated>) allMultipartData, deviceInfo, txFacade, registry.getDeviceMeterRegistry());
-                            } else {
-                                isMultipartProcessed = Boolean.FALSE;
+                            isMultipartProcessed = writeStatistics(allMultipartData, multipartData, deviceInfo, txFacade, registry);
+                            if (isMultipartProcessed) {
+                                txFacade.submitTransaction();
                             }
                         } catch (final Exception e) {
                             LOG.warn("stats processing of type {} for node {} failed during write-to-tx step",
@@ -218,6 +240,10 @@ public final class StatisticsGatheringUtils {
                         //TODO : implement experimenter
                     } else {
                         LOG.debug("Stats reply was empty for node {} of type {}", deviceInfo.getNodeId(), type);
+                        if (null != eventIdentifier) {
+                            // flows got processed by on-the-fly service, whole process is over
+                            EventsTimeCounter.markEnd(eventIdentifier);
+                        }
                     }
 
                 } else {
@@ -226,7 +252,39 @@ public final class StatisticsGatheringUtils {
                 }
                 return Futures.immediateFuture(isMultipartProcessed);
             }
-        });
+        }, executor);
+    }
+
+    /**
+     * Write statistics of single type (except of flows) into transaction, transaction is not submitted.
+     *
+     * @param data          translated statistics
+     * @param multipartData sample of translated statistics determining their type
+     * @return false if type of statistics is not supported
+     */
+    static boolean writeStatistics(final Iterable<? extends DataObject> data,
+                                   final DataObject multipartData,
+                                   final DeviceInfo deviceInfo,
+                                   final TxFacade txFacade,
+                                   final DeviceRegistry registry) throws Exception {
+        if (multipartData instanceof GroupStatisticsUpdated) {
+            processGroupStatistics((Iterable<GroupStatisticsUpdated>) data, deviceInfo, txFacade);
+        } else if (multipartData instanceof MeterStatisticsUpdated) {
+            processMetersStatistics((Iterable<MeterStatisticsUpdated>) data, deviceInfo, txFacade);
+        } else if (multipartData instanceof NodeConnectorStatisticsUpdate) {
+            processNodeConnectorStatistics((Iterable<NodeConnectorStatisticsUpdate>) data, deviceInfo, txFacade);
+        } else if (multipartData instanceof FlowTableStatisticsUpdate) {
+            processFlowTableStatistics((Iterable<FlowTableStatisticsUpdate>) data, deviceInfo, txFacade);
+        } else if (multipartData instanceof QueueStatisticsUpdate) {
+            processQueueStatistics((Iterable<QueueStatisticsUpdate>) data, deviceInfo, txFacade);
+        } else if (multipartData instanceof GroupDescStatsUpdated) {
+            processGroupDescStats((Iterable<GroupDescStatsUpdated>) data, deviceInfo, txFacade, registry.getDeviceGroupRegistry());
+        } else if (multipartData instanceof MeterConfigStatsUpdated) {
+            processMeterConfigStatsUpdated((Iterable<MeterConfigStatsUpdated>) data, deviceInfo, txFacade, registry.getDeviceMeterRegistry());
+        } else {
+            return false;
+        }
+        return true;
     }
 
     private static void processMeterConfigStatsUpdated(final Iterable<MeterConfigStatsUpdated> data,
@@ -247,7 +305,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, meterInstanceIdentifier, meterBuilder.build());
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static ListenableFuture<Boolean> processFlowStatistics(final Iterable<FlowsStatisticsUpdate> data,
@@ -302,7 +359,7 @@ public final class StatisticsGatheringUtils {
      *
      * @param flowAndStats
      */
-    private static FlowStatisticsDataBuilder refineFlowStatisticsAugmentation(final FlowAndStatisticsMapList flowAndStats) {
+    static FlowStatisticsDataBuilder refineFlowStatisticsAugmentation(final FlowAndStatisticsMapList flowAndStats) {
         final FlowStatisticsBuilder flowStatisticsBuilder = new FlowStatisticsBuilder(flowAndStats);
         final FlowStatisticsDataBuilder flowStatisticsDataBld = new FlowStatisticsDataBuilder();
         flowStatisticsDataBld.setFlowStatistics(flowStatisticsBuilder.build());
@@ -373,7 +430,6 @@ public final class StatisticsGatheringUtils {
                 }
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static void processFlowTableStatistics(final Iterable<FlowTableStatisticsUpdate> data, final DeviceInfo deviceInfo, final TxFacade txFacade) throws Exception {
@@ -387,7 +443,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, tStatIdent, stats);
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static void processNodeConnectorStatistics(final Iterable<NodeConnectorStatisticsUpdate> data, final DeviceInfo deviceInfo, final TxFacade txFacade) throws Exception {
@@ -404,7 +459,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, flowCapNodeConnStatIdent, stats);
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static void processMetersStatistics(final Iterable<MeterStatisticsUpdated> data,
@@ -422,7 +476,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, msIdent, stats);
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static void deleteAllKnownMeters(final DeviceMeterRegistry meterRegistry, final InstanceIdentifier<FlowCapableNode> fNodeIdent, final TxFacade txFacade) throws Exception {
@@ -451,7 +504,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, groupIdent, groupBuilder.build());
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static void deleteAllKnownGroups(final TxFacade txFacade, final InstanceIdentifier<FlowCapableNode> fNodeIdent, final DeviceGroupRegistry groupRegistry) throws Exception {
@@ -476,7 +528,6 @@ public final class StatisticsGatheringUtils {
                 txFacade.writeToTransaction(LogicalDatastoreType.OPERATIONAL, gsIdent, stats);
             }
         }
-        txFacade.submitTransaction();
     }
 
     private static InstanceIdentifier<FlowCapableNode> assembleFlowCapableNodeInstanceIdentifier(final DeviceInfo deviceInfo) {
@@ -25,8 +25,12 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker;
 import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
@@ -39,6 +43,7 @@ import org.opendaylight.openflowplugin.api.openflow.lifecycle.LifecycleService;
 import org.opendaylight.openflowplugin.api.openflow.rpc.ItemLifeCycleSource;
 import org.opendaylight.openflowplugin.api.openflow.statistics.StatisticsContext;
 import org.opendaylight.openflowplugin.api.openflow.statistics.StatisticsManager;
+import org.opendaylight.openflowplugin.openflow.md.core.ThreadPoolLoggingExecutor;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorExecutor;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflowplugin.sm.control.rev150812.ChangeStatisticsWorkModeInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflowplugin.sm.control.rev150812.GetStatisticsWorkModeOutput;
@@ -56,6 +61,9 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
     private static final Logger LOG = LoggerFactory.getLogger(StatisticsManagerImpl.class);
 
     private static final long DEFAULT_STATS_TIMEOUT_SEC = 50L;
+    private static final int DEFAULT_MAX_IN_FLIGHT_STAT_REQUESTS = 1;
+    private static final long STATS_THREAD_KEEP_ALIVE_SEC = 60L;
+    private static final int DEFAULT_MAX_CONCURRENT_POLLS = 1000;
     private final ConvertorExecutor converterExecutor;
 
     private DeviceInitializationPhaseHandler deviceInitPhaseHandler;
@@ -63,9 +71,8 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
 
     private final ConcurrentMap<DeviceInfo, StatisticsContext> contexts = new ConcurrentHashMap<>();
 
-    private static final long basicTimerDelay = 3000;
-    private static long currentTimerDelay = basicTimerDelay;
-    private static final long maximumTimerDelay = 900000; //wait max 15 minutes for next statistics
+    private final AtomicInteger pollsInFlight = new AtomicInteger();
+    private volatile int maxConcurrentPolls = DEFAULT_MAX_CONCURRENT_POLLS;
 
     private StatisticsWorkMode workMode = StatisticsWorkMode.COLLECTALL;
     private final Semaphore workModeGuard = new Semaphore(1, true);
@@ -73,6 +80,8 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
     private BindingAwareBroker.RpcRegistration<StatisticsManagerControlService> controlServiceRegistration;
 
     private final HashedWheelTimer hashedWheelTimer;
+    private final ThreadPoolExecutor statisticsExecutor;
+    private volatile int maxInFlightStatRequests = DEFAULT_MAX_IN_FLIGHT_STAT_REQUESTS;
 
     @Override
     public void setDeviceInitializationPhaseHandler(final DeviceInitializationPhaseHandler handler) {
@@ -90,19 +99,26 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
         );
         this.isStatisticsPollingEnabled = isStatisticsPollingEnabled;
         this.hashedWheelTimer = hashedWheelTimer;
+        final int statisticsThreads = Runtime.getRuntime().availableProcessors();
+        this.statisticsExecutor = new ThreadPoolLoggingExecutor(statisticsThreads, statisticsThreads,
+                STATS_THREAD_KEEP_ALIVE_SEC, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), "ofppool-stats");
+        this.statisticsExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
     public void onDeviceContextLevelUp(final DeviceInfo deviceInfo,
                                        final LifecycleService lifecycleService) throws Exception {
 
-        final StatisticsContext statisticsContext =
+        final StatisticsContextImpl statisticsContext =
                 new StatisticsContextImpl(
                         deviceInfo,
                         isStatisticsPollingEnabled,
                         lifecycleService,
                         converterExecutor,
                         this);
+        if (maxInFlightStatRequests > 1) {
+            statisticsContext.setStatisticsPipelining(maxInFlightStatRequests, statisticsExecutor);
+        }
         Verify.verify(
                 contexts.putIfAbsent(deviceInfo, statisticsContext) == null,
                 "StatisticsCtx still not closed for Node {}", deviceInfo.getLOGValue()
@@ -114,7 +130,7 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
     @VisibleForTesting
     void pollStatistics(final DeviceState deviceState,
                         final StatisticsContext statisticsContext,
-                        final TimeCounter timeCounter,
+                        final StatisticsPollingSchedule pollingSchedule,
                         final DeviceInfo deviceInfo) {
 
         if (!statisticsContext.isSchedulingEnabled()) {
@@ -124,31 +140,52 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
             return;
         }
 
+        if (pollsInFlight.incrementAndGet() > maxConcurrentPolls) {
+            pollsInFlight.decrementAndGet();
+            // global budget exhausted - retry at random point of basic delay, so that deferred polls spread
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Statistics polling budget exhausted, deferring polling for device: {}", deviceInfo.getNodeId());
+            }
+            schedulePolling(deviceState, deviceInfo, statisticsContext, pollingSchedule,
+                    ThreadLocalRandom.current().nextLong(1, StatisticsPollingSchedule.BASIC_TIMER_DELAY));
+            return;
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("POLLING ALL STATISTICS for device: {}", deviceInfo.getNodeId());
         }
+        final TimeCounter timeCounter = pollingSchedule.getTimeCounter();
         timeCounter.markStart();
-        final ListenableFuture<Boolean> deviceStatisticsCollectionFuture = statisticsContext.gatherDynamicData();
+        ListenableFuture<Boolean> gatheringFuture;
+        try {
+            gatheringFuture = statisticsContext.gatherDynamicData();
+        } catch (RuntimeException e) {
+            // handled by failure callback below, so that poll in flight gets released
+            gatheringFuture = Futures.immediateFailedFuture(e);
+        }
+        final ListenableFuture<Boolean> deviceStatisticsCollectionFuture = gatheringFuture;
         Futures.addCallback(deviceStatisticsCollectionFuture, new FutureCallback<Boolean>() {
             @Override
             public void onSuccess(final Boolean o) {
+                pollsInFlight.decrementAndGet();
                 timeCounter.addTimeMark();
-                calculateTimerDelay(timeCounter);
-                scheduleNextPolling(deviceState, deviceInfo, statisticsContext, timeCounter);
+                pollingSchedule.calculateTimerDelay();
+                scheduleNextPolling(deviceState, deviceInfo, statisticsContext, pollingSchedule);
             }
 
             @Override
             public void onFailure(@Nonnull final Throwable throwable) {
+                pollsInFlight.decrementAndGet();
                 timeCounter.addTimeMark();
                 LOG.warn("Statistics gathering for single node {} was not successful: ", deviceInfo.getLOGValue(), throwable.getMessage());
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Gathering for node {} failure: ", deviceInfo.getLOGValue(), throwable);
                 }
-                calculateTimerDelay(timeCounter);
+                pollingSchedule.calculateTimerDelay();
                 if (throwable instanceof IllegalStateException) {
                     stopScheduling(deviceInfo);
                 } else {
-                    scheduleNextPolling(deviceState, deviceInfo, statisticsContext, timeCounter);
+                    scheduleNextPolling(deviceState, deviceInfo, statisticsContext, pollingSchedule);
                 }
             }
         });
@@ -168,43 +205,34 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
     private void scheduleNextPolling(final DeviceState deviceState,
                                      final DeviceInfo deviceInfo,
                                      final StatisticsContext statisticsContext,
-                                     final TimeCounter timeCounter) {
+                                     final StatisticsPollingSchedule pollingSchedule) {
+        schedulePolling(deviceState, deviceInfo, statisticsContext, pollingSchedule, pollingSchedule.getNextDelay());
+    }
+
+    private void schedulePolling(final DeviceState deviceState,
+                                 final DeviceInfo deviceInfo,
+                                 final StatisticsContext statisticsContext,
+                                 final StatisticsPollingSchedule pollingSchedule,
+                                 final long delayMillis) {
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SCHEDULING NEXT STATISTICS POLLING for device: {}", deviceInfo.getNodeId());
+            LOG.debug("SCHEDULING NEXT STATISTICS POLLING for device: {} in {} ms", deviceInfo.getNodeId(), delayMillis);
         }
         if (!isStatisticsPollingEnabled) {
             final Timeout pollTimeout = hashedWheelTimer.newTimeout(
                     timeout -> pollStatistics(
                             deviceState,
                             statisticsContext,
-                            timeCounter,
+                            pollingSchedule,
                             deviceInfo),
-                    currentTimerDelay,
+                    delayMillis,
                     TimeUnit.MILLISECONDS);
             statisticsContext.setPollTimeout(pollTimeout);
         }
     }
 
     @VisibleForTesting
-    void calculateTimerDelay(final TimeCounter timeCounter) {
-        final long averageStatisticsGatheringTime = timeCounter.getAverageTimeBetweenMarks();
-        if (averageStatisticsGatheringTime > currentTimerDelay) {
-            currentTimerDelay *= 2;
-            if (currentTimerDelay > maximumTimerDelay) {
-                currentTimerDelay = maximumTimerDelay;
-            }
-        } else {
-            if (currentTimerDelay > basicTimerDelay) {
-                currentTimerDelay /= 2;
-            } else {
-                currentTimerDelay = basicTimerDelay;
-            }
-        }
-    }
-
-    @VisibleForTesting
-    static long getCurrentTimerDelay() {
-        return currentTimerDelay;
+    int getPollsInFlight() {
+        return pollsInFlight.get();
     }
 
     @Override
@@ -239,7 +267,9 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
                     final DeviceContext deviceContext = statisticsContext.gainDeviceContext();
                     switch (targetWorkMode) {
                         case COLLECTALL:
-                            scheduleNextPolling(statisticsContext.gainDeviceState(), deviceInfo, statisticsContext, new TimeCounter());
+                            final StatisticsPollingSchedule pollingSchedule = new StatisticsPollingSchedule();
+                            schedulePolling(statisticsContext.gainDeviceState(), deviceInfo, statisticsContext,
+                                    pollingSchedule, pollingSchedule.getInitialDelay());
                             for (final ItemLifeCycleSource lifeCycleSource : deviceContext.getItemLifeCycleSourceRegistry().getLifeCycleSources()) {
                                 lifeCycleSource.setItemLifecycleListener(null);
                             }
@@ -291,11 +321,13 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
         LOG.info("Scheduling statistics poll for device: {}", deviceInfo.getNodeId());
 
         statisticsContext.setSchedulingEnabled(true);
-        scheduleNextPolling(
+        final StatisticsPollingSchedule pollingSchedule = new StatisticsPollingSchedule();
+        schedulePolling(
                 statisticsContext.gainDeviceState(),
                 deviceInfo,
                 statisticsContext,
-                new TimeCounter()
+                pollingSchedule,
+                pollingSchedule.getInitialDelay()
         );
     }
 
@@ -323,6 +355,19 @@ public class StatisticsManagerImpl implements StatisticsManager, StatisticsManag
                 iterator.hasNext();) {
             iterator.next().close();
         }
+        statisticsExecutor.shutdown();
+    }
+
+    @Override
+    public void setMaxConcurrentPolls(final int maxConcurrentPolls) {
+        Preconditions.checkArgument(maxConcurrentPolls > 0, "At least one statistics polling has to be allowed");
+        this.maxConcurrentPolls = maxConcurrentPolls;
+    }
+
+    @Override
+    public void setMaxInFlightStatRequests(final int maxInFlightStatRequests) {
+        Preconditions.checkArgument(maxInFlightStatRequests > 0, "At least one statistics request has to be allowed");
+        this.maxInFlightStatRequests = maxInFlightStatRequests;
     }
 
     @Override
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Statistics polling schedule of single device. Polling delay adapts to the time the device needs for one
+ * statistics gathering cycle, so slow device backs off without affecting polling of other devices. Each delay
+ * is jittered in order to prevent devices from polling in lockstep.
+ */
+class StatisticsPollingSchedule {
+
+    static final long BASIC_TIMER_DELAY = 3000;
+    //wait max 15 minutes for next statistics
+    static final long MAXIMUM_TIMER_DELAY = 900000;
+    private static final long JITTER_DIVISOR = 10;
+
+    private final TimeCounter timeCounter;
+    private long currentTimerDelay = BASIC_TIMER_DELAY;
+
+    StatisticsPollingSchedule() {
+        this(new TimeCounter());
+    }
+
+    @VisibleForTesting
+    StatisticsPollingSchedule(final TimeCounter timeCounter) {
+        this.timeCounter = timeCounter;
+    }
+
+    TimeCounter getTimeCounter() {
+        return timeCounter;
+    }
+
+    /**
+     * Double polling delay if last gathering took longer than current delay, otherwise halve it down to basic delay.
+     */
+    void calculateTimerDelay() {
+        final long averageStatisticsGatheringTime = timeCounter.getAverageTimeBetweenMarks();
+        if (averageStatisticsGatheringTime > currentTimerDelay) {
+            currentTimerDelay = Math.min(currentTimerDelay * 2, MAXIMUM_TIMER_DELAY);
+        } else {
+            currentTimerDelay = Math.max(currentTimerDelay / 2, BASIC_TIMER_DELAY);
+        }
+    }
+
+    long getCurrentTimerDelay() {
+        return currentTimerDelay;
+    }
+
+    /**
+     * @return delay of first polling - spreads start of polling of devices over basic delay
+     */
+    long getInitialDelay() {
+        return ThreadLocalRandom.current().nextLong(BASIC_TIMER_DELAY);
+    }
+
+    /**
+     * @return current delay +/- 10% jitter
+     */
+    long getNextDelay() {
+        final long jitter = currentTimerDelay / JITTER_DIVISOR;
+        return currentTimerDelay - jitter + ThreadLocalRandom.current().nextLong(2 * jitter + 1);
+    }
+}
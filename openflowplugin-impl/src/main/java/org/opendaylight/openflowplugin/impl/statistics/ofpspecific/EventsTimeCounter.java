@@ -8,139 +8,116 @@
 
 package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.EventIdentifier;
 
 /**
+ * Per device and per event latency instrumentation. Every {@link #markStart(EventIdentifier)} yields start token
+ * (held by given event identifier instance until {@link #markEnd(EventIdentifier)}), so that concurrent occurrences
+ * of the same event do not overwrite each other as long as they use their own identifier instance. Latencies are
+ * recorded into lock-free {@link LatencyHistogram}.
+ * <p/>
  * Created by Martin Bobak &lt;mbobak@cisco.com&gt; on 28.5.2015.
  */
 public final class EventsTimeCounter {
 
-    private static final Map<String, Map<String, EventTimeCounter>> DEVICES_EVENTS = new HashMap<>();
+    private static final double[] REPORTED_PERCENTILES = {50.0, 99.0, 99.9};
+    private static final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> DEVICES_EVENTS =
+            new ConcurrentHashMap<>();
+    /** start tokens of events in progress, event identifiers are compared by identity and weakly referenced */
+    private static final Cache<EventIdentifier, Long> PENDING_EVENTS = CacheBuilder.newBuilder().weakKeys().build();
+    private static final EventsTimeCounterMXBean MX_BEAN = new EventsTimeCounterMXBean() {
+        @Override
+        public List<String> provideTimes() {
+            return EventsTimeCounter.provideTimes();
+        }
+
+        @Override
+        public void resetAllCounters() {
+            EventsTimeCounter.resetAllCounters();
+        }
+    };
 
     private EventsTimeCounter() {
         // Hiding implicit constructor
     }
 
-    public static void markStart(final EventIdentifier eventIdentifier) {
-        Map<String, EventTimeCounter> deviceEvents = getOrCreateCountersForDevice(eventIdentifier.getDeviceId());
-        EventTimeCounter eventTimeCounter = getOrCreateEventOfType(eventIdentifier.getEventName(), deviceEvents);
-        eventTimeCounter.markStart();
+    /**
+     * @param eventIdentifier identifier of starting event
+     * @return start token of event
+     */
+    public static long markStart(final EventIdentifier eventIdentifier) {
+        final long startToken = System.nanoTime();
+        PENDING_EVENTS.put(eventIdentifier, startToken);
+        return startToken;
     }
 
+    /**
+     * Record latency of event started by {@link #markStart(EventIdentifier)} with the same identifier instance,
+     * nothing is recorded if there is no such event in progress.
+     */
     public static void markEnd(final EventIdentifier eventIdentifier) {
-        Map<String, EventTimeCounter> deviceEvents = getOrCreateCountersForDevice(eventIdentifier.getDeviceId());
-        EventTimeCounter eventTimeCounter = getOrCreateEventOfType(eventIdentifier.getEventName(), deviceEvents);
-        eventTimeCounter.markEnd();
-    }
-
-    private static EventTimeCounter getOrCreateEventOfType(final String event, final Map<String, EventTimeCounter> deviceEvents) {
-        EventTimeCounter lookup = deviceEvents.get(event);
-        if (null == lookup) {
-            lookup = new EventTimeCounter();
-            deviceEvents.put(event, lookup);
+        final Long startToken = PENDING_EVENTS.asMap().remove(eventIdentifier);
+        if (null != startToken) {
+            markEnd(eventIdentifier, startToken);
         }
-        return lookup;
     }
 
-    private static Map<String, EventTimeCounter> getOrCreateCountersForDevice(final String deviceId) {
-        Map<String, EventTimeCounter> lookup = DEVICES_EVENTS.get(deviceId);
-        if (null == lookup) {
-            lookup = new HashMap<>();
-            DEVICES_EVENTS.put(deviceId, lookup);
-        }
+    /**
+     * @param eventIdentifier identifier of finished event
+     * @param startToken      token provided by {@link #markStart(EventIdentifier)}
+     */
+    public static void markEnd(final EventIdentifier eventIdentifier, final long startToken) {
+        getOrCreateEventOfType(eventIdentifier).recordNanos(System.nanoTime() - startToken);
+    }
 
-        return lookup;
+    private static LatencyHistogram getOrCreateEventOfType(final EventIdentifier eventIdentifier) {
+        return DEVICES_EVENTS.computeIfAbsent(eventIdentifier.getDeviceId(), deviceId -> new ConcurrentHashMap<>())
+                .computeIfAbsent(eventIdentifier.getEventName(), eventName -> new LatencyHistogram());
     }
 
     public static List<String> provideTimes() {
         List<String> dump = new ArrayList<>();
-        for (Map.Entry<String, Map<String, EventTimeCounter>> deviceEntry : DEVICES_EVENTS.entrySet()) {
-            Map<String, EventTimeCounter> eventsMap = deviceEntry.getValue();
+        for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> deviceEntry : DEVICES_EVENTS.entrySet()) {
+            Map<String, LatencyHistogram> eventsMap = deviceEntry.getValue();
             dump.add("================================================");
             dump.add(String.format("DEVICE : %s", deviceEntry.getKey()));
-            for (Map.Entry<String, EventTimeCounter> eventEntry : eventsMap.entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> eventEntry : eventsMap.entrySet()) {
                 final String eventName = eventEntry.getKey();
-                final EventTimeCounter eventTimeCounter = eventEntry.getValue();
+                final LatencyHistogram histogram = eventEntry.getValue();
                 dump.add(String.format("%s", eventName));
-                dump.add(String.format("    MIN TIME (ms):  %d",
-                        TimeUnit.MILLISECONDS.convert(eventTimeCounter.getMinimum(), TimeUnit.NANOSECONDS)));
-                dump.add(String.format("    MAX TIME (ms):  %d",
-                        TimeUnit.MILLISECONDS.convert(eventTimeCounter.getMaximum(), TimeUnit.NANOSECONDS)));
-                dump.add(String.format("    AVG TIME (ms):  %d",
-                        TimeUnit.MILLISECONDS.convert(eventTimeCounter.getAverage(), TimeUnit.NANOSECONDS)));
-
+                dump.add(String.format("    COUNT:          %d", histogram.getCount()));
+                dump.add(String.format("    MIN TIME (ms):  %s", toMillis(histogram.getMinimumMicros())));
+                dump.add(String.format("    MAX TIME (ms):  %s", toMillis(histogram.getMaximumMicros())));
+                dump.add(String.format("    AVG TIME (ms):  %s", toMillis(histogram.getAverageMicros())));
+                for (final double percentile : REPORTED_PERCENTILES) {
+                    dump.add(String.format("    P%-5s (ms):    %s", percentile,
+                            toMillis(histogram.getPercentileMicros(percentile))));
+                }
             }
         }
         return dump;
     }
 
+    private static String toMillis(final long micros) {
+        return String.format("%.3f", micros / 1000.0);
+    }
+
     public static void resetAllCounters() {
         DEVICES_EVENTS.clear();
+        PENDING_EVENTS.invalidateAll();
     }
 
-
-    private static final class EventTimeCounter {
-
-        private volatile long delta = 0;
-        private volatile long average = 0;
-        private volatile long minimum = 0;
-        private volatile long maximum = 0;
-        private volatile long summary = 0;
-        private volatile int counter = 0;
-
-        public synchronized void markStart() {
-            delta = System.nanoTime();
-        }
-
-        public synchronized void markEnd() {
-            if (0 == delta) {
-                return;
-            }
-            counter++;
-            delta = System.nanoTime() - delta;
-
-            if (delta < minimum || minimum == 0) {
-                minimum = delta;
-            }
-            if (delta > maximum) {
-                maximum = delta;
-            }
-            if (average > 0 && delta > (average * 1.8)) {
-                summary += average;
-            } else {
-                summary += delta;
-            }
-            average = summary / counter;
-        }
-
-        public synchronized void resetCounters() {
-            delta = 0;
-            average = 0;
-            minimum = 0;
-            maximum = 0;
-            summary = 0;
-            counter = 0;
-
-        }
-
-        public synchronized long getAverage() {
-            return average;
-        }
-
-        public synchronized long getMinimum() {
-            return minimum;
-        }
-
-        public synchronized long getMaximum() {
-            return maximum;
-        }
-
+    /**
+     * @return management view of event times
+     */
+    public static EventsTimeCounterMXBean getMXBean() {
+        return MX_BEAN;
     }
-
-
 }
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
+
+import java.util.List;
+
+/**
+ * Management view of latencies collected by {@link EventsTimeCounter}.
+ */
+public interface EventsTimeCounterMXBean {
+
+    List<String> provideTimes();
+
+    void resetAllCounters();
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (in the spirit of HdrHistogram). Values are recorded
+ * with microsecond resolution, every power of two is split into 8 linear sub-buckets,
+ * so that reported percentiles are precise to 1/8 of the value. Values above
+ * {@link #MAXIMUM_TRACKABLE_MICROS} are counted into the last bucket, exact maximum is tracked separately.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAXIMUM_EXPONENT = 32;
+    /** ~71 minutes */
+    static final long MAXIMUM_TRACKABLE_MICROS = (1L << MAXIMUM_EXPONENT) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAXIMUM_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator minimum = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param durationNanos measured latency
+     */
+    void recordNanos(final long durationNanos) {
+        final long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        buckets.incrementAndGet(bucketIndex(Math.min(micros, MAXIMUM_TRACKABLE_MICROS)));
+        count.increment();
+        sum.add(micros);
+        minimum.accumulate(micros);
+        maximum.accumulate(micros);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    long getMinimumMicros() {
+        return getCount() == 0 ? 0L : minimum.get();
+    }
+
+    long getMaximumMicros() {
+        return maximum.get();
+    }
+
+    long getAverageMicros() {
+        final long total = getCount();
+        return total == 0 ? 0L : sum.sum() / total;
+    }
+
+    /**
+     * @param percentile requested percentile, e.g. 99.9
+     * @return highest value equivalent to bucket containing requested percentile (capped by maximum recorded
+     * value), 0 if nothing was recorded
+     */
+    long getPercentileMicros(final double percentile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0L;
+        }
+
+        final long threshold = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long cumulative = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulative += buckets.get(index);
+            if (cumulative >= threshold) {
+                return Math.min(highestEquivalentValue(index), getMaximumMicros());
+            }
+        }
+        return getMaximumMicros();
+    }
+
+    /**
+     * Values below {@link #SUB_BUCKET_COUNT} have bucket of their own, bigger values share bucket with values
+     * having the same exponent and {@link #SUB_BUCKET_BITS} most significant bits.
+     */
+    private static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
@@ -10,12 +10,11 @@ package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
 
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageIntelligenceAgency;
 import org.slf4j.Logger;
@@ -25,20 +24,31 @@ import org.slf4j.LoggerFactory;
  * Implementation of {@link org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageIntelligenceAgency}.
  * Class counts message of {@link org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageSpy.STATISTIC_GROUP} type
  * and provides info as debug log.
+ * <p/>
+ * Every message class gets assigned index once (by {@link ClassValue}), counters of each statistic group are kept
+ * in array indexed by it. Counting of message is then just an array access and striped increment of {@link LongAdder}. Counter arrays
+ * are copied on write and published as whole, which happens only when a message class is counted for the first time
+ * in given group.
  */
 public class MessageIntelligenceAgencyImpl implements MessageIntelligenceAgency, MessageIntelligenceAgencyMXBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(MessageIntelligenceAgencyImpl.class);
+    private static final MessageCounters[] NO_COUNTERS = new MessageCounters[0];
 
     private static final class MessageCounters {
-        private static final AtomicLongFieldUpdater<MessageCounters> UPDATER = AtomicLongFieldUpdater.newUpdater(MessageCounters.class, "current");
-        @SuppressWarnings("unused")
-        private volatile long current;
+        private final Class<?> message;
+        private final LongAdder current = new LongAdder();
         private long cumulative;
 
+        MessageCounters(final Class<?> message) {
+            this.message = message;
+        }
+
         public synchronized long accumulate() {
-            final long inc = UPDATER.getAndSet(this, 0);
-            cumulative += inc;
+            // adder is never reset, so that no increment racing with snapshot gets lost
+            final long sum = current.sum();
+            final long inc = sum - cumulative;
+            cumulative = sum;
             return inc;
         }
 
@@ -46,12 +56,20 @@ public class MessageIntelligenceAgencyImpl implements MessageIntelligenceAgency,
             return cumulative;
         }
 
-        public long increment() {
-            return UPDATER.incrementAndGet(this);
+        public void increment() {
+            current.increment();
         }
     }
 
-    private ConcurrentMap<STATISTIC_GROUP, ConcurrentMap<Class<?>, MessageCounters>> inputStats = new ConcurrentHashMap<>();
+    private final AtomicInteger nextClassIndex = new AtomicInteger();
+    private final ClassValue<Integer> classIndex = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            // value computed by losing thread of a race is dropped, its index just stays unused
+            return nextClassIndex.getAndIncrement();
+        }
+    };
+    private volatile EnumMap<STATISTIC_GROUP, MessageCounters[]> inputStats = createEmptyStats();
 
     @Override
     public void spyMessage(@Nonnull final Class<?> message, final STATISTIC_GROUP statGroup) {
@@ -65,33 +83,40 @@ public class MessageIntelligenceAgencyImpl implements MessageIntelligenceAgency,
      * @return corresponding counter
      */
     private MessageCounters getCounters(final Class<?> message, final STATISTIC_GROUP statGroup) {
-        ConcurrentMap<Class<?>, MessageCounters> groupData = getOrCreateGroupData(statGroup);
-        MessageCounters counters = getOrCreateCountersPair(message, groupData);
-        return counters;
+        final int index = classIndex.get(message);
+        final MessageCounters[] groupData = inputStats.get(statGroup);
+        if (index < groupData.length) {
+            final MessageCounters counters = groupData[index];
+            if (counters != null) {
+                return counters;
+            }
+        }
+        return createCounters(message, index, statGroup);
     }
 
-    private static MessageCounters getOrCreateCountersPair(final Class<?> msgType, final ConcurrentMap<Class<?>, MessageCounters> groupData) {
-        final MessageCounters lookup = groupData.get(msgType);
-        if (lookup != null) {
-            return lookup;
+    private synchronized MessageCounters createCounters(final Class<?> message, final int index,
+                                                        final STATISTIC_GROUP statGroup) {
+        final MessageCounters[] groupData = inputStats.get(statGroup);
+        if (index < groupData.length && groupData[index] != null) {
+            return groupData[index];
         }
 
-        final MessageCounters newCounters = new MessageCounters();
-        final MessageCounters check = groupData.putIfAbsent(msgType, newCounters);
-        return check == null ? newCounters : check;
+        final MessageCounters[] newGroupData = Arrays.copyOf(groupData, Math.max(groupData.length, index + 1));
+        final MessageCounters newCounters = new MessageCounters(message);
+        newGroupData[index] = newCounters;
 
+        final EnumMap<STATISTIC_GROUP, MessageCounters[]> newStats = new EnumMap<>(inputStats);
+        newStats.put(statGroup, newGroupData);
+        inputStats = newStats;
+        return newCounters;
     }
 
-    private ConcurrentMap<Class<?>, MessageCounters> getOrCreateGroupData(final STATISTIC_GROUP statGroup) {
-        final ConcurrentMap<Class<?>, MessageCounters> lookup = inputStats.get(statGroup);
-        if (lookup != null) {
-            return lookup;
+    private static EnumMap<STATISTIC_GROUP, MessageCounters[]> createEmptyStats() {
+        final EnumMap<STATISTIC_GROUP, MessageCounters[]> stats = new EnumMap<>(STATISTIC_GROUP.class);
+        for (STATISTIC_GROUP statGroup : STATISTIC_GROUP.values()) {
+            stats.put(statGroup, NO_COUNTERS);
         }
-
-        final ConcurrentMap<Class<?>, MessageCounters> newmap = new ConcurrentHashMap<>();
-        final ConcurrentMap<Class<?>, MessageCounters> check = inputStats.putIfAbsent(statGroup, newmap);
-
-        return check == null ? newmap : check;
+        return stats;
     }
 
     @Override
@@ -107,19 +132,23 @@ public class MessageIntelligenceAgencyImpl implements MessageIntelligenceAgency,
     @Override
     public List<String> provideIntelligence() {
         List<String> dump = new ArrayList<>();
+        final EnumMap<STATISTIC_GROUP, MessageCounters[]> stats = inputStats;
 
         for (STATISTIC_GROUP statGroup : STATISTIC_GROUP.values()) {
-            Map<Class<?>, MessageCounters> groupData = inputStats.get(statGroup);
-            if (groupData != null) {
-                for (Entry<Class<?>, MessageCounters> statEntry : groupData.entrySet()) {
-                    long amountPerInterval = statEntry.getValue().accumulate();
-                    long cumulativeAmount = statEntry.getValue().getCumulative();
+            boolean activityDetected = false;
+            final MessageCounters[] groupData = stats.get(statGroup);
+            for (final MessageCounters counters : groupData) {
+                if (counters != null) {
+                    activityDetected = true;
+                    long amountPerInterval = counters.accumulate();
+                    long cumulativeAmount = counters.getCumulative();
                     dump.add(String.format("%s: MSG[%s] -> +%d | %d",
                             statGroup,
-                            statEntry.getKey().getSimpleName(),
+                            counters.message.getSimpleName(),
                             amountPerInterval, cumulativeAmount));
                 }
-            } else {
+            }
+            if (!activityDetected) {
                 dump.add(String.format("%s: no activity detected", statGroup));
             }
         }
@@ -127,7 +156,7 @@ public class MessageIntelligenceAgencyImpl implements MessageIntelligenceAgency,
     }
 
     @Override
-    public void resetStatistics() {
-        inputStats = new ConcurrentHashMap<>();
+    public synchronized void resetStatistics() {
+        inputStats = createEmptyStats();
     }
 }
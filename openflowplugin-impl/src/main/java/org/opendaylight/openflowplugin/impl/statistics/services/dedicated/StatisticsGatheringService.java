@@ -8,8 +8,9 @@
 
 package org.opendaylight.openflowplugin.impl.statistics.services.dedicated;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
-import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.RequestContextStack;
 import org.opendaylight.openflowplugin.api.openflow.device.Xid;
@@ -38,13 +39,31 @@ public class StatisticsGatheringService extends AbstractMultipartService<Multipa
     }
 
     @Override
-    public Future<RpcResult<List<MultipartReply>>> getStatisticsOfType(final EventIdentifier eventIdentifier, final MultipartType type) {
+    public ListenableFuture<RpcResult<List<MultipartReply>>> getStatisticsOfType(final EventIdentifier eventIdentifier, final MultipartType type) {
         LOG.debug("Getting statistics for node {} of type {}", getDeviceInfo().getNodeId(), type);
         EventsTimeCounter.markStart(eventIdentifier);
         setEventIdentifier(eventIdentifier);
         return handleServiceCall(type);
     }
 
+    /**
+     * Request statistics of given type and stream replies to given consumer as they arrive - successful result
+     * of the request carries no replies then.
+     *
+     * @param eventIdentifier        event to be measured
+     * @param type                   statistics type
+     * @param multipartReplyConsumer consumer of replies of this request
+     * @return future of request outcome
+     */
+    public ListenableFuture<RpcResult<List<MultipartReply>>> getStatisticsOfType(final EventIdentifier eventIdentifier,
+                                                                                 final MultipartType type,
+                                                                                 final Consumer<MultipartReply> multipartReplyConsumer) {
+        LOG.debug("Streaming statistics for node {} of type {}", getDeviceInfo().getNodeId(), type);
+        EventsTimeCounter.markStart(eventIdentifier);
+        setEventIdentifier(eventIdentifier);
+        return handleServiceCall(type, multipartReplyConsumer);
+    }
+
     @Override
     protected OfHeader buildRequest(final Xid xid, final MultipartType input) throws ServiceException {
         return MultipartRequestInputFactory.makeMultipartRequestInput(xid.getValue(), getVersion(), input);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.translator;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import org.opendaylight.openflowplugin.impl.util.NodeConnectorRefToPortTranslator;
+import org.opendaylight.openflowplugin.openflow.md.util.PacketInUtil;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorRef;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.ConnectionCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.packet.received.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.table.types.rev131026.TableId;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * {@link PacketReceived} backed by original {@link PacketInMessage}. Payload is taken over from the message once
+ * and handed out without any further copying (callers must not modify it), ingress and match get converted
+ * on first access only. Packets which are dropped before anybody looks at them are thus almost free.
+ */
+final class LazyPacketReceived implements PacketReceived {
+
+    private final PacketInMessage input;
+    private final BigInteger datapathId;
+    private final PacketReceivedTranslator translator;
+    private final byte[] payload;
+    private final FlowCookie flowCookie;
+    private final TableId tableId;
+    private volatile NodeConnectorRef ingress;
+    private volatile Match match;
+
+    LazyPacketReceived(final PacketInMessage input, final BigInteger datapathId,
+                       final PacketReceivedTranslator translator) {
+        this.input = Preconditions.checkNotNull(input);
+        this.datapathId = datapathId;
+        this.translator = translator;
+        this.payload = input.getData();
+        this.flowCookie = input.getCookie() == null ? null : new FlowCookie(input.getCookie());
+        this.tableId = input.getTableId() == null ? null : new TableId(input.getTableId().getValue().shortValue());
+    }
+
+    @Override
+    public ConnectionCookie getConnectionCookie() {
+        // TODO: connection cookie from connection distinguisher
+        return null;
+    }
+
+    @Override
+    public FlowCookie getFlowCookie() {
+        return flowCookie;
+    }
+
+    @Override
+    public TableId getTableId() {
+        return tableId;
+    }
+
+    @Override
+    public Class<? extends PacketInReason> getPacketInReason() {
+        return PacketInUtil.getMdSalPacketInReason(input.getReason());
+    }
+
+    @Override
+    public Match getMatch() {
+        if (input.getMatch() == null) {
+            return null;
+        }
+        // racing threads might both convert, result is the same
+        Match result = match;
+        if (result == null) {
+            result = translator.getPacketInMatch(input, datapathId);
+            match = result;
+        }
+        return result;
+    }
+
+    @Override
+    public NodeConnectorRef getIngress() {
+        NodeConnectorRef result = ingress;
+        if (result == null) {
+            result = NodeConnectorRefToPortTranslator.toNodeConnectorRef(input, datapathId);
+            ingress = result;
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    @Override
+    public <E extends Augmentation<PacketReceived>> E getAugmentation(final Class<E> augmentationType) {
+        Preconditions.checkNotNull(augmentationType, "Augmentation type reference cannot be NULL!");
+        return null;
+    }
+
+    @Override
+    public Class<? extends DataContainer> getImplementedInterface() {
+        return PacketReceived.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getConnectionCookie(), flowCookie, tableId, getPacketInReason(), getMatch(),
+                getIngress(), Arrays.hashCode(payload));
+    }
+
+    /**
+     * Equal to any {@link PacketReceived} with the same content, regardless of its implementation.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PacketReceived)) {
+            return false;
+        }
+        final PacketReceived other = (PacketReceived) obj;
+        return Objects.equals(getConnectionCookie(), other.getConnectionCookie())
+                && Objects.equals(flowCookie, other.getFlowCookie())
+                && Objects.equals(tableId, other.getTableId())
+                && Objects.equals(getPacketInReason(), other.getPacketInReason())
+                && Objects.equals(getMatch(), other.getMatch())
+                && Objects.equals(getIngress(), other.getIngress())
+                && Arrays.equals(payload, other.getPayload());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(PacketReceived.class)
+                .add("flowCookie", flowCookie)
+                .add("tableId", tableId)
+                .add("packetInReason", getPacketInReason())
+                .add("ingress", getIngress())
+                .add("payloadLength", payload == null ? 0 : payload.length)
+                .toString();
+    }
+}
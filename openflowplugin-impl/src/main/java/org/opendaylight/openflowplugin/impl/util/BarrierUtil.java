@@ -11,9 +11,9 @@ package org.opendaylight.openflowplugin.impl.util;
 import com.google.common.base.Function;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import javax.annotation.Nullable;
+import org.opendaylight.openflowplugin.impl.services.FlowCapableTransactionServiceImpl;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.transaction.rev150304.FlowCapableTransactionService;
@@ -46,7 +46,7 @@ public final class BarrierUtil {
      */
     public static <T> ListenableFuture<RpcResult<T>> chainBarrier(
             final ListenableFuture<RpcResult<T>> input, final NodeRef nodeRef,
-            final FlowCapableTransactionService transactionService,
+            final FlowCapableTransactionServiceImpl transactionService,
             final Function<Pair<RpcResult<T>, RpcResult<Void>>, RpcResult<T>> compositeTransform) {
         final MutablePair<RpcResult<T>, RpcResult<Void>> resultPair = new MutablePair<>();
 
@@ -57,7 +57,7 @@ public final class BarrierUtil {
                     public ListenableFuture<RpcResult<Void>> apply(@Nullable final RpcResult<T> interInput) throws Exception {
                         resultPair.setLeft(interInput);
                         final SendBarrierInput barrierInput = createSendBarrierInput(nodeRef);
-                        return JdkFutureAdapters.listenInPoolThread(transactionService.sendBarrier(barrierInput));
+                        return transactionService.sendBarrier(barrierInput);
                     }
                 });
         // store barrier result and return initiated pair
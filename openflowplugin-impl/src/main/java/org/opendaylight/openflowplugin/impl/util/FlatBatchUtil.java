@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchPlanStep;
+import org.opendaylight.openflowplugin.impl.services.batch.BatchStepFootprint;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchStepType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutputBuilder;
@@ -61,6 +62,30 @@ public final class FlatBatchUtil {
         }
     }
 
+    /**
+     * Build dependency graph of plan steps out of group and meter ids written and referenced by them.
+     * A step gets barrier dependency on each preceding step writing an object it refers to, referring
+     * to an object it writes or writing the same object and such preceding step is marked with barrier after.
+     *
+     * @param batchPlan plan steps in order of flat batch input
+     */
+    public static void markDependencies(final List<BatchPlanStep> batchPlan) {
+        final List<BatchStepFootprint> footprints = new ArrayList<>(batchPlan.size());
+        for (int i = 0; i < batchPlan.size(); i++) {
+            final BatchPlanStep planStep = batchPlan.get(i);
+            final BatchStepFootprint footprint = BatchStepFootprint.of(planStep);
+            for (int j = 0; j < i; j++) {
+                final BatchStepFootprint previousFootprint = footprints.get(j);
+                if (footprint.requiresBarrierAfter(previousFootprint)
+                        || footprint.writesSameObjects(previousFootprint)) {
+                    planStep.getBarrierDependencies().add(j);
+                    batchPlan.get(j).setBarrierAfter(true);
+                }
+            }
+            footprints.add(footprint);
+        }
+    }
+
     @VisibleForTesting
     static boolean decideBarrier(final EnumSet<BatchStepType> previousTypes, final BatchStepType type) {
         return isFlowBarrierNeeded(previousTypes, type)
@@ -16,6 +16,7 @@ import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.rpc.RpcContext;
 import org.opendaylight.openflowplugin.api.openflow.statistics.compatibility.Delegator;
 import org.opendaylight.openflowplugin.extension.api.core.extension.ExtensionConverterProvider;
+import org.opendaylight.openflowplugin.impl.services.FlowBatchPipeline;
 import org.opendaylight.openflowplugin.impl.services.FlowCapableTransactionServiceImpl;
 import org.opendaylight.openflowplugin.impl.services.NodeConfigServiceImpl;
 import org.opendaylight.openflowplugin.impl.services.PacketProcessingServiceImpl;
@@ -120,8 +121,11 @@ public class MdSalRegistrationUtils {
         statisticsProvider.register(QueueDirectStatisticsService.class, new QueueDirectStatisticsService(rpcContext, deviceContext, convertorExecutor));
         rpcContext.registerRpcServiceImplementation(OpendaylightDirectStatisticsService.class, new OpendaylightDirectStatisticsServiceImpl(statisticsProvider));
 
+        final FlowBatchPipeline flowBatchPipeline = rpcContext.isFlowBatchPipelined()
+                ? new FlowBatchPipeline(deviceContext, salFlowService, rpcContext)
+                : null;
         final SalFlatBatchServiceImpl salFlatBatchService = new SalFlatBatchServiceImpl(
-                new SalFlowsBatchServiceImpl(salFlowService, flowCapableTransactionService),
+                new SalFlowsBatchServiceImpl(salFlowService, flowCapableTransactionService, flowBatchPipeline),
                 new SalGroupsBatchServiceImpl(salGroupService, flowCapableTransactionService),
                 new SalMetersBatchServiceImpl(salMeterService, flowCapableTransactionService)
         );
@@ -10,6 +10,9 @@ package org.opendaylight.openflowplugin.impl.connection;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
 import junit.framework.TestCase;
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
@@ -37,6 +40,54 @@ public class OutboundQueueProviderImplTest extends TestCase {
         assertEquals(DUMMY_ENTRY_NUMBER, returnValue);
     }
 
+    @Test
+    public void testReserveEntryAsync() throws Exception {
+        outboundQueueProvider.onConnectionQueueChanged(null);
+        assertNull(outboundQueueProvider.reserveEntryAsync().get());
+
+        final OutboundQueue fullQueue = mock(OutboundQueue.class);
+        when(fullQueue.reserveEntry()).thenReturn(null);
+        outboundQueueProvider.onConnectionQueueChanged(fullQueue);
+        final ListenableFuture<Long> first = outboundQueueProvider.reserveEntryAsync();
+        final ListenableFuture<Long> second = outboundQueueProvider.reserveEntryAsync();
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        // waiting reservations are served in order by replacing queue
+        final OutboundQueue mockedQueue = mock(OutboundQueue.class);
+        when(mockedQueue.reserveEntry()).thenReturn(DUMMY_ENTRY_NUMBER, DUMMY_XID);
+        outboundQueueProvider.onConnectionQueueChanged(mockedQueue);
+        assertEquals(DUMMY_ENTRY_NUMBER, first.get());
+        assertEquals(DUMMY_XID, second.get());
+
+        when(mockedQueue.reserveEntry()).thenReturn(DUMMY_XID);
+        final ListenableFuture<Long> immediate = outboundQueueProvider.reserveEntryAsync();
+        assertTrue(immediate.isDone());
+        assertEquals(DUMMY_XID, immediate.get());
+    }
+
+    @Test
+    public void testReserveEntryAsyncBounded() throws Exception {
+        final OutboundQueue fullQueue = mock(OutboundQueue.class);
+        when(fullQueue.reserveEntry()).thenReturn(null);
+        outboundQueueProvider.onConnectionQueueChanged(fullQueue);
+
+        final List<ListenableFuture<Long>> waiting = new ArrayList<>();
+        for (int i = 0; i < OutboundQueueProviderImpl.MAX_PENDING_RESERVATIONS; i++) {
+            waiting.add(outboundQueueProvider.reserveEntryAsync());
+        }
+        final ListenableFuture<Long> overflow = outboundQueueProvider.reserveEntryAsync();
+        assertTrue(overflow.isDone());
+        assertNull(overflow.get());
+
+        // connection is gone - all waiting reservations fail
+        outboundQueueProvider.onConnectionQueueChanged(null);
+        for (ListenableFuture<Long> reservation : waiting) {
+            assertTrue(reservation.isDone());
+            assertNull(reservation.get());
+        }
+    }
+
     @Test
     public void testCreateBarrierRequest() {
         final BarrierInput barrierRequest = outboundQueueProvider.createBarrierRequest(DUMMY_XID);
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.device;
+
+import com.google.common.collect.ImmutableSet;
+import java.math.BigInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceivedBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.table.types.rev131026.TableId;
+
+/**
+ * Test for {@link PacketInClassifier}.
+ */
+public class PacketInClassifierTest {
+
+    @Test
+    public void testExtractEtherType() throws Exception {
+        Assert.assertEquals(PacketInClassifier.ETHERTYPE_LLDP,
+                PacketInClassifier.extractEtherType(createFrame(0x88, 0xcc)));
+        Assert.assertEquals(PacketInClassifier.ETHERTYPE_ARP,
+                PacketInClassifier.extractEtherType(createFrame(0x81, 0x00, 0x00, 0x0a, 0x08, 0x06)));
+        Assert.assertEquals(-1, PacketInClassifier.extractEtherType(createFrame(0x81, 0x00)));
+        Assert.assertEquals(-1, PacketInClassifier.extractEtherType(new byte[5]));
+        Assert.assertEquals(-1, PacketInClassifier.extractEtherType(null));
+    }
+
+    @Test
+    public void testIsPriority() throws Exception {
+        Assert.assertTrue(PacketInClassifier.DEFAULT.isPriority(createPacket(createFrame(0x88, 0xcc), null, null)));
+        Assert.assertFalse(PacketInClassifier.DEFAULT.isPriority(createPacket(createFrame(0x08, 0x00), (short) 1, null)));
+
+        final PacketInClassifier classifier = new PacketInClassifier(ImmutableSet.of(),
+                ImmutableSet.of((short) 1), ImmutableSet.of(BigInteger.TEN));
+        Assert.assertTrue(classifier.isPriority(createPacket(createFrame(0x08, 0x00), (short) 1, null)));
+        Assert.assertTrue(classifier.isPriority(createPacket(createFrame(0x08, 0x00), (short) 2, BigInteger.TEN)));
+        Assert.assertFalse(classifier.isPriority(createPacket(createFrame(0x88, 0xcc), (short) 2, BigInteger.ONE)));
+    }
+
+    private static PacketReceived createPacket(final byte[] data, final Short tableId, final BigInteger cookie) {
+        return new PacketReceivedBuilder()
+                .setPayload(data)
+                .setTableId(tableId == null ? null : new TableId(tableId))
+                .setFlowCookie(cookie == null ? null : new FlowCookie(cookie))
+                .build();
+    }
+
+    /**
+     * @return frame with zeroed addresses followed by given bytes
+     */
+    private static byte[] createFrame(final int... tail) {
+        final byte[] frame = new byte[12 + tail.length];
+        for (int i = 0; i < tail.length; i++) {
+            frame[12 + i] = (byte) tail[i];
+        }
+        return frame;
+    }
+}
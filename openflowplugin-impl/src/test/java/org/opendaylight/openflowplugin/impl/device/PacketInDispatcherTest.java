@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.device;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceivedBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.table.types.rev131026.TableId;
+
+/**
+ * Test for {@link PacketInDispatcher}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PacketInDispatcherTest {
+
+    @Mock
+    private DeviceInfo deviceInfoA;
+    @Mock
+    private DeviceInfo deviceInfoB;
+
+    private final List<String> published = new ArrayList<>();
+    private final List<SettableFuture<Object>> pending = new ArrayList<>();
+    private PacketInDispatcher dispatcher;
+
+    @Before
+    public void setUp() throws Exception {
+        dispatcher = new PacketInDispatcher(MoreExecutors.directExecutor(), 1);
+    }
+
+    @Test
+    public void testBulkRoundRobin() throws Exception {
+        final PacketInDispatcher.PacketInQueue queueA = dispatcher.register(deviceInfoA, createPublisher("A"));
+        final PacketInDispatcher.PacketInQueue queueB = dispatcher.register(deviceInfoB, createPublisher("B"));
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queueA.offer(createPacket(PacketInDispatcher.QUANTUM), false));
+        }
+        Assert.assertTrue(queueB.offer(createPacket(PacketInDispatcher.QUANTUM), false));
+        Assert.assertTrue(queueB.offer(createPacket(PacketInDispatcher.QUANTUM), false));
+
+        completeAll();
+        Assert.assertEquals(Arrays.asList("A", "B", "A", "B", "A", "A"), published);
+        Assert.assertEquals(0, dispatcher.getInFlight());
+    }
+
+    @Test
+    public void testPriorityLane() throws Exception {
+        final PacketInDispatcher.PacketInQueue queueA = dispatcher.register(deviceInfoA, createPublisher("A"));
+        final PacketInDispatcher.PacketInQueue queueB = dispatcher.register(deviceInfoB, createPublisher("B-lldp"));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(queueA.offer(createPacket(64), false));
+        }
+        Assert.assertTrue(queueB.offer(createPacket(64), true));
+
+        completeAll();
+        Assert.assertEquals(Arrays.asList("A", "B-lldp", "A", "A"), published);
+    }
+
+    @Test
+    public void testConfiguredClassifier() throws Exception {
+        dispatcher.setClassifier(new PacketInClassifier(ImmutableSet.of(), ImmutableSet.of((short) 3),
+                ImmutableSet.of()));
+        final PacketInDispatcher.PacketInQueue queueA = dispatcher.register(deviceInfoA, createPublisher("A"));
+        final PacketInDispatcher.PacketInQueue queueB = dispatcher.register(deviceInfoB, createPublisher("B-table3"));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(queueA.offer(createPacket(64)));
+        }
+        Assert.assertTrue(queueB.offer(new PacketReceivedBuilder().setPayload(new byte[64])
+                .setTableId(new TableId((short) 3)).build()));
+
+        completeAll();
+        Assert.assertEquals(Arrays.asList("A", "B-table3", "A", "A"), published);
+    }
+
+    @Test
+    public void testBulkCapacity() throws Exception {
+        final PacketInDispatcher.PacketInQueue queueA = dispatcher.register(deviceInfoA, createPublisher("A"));
+        queueA.setBulkCapacity(2);
+
+        // first packet is published right away, next two fill the lane
+        Assert.assertTrue(queueA.offer(createPacket(64), false));
+        Assert.assertTrue(queueA.offer(createPacket(64), false));
+        Assert.assertTrue(queueA.offer(createPacket(64), false));
+        Assert.assertFalse(queueA.offer(createPacket(64), false));
+        // priority lane is not affected by full bulk lane
+        Assert.assertTrue(queueA.offer(createPacket(64), true));
+        Assert.assertEquals(3, queueA.size());
+    }
+
+    @Test
+    public void testUnregister() throws Exception {
+        final PacketInDispatcher.PacketInQueue queueA = dispatcher.register(deviceInfoA, createPublisher("A"));
+        Assert.assertTrue(queueA.offer(createPacket(64), false));
+        Assert.assertTrue(queueA.offer(createPacket(64), false));
+
+        dispatcher.unregister(deviceInfoA);
+        Assert.assertEquals(0, queueA.size());
+        Assert.assertFalse(queueA.offer(createPacket(64), false));
+
+        completeAll();
+        Assert.assertEquals(Arrays.asList("A"), published);
+    }
+
+    private Function<PacketReceived, ListenableFuture<?>> createPublisher(final String name) {
+        return packet -> {
+            published.add(name);
+            final SettableFuture<Object> future = SettableFuture.create();
+            pending.add(future);
+            return future;
+        };
+    }
+
+    private void completeAll() {
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).set(null);
+        }
+    }
+
+    private static PacketReceived createPacket(final int payloadLength) {
+        return new PacketReceivedBuilder().setPayload(new byte[payloadLength]).build();
+    }
+}
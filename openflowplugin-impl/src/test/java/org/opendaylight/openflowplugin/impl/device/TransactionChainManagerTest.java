@@ -11,11 +11,17 @@ package org.opendaylight.openflowplugin.impl.device;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -70,6 +76,8 @@ public class TransactionChainManagerTest {
     DeviceInfo deviceInfo;
     @Mock
     LifecycleService lifecycleService;
+    @Mock
+    Timeout timeout;
 
     @Mock
     private KeyedInstanceIdentifier<Node, NodeKey> nodeKeyIdent;
@@ -152,11 +160,13 @@ public class TransactionChainManagerTest {
         final Node data = new NodeBuilder().setId(nodeId).build();
         txChainManager.initialSubmitWriteTransaction();
         txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        final long writeEpoch = txChainManager.getWriteEpoch();
         txChainManager.submitWriteTransaction();
 
         Mockito.verify(txChain).newWriteOnlyTransaction();
         Mockito.verify(writeTx).put(LogicalDatastoreType.CONFIGURATION, path, data, false);
         Mockito.verify(writeTx).submit();
+        Assert.assertNotEquals(writeEpoch, txChainManager.getWriteEpoch());
     }
 
     /**
@@ -180,9 +190,11 @@ public class TransactionChainManagerTest {
      */
     @Test
     public void testOnTransactionChainFailed() throws Exception {
+        final long writeEpoch = txChainManager.getWriteEpoch();
         txChainManager.onTransactionChainFailed(transactionChain, Mockito.mock(AsyncTransaction.class), Mockito.mock(Throwable.class));
         Mockito.verify(txChain).close();
         Mockito.verify(dataBroker, Mockito.times(2)).createTransactionChain(txChainManager);
+        Assert.assertNotEquals(writeEpoch, txChainManager.getWriteEpoch());
     }
 
     @Test
@@ -242,4 +254,100 @@ public class TransactionChainManagerTest {
         txChainManager.close();
         Mockito.verify(txChain).close();
     }
-}
\ No newline at end of file
+
+    /**
+     * test of {@link TransactionChainManager#submitWriteTransaction()}: coalesced writes are submitted by timer
+     */
+    @Test
+    public void testSubmitTransactionCoalescedByTime() throws Exception {
+        Mockito.when(timer.newTimeout(Matchers.any(TimerTask.class), Matchers.anyLong(), Matchers.any(TimeUnit.class)))
+                .thenReturn(timeout);
+        txChainManager.enableWriteCoalescing(timer, 10, 100, 1);
+        final Node data = new NodeBuilder().setId(nodeId).build();
+        txChainManager.initialSubmitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.submitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.submitWriteTransaction();
+
+        Mockito.verify(writeTx, Mockito.never()).submit();
+        final ArgumentCaptor<TimerTask> taskCaptor = ArgumentCaptor.forClass(TimerTask.class);
+        Mockito.verify(timer).newTimeout(taskCaptor.capture(), Matchers.eq(100L), Matchers.eq(TimeUnit.MILLISECONDS));
+        taskCaptor.getValue().run(timeout);
+
+        Mockito.verify(txChain).newWriteOnlyTransaction();
+        Mockito.verify(writeTx, Mockito.times(2)).put(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        Mockito.verify(writeTx).submit();
+    }
+
+    /**
+     * test of {@link TransactionChainManager#submitWriteTransaction()}: coalesced writes are submitted once
+     * operation limit is reached
+     */
+    @Test
+    public void testSubmitTransactionCoalescedByCount() throws Exception {
+        txChainManager.enableWriteCoalescing(timer, 2, 100, 1);
+        final Node data = new NodeBuilder().setId(nodeId).build();
+        txChainManager.initialSubmitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.addDeleteOperationTotTxChain(LogicalDatastoreType.CONFIGURATION, path);
+        txChainManager.submitWriteTransaction();
+
+        Mockito.verify(txChain).newWriteOnlyTransaction();
+        Mockito.verify(writeTx).put(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        Mockito.verify(writeTx).delete(LogicalDatastoreType.CONFIGURATION, path);
+        Mockito.verify(writeTx).submit();
+        Mockito.verify(timer, Mockito.never())
+                .newTimeout(Matchers.any(TimerTask.class), Matchers.anyLong(), Matchers.any(TimeUnit.class));
+    }
+
+    /**
+     * test of {@link TransactionChainManager#submitWriteTransaction()}: no new submit while outstanding submits
+     * limit is reached
+     */
+    @Test
+    public void testSubmitTransactionCoalescedBackpressure() throws Exception {
+        final SettableFuture<Void> firstCommit = SettableFuture.create();
+        Mockito.when(writeTx.submit())
+                .thenReturn(Futures.makeChecked(firstCommit, e -> new TransactionCommitFailedException("mock", e)))
+                .thenReturn(Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null));
+        txChainManager.enableWriteCoalescing(timer, 1, 100, 1);
+        final Node data = new NodeBuilder().setId(nodeId).build();
+        txChainManager.initialSubmitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.submitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.submitWriteTransaction();
+
+        Mockito.verify(writeTx).submit();
+        firstCommit.set(null);
+
+        Mockito.verify(txChain, Mockito.times(2)).newWriteOnlyTransaction();
+        Mockito.verify(writeTx, Mockito.times(2)).put(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        Mockito.verify(writeTx, Mockito.times(2)).submit();
+    }
+
+    /**
+     * test of {@link TransactionChainManager#writeToTransaction}:
+     * writes do not pile up in one transaction while outstanding submits limit is reached
+     */
+    @Test
+    public void testWriteToTransactionCoalescedOverflow() throws Exception {
+        final SettableFuture<Void> firstCommit = SettableFuture.create();
+        Mockito.when(writeTx.submit())
+                .thenReturn(Futures.makeChecked(firstCommit, e -> new TransactionCommitFailedException("mock", e)))
+                .thenReturn(Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null));
+        txChainManager.enableWriteCoalescing(timer, 1, 100, 1);
+        final Node data = new NodeBuilder().setId(nodeId).build();
+        txChainManager.initialSubmitWriteTransaction();
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        Mockito.verify(writeTx).submit();
+
+        txChainManager.writeToTransaction(LogicalDatastoreType.CONFIGURATION, path, data, false);
+
+        Mockito.verify(txChain, Mockito.times(2)).newWriteOnlyTransaction();
+        Mockito.verify(writeTx, Mockito.times(3)).put(LogicalDatastoreType.CONFIGURATION, path, data, false);
+        Mockito.verify(writeTx, Mockito.times(2)).submit();
+    }
+}
@@ -9,6 +9,7 @@
 package org.opendaylight.openflowplugin.impl.device.listener;
 
 import com.google.common.util.concurrent.Runnables;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.After;
 import org.junit.Assert;
@@ -30,6 +31,7 @@ import org.opendaylight.openflowplugin.impl.connection.testutil.MsgGeneratorTest
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yangtools.yang.common.RpcResult;
 
 /**
  * openflowplugin-api
@@ -116,6 +118,30 @@ public class MultiMsgCollectorImplTest {
         Assert.assertEquals(MultipartType.OFPMPDESC, multipartReplyList.get(1).getType());
     }
 
+    /**
+     * test of ${link MultiMsgCollector#addMultipartMsg} <br>
+     * streaming mode - every part is handed over to consumer, nothing is collected into result
+     */
+    @Test
+    public void testAddMultipartMsgStreaming() {
+        final List<MultipartReply> consumedReplies = new ArrayList<>();
+        final ArgumentCaptor<RpcResult> resultCaptor = ArgumentCaptor.forClass(RpcResult.class);
+        collector = new MultiMsgCollectorImpl(deviceProcessor, requestContext, consumedReplies::add);
+
+        collector.addMultipartMsg(MsgGeneratorTestUtils.makeMultipartDescReply(xid, hwTestValue, true).build());
+        Assert.assertEquals(1, consumedReplies.size());
+        Mockito.verify(requestContext, Mockito.never()).setResult(Mockito.<RpcResult<List<MultipartReply>>>any());
+
+        collector.addMultipartMsg(MsgGeneratorTestUtils.makeMultipartDescReply(xid, hwTestValue, false).build());
+        Assert.assertEquals(2, consumedReplies.size());
+
+        Mockito.verify(deviceProcessor, Mockito.times(2)).processReply(xidCaptor.capture(), mmCaptor.capture());
+        Assert.assertEquals(1, mmCaptor.getValue().size());
+        Mockito.verify(requestContext).setResult(resultCaptor.capture());
+        Assert.assertTrue(resultCaptor.getValue().isSuccessful());
+        Assert.assertNull(resultCaptor.getValue().getResult());
+    }
+
     /**
      * test of ${link MultiMsgCollector#addMultipartMsg} <br>
      * xid not registered before message
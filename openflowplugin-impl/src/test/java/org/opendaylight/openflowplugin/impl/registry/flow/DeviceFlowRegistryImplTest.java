@@ -35,6 +35,8 @@ import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowDescriptor;
 import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
@@ -44,7 +46,12 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.ta
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetDestinationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
@@ -168,6 +175,45 @@ public class DeviceFlowRegistryImplTest {
         Assert.assertEquals(descriptor, deviceFlowRegistry.retrieveIdForFlow(key));
     }
 
+    @Test
+    public void testRetrieveIdForFlowNormalized() throws Exception {
+        final FlowBuilder storedFlow = new FlowBuilder()
+                .setTableId((short) 1)
+                .setPriority(10)
+                .setMatch(createMatch("aa:bb:cc:dd:ee:ff", "10.0.0.1/24"));
+        final FlowBuilder statsFlow = new FlowBuilder(storedFlow.build())
+                .setMatch(createMatch("AA:BB:CC:DD:EE:FF", "10.0.0.0/24"));
+
+        final FlowDescriptor descriptor2 = FlowDescriptorFactory.create((short) 1, new FlowId("ut:normalized"));
+        deviceFlowRegistry.store(FlowRegistryKeyFactory.create(storedFlow.build()), descriptor2);
+
+        Assert.assertEquals(descriptor2,
+                deviceFlowRegistry.retrieveIdForFlow(FlowRegistryKeyFactory.create(statsFlow.build())));
+    }
+
+    private static Match createMatch(final String macAddress, final String ipv4Prefix) {
+        return new MatchBuilder()
+                .setEthernetMatch(new EthernetMatchBuilder()
+                        .setEthernetDestination(new EthernetDestinationBuilder()
+                                .setAddress(new MacAddress(macAddress))
+                                .build())
+                        .build())
+                .setLayer3Match(new Ipv4MatchBuilder()
+                        .setIpv4Destination(new Ipv4Prefix(ipv4Prefix))
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        final FlowRegistryKey key2 = FlowRegistryKeyFactory.create(TestFlowHelper.createFlowAndStatisticsMapListBuilder(2).build());
+        deviceFlowRegistry.update(key2, descriptor);
+
+        Assert.assertEquals(1, deviceFlowRegistry.getAllFlowDescriptors().size());
+        Assert.assertNull(deviceFlowRegistry.retrieveIdForFlow(key));
+        Assert.assertEquals(descriptor, deviceFlowRegistry.retrieveIdForFlow(key2));
+    }
+
     @Test
     public void testStore() throws Exception {
         //store the same key with different value
@@ -26,16 +26,35 @@ import org.opendaylight.openflowplugin.api.OFConstants;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
 import org.opendaylight.openflowplugin.api.openflow.device.DeviceState;
+import org.opendaylight.openflowplugin.api.openflow.md.util.MatchNormalizationUtil;
 import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DottedQuad;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdate;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdateBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapListBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.FlowCookie;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.EtherType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.l2.types.rev130827.VlanId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetSourceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.ethernet.match.fields.EthernetTypeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.EthernetMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.IpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.MetadataBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.ProtocolMatchFieldsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.VlanMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchArbitraryBitMaskBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._3.match.Ipv4MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.layer._4.match.TcpMatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.vlan.match.fields.VlanIdBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -109,6 +128,115 @@ public class FlowRegistryKeyFactoryTest {
         Assert.assertFalse(key1.equals(null));
     }
 
+    @Test
+    public void testEqualsNormalized() throws Exception {
+        final FlowBuilder flowBuilder = new FlowBuilder()
+                .setTableId((short) 0)
+                .setPriority(2)
+                .setMatch(new MatchBuilder().setLayer3Match(new Ipv4MatchBuilder()
+                        .setIpv4Destination(new Ipv4Prefix("10.0.1.157/24")).build()).build());
+        final FlowRegistryKey key1 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setLayer3Match(new Ipv4MatchBuilder()
+                .setIpv4Destination(new Ipv4Prefix("10.0.1.0/24")).build()).build());
+        final FlowRegistryKey key2 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+    }
+
+    @Test
+    public void testEqualsResidualMatch() throws Exception {
+        final FlowBuilder flowBuilder = new FlowBuilder()
+                .setTableId((short) 0)
+                .setPriority(2)
+                .setMatch(new MatchBuilder().setProtocolMatchFields(new ProtocolMatchFieldsBuilder()
+                        .setMplsLabel(10L).build()).build());
+        final FlowRegistryKey key1 = FlowRegistryKeyFactory.create(flowBuilder.build());
+        final FlowRegistryKey key2 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setProtocolMatchFields(new ProtocolMatchFieldsBuilder()
+                .setMplsLabel(11L).build()).build());
+        final FlowRegistryKey key3 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        assertEquals(key1, key2);
+        assertNotEquals(key1, key3);
+    }
+
+    @Test
+    public void testEqualsArbitraryMaskAsPrefix() throws Exception {
+        final FlowBuilder flowBuilder = new FlowBuilder()
+                .setTableId((short) 0)
+                .setPriority(2)
+                .setMatch(new MatchBuilder().setLayer3Match(new Ipv4MatchArbitraryBitMaskBuilder()
+                        .setIpv4DestinationAddressNoMask(new Ipv4Address("10.0.1.157"))
+                        .setIpv4DestinationArbitraryBitmask(new DottedQuad("255.255.255.0")).build()).build());
+        final FlowRegistryKey key1 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setLayer3Match(new Ipv4MatchBuilder()
+                .setIpv4Destination(new Ipv4Prefix("10.0.1.0/24")).build()).build());
+        final FlowRegistryKey key2 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+    }
+
+    @Test
+    public void testEqualsMetadataMask() throws Exception {
+        final FlowBuilder flowBuilder = new FlowBuilder()
+                .setTableId((short) 0)
+                .setPriority(2)
+                .setMatch(new MatchBuilder().setMetadata(new MetadataBuilder()
+                        .setMetadata(new BigInteger("12345678", 16))
+                        .setMetadataMask(new BigInteger("ffff0000", 16)).build()).build());
+        final FlowRegistryKey key1 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setMetadata(new MetadataBuilder()
+                .setMetadata(new BigInteger("12340000", 16))
+                .setMetadataMask(new BigInteger("ffff0000", 16)).build()).build());
+        final FlowRegistryKey key2 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setMetadata(new MetadataBuilder()
+                .setMetadata(new BigInteger("12345678", 16))
+                .setMetadataMask(new BigInteger("ffffffffffffffff", 16)).build()).build());
+        final FlowRegistryKey key3 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        flowBuilder.setMatch(new MatchBuilder().setMetadata(new MetadataBuilder()
+                .setMetadata(new BigInteger("12345678", 16)).build()).build());
+        final FlowRegistryKey key4 = FlowRegistryKeyFactory.create(flowBuilder.build());
+
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+        assertEquals(key3, key4);
+        assertEquals(key3.hashCode(), key4.hashCode());
+        assertNotEquals(key1, key3);
+    }
+
+    @Test
+    public void testGetMatchDecodesNormalizedMatch() throws Exception {
+        final Match match = new MatchBuilder()
+                .setInPort(new NodeConnectorId("openflow:1:2"))
+                .setMetadata(new MetadataBuilder().setMetadata(new BigInteger("ffffffffffffffff", 16)).build())
+                .setEthernetMatch(new EthernetMatchBuilder()
+                        .setEthernetSource(new EthernetSourceBuilder()
+                                .setAddress(new MacAddress("AA:BB:CC:DD:EE:FF")).build())
+                        .setEthernetType(new EthernetTypeBuilder().setType(new EtherType(2048L)).build())
+                        .build())
+                .setVlanMatch(new VlanMatchBuilder()
+                        .setVlanId(new VlanIdBuilder().setVlanIdPresent(true).setVlanId(new VlanId(100)).build())
+                        .build())
+                .setIpMatch(new IpMatchBuilder().setIpProtocol((short) 6).build())
+                .setLayer3Match(new Ipv4MatchBuilder().setIpv4Source(new Ipv4Prefix("10.0.1.157/24")).build())
+                .setLayer4Match(new TcpMatchBuilder().setTcpDestinationPort(new PortNumber(80)).build())
+                .build();
+        final FlowRegistryKey key = FlowRegistryKeyFactory.create(new FlowBuilder()
+                .setTableId((short) 0)
+                .setMatch(match)
+                .build());
+
+        assertEquals(MatchNormalizationUtil.normalizeMatch(match), key.getMatch());
+    }
+
     @Test
     public void testGetHash2() throws Exception {
         MatchBuilder match1Builder = new MatchBuilder().setLayer3Match(new Ipv4MatchBuilder()
@@ -8,12 +8,18 @@
 package org.opendaylight.openflowplugin.impl.rpc;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.ExecutionException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -82,6 +88,8 @@ public class RpcContextImplTest {
         when(deviceContext.getDeviceState()).thenReturn(deviceState);
         when(deviceInfo.getNodeInstanceIdentifier()).thenReturn(nodeInstanceIdentifier);
         when(deviceContext.getMessageSpy()).thenReturn(messageSpy);
+        when(deviceInfo.reserveXidForDeviceMessageAsync()).thenAnswer(
+                invocation -> Futures.immediateFuture(deviceInfo.reserveXidForDeviceMessage()));
 
         rpcContext = new RpcContextImpl(
                 deviceInfo,
@@ -198,6 +206,78 @@ public class RpcContextImplTest {
         verify(messageSpy).spyMessage(RpcContextImpl.class,MessageSpy.STATISTIC_GROUP.REQUEST_STACK_FREED);
     }
 
+    /**
+     * When outbound queue is full, request context is created and gets its xid once reservation completes
+     */
+    @Test
+    public void testCreateRequestContextWaitingForXid() throws Exception {
+        final SettableFuture<Long> reservation = SettableFuture.create();
+        when(deviceInfo.reserveXidForDeviceMessageAsync()).thenReturn(reservation);
+
+        final RequestContext<?> requestContext = rpcContext.createRequestContext();
+        assertNotNull(requestContext);
+        assertNull(requestContext.getXid());
+        assertFalse(requestContext.getXidFuture().isDone());
+
+        reservation.set(42L);
+        assertEquals(42L, requestContext.getXid().getValue().longValue());
+        assertEquals(42L, requestContext.getXidFuture().get().getValue().longValue());
+        requestContext.close();
+        verify(messageSpy).spyMessage(RpcContextImpl.class, MessageSpy.STATISTIC_GROUP.REQUEST_STACK_FREED);
+    }
+
+    @Test
+    public void testAcquireBatchPermits() throws Exception {
+        final ListenableFuture<Integer> firstBatch = rpcContext.acquireBatchPermits(3);
+        assertTrue(firstBatch.isDone());
+        assertEquals(3, firstBatch.get().intValue());
+
+        // only rest of quota is granted
+        final ListenableFuture<Integer> secondBatch = rpcContext.acquireBatchPermits(4);
+        assertTrue(secondBatch.isDone());
+        assertEquals(2, secondBatch.get().intValue());
+
+        // quota exhausted - batch waits, single request gets refused
+        final ListenableFuture<Integer> thirdBatch = rpcContext.acquireBatchPermits(2);
+        assertFalse(thirdBatch.isDone());
+        assertNull(rpcContext.createRequestContext());
+
+        rpcContext.releaseBatchPermits(1);
+        assertTrue(thirdBatch.isDone());
+        assertEquals(1, thirdBatch.get().intValue());
+    }
+
+    @Test
+    public void testAcquireBatchPermitsReleasedByRequestContext() throws Exception {
+        final RequestContext<?> requestContext = rpcContext.createRequestContext();
+        assertEquals(MAX_REQUESTS - 1, rpcContext.acquireBatchPermits(MAX_REQUESTS).get().intValue());
+
+        final ListenableFuture<Integer> batch = rpcContext.acquireBatchPermits(MAX_REQUESTS);
+        assertFalse(batch.isDone());
+        requestContext.close();
+        assertTrue(batch.isDone());
+        assertEquals(1, batch.get().intValue());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testAcquireBatchPermitsOnClose() throws Exception {
+        rpcContext.acquireBatchPermits(MAX_REQUESTS);
+        final ListenableFuture<Integer> batch = rpcContext.acquireBatchPermits(1);
+        assertFalse(batch.isDone());
+        rpcContext.close();
+        assertTrue(batch.isDone());
+        batch.get();
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testAcquireBatchPermitsAfterClose() throws Exception {
+        rpcContext.acquireBatchPermits(MAX_REQUESTS);
+        rpcContext.close();
+        final ListenableFuture<Integer> batch = rpcContext.acquireBatchPermits(1);
+        assertTrue(batch.isDone());
+        batch.get();
+    }
+
     @Test
     public void testUnregisterRpcServiceImpl() {
         rpcContext.registerRpcServiceImplementation(TestRpcService.class, serviceInstance);
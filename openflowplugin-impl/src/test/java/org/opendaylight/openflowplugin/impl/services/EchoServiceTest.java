@@ -10,8 +10,17 @@ package org.opendaylight.openflowplugin.impl.services;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 import org.opendaylight.openflowplugin.api.OFConstants;
 import org.opendaylight.openflowplugin.api.openflow.device.Xid;
@@ -37,6 +46,27 @@ public class EchoServiceTest extends ServiceMocking {
         verify(mockedRequestContextStack).createRequestContext();
     }
 
+    @Test
+    public void testSendEchoAfterXidReservation() throws Exception {
+        final SettableFuture<Xid> xidFuture = SettableFuture.create();
+        when(mockedRequestContext.getXidFuture()).thenReturn(xidFuture);
+        final List<Runnable> continuations = new ArrayList<>();
+        when(mockedRequestContextStack.getRequestExecutor()).thenReturn(continuations::add);
+
+        echoService.handleServiceCall(new EchoInputBuilder());
+        verify(mockedOutboundQueue, never()).commitEntry(anyLong(), any(OfHeader.class),
+                any(FutureCallback.class));
+
+        // thread completing reservation (connection I/O) only hands the request over to request executor
+        xidFuture.set(new Xid(DUMMY_XID_VALUE));
+        assertEquals(1, continuations.size());
+        verify(mockedOutboundQueue, never()).commitEntry(anyLong(), any(OfHeader.class),
+                any(FutureCallback.class));
+
+        continuations.get(0).run();
+        verify(mockedOutboundQueue).commitEntry(eq(DUMMY_XID_VALUE), any(OfHeader.class), any(FutureCallback.class));
+    }
+
     @Test
     public void testBuildRequest() throws Exception {
         EchoInputBuilder sendEchoInput = new EchoInputBuilder().setData(DUMMY_DATA);
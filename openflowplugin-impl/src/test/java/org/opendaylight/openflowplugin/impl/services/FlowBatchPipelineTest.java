@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.services;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.opendaylight.openflowjava.protocol.api.connection.DeviceRequestFailedException;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.api.openflow.connection.ConnectionContext;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceContext;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.openflowplugin.api.openflow.rpc.RpcContext;
+import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.MessageSpy;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.service.rev130819.AddFlowInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.add.flows.batch.input.BatchAddFlows;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.add.flows.batch.input.BatchAddFlowsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.batch.flow.output.list.grouping.BatchFailedFlowsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+
+/**
+ * Test for {@link FlowBatchPipeline}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FlowBatchPipelineTest {
+
+    @Mock
+    private DeviceContext deviceContext;
+    @Mock
+    private DeviceInfo deviceInfo;
+    @Mock
+    private ConnectionContext connectionContext;
+    @Mock
+    private OutboundQueue outboundQueue;
+    @Mock
+    private MessageSpy messageSpy;
+    @Mock
+    private SalFlowServiceImpl salFlowService;
+    @Mock
+    private RpcContext rpcContext;
+    @Captor
+    private ArgumentCaptor<OfHeader> messageCpt;
+
+    private FlowBatchPipeline flowBatchPipeline;
+
+    @Before
+    public void setUp() throws Exception {
+        Mockito.when(deviceContext.getDeviceInfo()).thenReturn(deviceInfo);
+        Mockito.when(deviceContext.getMessageSpy()).thenReturn(messageSpy);
+        Mockito.when(deviceContext.getPrimaryConnectionContext()).thenReturn(connectionContext);
+        Mockito.when(connectionContext.getOutboundQueueProvider()).thenReturn(outboundQueue);
+        Mockito.when(deviceInfo.getVersion()).thenReturn(OFConstants.OFP_VERSION_1_3);
+        Mockito.when(deviceInfo.reserveXidForDeviceMessageAsync()).thenReturn(Futures.immediateFuture(1L),
+                Futures.immediateFuture(2L), Futures.immediateFuture(3L), Futures.immediateFuture(4L),
+                Futures.immediateFuture(5L));
+        Mockito.when(rpcContext.getRequestExecutor()).thenReturn(MoreExecutors.directExecutor());
+        Mockito.when(salFlowService.toFlowModInputs(Matchers.<AddFlowInput>any())).thenAnswer(
+                new Answer<List<FlowModInputBuilder>>() {
+                    @Override
+                    public List<FlowModInputBuilder> answer(final InvocationOnMock invocation) throws Throwable {
+                        return Collections.singletonList(new FlowModInputBuilder()
+                                .setVersion(OFConstants.OFP_VERSION_1_3));
+                    }
+                });
+
+        Mockito.when(rpcContext.acquireBatchPermits(Matchers.anyInt())).thenAnswer(
+                new Answer<ListenableFuture<Integer>>() {
+                    @Override
+                    public ListenableFuture<Integer> answer(final InvocationOnMock invocation) throws Throwable {
+                        return Futures.immediateFuture((Integer) invocation.getArguments()[0]);
+                    }
+                });
+
+        flowBatchPipeline = new FlowBatchPipeline(deviceContext, salFlowService, rpcContext);
+    }
+
+    @Test
+    public void testAddFlows_success() throws Exception {
+        answerCommitEntry(null);
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42), createAddFlowInput(43)),
+                Lists.newArrayList(createBatchAddFlow("f1"), createBatchAddFlow("f2")));
+
+        Assert.assertTrue(resultFuture.isDone());
+        final RpcResult<List<BatchFailedFlowsOutput>> rpcResult = resultFuture.get();
+        Assert.assertTrue(rpcResult.isSuccessful());
+        Assert.assertTrue(rpcResult.getResult().isEmpty());
+
+        Mockito.verify(outboundQueue, Mockito.times(3)).commitEntry(Matchers.anyLong(), messageCpt.capture(),
+                Matchers.<FutureCallback<OfHeader>>any());
+        final List<OfHeader> messages = messageCpt.getAllValues();
+        Assert.assertTrue(messages.get(0) instanceof FlowModInput);
+        Assert.assertEquals(1L, messages.get(0).getXid().longValue());
+        Assert.assertTrue(messages.get(1) instanceof FlowModInput);
+        Assert.assertEquals(2L, messages.get(1).getXid().longValue());
+        Assert.assertTrue(messages.get(2) instanceof BarrierInput);
+        Assert.assertEquals(3L, messages.get(2).getXid().longValue());
+
+        Mockito.verify(salFlowService, Mockito.times(2))
+                .onFlowAdded(Matchers.<AddFlowInput>any(), Matchers.<FlowRegistryKey>any());
+
+        // whole batch admitted at once, permits given back as device answers
+        Mockito.verify(rpcContext).acquireBatchPermits(2);
+        Mockito.verify(rpcContext, Mockito.times(2)).releaseBatchPermits(1);
+    }
+
+    @Test
+    public void testAddFlows_quotaBackpressure() throws Exception {
+        answerCommitEntry(null);
+        final SettableFuture<Integer> pendingPermits = SettableFuture.create();
+        Mockito.when(rpcContext.acquireBatchPermits(Matchers.anyInt()))
+                .thenReturn(Futures.immediateFuture(1))
+                .thenReturn(pendingPermits);
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42), createAddFlowInput(43)),
+                Lists.newArrayList(createBatchAddFlow("f1"), createBatchAddFlow("f2")));
+
+        // first flow sent, second waits for quota instead of failing
+        Assert.assertFalse(resultFuture.isDone());
+        Mockito.verify(outboundQueue, Mockito.times(1)).commitEntry(Matchers.anyLong(), Matchers.<OfHeader>any(),
+                Matchers.<FutureCallback<OfHeader>>any());
+        Mockito.verify(rpcContext).acquireBatchPermits(1);
+
+        pendingPermits.set(1);
+        Assert.assertTrue(resultFuture.isDone());
+        Assert.assertTrue(resultFuture.get().isSuccessful());
+        Mockito.verify(outboundQueue, Mockito.times(3)).commitEntry(Matchers.anyLong(), Matchers.<OfHeader>any(),
+                Matchers.<FutureCallback<OfHeader>>any());
+    }
+
+    @Test
+    public void testAddFlows_outboundQueueFull() throws Exception {
+        answerCommitEntry(null);
+        final SettableFuture<Long> pendingXid = SettableFuture.create();
+        Mockito.when(deviceInfo.reserveXidForDeviceMessageAsync())
+                .thenReturn(Futures.immediateFuture(1L))
+                .thenReturn(pendingXid)
+                .thenReturn(Futures.immediateFuture(3L));
+        final List<Runnable> continuations = new ArrayList<>();
+        Mockito.when(rpcContext.getRequestExecutor()).thenReturn(continuations::add);
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42), createAddFlowInput(43)),
+                Lists.newArrayList(createBatchAddFlow("f1"), createBatchAddFlow("f2")));
+
+        // first flow sent, second waits for xid instead of failing or blocking
+        Assert.assertFalse(resultFuture.isDone());
+        Mockito.verify(outboundQueue, Mockito.times(1)).commitEntry(Matchers.anyLong(), Matchers.<OfHeader>any(),
+                Matchers.<FutureCallback<OfHeader>>any());
+
+        // completing thread (connection I/O) only hands sending over to request executor
+        pendingXid.set(2L);
+        Assert.assertFalse(resultFuture.isDone());
+        Assert.assertEquals(1, continuations.size());
+
+        continuations.get(0).run();
+        Assert.assertTrue(resultFuture.isDone());
+        Assert.assertTrue(resultFuture.get().isSuccessful());
+        Mockito.verify(outboundQueue, Mockito.times(3)).commitEntry(Matchers.anyLong(), messageCpt.capture(),
+                Matchers.<FutureCallback<OfHeader>>any());
+        Assert.assertEquals(2L, messageCpt.getAllValues().get(1).getXid().longValue());
+        Assert.assertTrue(messageCpt.getAllValues().get(2) instanceof BarrierInput);
+    }
+
+    @Test
+    public void testAddFlows_quotaClosed() throws Exception {
+        answerCommitEntry(null);
+        Mockito.when(rpcContext.acquireBatchPermits(Matchers.anyInt()))
+                .thenReturn(Futures.<Integer>immediateFailedFuture(new IllegalStateException("closed")));
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42)),
+                Lists.newArrayList(createBatchAddFlow("f1")));
+
+        Assert.assertTrue(resultFuture.isDone());
+        Assert.assertFalse(resultFuture.get().isSuccessful());
+        Assert.assertEquals(1, resultFuture.get().getResult().size());
+        Mockito.verify(rpcContext, Mockito.never()).releaseBatchPermits(Matchers.anyInt());
+    }
+
+    @Test
+    public void testAddFlows_failFast() throws Exception {
+        // second flow gets rejected by device
+        answerCommitEntry(2L);
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42), createAddFlowInput(43), createAddFlowInput(44)),
+                Lists.newArrayList(createBatchAddFlow("f1"), createBatchAddFlow("f2"), createBatchAddFlow("f3")));
+
+        Assert.assertTrue(resultFuture.isDone());
+        final RpcResult<List<BatchFailedFlowsOutput>> rpcResult = resultFuture.get();
+        Assert.assertFalse(rpcResult.isSuccessful());
+        Assert.assertEquals(2, rpcResult.getErrors().size());
+        final List<BatchFailedFlowsOutput> failedFlows = rpcResult.getResult();
+        Assert.assertEquals(2, failedFlows.size());
+        Assert.assertEquals(1, failedFlows.get(0).getBatchOrder().intValue());
+        Assert.assertEquals("f2", failedFlows.get(0).getFlowId().getValue());
+        Assert.assertEquals(2, failedFlows.get(1).getBatchOrder().intValue());
+        Assert.assertEquals("f3", failedFlows.get(1).getFlowId().getValue());
+
+        // third flow is not sent, barrier closes the batch
+        Mockito.verify(outboundQueue, Mockito.times(3)).commitEntry(Matchers.anyLong(), messageCpt.capture(),
+                Matchers.<FutureCallback<OfHeader>>any());
+        Assert.assertTrue(messageCpt.getAllValues().get(2) instanceof BarrierInput);
+
+        Mockito.verify(salFlowService).onFlowAdded(Matchers.<AddFlowInput>any(),
+                Matchers.<FlowRegistryKey>any());
+        // 2 sent flows answered, unused permit of third flow given back
+        Mockito.verify(rpcContext, Mockito.times(3)).releaseBatchPermits(1);
+    }
+
+    @Test
+    public void testAddFlows_barrierFailed() throws Exception {
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final FutureCallback<OfHeader> callback = (FutureCallback<OfHeader>) invocation.getArguments()[2];
+                if (invocation.getArguments()[1] instanceof BarrierInput) {
+                    callback.onFailure(new IllegalStateException("connection closed"));
+                }
+                return null;
+            }
+        }).when(outboundQueue).commitEntry(Matchers.anyLong(), Matchers.<OfHeader>any(),
+                Matchers.<FutureCallback<OfHeader>>any());
+
+        final Future<RpcResult<List<BatchFailedFlowsOutput>>> resultFuture = flowBatchPipeline.addFlows(
+                Lists.newArrayList(createAddFlowInput(42)),
+                Lists.newArrayList(createBatchAddFlow("f1")));
+
+        Assert.assertTrue(resultFuture.isDone());
+        final RpcResult<List<BatchFailedFlowsOutput>> rpcResult = resultFuture.get();
+        Assert.assertFalse(rpcResult.isSuccessful());
+        Assert.assertEquals(1, rpcResult.getResult().size());
+        Mockito.verify(salFlowService, Mockito.never()).onFlowAdded(Matchers.<AddFlowInput>any(),
+                Matchers.<FlowRegistryKey>any());
+    }
+
+    /**
+     * Device answers every message right away - message with given xid gets an error.
+     */
+    private void answerCommitEntry(final Long failingXid) {
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final Long xid = (Long) invocation.getArguments()[0];
+                final FutureCallback<OfHeader> callback = (FutureCallback<OfHeader>) invocation.getArguments()[2];
+                if (xid.equals(failingXid)) {
+                    callback.onFailure(new DeviceRequestFailedException("flow-mod failed",
+                            new ErrorMessageBuilder().setXid(xid).build()));
+                } else {
+                    callback.onSuccess(null);
+                }
+                return null;
+            }
+        }).when(outboundQueue).commitEntry(Matchers.anyLong(), Matchers.<OfHeader>any(),
+                Matchers.<FutureCallback<OfHeader>>any());
+    }
+
+    private static AddFlowInput createAddFlowInput(final int priority) {
+        return new AddFlowInputBuilder().setPriority(priority).setTableId((short) 0).build();
+    }
+
+    private static BatchAddFlows createBatchAddFlow(final String flowIdValue) {
+        return new BatchAddFlowsBuilder().setFlowId(new FlowId(flowIdValue)).build();
+    }
+}
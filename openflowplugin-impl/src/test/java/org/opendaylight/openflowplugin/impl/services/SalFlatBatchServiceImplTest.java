@@ -11,6 +11,7 @@ package org.opendaylight.openflowplugin.impl.services;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -67,7 +68,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.Add
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.RemoveFlowsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.RemoveFlowsBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.RemoveFlowsBatchOutputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.SalFlowsBatchService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.UpdateFlowsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.UpdateFlowsBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flows.service.rev160314.batch.flow.output.list.grouping.BatchFailedFlowsOutputBuilder;
@@ -76,7 +76,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.Ad
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.AddGroupsBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.RemoveGroupsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.RemoveGroupsBatchOutputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.SalGroupsBatchService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.UpdateGroupsBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.UpdateGroupsBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.groups.service.rev160315.batch.group.input.update.grouping.OriginalBatchedGroupBuilder;
@@ -91,7 +90,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.Ad
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.AddMetersBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.RemoveMetersBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.RemoveMetersBatchOutputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.SalMetersBatchService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.UpdateMetersBatchInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.UpdateMetersBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.meters.service.rev160316.batch.meter.input.update.grouping.OriginalBatchedMeterBuilder;
@@ -113,11 +111,11 @@ public class SalFlatBatchServiceImplTest {
     private static final NodeRef NODE_REF = new NodeRef(NODE_II);
 
     @Mock
-    private SalFlowsBatchService salFlowsBatchService;
+    private SalFlowsBatchServiceImpl salFlowsBatchService;
     @Mock
-    private SalGroupsBatchService salGroupsBatchService;
+    private SalGroupsBatchServiceImpl salGroupsBatchService;
     @Mock
-    private SalMetersBatchService salMetersBatchService;
+    private SalMetersBatchServiceImpl salMetersBatchService;
     @Captor
     private ArgumentCaptor<AddFlowsBatchInput> addFlowsBatchInputCpt;
 
@@ -471,6 +469,51 @@ public class SalFlatBatchServiceImplTest {
         Assert.assertEquals("f2", ((FlatBatchFailureFlowIdCase) rpcResult.getResult().getBatchFailure().get(1).getBatchItemIdChoice()).getFlowId().getValue());
     }
 
+    @Test
+    public void testExecuteBatchGraph() throws Exception {
+        final SettableFuture<RpcResult<ProcessFlatBatchOutput>> groupAddOutput = SettableFuture.create();
+        final AsyncFunction<RpcResult<ProcessFlatBatchOutput>, RpcResult<ProcessFlatBatchOutput>> groupAdd =
+                Mockito.mock(AsyncFunction.class);
+        final AsyncFunction<RpcResult<ProcessFlatBatchOutput>, RpcResult<ProcessFlatBatchOutput>> meterAdd =
+                Mockito.mock(AsyncFunction.class);
+        final AsyncFunction<RpcResult<ProcessFlatBatchOutput>, RpcResult<ProcessFlatBatchOutput>> flowAdd =
+                Mockito.mock(AsyncFunction.class);
+        Mockito.when(groupAdd.apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any())).thenReturn(groupAddOutput);
+        Mockito.when(meterAdd.apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any()))
+                .thenReturn(FlatBatchUtil.createEmptyRpcBatchResultFuture(true));
+        Mockito.when(flowAdd.apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any()))
+                .thenReturn(RpcResultBuilder.<ProcessFlatBatchOutput>failed()
+                        .withError(RpcError.ErrorType.APPLICATION, "ut-flowAddError")
+                        .withResult(createFlatBatchOutput(createFlowBatchFailure(2, "f1")))
+                        .buildFuture());
+
+        final BatchPlanStep groupAddStep = new BatchPlanStep(BatchStepType.GROUP_ADD);
+        groupAddStep.setBarrierAfter(true);
+        final BatchPlanStep meterAddStep = new BatchPlanStep(BatchStepType.METER_ADD);
+        final BatchPlanStep flowAddStep = new BatchPlanStep(BatchStepType.FLOW_ADD);
+        flowAddStep.getBarrierDependencies().add(0);
+
+        final Future<RpcResult<ProcessFlatBatchOutput>> rpcResultFuture = salFlatBatchService.executeBatchGraph(
+                Lists.newArrayList(
+                        new BatchStepJob(groupAddStep, groupAdd),
+                        new BatchStepJob(meterAddStep, meterAdd),
+                        new BatchStepJob(flowAddStep, flowAdd)));
+
+        // independent meter step does not wait for group, dependent flow step does
+        Mockito.verify(groupAdd).apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any());
+        Mockito.verify(meterAdd).apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any());
+        Mockito.verify(flowAdd, Mockito.never()).apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any());
+        Assert.assertFalse(rpcResultFuture.isDone());
+
+        groupAddOutput.set(FlatBatchUtil.createEmptyRpcBatchResultFuture(true).get());
+        Mockito.verify(flowAdd).apply(Matchers.<RpcResult<ProcessFlatBatchOutput>>any());
+        Assert.assertTrue(rpcResultFuture.isDone());
+        final RpcResult<ProcessFlatBatchOutput> rpcResult = rpcResultFuture.get();
+        Assert.assertFalse(rpcResult.isSuccessful());
+        Assert.assertEquals(1, rpcResult.getErrors().size());
+        Assert.assertEquals(1, rpcResult.getResult().getBatchFailure().size());
+    }
+
     private BatchFailure createFlowBatchFailure(final int batchOrder, final String flowIdValue) {
         return new BatchFailureBuilder()
                 .setBatchOrder(batchOrder)
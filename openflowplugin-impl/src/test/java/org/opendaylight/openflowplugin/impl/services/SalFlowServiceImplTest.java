@@ -133,6 +133,7 @@ public class SalFlowServiceImplTest extends TestCase {
         when(mockedRequestContextStack.createRequestContext()).thenReturn(requestContext);
 
         when(requestContext.getXid()).thenReturn(new Xid(84L));
+        when(requestContext.getXidFuture()).thenReturn(Futures.immediateFuture(new Xid(84L)));
         when(requestContext.getFuture()).thenReturn(RpcResultBuilder.success().buildFuture());
 
         when(mockedDeviceInfo.getNodeInstanceIdentifier()).thenReturn(NODE_II);
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.services.batch;
+
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.GroupActionCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.group.action._case.GroupActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.add.flow._case.FlatBatchAddFlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.add.group._case.FlatBatchAddGroupBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.add.meter._case.FlatBatchAddMeterBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.remove.flow._case.FlatBatchRemoveFlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.remove.group._case.FlatBatchRemoveGroupBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.batch.batch.choice.flat.batch.remove.meter._case.FlatBatchRemoveMeterBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.Instructions;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.InstructionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.MeterCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.apply.actions._case.ApplyActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.meter._case.MeterBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.InstructionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.GroupId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.BucketsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.group.buckets.BucketBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.types.rev130918.MeterId;
+
+/**
+ * Test for {@link BatchStepFootprint}.
+ */
+public class BatchStepFootprintTest {
+
+    @Test
+    public void testFlowReferencingAddedGroup() throws Exception {
+        final BatchStepFootprint groupAdd = BatchStepFootprint.of(createGroupAddStep(1L, null));
+        final BatchStepFootprint flowAdd = BatchStepFootprint.of(createFlowAddStep((short) 0, 1L, null));
+        final BatchStepFootprint otherFlowAdd = BatchStepFootprint.of(createFlowAddStep((short) 0, 2L, null));
+
+        Assert.assertTrue(flowAdd.requiresBarrierAfter(groupAdd));
+        Assert.assertFalse(otherFlowAdd.requiresBarrierAfter(groupAdd));
+        Assert.assertFalse(otherFlowAdd.writesSameObjects(groupAdd));
+    }
+
+    @Test
+    public void testFlowReferencingAddedMeter() throws Exception {
+        final BatchStepFootprint meterAdd = BatchStepFootprint.of(createMeterAddStep(5L));
+        final BatchStepFootprint flowAdd = BatchStepFootprint.of(createFlowAddStep((short) 0, null, 5L));
+        final BatchStepFootprint otherFlowAdd = BatchStepFootprint.of(createFlowAddStep((short) 0, null, 6L));
+
+        Assert.assertTrue(flowAdd.requiresBarrierAfter(meterAdd));
+        Assert.assertFalse(otherFlowAdd.requiresBarrierAfter(meterAdd));
+    }
+
+    @Test
+    public void testGroupRemovedAfterReferencingFlow() throws Exception {
+        final BatchPlanStep flowRemoveStep = new BatchPlanStep(BatchStepType.FLOW_REMOVE);
+        flowRemoveStep.getTaskBag().add(new FlatBatchRemoveFlowBuilder()
+                .setTableId((short) 0)
+                .setInstructions(createGroupInstructions(1L))
+                .build());
+        final BatchPlanStep groupRemoveStep = new BatchPlanStep(BatchStepType.GROUP_REMOVE);
+        groupRemoveStep.getTaskBag().add(new FlatBatchRemoveGroupBuilder().setGroupId(new GroupId(1L)).build());
+        final BatchPlanStep meterRemoveStep = new BatchPlanStep(BatchStepType.METER_REMOVE);
+        meterRemoveStep.getTaskBag().add(new FlatBatchRemoveMeterBuilder().setMeterId(new MeterId(1L)).build());
+
+        final BatchStepFootprint flowRemove = BatchStepFootprint.of(flowRemoveStep);
+        Assert.assertTrue(BatchStepFootprint.of(groupRemoveStep).requiresBarrierAfter(flowRemove));
+        Assert.assertFalse(BatchStepFootprint.of(meterRemoveStep).requiresBarrierAfter(flowRemove));
+    }
+
+    @Test
+    public void testChainedGroups() throws Exception {
+        final BatchStepFootprint groupAdd = BatchStepFootprint.of(createGroupAddStep(1L, null));
+        final BatchStepFootprint chainedGroupAdd = BatchStepFootprint.of(createGroupAddStep(2L, 1L));
+        final BatchStepFootprint independentGroupAdd = BatchStepFootprint.of(createGroupAddStep(3L, null));
+
+        Assert.assertTrue(chainedGroupAdd.requiresBarrierAfter(groupAdd));
+        Assert.assertFalse(independentGroupAdd.requiresBarrierAfter(groupAdd));
+        Assert.assertFalse(independentGroupAdd.requiresBarrierAfter(chainedGroupAdd));
+    }
+
+    @Test
+    public void testOrderOfWrites() throws Exception {
+        final BatchStepFootprint groupAdd = BatchStepFootprint.of(createGroupAddStep(1L, null));
+        final BatchStepFootprint sameGroupAdd = BatchStepFootprint.of(createGroupAddStep(1L, null));
+        Assert.assertFalse(sameGroupAdd.requiresBarrierAfter(groupAdd));
+        Assert.assertTrue(sameGroupAdd.writesSameObjects(groupAdd));
+
+        final BatchStepFootprint flowAddTable0 = BatchStepFootprint.of(createFlowAddStep((short) 0, null, null));
+        final BatchStepFootprint flowAddTable1 = BatchStepFootprint.of(createFlowAddStep((short) 1, null, null));
+        final BatchStepFootprint flowAddAnyTable = BatchStepFootprint.of(createFlowAddStep(null, null, null));
+        Assert.assertTrue(flowAddTable0.writesSameObjects(flowAddTable0));
+        Assert.assertFalse(flowAddTable1.writesSameObjects(flowAddTable0));
+        Assert.assertTrue(flowAddAnyTable.writesSameObjects(flowAddTable1));
+        Assert.assertTrue(flowAddTable0.writesSameObjects(flowAddAnyTable));
+        Assert.assertFalse(flowAddTable0.writesSameObjects(groupAdd));
+    }
+
+    private static BatchPlanStep createFlowAddStep(final Short tableId, final Long groupId, final Long meterId) {
+        final BatchPlanStep planStep = new BatchPlanStep(BatchStepType.FLOW_ADD);
+        final FlatBatchAddFlowBuilder flowBuilder = new FlatBatchAddFlowBuilder().setTableId(tableId);
+        if (groupId != null) {
+            flowBuilder.setInstructions(createGroupInstructions(groupId));
+        } else if (meterId != null) {
+            flowBuilder.setInstructions(new InstructionsBuilder()
+                    .setInstruction(Collections.singletonList(new InstructionBuilder()
+                            .setOrder(0)
+                            .setInstruction(new MeterCaseBuilder()
+                                    .setMeter(new MeterBuilder().setMeterId(new MeterId(meterId)).build())
+                                    .build())
+                            .build()))
+                    .build());
+        }
+        planStep.getTaskBag().add(flowBuilder.build());
+        return planStep;
+    }
+
+    private static BatchPlanStep createGroupAddStep(final long groupId, final Long chainedGroupId) {
+        final BatchPlanStep planStep = new BatchPlanStep(BatchStepType.GROUP_ADD);
+        final FlatBatchAddGroupBuilder groupBuilder = new FlatBatchAddGroupBuilder().setGroupId(new GroupId(groupId));
+        if (chainedGroupId != null) {
+            groupBuilder.setBuckets(new BucketsBuilder()
+                    .setBucket(Collections.singletonList(new BucketBuilder()
+                            .setAction(Collections.singletonList(createGroupAction(chainedGroupId)))
+                            .build()))
+                    .build());
+        }
+        planStep.getTaskBag().add(groupBuilder.build());
+        return planStep;
+    }
+
+    private static BatchPlanStep createMeterAddStep(final long meterId) {
+        final BatchPlanStep planStep = new BatchPlanStep(BatchStepType.METER_ADD);
+        planStep.getTaskBag().add(new FlatBatchAddMeterBuilder().setMeterId(new MeterId(meterId)).build());
+        return planStep;
+    }
+
+    private static Instructions createGroupInstructions(final long groupId) {
+        return new InstructionsBuilder()
+                .setInstruction(Collections.singletonList(new InstructionBuilder()
+                        .setOrder(0)
+                        .setInstruction(new ApplyActionsCaseBuilder()
+                                .setApplyActions(new ApplyActionsBuilder()
+                                        .setAction(Collections.singletonList(createGroupAction(groupId)))
+                                        .build())
+                                .build())
+                        .build()))
+                .build();
+    }
+
+    private static Action createGroupAction(final long groupId) {
+        return new ActionBuilder()
+                .setOrder(0)
+                .setAction(new GroupActionCaseBuilder()
+                        .setGroupAction(new GroupActionBuilder().setGroupId(groupId).build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import com.google.common.collect.Lists;
+import java.math.BigInteger;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.api.openflow.device.TxFacade;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.DeviceFlowRegistry;
+import org.opendaylight.openflowplugin.api.openflow.registry.flow.FlowRegistryKey;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.Counter32;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.Counter64;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.Table;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.TableKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.FlowKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdate;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.FlowsStatisticsUpdateBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.duration.DurationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
+
+/**
+ * Test for {@link IncrementalFlowStatisticsWriter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalFlowStatisticsWriterTest {
+
+    private static final short TABLE_ID = 42;
+    private static final FlowId FLOW_ID = new FlowId("ut-flow");
+
+    @Mock
+    private DeviceInfo deviceInfo;
+    @Mock
+    private DeviceFlowRegistry flowRegistry;
+    @Mock
+    private TxFacade txFacade;
+
+    private IncrementalFlowStatisticsWriter writer;
+    private InstanceIdentifier<Flow> flowPath;
+
+    @Before
+    public void setUp() throws Exception {
+        final KeyedInstanceIdentifier<Node, NodeKey> nodePath = InstanceIdentifier.create(Nodes.class)
+                .child(Node.class, new NodeKey(new NodeId("ut-node:1")));
+        Mockito.when(deviceInfo.getNodeInstanceIdentifier()).thenReturn(nodePath);
+        Mockito.when(flowRegistry.storeIfNecessary(Matchers.<FlowRegistryKey>any())).thenReturn(FLOW_ID);
+        Mockito.when(txFacade.submitTransaction()).thenReturn(true);
+        flowPath = nodePath.augmentation(FlowCapableNode.class)
+                .child(Table.class, new TableKey(TABLE_ID))
+                .child(Flow.class, new FlowKey(FLOW_ID));
+        writer = new IncrementalFlowStatisticsWriter();
+    }
+
+    @Test
+    public void testUnchangedFlowIsNotRewritten() throws Exception {
+        Assert.assertFalse(writer.startCollecting(txFacade));
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Assert.assertTrue(writer.startCollecting(txFacade));
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Mockito.verify(txFacade).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+        Mockito.verify(txFacade, Mockito.never()).addDeleteToTxChain(Matchers.any(LogicalDatastoreType.class),
+                Matchers.<InstanceIdentifier<DataObject>>any());
+    }
+
+    @Test
+    public void testChangedFlowIsRewritten() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(2L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    @Test
+    public void testVanishedFlowIsDeleted() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(Collections.<FlowsStatisticsUpdate>emptyList(), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Mockito.verify(txFacade).addDeleteToTxChain(LogicalDatastoreType.OPERATIONAL, flowPath);
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+        writer.invalidate();
+
+        Assert.assertFalse(writer.startCollecting(txFacade));
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    @Test
+    public void testRejectedSubmitInvalidates() throws Exception {
+        Mockito.when(txFacade.submitTransaction()).thenReturn(false);
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Mockito.when(txFacade.submitTransaction()).thenReturn(true);
+        Assert.assertFalse(writer.startCollecting(txFacade));
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    @Test
+    public void testWriteEpochChangeInvalidates() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        // submit failed asynchronously or transaction chain got recreated
+        Mockito.when(txFacade.getWriteEpoch()).thenReturn(1L);
+        Assert.assertFalse(writer.startCollecting(txFacade));
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Assert.assertTrue(writer.startCollecting(txFacade));
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    @Test
+    public void testWriteEpochChangeDuringCycleInvalidates() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(1L), deviceInfo, flowRegistry, txFacade);
+        Mockito.when(txFacade.getWriteEpoch()).thenReturn(1L);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Assert.assertFalse(writer.startCollecting(txFacade));
+    }
+
+    @Test
+    public void testUnchangedFlowIsRefreshed() throws Exception {
+        for (int i = 0; i <= IncrementalFlowStatisticsWriter.REFRESH_CYCLES; i++) {
+            writer.startCollecting(txFacade);
+            writer.writeFlowStatistics(prepareFlowStatisticsData(1L, i), deviceInfo, flowRegistry, txFacade);
+            writer.finishCollecting(deviceInfo, txFacade);
+        }
+
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    @Test
+    public void testReAddedFlowIsRewritten() throws Exception {
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(0L, 5L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        // flow was removed and added again - counters are the same, duration started over
+        writer.startCollecting(txFacade);
+        writer.writeFlowStatistics(prepareFlowStatisticsData(0L, 1L), deviceInfo, flowRegistry, txFacade);
+        writer.finishCollecting(deviceInfo, txFacade);
+
+        Mockito.verify(txFacade, Mockito.times(2)).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(flowPath), Matchers.any(Flow.class));
+    }
+
+    private static Iterable<FlowsStatisticsUpdate> prepareFlowStatisticsData(final long packetCount) {
+        return prepareFlowStatisticsData(packetCount, 0L);
+    }
+
+    private static Iterable<FlowsStatisticsUpdate> prepareFlowStatisticsData(final long packetCount,
+                                                                             final long durationSeconds) {
+        final FlowAndStatisticsMapList flowAndStats = new FlowAndStatisticsMapListBuilder()
+                .setTableId(TABLE_ID)
+                .setPriority(2)
+                .setMatch(new MatchBuilder().build())
+                .setPacketCount(new Counter64(BigInteger.valueOf(packetCount)))
+                .setByteCount(new Counter64(BigInteger.valueOf(packetCount * 64)))
+                .setDuration(new DurationBuilder()
+                        .setSecond(new Counter32(durationSeconds))
+                        .setNanosecond(new Counter32(0L))
+                        .build())
+                .build();
+
+        return Lists.newArrayList(new FlowsStatisticsUpdateBuilder()
+                .setFlowAndStatisticsMapList(Lists.newArrayList(flowAndStats))
+                .build());
+    }
+}
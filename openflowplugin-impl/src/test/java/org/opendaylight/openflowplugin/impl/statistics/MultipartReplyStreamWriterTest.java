@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.openflowplugin.api.OFConstants;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceInfo;
+import org.opendaylight.openflowplugin.api.openflow.device.DeviceRegistry;
+import org.opendaylight.openflowplugin.api.openflow.device.TxFacade;
+import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManagerFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.meters.Meter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.meters.MeterKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.statistics.rev131111.NodeMeterStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.meter.statistics.rev131111.nodes.node.meter.MeterStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MeterId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartRequestFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReply;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyMeterCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.meter._case.MultipartReplyMeterBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.meter._case.multipart.reply.meter.MeterStatsBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
+
+/**
+ * Test for {@link MultipartReplyStreamWriter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MultipartReplyStreamWriterTest {
+
+    private final KeyedInstanceIdentifier<Node, NodeKey> nodePath = InstanceIdentifier.create(Nodes.class)
+            .child(Node.class, new NodeKey(new NodeId("ut-node:1")));
+
+    @Mock
+    private DeviceInfo deviceInfo;
+    @Mock
+    private TxFacade txFacade;
+    @Mock
+    private DeviceRegistry deviceRegistry;
+
+    private MultipartReplyStreamWriter streamWriter;
+
+    @Before
+    public void setUp() throws Exception {
+        Mockito.when(deviceInfo.getVersion()).thenReturn(OFConstants.OFP_VERSION_1_3);
+        Mockito.when(deviceInfo.getDatapathId()).thenReturn(BigInteger.ONE);
+        Mockito.when(deviceInfo.getNodeInstanceIdentifier()).thenReturn(nodePath);
+        streamWriter = new MultipartReplyStreamWriter(deviceInfo, MultipartType.OFPMPMETER, txFacade, deviceRegistry,
+                new SinglePurposeMultipartReplyTranslator(ConvertorManagerFactory.createDefaultManager()),
+                MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void testIsStreamable() throws Exception {
+        Assert.assertTrue(MultipartReplyStreamWriter.isStreamable(MultipartType.OFPMPPORTSTATS));
+        Assert.assertFalse(MultipartReplyStreamWriter.isStreamable(MultipartType.OFPMPGROUPDESC));
+        Assert.assertFalse(MultipartReplyStreamWriter.isStreamable(MultipartType.OFPMPFLOW));
+    }
+
+    @Test
+    public void testStreaming() throws Exception {
+        streamWriter.accept(assembleMeterStatsReply(1L, true));
+        Mockito.verify(txFacade).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(assembleMeterStatisticsPath(1L)), Matchers.any(MeterStatistics.class));
+
+        streamWriter.accept(assembleMeterStatsReply(2L, false));
+        Mockito.verify(txFacade).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(assembleMeterStatisticsPath(2L)), Matchers.any(MeterStatistics.class));
+        Mockito.verify(txFacade, Mockito.never()).submitTransaction();
+
+        Assert.assertTrue(streamWriter.finish().get(1, TimeUnit.SECONDS));
+        Mockito.verify(txFacade).submitTransaction();
+    }
+
+    @Test
+    public void testStreaming_failure() throws Exception {
+        Mockito.doThrow(new IllegalStateException("ut-exception")).when(txFacade).writeToTransaction(
+                Matchers.any(LogicalDatastoreType.class), Matchers.any(InstanceIdentifier.class),
+                Matchers.any(MeterStatistics.class));
+
+        streamWriter.accept(assembleMeterStatsReply(1L, true));
+        streamWriter.accept(assembleMeterStatsReply(2L, false));
+
+        Assert.assertFalse(streamWriter.finish().get(1, TimeUnit.SECONDS));
+        Mockito.verify(txFacade).writeToTransaction(Matchers.any(LogicalDatastoreType.class),
+                Matchers.any(InstanceIdentifier.class), Matchers.any(MeterStatistics.class));
+        Mockito.verify(txFacade, Mockito.never()).submitTransaction();
+    }
+
+    @Test
+    public void testStreaming_backpressure() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        streamWriter = new MultipartReplyStreamWriter(deviceInfo, MultipartType.OFPMPMETER, txFacade, deviceRegistry,
+                new SinglePurposeMultipartReplyTranslator(ConvertorManagerFactory.createDefaultManager()), tasks::add);
+
+        for (long meterIdValue = 1; meterIdValue <= MultipartReplyStreamWriter.MAX_PENDING_REPLIES; meterIdValue++) {
+            streamWriter.accept(assembleMeterStatsReply(meterIdValue, true));
+        }
+        Mockito.verify(txFacade, Mockito.never()).writeToTransaction(Matchers.any(LogicalDatastoreType.class),
+                Matchers.any(InstanceIdentifier.class), Matchers.any(MeterStatistics.class));
+
+        // executor is stuck, so the caller writes the oldest reply itself
+        streamWriter.accept(assembleMeterStatsReply(MultipartReplyStreamWriter.MAX_PENDING_REPLIES + 1, false));
+        Mockito.verify(txFacade).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL),
+                Matchers.eq(assembleMeterStatisticsPath(1L)), Matchers.any(MeterStatistics.class));
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        final ListenableFuture<Boolean> finished = streamWriter.finish();
+        Assert.assertEquals(2, tasks.size());
+        Assert.assertFalse(finished.isDone());
+        tasks.get(1).run();
+
+        Assert.assertTrue(finished.get(1, TimeUnit.SECONDS));
+        Mockito.verify(txFacade, Mockito.times(MultipartReplyStreamWriter.MAX_PENDING_REPLIES + 1)).writeToTransaction(
+                Matchers.any(LogicalDatastoreType.class), Matchers.any(InstanceIdentifier.class),
+                Matchers.any(MeterStatistics.class));
+        Mockito.verify(txFacade).submitTransaction();
+    }
+
+    @Test
+    public void testStreaming_emptyTranslation() throws Exception {
+        final SinglePurposeMultipartReplyTranslator translator = Mockito.mock(SinglePurposeMultipartReplyTranslator.class);
+        Mockito.when(translator.translate(Matchers.any(BigInteger.class), Matchers.anyShort(), Matchers.any(OfHeader.class)))
+                .thenReturn(Collections.<DataObject>emptyList());
+        streamWriter = new MultipartReplyStreamWriter(deviceInfo, MultipartType.OFPMPMETER, txFacade, deviceRegistry,
+                translator, MoreExecutors.directExecutor());
+
+        streamWriter.accept(assembleMeterStatsReply(1L, false));
+
+        Assert.assertTrue(streamWriter.finish().get(1, TimeUnit.SECONDS));
+        Mockito.verify(txFacade, Mockito.never()).writeToTransaction(Matchers.any(LogicalDatastoreType.class),
+                Matchers.any(InstanceIdentifier.class), Matchers.any(DataObject.class));
+        Mockito.verify(txFacade).submitTransaction();
+    }
+
+    private InstanceIdentifier<MeterStatistics> assembleMeterStatisticsPath(final long meterIdValue) {
+        return nodePath.augmentation(FlowCapableNode.class)
+                .child(Meter.class, new MeterKey(
+                        new org.opendaylight.yang.gen.v1.urn.opendaylight.meter.types.rev130918.MeterId(meterIdValue)))
+                .augmentation(NodeMeterStatistics.class)
+                .child(MeterStatistics.class);
+    }
+
+    private static MultipartReply assembleMeterStatsReply(final long meterIdValue, final boolean requestMore) {
+        final MeterStatsBuilder meterStatsBld = new MeterStatsBuilder()
+                .setMeterId(new MeterId(meterIdValue))
+                .setByteInCount(BigInteger.valueOf(111L))
+                .setDurationSec(112L)
+                .setDurationNsec(113L)
+                .setFlowCount(114L)
+                .setPacketInCount(BigInteger.valueOf(115L))
+                .setMeterBandStats(Lists.newArrayList());
+        final MultipartReplyMeterCaseBuilder mpReplyMeterCaseBld = new MultipartReplyMeterCaseBuilder()
+                .setMultipartReplyMeter(new MultipartReplyMeterBuilder()
+                        .setMeterStats(Lists.newArrayList(meterStatsBld.build()))
+                        .build());
+
+        return new MultipartReplyMessageBuilder()
+                .setMultipartReplyBody(mpReplyMeterCaseBld.build())
+                .setType(MultipartType.OFPMPMETER)
+                .setFlags(new MultipartRequestFlags(requestMore))
+                .setXid(42L)
+                .build();
+    }
+}
@@ -16,8 +16,12 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -112,6 +116,11 @@ public class StatisticsContextImplTest extends StatisticsContextImpMockInitiatio
                 .thenReturn(
                         Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
                 );
+        when(mockedStatisticsGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class),
+                Matchers.<Consumer<MultipartReply>>any()))
+                .thenReturn(
+                        Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
+                );
         when(mockedStatisticsOnFlyGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class)))
                 .thenReturn(
                         Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
@@ -120,13 +129,69 @@ public class StatisticsContextImplTest extends StatisticsContextImpMockInitiatio
         final ListenableFuture<Boolean> gatheringResult = statisticsContext.gatherDynamicData();
         Assert.assertTrue(gatheringResult.isDone());
         Assert.assertTrue(gatheringResult.get());
-        verify(mockedStatisticsGatheringService, times(7))
+        // replies of pure statistics are streamed, group and meter configuration is collected
+        verify(mockedStatisticsGatheringService, times(2))
                 .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class));
+        verify(mockedStatisticsGatheringService, times(5))
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class),
+                        Matchers.<Consumer<MultipartReply>>any());
         verify(mockedStatisticsOnFlyGatheringService)
                 .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class));
         Mockito.verifyNoMoreInteractions(mockedStatisticsGatheringService, mockedStatisticsOnFlyGatheringService);
     }
 
+    @Test
+    public void testGatherDynamicData_pipelined() throws Exception {
+        Mockito.reset(mockedDeviceState);
+        when(mockedDeviceState.isTableStatisticsAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceState.isFlowStatisticsAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceState.isGroupAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceState.isMetersAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceState.isPortStatisticsAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceState.isQueueStatisticsAvailable()).thenReturn(Boolean.TRUE);
+        when(mockedDeviceInfo.getNodeInstanceIdentifier()).thenReturn(dummyNodeII);
+        initStatisticsContext();
+        statisticsContext.setStatisticsPipelining(8, MoreExecutors.directExecutor());
+
+        final SettableFuture<RpcResult<List<MultipartReply>>> groupDescFuture = SettableFuture.create();
+        when(mockedStatisticsGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class)))
+                .thenReturn(
+                        Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
+                );
+        when(mockedStatisticsGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class),
+                Matchers.<Consumer<MultipartReply>>any()))
+                .thenReturn(
+                        Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
+                );
+        when(mockedStatisticsGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.eq(MultipartType.OFPMPGROUPDESC)))
+                .thenReturn(groupDescFuture);
+        when(mockedStatisticsOnFlyGatheringService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class)))
+                .thenReturn(
+                        Futures.immediateFuture(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build())
+                );
+
+        final ListenableFuture<Boolean> gatheringResult = statisticsContext.gatherDynamicData();
+        Assert.assertFalse(gatheringResult.isDone());
+        verify(mockedStatisticsGatheringService, Mockito.never())
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.eq(MultipartType.OFPMPGROUP),
+                        Matchers.<Consumer<MultipartReply>>any());
+        verify(mockedStatisticsGatheringService)
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.eq(MultipartType.OFPMPQUEUE),
+                        Matchers.<Consumer<MultipartReply>>any());
+
+        groupDescFuture.set(RpcResultBuilder.success(Collections.<MultipartReply>emptyList()).build());
+        Assert.assertTrue(gatheringResult.isDone());
+        Assert.assertTrue(gatheringResult.get());
+        // replies of pure statistics are streamed, group and meter configuration is collected
+        verify(mockedStatisticsGatheringService, times(2))
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class));
+        verify(mockedStatisticsGatheringService, times(5))
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class),
+                        Matchers.<Consumer<MultipartReply>>any());
+        verify(mockedStatisticsOnFlyGatheringService)
+                .getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.any(MultipartType.class));
+    }
+
     @Test
     public void testDeviceConnectionCheck_WORKING() throws Exception {
         final ListenableFuture<Boolean> deviceConnectionCheckResult = statisticsContext.deviceConnectionCheck();
@@ -47,6 +47,7 @@ import org.opendaylight.openflowplugin.api.openflow.registry.meter.DeviceMeterRe
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.EventIdentifier;
 import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.StatisticsGatherer;
 import org.opendaylight.openflowplugin.impl.registry.flow.FlowRegistryKeyFactory;
+import org.opendaylight.openflowplugin.impl.statistics.ofpspecific.EventsTimeCounter;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManager;
 import org.opendaylight.openflowplugin.openflow.md.core.sal.convertor.ConvertorManagerFactory;
 import org.opendaylight.openflowplugin.openflow.md.util.OpenflowPortsUtil;
@@ -457,6 +458,31 @@ public class StatisticsGatheringUtilsTest {
         verify(txFacade).writeToTransaction(Matchers.eq(LogicalDatastoreType.OPERATIONAL), Matchers.eq(flowPath), Matchers.any(Flow.class));
     }
 
+    /**
+     * Flows gathered by on-the-fly service - latency of whole process is recorded once the (empty) result arrives.
+     */
+    @Test
+    public void testGatherStatistics_flowOnTheFlyLatency() throws Exception {
+        EventsTimeCounter.resetAllCounters();
+        when(statisticsService.getStatisticsOfType(Matchers.any(EventIdentifier.class), Matchers.eq(MultipartType.OFPMPFLOW)))
+                .thenReturn(Futures.immediateFuture(RpcResultBuilder.<List<MultipartReply>>success().build()));
+
+        final ListenableFuture<Boolean> gatherStatisticsResult = StatisticsGatheringUtils.gatherStatistics(
+                statisticsService,
+                deviceInfo,
+                MultipartType.OFPMPFLOW,
+                txFacade,
+                deviceContext,
+                false,
+                singlePurposeMultipartReplyTranslator);
+        Assert.assertTrue(gatherStatisticsResult.get(1, TimeUnit.SECONDS).booleanValue());
+
+        final List<String> times = EventsTimeCounter.provideTimes();
+        final int flowEventIndex = times.indexOf(MultipartType.OFPMPFLOW.toString());
+        Assert.assertTrue(flowEventIndex >= 0);
+        Assert.assertEquals(String.format("    COUNT:          %d", 1), times.get(flowEventIndex + 1));
+    }
+
     @Test
     public void testGatherStatistics_meterConfig() throws Exception {
         final MultipartType type = MultipartType.OFPMPMETERCONFIG;
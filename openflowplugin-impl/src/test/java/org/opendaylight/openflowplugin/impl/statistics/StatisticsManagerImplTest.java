@@ -13,6 +13,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timeout;
 import java.lang.reflect.Field;
@@ -370,37 +371,59 @@ public class StatisticsManagerImplTest {
         Mockito.verify(serviceControlRegistration).close();
     }
 
-    @Test
-    public void testCalculateTimerDelay() throws Exception {
-        final TimeCounter timeCounter = Mockito.mock(TimeCounter.class);
-        when(timeCounter.getAverageTimeBetweenMarks()).thenReturn(2000L, (Long)4000L);
-
-        statisticsManager.calculateTimerDelay(timeCounter);
-        Assert.assertEquals(3000L, StatisticsManagerImpl.getCurrentTimerDelay());
-        statisticsManager.calculateTimerDelay(timeCounter);
-        Assert.assertEquals(6000L, StatisticsManagerImpl.getCurrentTimerDelay());
-    }
-
     @Test
     public void testPollStatistics() throws Exception {
         final StatisticsContext statisticsContext = Mockito.mock(StatisticsContext.class);
         final TimeCounter mockTimerCounter = Mockito.mock(TimeCounter.class);
+        final StatisticsPollingSchedule pollingSchedule = new StatisticsPollingSchedule(mockTimerCounter);
 
-        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, mockTimerCounter, mockedDeviceInfo);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
         verify(mockedDeviceContext).getDeviceState();
 
-        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, mockTimerCounter, mockedDeviceInfo);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
 
-        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, mockTimerCounter, mockedDeviceInfo);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
 
         when(statisticsContext.gatherDynamicData()).thenReturn(Futures.immediateCheckedFuture(Boolean.TRUE));
         when(statisticsContext.isSchedulingEnabled()).thenReturn(Boolean.TRUE);
-        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, mockTimerCounter, mockedDeviceInfo);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
         Mockito.verify(mockTimerCounter).markStart();
         Mockito.verify(mockTimerCounter).addTimeMark();
 
         when(statisticsContext.gatherDynamicData()).thenReturn(Futures.immediateFailedFuture(new Throwable("error msg")));
-        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, mockTimerCounter, mockedDeviceInfo);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
         Mockito.verify(mockTimerCounter,times(2)).addTimeMark();
     }
+
+    @Test
+    public void testPollStatistics_budgetExhausted() throws Exception {
+        final StatisticsContext statisticsContext = Mockito.mock(StatisticsContext.class);
+        final TimeCounter mockTimerCounter = Mockito.mock(TimeCounter.class);
+        final StatisticsPollingSchedule pollingSchedule = new StatisticsPollingSchedule(mockTimerCounter);
+        when(statisticsContext.gatherDynamicData()).thenReturn(SettableFuture.<Boolean>create());
+        when(statisticsContext.isSchedulingEnabled()).thenReturn(Boolean.TRUE);
+
+        statisticsManager.setMaxConcurrentPolls(1);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
+        Assert.assertEquals(1, statisticsManager.getPollsInFlight());
+
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
+        Assert.assertEquals(1, statisticsManager.getPollsInFlight());
+        Mockito.verify(statisticsContext).gatherDynamicData();
+        Mockito.verify(mockTimerCounter).markStart();
+    }
+
+    @Test
+    public void testPollStatistics_gatheringThrows() throws Exception {
+        final StatisticsContext statisticsContext = Mockito.mock(StatisticsContext.class);
+        final TimeCounter mockTimerCounter = Mockito.mock(TimeCounter.class);
+        final StatisticsPollingSchedule pollingSchedule = new StatisticsPollingSchedule(mockTimerCounter);
+        when(statisticsContext.gatherDynamicData()).thenThrow(new IllegalArgumentException("error msg"));
+        when(statisticsContext.isSchedulingEnabled()).thenReturn(Boolean.TRUE);
+
+        statisticsManager.setMaxConcurrentPolls(1);
+        statisticsManager.pollStatistics(mockedDeviceContext.getDeviceState(), statisticsContext, pollingSchedule, mockedDeviceInfo);
+        Assert.assertEquals(0, statisticsManager.getPollsInFlight());
+        Mockito.verify(mockTimerCounter).addTimeMark();
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Test for {@link StatisticsPollingSchedule}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsPollingScheduleTest {
+
+    @Mock
+    private TimeCounter timeCounter;
+
+    private StatisticsPollingSchedule pollingSchedule;
+
+    @Before
+    public void setUp() throws Exception {
+        pollingSchedule = new StatisticsPollingSchedule(timeCounter);
+    }
+
+    @Test
+    public void testCalculateTimerDelay() throws Exception {
+        Mockito.when(timeCounter.getAverageTimeBetweenMarks()).thenReturn(2000L, 4000L, 1000L);
+
+        pollingSchedule.calculateTimerDelay();
+        Assert.assertEquals(3000L, pollingSchedule.getCurrentTimerDelay());
+        pollingSchedule.calculateTimerDelay();
+        Assert.assertEquals(6000L, pollingSchedule.getCurrentTimerDelay());
+        pollingSchedule.calculateTimerDelay();
+        Assert.assertEquals(3000L, pollingSchedule.getCurrentTimerDelay());
+    }
+
+    @Test
+    public void testCalculateTimerDelay_maximum() throws Exception {
+        Mockito.when(timeCounter.getAverageTimeBetweenMarks()).thenReturn(Long.MAX_VALUE);
+
+        for (int i = 0; i < 20; i++) {
+            pollingSchedule.calculateTimerDelay();
+        }
+        Assert.assertEquals(StatisticsPollingSchedule.MAXIMUM_TIMER_DELAY, pollingSchedule.getCurrentTimerDelay());
+    }
+
+    @Test
+    public void testSchedulesAreIndependent() throws Exception {
+        final TimeCounter fastTimeCounter = Mockito.mock(TimeCounter.class);
+        final StatisticsPollingSchedule fastSchedule = new StatisticsPollingSchedule(fastTimeCounter);
+        Mockito.when(timeCounter.getAverageTimeBetweenMarks()).thenReturn(4000L);
+        Mockito.when(fastTimeCounter.getAverageTimeBetweenMarks()).thenReturn(10L);
+
+        pollingSchedule.calculateTimerDelay();
+        fastSchedule.calculateTimerDelay();
+        Assert.assertEquals(6000L, pollingSchedule.getCurrentTimerDelay());
+        Assert.assertEquals(StatisticsPollingSchedule.BASIC_TIMER_DELAY, fastSchedule.getCurrentTimerDelay());
+    }
+
+    @Test
+    public void testDelayJitter() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            final long nextDelay = pollingSchedule.getNextDelay();
+            Assert.assertTrue(nextDelay >= 2700L && nextDelay <= 3300L);
+
+            final long initialDelay = pollingSchedule.getInitialDelay();
+            Assert.assertTrue(initialDelay >= 0 && initialDelay < StatisticsPollingSchedule.BASIC_TIMER_DELAY);
+        }
+    }
+}
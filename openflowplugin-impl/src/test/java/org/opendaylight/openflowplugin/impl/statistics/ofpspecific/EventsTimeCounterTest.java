@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
+
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowplugin.api.openflow.statistics.ofpspecific.EventIdentifier;
+
+/**
+ * Test for {@link EventsTimeCounter}.
+ */
+public class EventsTimeCounterTest {
+
+    @Before
+    public void setUp() throws Exception {
+        EventsTimeCounter.resetAllCounters();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        EventsTimeCounter.resetAllCounters();
+    }
+
+    @Test
+    public void testOverlappingEvents() throws Exception {
+        final EventIdentifier firstEvent = new EventIdentifier("junit", "junitDevice");
+        final EventIdentifier secondEvent = new EventIdentifier("junit", "junitDevice");
+
+        EventsTimeCounter.markStart(firstEvent);
+        EventsTimeCounter.markStart(secondEvent);
+        EventsTimeCounter.markEnd(firstEvent);
+        EventsTimeCounter.markEnd(secondEvent);
+        // already finished event is not recorded again
+        EventsTimeCounter.markEnd(secondEvent);
+
+        final List<String> times = EventsTimeCounter.provideTimes();
+        Assert.assertTrue(times.contains("DEVICE : junitDevice"));
+        Assert.assertTrue(times.contains("junit"));
+        Assert.assertTrue(times.contains("    COUNT:          2"));
+    }
+
+    @Test
+    public void testStartToken() throws Exception {
+        final EventIdentifier event = new EventIdentifier("junit", "junitDevice");
+
+        final long startToken = EventsTimeCounter.markStart(event);
+        EventsTimeCounter.markEnd(event, startToken);
+        EventsTimeCounter.markEnd(event, startToken);
+
+        Assert.assertTrue(EventsTimeCounter.provideTimes().contains("    COUNT:          2"));
+        Assert.assertEquals(EventsTimeCounter.provideTimes(), EventsTimeCounter.getMXBean().provideTimes());
+    }
+
+    @Test
+    public void testEndWithoutStart() throws Exception {
+        EventsTimeCounter.markEnd(new EventIdentifier("junit", "junitDevice"));
+        Assert.assertTrue(EventsTimeCounter.provideTimes().isEmpty());
+    }
+}
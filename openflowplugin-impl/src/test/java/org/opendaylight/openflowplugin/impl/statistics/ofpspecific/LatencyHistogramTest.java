@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowplugin.impl.statistics.ofpspecific;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0L, histogram.getCount());
+        Assert.assertEquals(0L, histogram.getMinimumMicros());
+        Assert.assertEquals(0L, histogram.getAverageMicros());
+        Assert.assertEquals(0L, histogram.getPercentileMicros(99.9));
+    }
+
+    @Test
+    public void testPercentiles() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        Assert.assertEquals(1000L, histogram.getCount());
+        Assert.assertEquals(1000L, histogram.getMinimumMicros());
+        Assert.assertEquals(1000000L, histogram.getMaximumMicros());
+        Assert.assertEquals(500500L, histogram.getAverageMicros());
+        assertWithinPrecision(500000L, histogram.getPercentileMicros(50.0));
+        assertWithinPrecision(990000L, histogram.getPercentileMicros(99.0));
+        assertWithinPrecision(999000L, histogram.getPercentileMicros(99.9));
+        Assert.assertEquals(1000000L, histogram.getPercentileMicros(100.0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(5));
+
+        Assert.assertEquals(3L, histogram.getPercentileMicros(50.0));
+        Assert.assertEquals(5L, histogram.getPercentileMicros(99.0));
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final long hugeMicros = LatencyHistogram.MAXIMUM_TRACKABLE_MICROS * 4;
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(hugeMicros));
+
+        Assert.assertEquals(hugeMicros, histogram.getMaximumMicros());
+        Assert.assertTrue(histogram.getPercentileMicros(99.0) <= LatencyHistogram.MAXIMUM_TRACKABLE_MICROS);
+    }
+
+    private static void assertWithinPrecision(final long expected, final long actual) {
+        // bucket is at most 1/8 of value wide
+        Assert.assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+}
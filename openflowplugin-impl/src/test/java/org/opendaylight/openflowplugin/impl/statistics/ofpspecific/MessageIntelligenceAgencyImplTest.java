@@ -25,6 +25,26 @@ public class MessageIntelligenceAgencyImplTest {
         findExpectedStatistics(intelligence, "FROM_SWITCH: MSG[String] -> +1 | 1", "TO_SWITCH_ENTERED: MSG[Integer] -> +1 | 1");
     }
 
+    @Test
+    public void testMessageIntelligenceAgency_interval() {
+        final MessageIntelligenceAgencyImpl messageIntelligenceAgency = new MessageIntelligenceAgencyImpl();
+        messageIntelligenceAgency.spyMessage(String.class, MessageSpy.STATISTIC_GROUP.FROM_SWITCH);
+        messageIntelligenceAgency.spyMessage(String.class, MessageSpy.STATISTIC_GROUP.FROM_SWITCH);
+        messageIntelligenceAgency.spyMessage(Long.class, MessageSpy.STATISTIC_GROUP.FROM_SWITCH);
+        findExpectedStatistics(messageIntelligenceAgency.provideIntelligence(),
+                "FROM_SWITCH: MSG[String] -> +2 | 2", "FROM_SWITCH: MSG[Long] -> +1 | 1",
+                "TO_SWITCH_ENTERED: no activity detected");
+
+        messageIntelligenceAgency.spyMessage(String.class, MessageSpy.STATISTIC_GROUP.FROM_SWITCH);
+        findExpectedStatistics(messageIntelligenceAgency.provideIntelligence(),
+                "FROM_SWITCH: MSG[String] -> +1 | 3", "FROM_SWITCH: MSG[Long] -> +0 | 1");
+
+        messageIntelligenceAgency.resetStatistics();
+        findExpectedStatistics(messageIntelligenceAgency.provideIntelligence(), "FROM_SWITCH: no activity detected");
+        messageIntelligenceAgency.spyMessage(Long.class, MessageSpy.STATISTIC_GROUP.FROM_SWITCH);
+        findExpectedStatistics(messageIntelligenceAgency.provideIntelligence(), "FROM_SWITCH: MSG[Long] -> +1 | 1");
+    }
+
     private void findExpectedStatistics(final List<String> statisticsInfo, String ... expectedValues) {
         for (String expectedValue : expectedValues) {
             assertTrue("Expected value " + expectedValue + "wasn't found.", findValueInStatistics(statisticsInfo, expectedValue));
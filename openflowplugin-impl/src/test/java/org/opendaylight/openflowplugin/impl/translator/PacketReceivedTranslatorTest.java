@@ -49,6 +49,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.features.reply.PhyPort;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceivedBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.packet.received.Match;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 
@@ -126,6 +127,29 @@ public class PacketReceivedTranslatorTest {
         Assert.assertEquals(42L, packetReceived.getTableId().getValue().longValue());
     }
 
+    @Test
+    public void testTranslateLazy() throws Exception {
+        final KeyedInstanceIdentifier<Node, NodeKey> nodePath = KeyedInstanceIdentifier
+                .create(Nodes.class)
+                .child(Node.class, new NodeKey(new NodeId("openflow:10")));
+        final PacketReceivedTranslator packetReceivedTranslator = new PacketReceivedTranslator(convertorManager);
+        final PacketInMessage packetInMessage = createPacketInMessage(DATA.getBytes(), PORT_NO);
+        Mockito.when(deviceInfo.getNodeInstanceIdentifier()).thenReturn(nodePath);
+
+        final PacketReceived packetReceived = packetReceivedTranslator.translate(packetInMessage, deviceInfo, null);
+
+        // payload is not copied on access
+        Assert.assertSame(packetReceived.getPayload(), packetReceived.getPayload());
+        Assert.assertNotNull(packetReceived.getMatch());
+        Assert.assertSame(packetReceived.getMatch(), packetReceived.getMatch());
+        Assert.assertEquals("openflow:10:" + PORT_NO, packetReceived.getMatch().getInPort().getValue());
+        Assert.assertEquals(PacketReceived.class, packetReceived.getImplementedInterface());
+
+        final PacketReceived packetReceivedCopy = new PacketReceivedBuilder(packetReceived).build();
+        Assert.assertEquals(packetReceivedCopy, packetReceived);
+        Assert.assertEquals(packetReceived, packetReceivedCopy);
+    }
+
     private static PacketInMessage createPacketInMessage(final byte[] data,
                                                          final long port) {
         final PacketInReason reason = PacketInReason.OFPRACTION;
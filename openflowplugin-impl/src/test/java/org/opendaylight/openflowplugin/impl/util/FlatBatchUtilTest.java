@@ -10,12 +10,16 @@ package org.opendaylight.openflowplugin.impl.util;
 
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchPlanStep;
 import org.opendaylight.openflowplugin.impl.services.batch.BatchStepType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.GroupActionCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.action.group.action._case.GroupActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.ProcessFlatBatchOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.input.Batch;
@@ -43,6 +47,11 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev16032
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.output.BatchFailureBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flat.batch.service.rev160321.process.flat.batch.output.batch.failure.batch.item.id.choice.FlatBatchFailureFlowIdCaseBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.flow.InstructionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.ApplyActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.instruction.apply.actions._case.ApplyActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.InstructionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.group.types.rev131018.GroupId;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
@@ -140,6 +149,73 @@ public class FlatBatchUtilTest {
         Assert.assertFalse(batchPlan.get(0).isBarrierAfter());
     }
 
+    @Test
+    public void testMarkDependencies() throws Exception {
+        final List<Batch> batches = Lists.newArrayList(
+                createBatch(BatchStepType.GROUP_ADD),
+                createBatch(BatchStepType.METER_ADD),
+                createBatch(BatchStepType.FLOW_ADD),
+                createBatch(BatchStepType.FLOW_ADD),
+                createBatch(BatchStepType.GROUP_UPDATE)
+        );
+
+        final List<BatchPlanStep> batchPlan = FlatBatchUtil.assembleBatchPlan(batches);
+        FlatBatchUtil.markDependencies(batchPlan);
+
+        Assert.assertEquals(5, batchPlan.size());
+        // empty items refer to nothing - only flows without table write the same objects
+        for (int i = 0; i < batchPlan.size(); i++) {
+            Assert.assertEquals(i == 2, batchPlan.get(i).isBarrierAfter());
+        }
+        Assert.assertTrue(batchPlan.get(2).getBarrierDependencies().isEmpty());
+        Assert.assertEquals(Collections.singleton(2), batchPlan.get(3).getBarrierDependencies());
+        Assert.assertTrue(batchPlan.get(4).getBarrierDependencies().isEmpty());
+    }
+
+    @Test
+    public void testMarkDependencies_groupReference() throws Exception {
+        final Batch groupAdd = new BatchBuilder()
+                .setBatchChoice(new FlatBatchAddGroupCaseBuilder()
+                        .setFlatBatchAddGroup(Collections.singletonList(new FlatBatchAddGroupBuilder()
+                                .setGroupId(new GroupId(1L))
+                                .build()))
+                        .build())
+                .build();
+        final Batch flowAdd = new BatchBuilder()
+                .setBatchChoice(new FlatBatchAddFlowCaseBuilder()
+                        .setFlatBatchAddFlow(Collections.singletonList(new FlatBatchAddFlowBuilder()
+                                .setTableId((short) 1)
+                                .setInstructions(new InstructionsBuilder()
+                                        .setInstruction(Collections.singletonList(new InstructionBuilder()
+                                                .setOrder(0)
+                                                .setInstruction(new ApplyActionsCaseBuilder()
+                                                        .setApplyActions(new ApplyActionsBuilder()
+                                                                .setAction(Collections.singletonList(new ActionBuilder()
+                                                                        .setOrder(0)
+                                                                        .setAction(new GroupActionCaseBuilder()
+                                                                                .setGroupAction(new GroupActionBuilder()
+                                                                                        .setGroupId(1L)
+                                                                                        .build())
+                                                                                .build())
+                                                                        .build()))
+                                                                .build())
+                                                        .build())
+                                                .build()))
+                                        .build())
+                                .build()))
+                        .build())
+                .build();
+
+        final List<BatchPlanStep> batchPlan = FlatBatchUtil.assembleBatchPlan(
+                Lists.newArrayList(groupAdd, createBatch(BatchStepType.METER_ADD), flowAdd));
+        FlatBatchUtil.markDependencies(batchPlan);
+
+        Assert.assertTrue(batchPlan.get(0).isBarrierAfter());
+        Assert.assertFalse(batchPlan.get(1).isBarrierAfter());
+        Assert.assertFalse(batchPlan.get(2).isBarrierAfter());
+        Assert.assertEquals(Collections.singleton(0), batchPlan.get(2).getBarrierDependencies());
+    }
+
     @Test
     public void testDecideBarrier() throws Exception {
         Assert.assertTrue(FlatBatchUtil.decideBarrier(EnumSet.of(BatchStepType.GROUP_ADD), BatchStepType.FLOW_ADD));
@@ -12,14 +12,12 @@ import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Future;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -267,10 +265,10 @@ public abstract class OFRpcTaskFactory {
             final List<FlowModInputBuilder> ofFlowModInputs, final int index,
             final OFRpcTaskContext taskContext, final SwitchConnectionDistinguisher cookie) {
 
-        Future<RpcResult<UpdateFlowOutput>> resultFromOFLib =
+        ListenableFuture<RpcResult<UpdateFlowOutput>> resultFromOFLib =
                 createResultForFlowMod(taskContext, ofFlowModInputs.get(index), cookie);
 
-        ListenableFuture<RpcResult<UpdateFlowOutput>> result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+        ListenableFuture<RpcResult<UpdateFlowOutput>> result = resultFromOFLib;
 
         if (ofFlowModInputs.size() > index + 1) {
             // there are more flowmods to chain
@@ -293,7 +291,7 @@ public abstract class OFRpcTaskFactory {
         }
     }
 
-    private static Future<RpcResult<UpdateFlowOutput>> createResultForFlowMod(
+    private static ListenableFuture<RpcResult<UpdateFlowOutput>> createResultForFlowMod(
             OFRpcTaskContext taskContext, FlowModInputBuilder flowModInput,
             SwitchConnectionDistinguisher cookie) {
         flowModInput.setXid(taskContext.getSession().getNextXid());
@@ -497,9 +495,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(GroupConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateGroupOutput>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<UpdateGroupOutput>> resultFromOFLib = getMessageService()
                         .groupMod(groupModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
                         getRpcNotificationProviderService(), createGroupAddedNotification(getInput()));
@@ -566,9 +564,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(MeterConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateMeterOutput>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<UpdateMeterOutput>> resultFromOFLib = getMessageService()
                         .meterMod(meterModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
                         getRpcNotificationProviderService(), createMeterAddedNotification(getInput()));
@@ -637,9 +635,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(GroupConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateGroupOutput>> resultFromOFLib =
+                ListenableFuture<RpcResult<UpdateGroupOutput>> resultFromOFLib =
                         getMessageService().groupMod(groupModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
 
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
@@ -707,9 +705,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(MeterConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateMeterOutput>> resultFromOFLib =
+                ListenableFuture<RpcResult<UpdateMeterOutput>> resultFromOFLib =
                         getMessageService().meterMod(meterModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
                         getRpcNotificationProviderService(), createMeterUpdatedNotification(getInput()));
@@ -843,9 +841,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(GroupConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateGroupOutput>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<UpdateGroupOutput>> resultFromOFLib = getMessageService()
                         .groupMod(groupModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
                         getRpcNotificationProviderService(), createGroupRemovedNotification(getInput()));
@@ -913,9 +911,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(MeterConvertor.defaultResult(getVersion()))
                         .setXid(getSession().getNextXid());
 
-                Future<RpcResult<UpdateMeterOutput>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<UpdateMeterOutput>> resultFromOFLib = getMessageService()
                         .meterMod(meterModInputBuilder.build(), getCookie());
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
                 result = OFRpcTaskUtil.chainFutureBarrier(this, result);
                 OFRpcTaskUtil.hookFutureNotification(this, result,
                         getRpcNotificationProviderService(), createMeterRemovedNotification(getInput()));
@@ -998,9 +996,9 @@ public abstract class OFRpcTaskFactory {
 
                     // Send the request, no cookies associated, use any connection
 
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetAllGroupStatisticsOutput>(result) {
                         @Override
@@ -1052,9 +1050,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPGROUPDESC, taskContext, xid);
                     mprInput.setMultipartRequestBody(mprGroupDescCaseBuild.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetGroupDescriptionOutput>(result) {
                         @Override
@@ -1106,9 +1104,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPGROUPFEATURES, taskContext, xid);
                     mprInput.setMultipartRequestBody(mprGroupFeaturesBuild.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetGroupFeaturesOutput>(result) {
                         @Override
@@ -1163,9 +1161,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPGROUP, taskContext, xid);
                     mprInput.setMultipartRequestBody(caseBuilder.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetGroupStatisticsOutput>(result) {
                         @Override
@@ -1224,9 +1222,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPMETERCONFIG, taskContext, xid);
                     mprInput.setMultipartRequestBody(caseBuilder.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetAllMeterConfigStatisticsOutput>(result) {
                         @Override
@@ -1286,9 +1284,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPMETER, taskContext, xid);
                     mprInput.setMultipartRequestBody(caseBuilder.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetAllMeterStatisticsOutput>(result) {
                         @Override
@@ -1342,9 +1340,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPMETERFEATURES, taskContext, xid);
                     mprInput.setMultipartRequestBody(mprMeterFeaturesBuild.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetMeterFeaturesOutput>(result) {
                         @Override
@@ -1402,9 +1400,9 @@ public abstract class OFRpcTaskFactory {
                     MultipartRequestInputBuilder mprInput =
                             createMultipartHeader(MultipartType.OFPMPMETER, taskContext, xid);
                     mprInput.setMultipartRequestBody(caseBuilder.build());
-                    Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                    ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                             .multipartRequest(mprInput.build(), getCookie());
-                    ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                    ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                     Futures.addCallback(resultLib, new ResultCallback<GetMeterStatisticsOutput>(result) {
                         @Override
@@ -1458,9 +1456,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPPORTSTATS, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAllNodeConnectorsStatisticsOutput>(result) {
                     @Override
@@ -1516,9 +1514,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPPORTSTATS, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetNodeConnectorStatisticsOutput>(result) {
                     @Override
@@ -1575,9 +1573,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPFLOW, taskContext, xid);
                 mprInput.setMultipartRequestBody(multipartRequestFlowCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAllFlowStatisticsFromFlowTableOutput>(result) {
                     @Override
@@ -1637,9 +1635,9 @@ public abstract class OFRpcTaskFactory {
                         createMultipartHeader(MultipartType.OFPMPFLOW, taskContext, xid);
                 multipartRequestFlowCaseBuilder.setMultipartRequestFlow(mprFlowRequestBuilder.build());
                 mprInput.setMultipartRequestBody(multipartRequestFlowCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAllFlowsStatisticsFromAllFlowTablesOutput>(result) {
                     @Override
@@ -1723,9 +1721,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPFLOW, taskContext, xid);
                 mprInput.setMultipartRequestBody(multipartRequestFlowCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetFlowStatisticsFromFlowTableOutput>(result) {
                     @Override
@@ -1783,9 +1781,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPAGGREGATE, taskContext, xid);
                 mprInput.setMultipartRequestBody(multipartRequestAggregateCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAggregateFlowStatisticsFromFlowTableForAllFlowsOutput>(result) {
                     @Override
@@ -1857,9 +1855,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPAGGREGATE, taskContext, xid);
                 mprInput.setMultipartRequestBody(multipartRequestAggregateCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAggregateFlowStatisticsFromFlowTableForGivenMatchOutput>(result) {
                     @Override
@@ -1909,9 +1907,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPTABLE, taskContext, xid);
                 mprInput.setMultipartRequestBody(multipartRequestTableCaseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetFlowTablesStatisticsOutput>(result) {
                     @Override
@@ -1963,9 +1961,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPQUEUE, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAllQueuesStatisticsFromAllPortsOutput>(result) {
                     @Override
@@ -2019,9 +2017,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPQUEUE, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetAllQueuesStatisticsFromGivenPortOutput>(result) {
                     @Override
@@ -2075,9 +2073,9 @@ public abstract class OFRpcTaskFactory {
                 MultipartRequestInputBuilder mprInput =
                         createMultipartHeader(MultipartType.OFPMPQUEUE, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<GetQueueStatisticsFromGivenPortOutput>(result) {
                     @Override
@@ -2168,9 +2166,9 @@ public abstract class OFRpcTaskFactory {
                         .orElse(PortConvertor.defaultResult(getVersion())))
                         .setXid(taskContext.getSession().getNextXid());
 
-                Future<RpcResult<UpdatePortOutput>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<UpdatePortOutput>> resultFromOFLib = getMessageService()
                         .portMod(mdInput.build(), cookie);
-                result = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                result = resultFromOFLib;
 
                 return result;
             }
@@ -2220,9 +2218,9 @@ public abstract class OFRpcTaskFactory {
                         createMultipartHeader(MultipartType.OFPMPTABLEFEATURES, taskContext, xid);
                 mprInput.setMultipartRequestBody(caseBuilder.build());
 
-                Future<RpcResult<Void>> resultFromOFLib = getMessageService()
+                ListenableFuture<RpcResult<Void>> resultFromOFLib = getMessageService()
                         .multipartRequest(mprInput.build(), getCookie());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(resultFromOFLib);
+                ListenableFuture<RpcResult<Void>> resultLib = resultFromOFLib;
 
                 Futures.addCallback(resultLib, new ResultCallback<UpdateTableOutput>(result) {
                     @Override
@@ -2262,7 +2260,7 @@ public abstract class OFRpcTaskFactory {
                 builder.setFlags(flag);
                 builder.setMissSendLen(input.getMissSearchLength());
                 builder.setVersion(getVersion());
-                ListenableFuture<RpcResult<Void>> resultLib = JdkFutureAdapters.listenInPoolThread(taskContext.getSession().getPrimaryConductor().getConnectionAdapter().setConfig(builder.build()));
+                ListenableFuture<RpcResult<Void>> resultLib = getMessageService().setConfig(builder.build(), getCookie());
                 Futures.addCallback(resultLib, new ResultCallback<SetConfigOutput>(result) {
                     @Override
                     public SetConfigOutput createResult() {
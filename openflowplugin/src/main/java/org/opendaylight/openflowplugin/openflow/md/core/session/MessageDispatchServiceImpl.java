@@ -88,25 +88,25 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
     }
 
     @Override
-    public Future<RpcResult<BarrierOutput>> barrier(BarrierInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<BarrierOutput>> barrier(BarrierInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).barrier(input);
+            return listenable(getConnectionAdapter(cookie).barrier(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<Void>> experimenter(ExperimenterInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<Void>> experimenter(ExperimenterInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).experimenter(input);
+            return listenable(getConnectionAdapter(cookie).experimenter(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<UpdateFlowOutput>> flowMod(final FlowModInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<UpdateFlowOutput>> flowMod(final FlowModInput input, SwitchConnectionDistinguisher cookie) {
         LOG.debug("Calling OFLibrary flowMod");
         Future<RpcResult<Void>> response = null;
         try {
@@ -117,7 +117,7 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
 
         // appending xid
         ListenableFuture<RpcResult<UpdateFlowOutput>> xidResult = Futures.transform(
-                JdkFutureAdapters.listenInPoolThread(response),
+                listenable(response),
                 new Function<RpcResult<Void>, RpcResult<UpdateFlowOutput>>() {
 
                     @Override
@@ -139,44 +139,44 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
     }
 
     @Override
-    public Future<RpcResult<GetAsyncOutput>> getAsync(GetAsyncInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<GetAsyncOutput>> getAsync(GetAsyncInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).getAsync(input);
+            return listenable(getConnectionAdapter(cookie).getAsync(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<GetConfigOutput>> getConfig(GetConfigInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<GetConfigOutput>> getConfig(GetConfigInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).getConfig(input);
+            return listenable(getConnectionAdapter(cookie).getConfig(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<GetFeaturesOutput>> getFeatures(GetFeaturesInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<GetFeaturesOutput>> getFeatures(GetFeaturesInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).getFeatures(input);
+            return listenable(getConnectionAdapter(cookie).getFeatures(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<GetQueueConfigOutput>> getQueueConfig(GetQueueConfigInput input,
+    public ListenableFuture<RpcResult<GetQueueConfigOutput>> getQueueConfig(GetQueueConfigInput input,
                                                                   SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).getQueueConfig(input);
+            return listenable(getConnectionAdapter(cookie).getQueueConfig(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<UpdateGroupOutput>> groupMod(final GroupModInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<UpdateGroupOutput>> groupMod(final GroupModInput input, SwitchConnectionDistinguisher cookie) {
         LOG.debug("Calling OFLibrary groupMod");
         Future<RpcResult<Void>> response = null;
         try {
@@ -187,7 +187,7 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
 
         // appending xid
         ListenableFuture<RpcResult<UpdateGroupOutput>> xidResult = Futures.transform(
-                JdkFutureAdapters.listenInPoolThread(response),
+                listenable(response),
                 new Function<RpcResult<Void>, RpcResult<UpdateGroupOutput>>() {
 
                     @Override
@@ -208,7 +208,7 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
     }
 
     @Override
-    public Future<RpcResult<UpdateMeterOutput>> meterMod(final MeterModInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<UpdateMeterOutput>> meterMod(final MeterModInput input, SwitchConnectionDistinguisher cookie) {
         LOG.debug("Calling OFLibrary meterMod");
         Future<RpcResult<Void>> response = null;
         try {
@@ -219,7 +219,7 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
 
         // appending xid
         ListenableFuture<RpcResult<UpdateMeterOutput>> xidResult = Futures.transform(
-                JdkFutureAdapters.listenInPoolThread(response),
+                listenable(response),
                 new Function<RpcResult<Void>, RpcResult<UpdateMeterOutput>>() {
 
                     @Override
@@ -240,25 +240,25 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
     }
 
     @Override
-    public Future<RpcResult<java.lang.Void>> multipartRequest(MultipartRequestInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<java.lang.Void>> multipartRequest(MultipartRequestInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).multipartRequest(input);
+            return listenable(getConnectionAdapter(cookie).multipartRequest(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<Void>> packetOut(PacketOutInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<Void>> packetOut(PacketOutInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).packetOut(input);
+            return listenable(getConnectionAdapter(cookie).packetOut(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<UpdatePortOutput>> portMod(final PortModInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<UpdatePortOutput>> portMod(final PortModInput input, SwitchConnectionDistinguisher cookie) {
         LOG.debug("Calling OFLibrary portMod");
         Future<RpcResult<Void>> response = null;
         try {
@@ -269,7 +269,7 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
 
         // appending xid
         ListenableFuture<RpcResult<UpdatePortOutput>> xidResult = Futures.transform(
-                JdkFutureAdapters.listenInPoolThread(response),
+                listenable(response),
                 new Function<RpcResult<Void>, RpcResult<UpdatePortOutput>>() {
 
                     @Override
@@ -290,38 +290,46 @@ public class MessageDispatchServiceImpl implements IMessageDispatchService {
     }
 
     @Override
-    public Future<RpcResult<RoleRequestOutput>> roleRequest(RoleRequestInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<RoleRequestOutput>> roleRequest(RoleRequestInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).roleRequest(input);
+            return listenable(getConnectionAdapter(cookie).roleRequest(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<Void>> setAsync(SetAsyncInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<Void>> setAsync(SetAsyncInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).setAsync(input);
+            return listenable(getConnectionAdapter(cookie).setAsync(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<Void>> setConfig(SetConfigInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<Void>> setConfig(SetConfigInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).setConfig(input);
+            return listenable(getConnectionAdapter(cookie).setConfig(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
 
     @Override
-    public Future<RpcResult<Void>> tableMod(TableModInput input, SwitchConnectionDistinguisher cookie) {
+    public ListenableFuture<RpcResult<Void>> tableMod(TableModInput input, SwitchConnectionDistinguisher cookie) {
         try {
-            return getConnectionAdapter(cookie).tableMod(input);
+            return listenable(getConnectionAdapter(cookie).tableMod(input));
         } catch (ConnectionException e) {
             return RpcResultUtil.getRpcErrorFuture(e);
         }
     }
+
+    /**
+     * Connection adapter declares plain futures, but the ones it returns are listenable and are passed through
+     * as they are - only a foreign future would be adapted by a pool thread.
+     */
+    private static <T> ListenableFuture<T> listenable(final Future<T> future) {
+        return JdkFutureAdapters.listenInPoolThread(future);
+    }
 }